@@ -0,0 +1,59 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.proof.Proof;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the auto mode on a few fixed example proofs from end to end. The examples are loaded
+ * before each invocation, only the auto mode itself is measured. An invocation fails if the
+ * proof is not closed, so that a change which breaks a proof is not mistaken for a speed-up.
+ * <br>
+ * <br>
+ * The examples are taken from the directory given by the system property {@code EXAMPLES_DIR}
+ * (see {@link ProofFixture}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AutoModeBenchmark {
+    /**
+     * the example proofs, relative to the examples directory
+     */
+    @Param({ "firstTouch/01-Agatha/project.key",
+        "standard_key/java_dl/complexAssignment.key",
+        "standard_key/java_dl/arrayMax.key",
+        "standard_key/arith/cubicSum.key" })
+    public String example;
+
+    private ProofFixture fixture;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadExample(example);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Proof prove() {
+        final Proof proof = fixture.getProof();
+        fixture.getEnvironment().getProofControl().startAndWaitForAutoMode(proof);
+        if (!proof.closed()) {
+            throw new IllegalStateException("The proof of " + example + " has not been closed, "
+                + proof.openGoals().size() + " goals remain open");
+        }
+        return proof;
+    }
+}
@@ -0,0 +1,121 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.key_project.util.collection.DefaultImmutableMap;
+import org.key_project.util.collection.DefaultImmutableSet;
+import org.key_project.util.collection.ImmutableMap;
+import org.key_project.util.collection.ImmutableSet;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures building and querying {@link DefaultImmutableSet} and {@link DefaultImmutableMap}.
+ * The {@code linear*} benchmarks run in a JVM in which the hash index of the collections is
+ * disabled (see {@link DefaultImmutableSet#HASH_INDEX_THRESHOLD}), i.e., they measure the purely
+ * list based implementation for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImmutableCollectionsBenchmark {
+    /** disables the hash index of the immutable collections in the forked JVM */
+    private static final String LINEAR = "-Dkey.collections.hashIndexThreshold=2147483647";
+
+    /**
+     * the number of elements
+     */
+    @Param({ "4", "16", "256", "4096" })
+    public int size;
+
+    /** the elements, as strings to have realistic costs of hashCode and equals */
+    private String[] elements;
+    private ImmutableSet<String> set;
+    private ImmutableMap<String, String> map;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new String[size];
+        ImmutableSet<String> s = DefaultImmutableSet.nil();
+        ImmutableMap<String, String> m = DefaultImmutableMap.nilMap();
+        for (int i = 0; i < size; i++) {
+            elements[i] = "element" + i;
+            s = s.add(elements[i]);
+            m = m.put(elements[i], elements[i]);
+        }
+        set = s;
+        map = m;
+    }
+
+    private String nextElement() {
+        next = (next + 1) % size;
+        return elements[next];
+    }
+
+    private ImmutableSet<String> buildSet() {
+        ImmutableSet<String> s = DefaultImmutableSet.nil();
+        for (String e : elements) {
+            s = s.add(e);
+        }
+        return s;
+    }
+
+    private ImmutableMap<String, String> buildMap() {
+        ImmutableMap<String, String> m = DefaultImmutableMap.nilMap();
+        for (String e : elements) {
+            m = m.put(e, e);
+        }
+        return m;
+    }
+
+    @Benchmark
+    public ImmutableSet<String> setAdd() {
+        return buildSet();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = LINEAR)
+    public ImmutableSet<String> linearSetAdd() {
+        return buildSet();
+    }
+
+    @Benchmark
+    public boolean setContains() {
+        return set.contains(nextElement());
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = LINEAR)
+    public boolean linearSetContains() {
+        return set.contains(nextElement());
+    }
+
+    @Benchmark
+    public ImmutableMap<String, String> mapPut() {
+        return buildMap();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = LINEAR)
+    public ImmutableMap<String, String> linearMapPut() {
+        return buildMap();
+    }
+
+    @Benchmark
+    public String mapGet() {
+        return map.get(nextElement());
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = LINEAR)
+    public String linearMapGet() {
+        return map.get(nextElement());
+    }
+}
@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
+
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the matching of the find expressions of taclets by the {@link VMTacletMatcher}.
+ * <br>
+ * <br>
+ * Three workloads are measured: matching all taclets against all formulas of a sequent (which
+ * mostly fails early), matching the taclets with programs in their find expressions against a
+ * program modality (which exercises the matching of Java programs), and matching the pairs of
+ * taclets and formulas known to match (which exercises the instantiation of the schema
+ * variables and the checking of the variable conditions).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatcherBenchmark {
+    /**
+     * A taclet together with a term to match its find expression against.
+     */
+    private record MatchTask(FindTaclet taclet, JTerm term) {
+    }
+
+    private ProofFixture fixture;
+    private Services services;
+    private final List<MatchTask> all = new ArrayList<>();
+    private final List<MatchTask> programs = new ArrayList<>();
+    private final List<MatchTask> successful = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        services = fixture.getServices();
+        final Goal goal = fixture.getFirstGoal();
+
+        final List<FindTaclet> taclets = new ArrayList<>();
+        for (NoPosTacletApp app : goal.indexOfTaclets().allNoPosTacletApps()) {
+            if (app.taclet() instanceof FindTaclet taclet) {
+                taclets.add(taclet);
+            }
+        }
+        for (SequentFormula formula : goal.sequent()) {
+            final JTerm term = (JTerm) formula.formula();
+            for (FindTaclet taclet : taclets) {
+                final MatchTask task = new MatchTask(taclet, term);
+                all.add(task);
+                if (term.containsJavaBlockRecursive()
+                        && taclet.find().containsJavaBlockRecursive()) {
+                    programs.add(task);
+                }
+                if (match(task) != null) {
+                    successful.add(task);
+                }
+            }
+        }
+    }
+
+    private Object match(MatchTask task) {
+        return task.taclet().getMatcher().matchFind(task.term(),
+            MatchConditions.EMPTY_MATCHCONDITIONS, services);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void matchAll(Blackhole bh) {
+        for (MatchTask task : all) {
+            bh.consume(match(task));
+        }
+    }
+
+    @Benchmark
+    public void matchPrograms(Blackhole bh) {
+        for (MatchTask task : programs) {
+            bh.consume(match(task));
+        }
+    }
+
+    @Benchmark
+    public void matchSuccessful(Blackhole bh) {
+        for (MatchTask task : successful) {
+            bh.consume(match(task));
+        }
+    }
+}
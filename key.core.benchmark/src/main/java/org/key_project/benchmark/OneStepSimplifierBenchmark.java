@@ -0,0 +1,94 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.prover.sequent.PosInOccurrence;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the simplification of the formulas of a sequent by the {@link OneStepSimplifier}.
+ * <br>
+ * <br>
+ * Each invocation applies the simplifier to all formulas of the root goal of the proof it can
+ * simplify, one after the other. The rule applications are applied to the goals as in a proof,
+ * hence the measured time includes the overhead of updating the proof tree and the rule
+ * app index of the goal. Before each invocation, the proof is pruned back to its root.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OneStepSimplifierBenchmark {
+    /**
+     * A formula of the root goal given by its semisequent and index.
+     */
+    private record Formula(boolean inAntec, int index) {
+    }
+
+    private ProofFixture fixture;
+    private Services services;
+    private OneStepSimplifier simplifier;
+    /** the formulas of the root goal the simplifier can simplify */
+    private final List<Formula> formulas = new ArrayList<>();
+    private Goal goal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        services = fixture.getServices();
+        OneStepSimplifier.refreshOSS(fixture.getProof());
+        simplifier = MiscTools.findOneStepSimplifier(fixture.getProof());
+        final Goal root = fixture.getFirstGoal();
+        for (int i = 0; i < root.sequent().antecedent().size(); i++) {
+            if (simplifier.isApplicable(root, ProofFixture.topLevel(root, true, i))) {
+                formulas.add(new Formula(true, i));
+            }
+        }
+        for (int i = 0; i < root.sequent().succedent().size(); i++) {
+            if (simplifier.isApplicable(root, ProofFixture.topLevel(root, false, i))) {
+                formulas.add(new Formula(false, i));
+            }
+        }
+        if (formulas.isEmpty()) {
+            throw new IllegalStateException("The problem contains no formula to simplify");
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prune() {
+        fixture.pruneToRoot();
+        goal = fixture.getFirstGoal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Goal simplify() {
+        Goal current = goal;
+        for (Formula formula : formulas) {
+            final PosInOccurrence pos =
+                ProofFixture.topLevel(current, formula.inAntec(), formula.index());
+            // simplifying a formula can make another one unsimplifiable, e.g., if it becomes true
+            if (simplifier.isApplicable(current, pos)) {
+                current = current.apply(simplifier.createApp(pos, services)).head();
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,168 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.settings.ChoiceSettings;
+import de.uka.ilkd.key.settings.ProofSettings;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+/**
+ * A loaded proof which the benchmarks work on. Provides access to the proof, its services and
+ * the open goal of a fresh proof.
+ * <br>
+ * <br>
+ * The fixed problem of the micro benchmarks ({@link #BENCHMARK_PROBLEM}) is part of this module,
+ * the example proofs are taken from the directory given by the system property
+ * {@code EXAMPLES_DIR} (which is set by the {@code jmh} task of the build).
+ */
+public final class ProofFixture implements AutoCloseable {
+    /**
+     * the resource containing the problem the micro benchmarks work on
+     */
+    public static final String BENCHMARK_PROBLEM = "benchmark.key";
+
+    private final KeYEnvironment<DefaultUserInterfaceControl> env;
+    private final Proof proof;
+
+    private ProofFixture(KeYEnvironment<DefaultUserInterfaceControl> env) {
+        this.env = env;
+        this.proof = env.getLoadedProof();
+        if (proof == null) {
+            env.dispose();
+            throw new IllegalStateException("The problem does not define a proof obligation");
+        }
+    }
+
+    /**
+     * Loads the problem contained in the given resource of this module.
+     *
+     * @param resource the name of the resource relative to this class
+     * @return the fixture of the loaded proof
+     * @throws ProblemLoaderException if the problem cannot be loaded
+     * @throws IOException if the resource cannot be read
+     */
+    public static ProofFixture loadResource(String resource)
+            throws ProblemLoaderException, IOException {
+        final Path file = Files.createTempFile("keyBenchmark", ".key");
+        file.toFile().deleteOnExit();
+        try (InputStream in = ProofFixture.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Resource " + resource + " not found.");
+            }
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return load(file);
+    }
+
+    /**
+     * Loads the given example proof.
+     *
+     * @param example the path of the example relative to the examples directory
+     * @return the fixture of the loaded proof
+     * @throws ProblemLoaderException if the problem cannot be loaded
+     */
+    public static ProofFixture loadExample(String example) throws ProblemLoaderException {
+        return load(getExamplesDirectory().resolve(example));
+    }
+
+    /**
+     * Loads the given problem with the default taclet options.
+     *
+     * @param file the problem file
+     * @return the fixture of the loaded proof
+     * @throws ProblemLoaderException if the problem cannot be loaded
+     */
+    public static ProofFixture load(Path file) throws ProblemLoaderException {
+        setDefaultTacletOptions();
+        return new ProofFixture(KeYEnvironment.load(file));
+    }
+
+    private static Path getExamplesDirectory() {
+        final String dir = System.getProperty("EXAMPLES_DIR");
+        return dir != null ? Paths.get(dir) : Paths.get("..", "key.ui", "examples");
+    }
+
+    private static void setDefaultTacletOptions() {
+        final ChoiceSettings choiceSettings = ProofSettings.DEFAULT_SETTINGS.getChoiceSettings();
+        final Map<String, String> newSettings =
+            new HashMap<>(choiceSettings.getDefaultChoices());
+        newSettings.putAll(MiscTools.getDefaultTacletOptions());
+        choiceSettings.setDefaultChoices(newSettings);
+    }
+
+    /**
+     * @return the environment the proof has been loaded in
+     */
+    public KeYEnvironment<DefaultUserInterfaceControl> getEnvironment() {
+        return env;
+    }
+
+    /**
+     * @return the loaded proof
+     */
+    public Proof getProof() {
+        return proof;
+    }
+
+    /**
+     * @return the services of the loaded proof
+     */
+    public Services getServices() {
+        return proof.getServices();
+    }
+
+    /**
+     * @return the first open goal of the proof
+     */
+    public Goal getFirstGoal() {
+        return proof.openGoals().head();
+    }
+
+    /**
+     * Returns the top level position of the given formula of the given goal.
+     *
+     * @param goal the goal
+     * @param inAntec whether the formula is in the antecedent
+     * @param index the index of the formula in its semisequent
+     * @return the position of the formula
+     */
+    public static PosInOccurrence topLevel(Goal goal, boolean inAntec, int index) {
+        final SequentFormula formula = (inAntec ? goal.sequent().antecedent()
+                : goal.sequent().succedent()).get(index);
+        return new PosInOccurrence(formula, PosInTerm.getTopLevel(), inAntec);
+    }
+
+    /**
+     * Prunes the proof back to its root, so that it can be worked on again.
+     */
+    public void pruneToRoot() {
+        if (!proof.root().leaf()) {
+            proof.pruneProof(proof.root());
+        }
+    }
+
+    @Override
+    public void close() {
+        env.dispose();
+    }
+}
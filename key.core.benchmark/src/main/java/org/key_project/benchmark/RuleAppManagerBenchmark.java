@@ -0,0 +1,71 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.strategy.QueueRuleApplicationManager;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.strategy.RuleApplicationManager;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the selection of the next rule application by the
+ * {@link QueueRuleApplicationManager} of a goal.
+ * <br>
+ * <br>
+ * Before each operation the cache of the manager is cleared, so that the queue of rule
+ * applications is built from the rule app index of the goal and all applications are evaluated
+ * by the strategy again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleAppManagerBenchmark {
+    /**
+     * the number of rule applications taken from the queue by {@link #next(Blackhole)}
+     */
+    private static final int NEXT_COUNT = 10;
+
+    private ProofFixture fixture;
+    private RuleApplicationManager<Goal> manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        OneStepSimplifier.refreshOSS(fixture.getProof());
+        final Goal goal = fixture.getFirstGoal();
+        manager = goal.getRuleAppManager();
+        if (!(manager instanceof QueueRuleApplicationManager)) {
+            throw new IllegalStateException("Unexpected rule application manager " + manager);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public RuleApp peekNext() {
+        manager.clearCache();
+        return manager.peekNext();
+    }
+
+    @Benchmark
+    public void next(Blackhole bh) {
+        manager.clearCache();
+        for (int i = 0; i < NEXT_COUNT; i++) {
+            bh.consume(manager.next());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.op.LogicVariable;
+import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.prover.sequent.Semisequent;
+import org.key_project.prover.sequent.SemisequentChangeInfo;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures inserting and replacing formulas of a {@link Semisequent}, which includes the check
+ * whether the formula is redundant, i.e., already contained modulo renaming of bound variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemisequentBenchmark {
+    /**
+     * the number of formulas in the semisequent
+     */
+    @Param({ "10", "100" })
+    public int size;
+
+    private ProofFixture fixture;
+    private Semisequent semisequent;
+    /** formulas which are not contained in the semisequent */
+    private SequentFormula[] fresh;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        final TermBuilder tb = fixture.getServices().getTermBuilder();
+        final Sort intSort = fixture.getServices().getTypeConverter().getIntegerLDT().targetSort();
+        ImmutableList<SequentFormula> formulas = ImmutableSLList.nil();
+        for (int i = 0; i < size; i++) {
+            final LogicVariable x = new LogicVariable(new Name("x" + i), intSort);
+            formulas = formulas.prepend(
+                new SequentFormula(tb.all(x, tb.geq(tb.var(x), tb.zTerm(i)))));
+        }
+        semisequent = JavaDLSequentKit.createSuccSequent(formulas).succedent();
+        fresh = new SequentFormula[64];
+        for (int i = 0; i < fresh.length; i++) {
+            fresh[i] = new SequentFormula(tb.lt(tb.zTerm(-i), tb.zTerm(size + i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    private SequentFormula nextFormula() {
+        return fresh[next++ & (fresh.length - 1)];
+    }
+
+    @Benchmark
+    public SemisequentChangeInfo insertFirst() {
+        return semisequent.insertFirst(nextFormula());
+    }
+
+    @Benchmark
+    public SemisequentChangeInfo insertLast() {
+        return semisequent.insertLast(nextFormula());
+    }
+
+    @Benchmark
+    public SemisequentChangeInfo replaceMiddle() {
+        return semisequent.replace(size / 2, nextFormula());
+    }
+
+    @Benchmark
+    public SemisequentChangeInfo insertRedundant() {
+        return semisequent.insertLast(semisequent.get(size - 1));
+    }
+}
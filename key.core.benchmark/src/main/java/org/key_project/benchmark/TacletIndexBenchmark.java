@@ -0,0 +1,117 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.ServiceCaches;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.NullNewRuleListener;
+import de.uka.ilkd.key.proof.TacletIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndexCacheSet;
+
+import org.key_project.prover.proof.rulefilter.TacletFilter;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.ConcurrentCache;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the look-up of the taclets applicable at a position via the {@link TacletIndex} and
+ * the construction of the {@link TermTacletAppIndex} of the formulas of a sequent.
+ * <br>
+ * <br>
+ * The index of a formula is built once with an empty cache, which corresponds to a formula never
+ * seen before, and once with a cache shared by all invocations, which corresponds to a formula
+ * whose subterms have already been indexed on another branch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TacletIndexBenchmark {
+    private ProofFixture fixture;
+    private Services services;
+    private TacletIndex tacletIndex;
+    /** the top level positions of the formulas of the sequent */
+    private final List<PosInOccurrence> formulas = new ArrayList<>();
+    /** all positions of the sequent */
+    private final List<PosInOccurrence> positions = new ArrayList<>();
+    private TermTacletAppIndexCacheSet sharedCaches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        services = fixture.getServices();
+        final Goal goal = fixture.getFirstGoal();
+        tacletIndex = goal.indexOfTaclets();
+        for (int i = 0; i < goal.sequent().antecedent().size(); i++) {
+            formulas.add(ProofFixture.topLevel(goal, true, i));
+        }
+        for (int i = 0; i < goal.sequent().succedent().size(); i++) {
+            formulas.add(ProofFixture.topLevel(goal, false, i));
+        }
+        for (PosInOccurrence formula : formulas) {
+            collectPositions(formula);
+        }
+        sharedCaches = newCaches();
+    }
+
+    private void collectPositions(PosInOccurrence pos) {
+        positions.add(pos);
+        for (int i = 0; i < pos.subTerm().arity(); i++) {
+            collectPositions(pos.down(i));
+        }
+    }
+
+    private static TermTacletAppIndexCacheSet newCaches() {
+        return new TermTacletAppIndexCacheSet(
+            new ConcurrentCache<>(ServiceCaches.MAX_TERM_TACLET_APP_INDEX_ENTRIES));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void findTaclets(Blackhole bh) {
+        for (PosInOccurrence pos : formulas) {
+            bh.consume(pos.isInAntec()
+                    ? tacletIndex.getAntecedentTaclet(pos, TacletFilter.TRUE, services)
+                    : tacletIndex.getSuccedentTaclet(pos, TacletFilter.TRUE, services));
+        }
+    }
+
+    @Benchmark
+    public void rewriteTaclets(Blackhole bh) {
+        for (PosInOccurrence pos : positions) {
+            bh.consume(tacletIndex.getRewriteTaclet(pos, TacletFilter.TRUE, services));
+        }
+    }
+
+    @Benchmark
+    public void buildIndexUncached(Blackhole bh) {
+        final TermTacletAppIndexCacheSet caches = newCaches();
+        for (PosInOccurrence pos : formulas) {
+            bh.consume(TermTacletAppIndex.create(pos, services, tacletIndex,
+                NullNewRuleListener.INSTANCE, TacletFilter.TRUE, caches));
+        }
+    }
+
+    @Benchmark
+    public void buildIndexCached(Blackhole bh) {
+        for (PosInOccurrence pos : formulas) {
+            bh.consume(TermTacletAppIndex.create(pos, services, tacletIndex,
+                NullNewRuleListener.INSTANCE, TacletFilter.TRUE, sharedCaches));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.logic.op.Junctor;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the creation of terms by {@link TermFactory#createTerm(
+ * org.key_project.logic.op.Operator, JTerm...)}, which includes the look-up in the term cache.
+ * <br>
+ * <br>
+ * The created terms are conjunctions of two formulas taken from a pool. With a small pool, the
+ * same terms are requested again and again, so that nearly all look-ups hit the cache. With a
+ * large pool, the number of distinct terms exceeds the capacity of the cache and most terms have
+ * to be created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TermFactoryBenchmark {
+    /**
+     * the number of formulas the conjunctions are built from
+     */
+    @Param({ "8", "1024" })
+    public int poolSize;
+
+    private ProofFixture fixture;
+    private TermFactory tf;
+    private JTerm[] pool;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.loadResource(ProofFixture.BENCHMARK_PROBLEM);
+        final Services services = fixture.getServices();
+        final TermBuilder tb = services.getTermBuilder();
+        tf = services.getTermFactory();
+        pool = new JTerm[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = tb.geq(tb.zTerm(i), tb.zTerm(poolSize - i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public JTerm createConjunction() {
+        final int n = next++;
+        return tf.createTerm(Junctor.AND, pool[n % poolSize], pool[(n / poolSize) % poolSize]);
+    }
+
+    @Benchmark
+    public JTerm createNested() {
+        final int n = next++;
+        final JTerm left = pool[n % poolSize];
+        final JTerm right = pool[(n / poolSize) % poolSize];
+        return tf.createTerm(Junctor.IMP, tf.createTerm(Junctor.OR, left, right),
+            tf.createTerm(Junctor.NOT, left));
+    }
+}
@@ -35,6 +35,7 @@ import de.uka.ilkd.key.symbolic_execution.model.IExecutionStatement;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionTermination;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofExecutor;
 import de.uka.ilkd.key.util.LinkedHashMap;
 
 import org.key_project.util.collection.ImmutableList;
@@ -1077,6 +1078,7 @@ public class ExecutionNodeWriter extends AbstractWriter {
             boolean saveConstraints, StringBuilder sb) throws ProofInputException {
         if (saveVariables) {
             IExecutionVariable[] variables = node.getVariables();
+            SideProofExecutor.computeValues(variables);
             for (IExecutionVariable variable : variables) {
                 appendVariable(level, variable, saveConstraints, TAG_VARIABLE, sb);
             }
@@ -1098,6 +1100,7 @@ public class ExecutionNodeWriter extends AbstractWriter {
             throws ProofInputException {
         if (saveVariables) {
             IExecutionVariable[] variables = node.getCallStateVariables();
+            SideProofExecutor.computeValues(variables);
             for (IExecutionVariable variable : variables) {
                 appendVariable(level, variable, saveConstraints, TAG_CALL_STATE_VARIABLE, sb);
             }
@@ -1167,6 +1170,7 @@ public class ExecutionNodeWriter extends AbstractWriter {
         appendConstraints(level + 1, value, saveConstraints, sb);
         // Children
         IExecutionVariable[] childVariables = value.getChildVariables();
+        SideProofExecutor.computeValues(childVariables);
         for (IExecutionVariable childVariable : childVariables) {
             appendVariable(level + 1, childVariable, saveConstraints, TAG_VARIABLE, sb);
         }
@@ -417,37 +417,40 @@ public class ExecutionVariableExtractor extends AbstractUpdateExtractor {
          * {@inheritDoc}
          */
         @Override
-        public synchronized IExecutionValue[] getValues() throws ProofInputException {
-            if (values != null) {
+        public IExecutionValue[] getValues() throws ProofInputException {
+            // the values of all state variables are computed by the same side proof
+            synchronized (ExecutionVariableExtractor.this) {
+                if (values != null) {
+                    return values;
+                }
+                // Compute values
+                Set<ExecutionVariableValuePair> pairs =
+                    computeVariableValuePairs(getAdditionalCondition(), layoutTerm,
+                        currentLocations, true, simplifyConditions);
+                if (pairs == null) {
+                    // Something went wrong, values are not available.
+                    return new IExecutionValue[0];
+                }
+                // Analyze tree structure of pairs
+                Map<LocationDef, List<ExecutionVariableValuePair>> topVariables =
+                    new LinkedHashMap<>();
+                Map<ParentDef, Map<LocationDef, List<ExecutionVariableValuePair>>> childrenInfo =
+                    new LinkedHashMap<>();
+                analyzeTreeStructure(pairs, topVariables, childrenInfo);
+                // Create variables and values from tree structure
+                for (List<ExecutionVariableValuePair> pairsList : topVariables.values()) {
+                    ExecutionVariableValuePair firstPair = pairsList.get(0);
+                    List<IExecutionValue> values = new LinkedList<>();
+                    StateExecutionVariable variable =
+                        allStateVariables.get(new LocationDef(
+                            firstPair.getProgramVariable(), firstPair.getArrayIndex()));
+                    assert variable != null;
+                    createValues(variable, pairsList, firstPair, childrenInfo, values,
+                        ImmutableSLList.nil());
+                    variable.values = values.toArray(new IExecutionValue[0]);
+                }
                 return values;
             }
-            // Compute values
-            Set<ExecutionVariableValuePair> pairs =
-                computeVariableValuePairs(getAdditionalCondition(), layoutTerm,
-                    currentLocations, true, simplifyConditions);
-            if (pairs == null) {
-                // Something went wrong, values are not available.
-                return new IExecutionValue[0];
-            }
-            // Analyze tree structure of pairs
-            Map<LocationDef, List<ExecutionVariableValuePair>> topVariables =
-                new LinkedHashMap<>();
-            Map<ParentDef, Map<LocationDef, List<ExecutionVariableValuePair>>> childrenInfo =
-                new LinkedHashMap<>();
-            analyzeTreeStructure(pairs, topVariables, childrenInfo);
-            // Create variables and values from tree structure
-            for (List<ExecutionVariableValuePair> pairsList : topVariables.values()) {
-                ExecutionVariableValuePair firstPair = pairsList.get(0);
-                List<IExecutionValue> values = new LinkedList<>();
-                StateExecutionVariable variable =
-                    allStateVariables.get(new LocationDef(
-                        firstPair.getProgramVariable(), firstPair.getArrayIndex()));
-                assert variable != null;
-                createValues(variable, pairsList, firstPair, childrenInfo, values,
-                    ImmutableSLList.nil());
-                variable.values = values.toArray(new IExecutionValue[0]);
-            }
-            return values;
         }
 
         /**
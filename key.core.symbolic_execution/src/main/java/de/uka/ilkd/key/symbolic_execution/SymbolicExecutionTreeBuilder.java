@@ -22,6 +22,7 @@ import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.proof.init.AbstractOperationPO;
 import de.uka.ilkd.key.proof.init.FunctionalOperationContractPO;
 import de.uka.ilkd.key.proof.init.IPersistablePO;
+import de.uka.ilkd.key.proof.init.ProofInputException;
 import de.uka.ilkd.key.rule.BuiltInRule;
 import de.uka.ilkd.key.rule.WhileInvariantRule;
 import de.uka.ilkd.key.rule.merge.MergePartner;
@@ -32,6 +33,7 @@ import de.uka.ilkd.key.symbolic_execution.model.impl.*;
 import de.uka.ilkd.key.symbolic_execution.profile.SymbolicExecutionJavaProfile;
 import de.uka.ilkd.key.symbolic_execution.strategy.SymbolicExecutionStrategy;
 import de.uka.ilkd.key.symbolic_execution.util.DefaultEntry;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofExecutor;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
 import de.uka.ilkd.key.util.MiscTools;
 import de.uka.ilkd.key.util.NodePreorderIterator;
@@ -45,6 +47,9 @@ import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.Pair;
 import org.key_project.util.java.ArrayUtil;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * <p>
  * Instances of this class are used to extract the symbolic execution tree from a normal KeY's proof
@@ -108,6 +113,9 @@ import org.key_project.util.java.ArrayUtil;
  * @see ExecutionNodePreorderIterator
  */
 public class SymbolicExecutionTreeBuilder {
+    private static final Logger LOGGER =
+        LoggerFactory.getLogger(SymbolicExecutionTreeBuilder.class);
+
     /**
      * The {@link Proof} from which the symbolic execution tree is extracted.
      */
@@ -152,6 +160,12 @@ public class SymbolicExecutionTreeBuilder {
     private Map<Node, ExecutionBranchCondition> keyNodeBranchConditionMapping =
         new LinkedHashMap<>();
 
+    /**
+     * The {@link AbstractExecutionNode}s added to the symbolic execution tree during the current
+     * {@link #analyse()}.
+     */
+    private final Set<AbstractExecutionNode<?>> addedNodes = new LinkedHashSet<>();
+
     /**
      * Contains the method call stacks for each tracked symbolic execution modality. As key is
      * {@link SymbolicExecutionTermLabel#id()} used.
@@ -463,9 +477,47 @@ public class SymbolicExecutionTreeBuilder {
         }
         visitor.completeTree();
         visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
+        computeSideProofs(addedNodes);
+        addedNodes.clear();
         return completions;
     }
 
+    /**
+     * Computes the branch conditions, method return conditions, return values and memory layouts
+     * of the given {@link AbstractExecutionNode}s concurrently if {@link SideProofExecutor#WORKERS}
+     * is greater than {@code 1}. Otherwise, they are computed lazily when they are requested.
+     * <p>
+     * The side proofs of one node are performed one after another by the same task.
+     *
+     * @param nodes The {@link AbstractExecutionNode}s added to the symbolic execution tree.
+     */
+    protected void computeSideProofs(Collection<AbstractExecutionNode<?>> nodes) {
+        if (SideProofExecutor.WORKERS <= 1 || nodes.isEmpty()) {
+            return;
+        }
+        List<SideProofExecutor.SideProofTask<Object>> tasks = new ArrayList<>(nodes.size());
+        for (AbstractExecutionNode<?> node : nodes) {
+            tasks.add(() -> {
+                if (node instanceof IExecutionBranchCondition condition) {
+                    condition.getBranchCondition();
+                }
+                if (node instanceof IExecutionBaseMethodReturn<?> methodReturn) {
+                    methodReturn.getMethodReturnCondition();
+                }
+                if (node instanceof IExecutionMethodReturn methodReturn) {
+                    methodReturn.getReturnValues();
+                }
+                return node.getLayoutsCount();
+            });
+        }
+        try {
+            SideProofExecutor.invokeAll(tasks);
+        } catch (ProofInputException | RuntimeException e) {
+            // The failing side proof is repeated and its exception thrown when it is requested
+            LOGGER.debug("Side proof of the symbolic execution tree failed", e);
+        }
+    }
+
     /**
      * Prunes the symbolic execution tree at the first {@link IExecutionNode} in the parent
      * hierarchy of the given {@link Node} (including the Node itself).
@@ -1788,6 +1840,7 @@ public class SymbolicExecutionTreeBuilder {
     protected void addChild(AbstractExecutionNode<?> parent, AbstractExecutionNode<?> child) {
         child.setParent(parent);
         parent.addChild(child);
+        addedNodes.add(child);
     }
 
     /**
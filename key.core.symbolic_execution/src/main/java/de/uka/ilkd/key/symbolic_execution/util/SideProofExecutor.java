@@ -0,0 +1,135 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+
+import org.key_project.util.java.thread.WorkerPool;
+
+/**
+ * Runs independent side proofs concurrently in a bounded pool of worker threads.
+ * <p>
+ * Each side proof has to use its own {@link de.uka.ilkd.key.proof.mgt.ProofEnvironment} with its
+ * own {@link de.uka.ilkd.key.rule.OneStepSimplifier}, as created by
+ * {@link SymbolicExecutionSideProofUtil#cloneProofEnvironmentWithOwnOneStepSimplifier}. The
+ * lazily computed values of the symbolic execution model are already computed this way. The
+ * {@link de.uka.ilkd.key.symbolic_execution.SymbolicExecutionTreeBuilder} uses this executor to
+ * compute the branch conditions, method returns and memory layouts of new nodes.
+ * <p>
+ * The results are returned in the order of the given tasks, and the exception of the first
+ * failing task (in this order) is thrown, so callers behave as in sequential mode. Side proofs
+ * started from within a worker thread are executed sequentially by that thread, which avoids
+ * deadlocks of nested side proofs in the bounded pool.
+ */
+public final class SideProofExecutor {
+    /**
+     * The worker threads running side proofs. Their number is configured via the system property
+     * {@code symbolic_execution.sideproof.workers}. A value of at most {@code 1} (the default)
+     * runs all side proofs sequentially in the calling thread.
+     */
+    private static final WorkerPool POOL =
+        new WorkerPool("SideProof", "symbolic_execution.sideproof.workers", 1);
+
+    /**
+     * The configured number of worker threads running side proofs concurrently.
+     */
+    public static final int WORKERS = POOL.getWorkers();
+
+    private SideProofExecutor() {
+    }
+
+    /**
+     * A side proof computation.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface SideProofTask<T> {
+        /**
+         * Performs the side proof.
+         *
+         * @return the result
+         * @throws ProofInputException Occurred Exception.
+         */
+        T run() throws ProofInputException;
+    }
+
+    /**
+     * Executes the given side proofs, concurrently if {@link #WORKERS} is greater than {@code 1}.
+     *
+     * @param tasks the side proofs to execute
+     * @param <T> the type of the results
+     * @return the results in the order of the tasks
+     * @throws ProofInputException the exception of the first failing task
+     */
+    public static <T> List<T> invokeAll(List<? extends SideProofTask<? extends T>> tasks)
+            throws ProofInputException {
+        return invokeAll(tasks, WORKERS);
+    }
+
+    /**
+     * Executes the given side proofs using the given number of worker threads.
+     *
+     * @param tasks the side proofs to execute
+     * @param workers the number of worker threads; values of at most {@code 1} execute the side
+     *        proofs sequentially in the calling thread
+     * @param <T> the type of the results
+     * @return the results in the order of the tasks
+     * @throws ProofInputException the exception of the first failing task
+     */
+    public static <T> List<T> invokeAll(List<? extends SideProofTask<? extends T>> tasks,
+            int workers) throws ProofInputException {
+        if (workers <= 1 || tasks.size() <= 1 || POOL.isWorkerThread()) {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (SideProofTask<? extends T> task : tasks) {
+                results.add(task.run());
+            }
+            return results;
+        }
+        List<Callable<T>> callables = new ArrayList<>(tasks.size());
+        for (SideProofTask<? extends T> task : tasks) {
+            callables.add(task::run);
+        }
+        try {
+            return POOL.invokeAll(callables, workers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProofInputException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ProofInputException pie) {
+                throw pie;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new ProofInputException(e);
+        }
+    }
+
+    /**
+     * Computes the values of the given variables, concurrently if {@link #WORKERS} is greater than
+     * {@code 1}. Afterwards, {@link IExecutionVariable#getValues()} returns without side proof.
+     *
+     * @param variables the variables whose values are computed
+     * @throws ProofInputException Occurred Exception.
+     */
+    public static void computeValues(IExecutionVariable[] variables) throws ProofInputException {
+        if (WORKERS <= 1 || variables.length <= 1) {
+            return; // values are computed lazily in the order they are requested
+        }
+        List<SideProofTask<Object>> tasks = new ArrayList<>(variables.length);
+        for (IExecutionVariable variable : variables) {
+            tasks.add(variable::getValues);
+        }
+        invokeAll(tasks);
+    }
+}
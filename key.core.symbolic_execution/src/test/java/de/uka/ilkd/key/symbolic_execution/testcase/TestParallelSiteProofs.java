@@ -4,6 +4,8 @@
 package de.uka.ilkd.key.symbolic_execution.testcase;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
@@ -14,7 +16,9 @@ import de.uka.ilkd.key.proof.io.ProblemLoaderException;
 import de.uka.ilkd.key.symbolic_execution.ExecutionNodePreorderIterator;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionMethodReturn;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofExecutor;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionEnvironment;
 
 import org.junit.jupiter.api.Assertions;
@@ -80,6 +84,42 @@ public class TestParallelSiteProofs extends AbstractSymbolicExecutionTestCase {
         }
     }
 
+    /**
+     * Tests that the {@link SideProofExecutor} computes the values of variables of different
+     * nodes concurrently and returns them in the order of the variables.
+     */
+    @Test
+    public void testSideProofExecutor() throws ProblemLoaderException, ProofInputException {
+        String javaPathInkeyRepDirectory = "/set/magic42/test/Magic42.proof";
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env =
+            createSymbolicExecutionEnvironment(testCaseDirectory, javaPathInkeyRepDirectory, false,
+                false, false, false, false, false, false, false, false, false, false);
+        try {
+            List<IExecutionVariable> variables = new ArrayList<>();
+            ExecutionNodePreorderIterator iter =
+                new ExecutionNodePreorderIterator(env.getBuilder().getStartNode());
+            while (iter.hasNext() && variables.size() < NUMBER_OF_THREADS) {
+                IExecutionNode<?> next = iter.next();
+                if (next != null) {
+                    variables.addAll(Arrays.asList(next.getVariables()));
+                }
+            }
+            List<SideProofExecutor.SideProofTask<IExecutionValue[]>> tasks = new ArrayList<>();
+            for (IExecutionVariable variable : variables) {
+                tasks.add(variable::getValues);
+            }
+            List<IExecutionValue[]> values = SideProofExecutor.invokeAll(tasks, 4);
+            assertEquals(variables.size(), values.size());
+            for (int i = 0; i < variables.size(); i++) {
+                Assertions.assertNotNull(values.get(i));
+                // values are computed only once, so the executor returned the variable's values
+                Assertions.assertArrayEquals(variables.get(i).getValues(), values.get(i));
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
     /**
      * Executes the test steps to make sure that parallel tests are working without thrown
      * {@link Exception}s.
@@ -0,0 +1,231 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.settings.PathConfig;
+
+import org.key_project.util.LRUCache;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import recoder.java.CompilationUnit;
+
+/**
+ * Keeps parsed compilation units, so that unchanged sources have to be parsed only once per JVM.
+ * <br>
+ * <br>
+ * There are two caches used by {@link Recoder2KeY}:
+ * <ul>
+ * <li>{@link #BOOT_CLASSES} keeps the boot classes (the JavaRedux library or the classes of a
+ * custom boot class path) identified by the digest of the locations and contents of all their
+ * files. Optionally (system property {@code key.java.bootCache.persistent}), the parsed boot
+ * classes are also stored in the directory {@code cache} of the KeY configuration directory, such
+ * that the first load of a JVM can reuse the boot classes parsed by a previous JVM.</li>
+ * <li>{@link #SOURCE_FILES} keeps the compilation units of the Java files of the loaded problems,
+ * each identified by the digest of its location and contents. When a problem is reloaded after
+ * some of its files have been edited, only the changed files are parsed again. As storing the
+ * clones slows down loads which are not repeated, this cache is only used if the system property
+ * {@code key.java.sourceCache} is {@code true}.</li>
+ * </ul>
+ * The cached compilation units are never handed out: every load receives deep clones, since the
+ * compilation units are transformed and registered in the service configuration of the load.
+ * The cross-referencing and the conversion to KeY's Java model are not cached, as they are bound
+ * to the service configuration and the services of a load.
+ */
+final class ParsedSourceCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedSourceCache.class);
+
+    /**
+     * the cache of the boot classes (usually there is only the JavaRedux library)
+     */
+    static final ParsedSourceCache BOOT_CLASSES =
+        new ParsedSourceCache(4, Boolean.getBoolean("key.java.bootCache.persistent"));
+
+    /**
+     * the cache of the compilation units of single Java files, or null if it is not enabled
+     */
+    static final @Nullable ParsedSourceCache SOURCE_FILES =
+        Boolean.getBoolean("key.java.sourceCache")
+                ? new ParsedSourceCache(Integer.getInteger("key.java.sourceCache.size", 10000),
+                    false)
+                : null;
+
+    /**
+     * whether the parsed compilation units are stored on disk
+     */
+    private final boolean persistent;
+
+    /**
+     * the digest algorithm used to identify the cached source files
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * the classes that may be read from a cache file
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+        "recoder.**;de.uka.ilkd.key.java.recoderext.**;java.util.*;java.lang.*;!*");
+
+    /**
+     * the parsed compilation units by the digest of their source files
+     */
+    private final Map<String, SoftReference<List<CompilationUnit>>> parsed;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries the maximal number of entries kept
+     * @param persistent whether the entries are stored on disk
+     */
+    ParsedSourceCache(int maxEntries, boolean persistent) {
+        this.parsed = new LRUCache<>(maxEntries);
+        this.persistent = persistent;
+    }
+
+    /**
+     * Computes the digest identifying a set of source files.
+     *
+     * @param locations the locations of the files
+     * @param sources the contents of the files
+     * @return the digest
+     */
+    static String digest(List<String> locations, List<String> sources) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            for (int i = 0; i < sources.size(); i++) {
+                md.update(locations.get(i).getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+                md.update(sources.get(i).getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns copies of the compilation units with the given digest if they have been parsed
+     * before.
+     *
+     * @param digest the digest of the source files
+     * @return deep clones of the parsed compilation units (without data locations) in the order
+     *         they have been stored, or null if the source files are not cached
+     */
+    @Nullable List<CompilationUnit> lookup(String digest) {
+        List<CompilationUnit> units;
+        synchronized (this) {
+            final SoftReference<List<CompilationUnit>> ref = parsed.get(digest);
+            units = ref != null ? ref.get() : null;
+            if (units == null && persistent) {
+                units = load(digest);
+                if (units != null) {
+                    parsed.put(digest, new SoftReference<>(units));
+                }
+            }
+        }
+        // the cached compilation units are never modified, hence they can be cloned concurrently
+        return units == null ? null : copy(units);
+    }
+
+    /**
+     * Stores copies of the given freshly parsed compilation units. Must be called before the
+     * compilation units are transformed.
+     *
+     * @param digest the digest of the source files
+     * @param units the parsed compilation units
+     */
+    void store(String digest, List<CompilationUnit> units) {
+        final List<CompilationUnit> copies = copy(units);
+        synchronized (this) {
+            parsed.put(digest, new SoftReference<>(copies));
+        }
+        if (persistent) {
+            // the file is replaced atomically, hence concurrent stores do not need the lock
+            save(digest, copies);
+        }
+    }
+
+    private static List<CompilationUnit> copy(List<CompilationUnit> units) {
+        final List<CompilationUnit> result = new ArrayList<>(units.size());
+        for (CompilationUnit unit : units) {
+            result.add(unit.deepClone());
+        }
+        return result;
+    }
+
+    private static Path cacheFile(String digest) {
+        return Path.of(PathConfig.getKeyConfigDir(), "cache", "bootclasses-" + digest + ".ser");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable List<CompilationUnit> load(String digest) {
+        final Path file = cacheFile(digest);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file);
+                ObjectInputStream ois = new ObjectInputStream(in)) {
+            ois.setObjectInputFilter(FILTER);
+            final Object units = ois.readObject();
+            if (!(units instanceof List<?>)) {
+                throw new IOException("Unexpected content of boot class cache");
+            }
+            return (List<CompilationUnit>) units;
+        } catch (IOException | ClassNotFoundException e) {
+            // e.g., written by another version of KeY
+            LOGGER.debug("Cannot read boot class cache {}", file, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // the file is overwritten when the boot classes are stored
+            }
+            return null;
+        }
+    }
+
+    private static void save(String digest, List<CompilationUnit> units) {
+        final Path file = cacheFile(digest);
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent(), "bootclasses", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp);
+                        ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                    oos.writeObject(new ArrayList<>(units));
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Cannot write boot class cache {}", file, e);
+        }
+    }
+}
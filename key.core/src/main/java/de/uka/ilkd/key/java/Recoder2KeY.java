@@ -10,6 +10,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.java.abstraction.NullType;
@@ -33,6 +35,7 @@ import org.key_project.logic.sort.Sort;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.Pair;
+import org.key_project.util.java.thread.WorkerPool;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -87,6 +90,19 @@ import recoder.service.UnresolvedReferenceException;
 public class Recoder2KeY implements JavaReader {
     private static final Logger LOGGER = LoggerFactory.getLogger(Recoder2KeY.class);
 
+    /**
+     * The threads parsing compilation units in parallel. Their number is configured via the
+     * system property {@code key.java.parser.workers}.
+     */
+    private static final WorkerPool PARSER_POOL = new WorkerPool("JavaParser",
+        "key.java.parser.workers", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The number of threads parsing compilation units in parallel. A value of at most {@code 1}
+     * parses all compilation units sequentially in the calling thread.
+     */
+    public static final int PARSER_WORKERS = PARSER_POOL.getWorkers();
+
     /**
      * the set of File objects that describes the classpath to be searched for classes. it may
      * contain a null file which indicates that the default classes are not to be read.
@@ -329,42 +345,137 @@ public class Recoder2KeY implements JavaReader {
     }
 
     /**
-     * Helper method for parsing a single compilation unit when a FileRepo is present.
+     * Helper method for reading the source of a single compilation unit when a FileRepo is
+     * present.
      *
      * @param fileRepo the FileRepo that provides the InputStream
      * @param filename the name of the file to read
-     * @return the parsed compilation unit
+     * @return the source of the compilation unit
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
-    private CompilationUnit readViaFileRepo(FileRepo fileRepo, String filename)
+    private static String readViaFileRepo(FileRepo fileRepo, String filename)
             throws ParseExceptionInFile {
-        try (InputStream is = fileRepo.getInputStream(Paths.get(filename));
-                Reader fr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
-        } catch (Throwable e) {
-            // using throwable here since TokenMgrErrors are not Exceptions ...
+        try (InputStream is = fileRepo.getInputStream(Paths.get(filename))) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
             throw new ParseExceptionInFile(filename, e);
         }
     }
 
     /**
-     * Helper method for parsing a single compilation unit directly from a file, in case no FileRepo
-     * is present.
+     * Helper method for reading the source of a single compilation unit directly from a file, in
+     * case no FileRepo is present.
      *
      * @param filename the name of the file to read
-     * @return the parsed compilation unit
+     * @return the source of the compilation unit
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
-    private CompilationUnit readWithoutFileRepo(String filename) throws ParseExceptionInFile {
-        try (Reader fr = new FileReader(filename, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
+    private static String readWithoutFileRepo(String filename) throws ParseExceptionInFile {
+        try {
+            return new String(Files.readAllBytes(Paths.get(filename)), StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new ParseExceptionInFile(filename, e);
         }
     }
 
+    /**
+     * Reads the content of the current file of the given walker.
+     *
+     * @param walker the walker
+     * @param fileRepo the FileRepo that provides the InputStream to resources
+     * @return the content of the current file
+     * @throws IOException if the file cannot be read
+     */
+    private static String readCurrent(FileCollection.Walker walker, FileRepo fileRepo)
+            throws IOException {
+        try (InputStream is = walker.openCurrent(fileRepo)) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses a single compilation unit. The task must not access the file repository or any other
+     * shared state besides the (thread-safe) program factory, since it may run in parallel to other
+     * tasks.
+     */
+    @FunctionalInterface
+    private interface ParseTask {
+        /**
+         * @return the parsed compilation unit
+         * @throws ParseExceptionInFile if the compilation unit cannot be parsed
+         */
+        CompilationUnit parse() throws ParseExceptionInFile;
+    }
+
+    /**
+     * Runs the given parse tasks, in parallel if {@link #PARSER_WORKERS} is greater than
+     * {@code 1}. The compilation units are returned in the order of the tasks, and the exception of
+     * the first failing task (in this order) is thrown, so the result does not depend on the
+     * scheduling of the tasks.
+     *
+     * @param tasks the tasks parsing the compilation units
+     * @return the compilation units in the order of the tasks
+     * @throws ParseExceptionInFile the exception of the first failing task
+     */
+    private static List<CompilationUnit> parseAll(List<ParseTask> tasks)
+            throws ParseExceptionInFile {
+        if (PARSER_WORKERS <= 1 || tasks.size() <= 1) {
+            List<CompilationUnit> result = new ArrayList<>(tasks.size());
+            for (ParseTask task : tasks) {
+                result.add(task.parse());
+            }
+            return result;
+        }
+        List<Callable<CompilationUnit>> callables = new ArrayList<>(tasks.size());
+        for (ParseTask task : tasks) {
+            callables.add(task::parse);
+        }
+        try {
+            return PARSER_POOL.invokeAll(callables, PARSER_WORKERS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConvertException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseExceptionInFile pe) {
+                throw pe;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new ConvertException(cause);
+        }
+    }
+
+    /**
+     * Parses a single source file, unless it is cached in {@link ParsedSourceCache#SOURCE_FILES}
+     * with unchanged contents. Called by the parse tasks, such that computing the digest and
+     * cloning the cached compilation unit are done in parallel as well.
+     *
+     * @param location the location of the file
+     * @param source the contents of the file
+     * @param parser parses the contents of the file
+     * @return the compilation unit of the file
+     * @throws ParseExceptionInFile if the file cannot be parsed
+     */
+    private static CompilationUnit parseSourceFile(String location, String source,
+            ParseTask parser) throws ParseExceptionInFile {
+        final ParsedSourceCache cache = ParsedSourceCache.SOURCE_FILES;
+        if (cache == null) {
+            return parser.parse();
+        }
+        // only files changed since they have been parsed last are parsed again
+        final String digest = ParsedSourceCache.digest(List.of(location), List.of(source));
+        final List<CompilationUnit> cached = cache.lookup(digest);
+        if (cached != null) {
+            return cached.get(0);
+        }
+        final CompilationUnit cu = parser.parse();
+        cache.store(digest, List.of(cu));
+        return cu;
+    }
+
     /**
      * parse a list of java files.
      *
@@ -380,20 +491,33 @@ public class Recoder2KeY implements JavaReader {
         List<recoder.java.CompilationUnit> cUnits = new ArrayList<>();
         parseSpecialClasses(fileRepo);
         try {
+            final ProgramFactory pf = servConf.getProgramFactory();
+            List<ParseTask> tasks = new ArrayList<>(cUnitStrings.length);
             for (String filename : cUnitStrings) {
-                final CompilationUnit cu;
+                final String source;
 
                 if (fileRepo != null) {
                     // open stream via FileRepo
-                    cu = readViaFileRepo(fileRepo, filename);
+                    source = readViaFileRepo(fileRepo, filename);
                 } else {
                     // fallback without FileRepo
-                    cu = readWithoutFileRepo(filename);
+                    source = readWithoutFileRepo(filename);
                 }
 
-                cu.setDataLocation(new DataFileLocation(filename));
-                cUnits.add(cu);
+                tasks.add(() -> {
+                    final CompilationUnit cu = parseSourceFile(filename, source, () -> {
+                        try (Reader sr = new StringReader(source)) {
+                            return pf.parseCompilationUnit(sr);
+                        } catch (Throwable e) {
+                            // using throwable here since TokenMgrErrors are not Exceptions ...
+                            throw new ParseExceptionInFile(filename, e);
+                        }
+                    });
+                    cu.setDataLocation(new DataFileLocation(filename));
+                    return cu;
+                });
             }
+            cUnits.addAll(parseAll(tasks));
 
             final ChangeHistory changeHistory = servConf.getChangeHistory();
             for (CompilationUnit cUnit : cUnits) {
@@ -530,6 +654,9 @@ public class Recoder2KeY implements JavaReader {
      * a JAR file at the moment) and all files in this directory are read in. This is done using a
      * {@link DirectoryFileCollection}.
      *
+     * The parsed boot classes are kept in the {@link ParsedSourceCache}, such that later loads of
+     * the same boot classes only copy them.
+     *
      * @param fileRepo the FileRepo that provides the InputStream to resources
      */
     private void parseInternalClasses(ProgramFactory pf, List<recoder.java.CompilationUnit> rcuList,
@@ -546,25 +673,52 @@ public class Recoder2KeY implements JavaReader {
         }
 
 
+        List<DataLocation> locations = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
         while (walker.step()) {
             DataLocation loc = walker.getCurrentDataLocation();
-            try (InputStream is = walker.openCurrent(fileRepo);
-                    Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                    Reader f = new BufferedReader(isr)) {
-
-                recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                rcu.setDataLocation(loc);
-                // done by parser : rcu.makeAllParentRolesValid();
-                rcuList.add(rcu);
+            try {
+                sources.add(readCurrent(walker, fileRepo));
             } catch (Exception ex) {
                 throw new ParseExceptionInFile(loc.toString(), ex);
             }
+            locations.add(loc);
+        }
 
-            if (Debug.ENABLE_DEBUG) {
-                LOGGER.debug("parsed: {}", loc);
+        // the boot classes are parsed only once, later loads work on copies
+        final String digest = ParsedSourceCache.digest(
+            locations.stream().map(DataLocation::toString).toList(), sources);
+        List<recoder.java.CompilationUnit> cached = ParsedSourceCache.BOOT_CLASSES.lookup(digest);
+        if (cached != null) {
+            LOGGER.debug("Reusing {} parsed boot classes", cached.size());
+            for (int i = 0; i < cached.size(); i++) {
+                cached.get(i).setDataLocation(locations.get(i));
             }
+            rcuList.addAll(cached);
+            return;
         }
 
+        List<ParseTask> tasks = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            final DataLocation loc = locations.get(i);
+            final String source = sources.get(i);
+            tasks.add(() -> {
+                try (Reader f = new StringReader(source)) {
+                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
+                    rcu.setDataLocation(loc);
+                    // done by parser : rcu.makeAllParentRolesValid();
+                    if (Debug.ENABLE_DEBUG) {
+                        LOGGER.debug("parsed: {}", loc);
+                    }
+                    return rcu;
+                } catch (Exception ex) {
+                    throw new ParseExceptionInFile(loc.toString(), ex);
+                }
+            });
+        }
+        List<recoder.java.CompilationUnit> parsed = parseAll(tasks);
+        ParsedSourceCache.BOOT_CLASSES.store(digest, parsed);
+        rcuList.addAll(parsed);
     }
 
     /**
@@ -614,41 +768,59 @@ public class Recoder2KeY implements JavaReader {
         // -- read jml files --
         for (FileCollection fc : sources) {
             FileCollection.Walker walker = fc.createWalker(".jml");
+            List<ParseTask> tasks = new ArrayList<>();
             while (walker.step()) {
-                currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                    rcu.setDataLocation(currentDataLocation);
-                    removeCodeFromClasses(rcu, false);
-                    rcuList.add(rcu);
+                final DataLocation location = walker.getCurrentDataLocation();
+                final String source;
+                try {
+                    source = readCurrent(walker, fileRepo);
                 } catch (Exception ex) {
-                    throw new ConvertException(
-                        "Error while loading: " + walker.getCurrentDataLocation(), ex);
+                    throw new ConvertException("Error while loading: " + location, ex);
                 }
+                tasks.add(() -> {
+                    final recoder.java.CompilationUnit rcu =
+                        parseSourceFile(location.toString(), source, () -> {
+                            try (Reader f = new StringReader(source)) {
+                                return pf.parseCompilationUnit(f);
+                            } catch (Exception ex) {
+                                throw new ConvertException("Error while loading: " + location, ex);
+                            }
+                        });
+                    rcu.setDataLocation(location);
+                    removeCodeFromClasses(rcu, false);
+                    return rcu;
+                });
             }
+            rcuList.addAll(parseAll(tasks));
         }
 
         // -- read java files --
         for (FileCollection fc : sources) {
             FileCollection.Walker walker = fc.createWalker(".java");
+            List<ParseTask> tasks = new ArrayList<>();
             while (walker.step()) {
-                currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                    rcu.setDataLocation(currentDataLocation);
-                    removeCodeFromClasses(rcu, true);
-                    rcuList.add(rcu);
+                final DataLocation location = walker.getCurrentDataLocation();
+                final String source;
+                try {
+                    source = readCurrent(walker, fileRepo);
                 } catch (Exception ex) {
-                    throw new ConvertException(
-                        "Error while loading: " + walker.getCurrentDataLocation(), ex);
+                    throw new ConvertException("Error while loading: " + location, ex);
                 }
+                tasks.add(() -> {
+                    final recoder.java.CompilationUnit rcu =
+                        parseSourceFile(location.toString(), source, () -> {
+                            try (Reader f = new StringReader(source)) {
+                                return pf.parseCompilationUnit(f);
+                            } catch (Exception ex) {
+                                throw new ConvertException("Error while loading: " + location, ex);
+                            }
+                        });
+                    rcu.setDataLocation(location);
+                    removeCodeFromClasses(rcu, true);
+                    return rcu;
+                });
             }
+            rcuList.addAll(parseAll(tasks));
         }
 
         // -- read class files --
@@ -3,10 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 
 import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermCache;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
 import de.uka.ilkd.key.proof.Proof;
@@ -27,7 +29,7 @@ import org.key_project.prover.proof.SessionCaches;
 import org.key_project.prover.rules.instantiation.caches.AssumesFormulaInstantiationCache;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentCache;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -77,10 +79,16 @@ public class ServiceCaches implements SessionCaches {
     public static final int MAX_TERM_TACLET_APP_INDEX_ENTRIES = 5000;
 
     /**
-     * The cache used by {@link TermTacletAppIndexCacheSet} instances.
+     * The bounded caches by their names, see {@link #getStatistics()}.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final Map<String, ConcurrentCache<?, ?>> caches = new LinkedHashMap<>();
+
+    /**
+     * The cache used by {@link TermTacletAppIndexCacheSet} instances. It is shared by all goals of
+     * a proof, which may be prepared concurrently by the automatic prover.
+     */
+    private final ConcurrentCache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        createCache("termTacletAppIndex", MAX_TERM_TACLET_APP_INDEX_ENTRIES);
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -88,36 +96,38 @@ public class ServiceCaches implements SessionCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<JTerm, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final ConcurrentCache<JTerm, TermInfo> betaCandidates =
+        createCache("betaCandidates", 1000);
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final ConcurrentCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        createCache("ifThenElseMalus", 1000);
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    private final ConcurrentCache<Operator, Integer> introductionTimeCache =
+        createCache("introductionTime", 10000);
 
-    private final LRUCache<org.key_project.logic.Term, Monomial> monomialCache =
-        new LRUCache<>(2000);
+    private final ConcurrentCache<org.key_project.logic.Term, Monomial> monomialCache =
+        createCache("monomial", 2000);
 
-    private final LRUCache<org.key_project.logic.Term, Polynomial> polynomialCache =
-        new LRUCache<>(2000);
+    private final ConcurrentCache<org.key_project.logic.Term, Polynomial> polynomialCache =
+        createCache("polynomial", 2000);
 
     /**
      * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
      * created TriggersSets
      */
-    private final Map<org.key_project.logic.Term, TriggersSet> triggerSetCache =
-        new LRUCache<>(1000);
+    private final ConcurrentCache<org.key_project.logic.Term, TriggersSet> triggerSetCache =
+        createCache("triggerSet", 1000);
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<org.key_project.logic.Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final ConcurrentCache<org.key_project.logic.Term, ClausesGraph> graphCache =
+        createCache("clausesGraph", 1000);
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<JTerm, JTerm> termCache = new LRUCache<>(20000);
+    private final TermCache termCache = new TermCache();
 
     /**
      * Cache used by TypeComparisonCondition
@@ -128,15 +138,17 @@ public class ServiceCaches implements SessionCaches {
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<JTerm, JTerm> formattedTermCache = new LRUCache<>(5000);
+    private final ConcurrentCache<JTerm, JTerm> formattedTermCache =
+        createCache("formattedTerm", 5000);
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<JTerm, JTerm> provedByArithFstCache = new LRUCache<>(5000);
+    private final ConcurrentCache<JTerm, JTerm> provedByArithFstCache =
+        createCache("provedByArithFst", 5000);
 
-    private final LRUCache<Pair<JTerm, JTerm>, JTerm> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final ConcurrentCache<Pair<JTerm, JTerm>, JTerm> provedByArithSndCache =
+        createCache("provedByArithSnd", 5000);
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
@@ -154,8 +166,42 @@ public class ServiceCaches implements SessionCaches {
         new AppliedRuleAppsNameCache();
 
     /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> mvCache =
-        new LRUCache<>(2000);
+    private final ConcurrentCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> mvCache =
+        createCache("metavariables", 2000);
+
+    /**
+     * Cache used by the SMT translation for the direct super sorts of sorts, shared by the
+     * translations of all goals of the proof
+     */
+    private final ConcurrentCache<Sort, ImmutableSet<Sort>> smtSuperSortsCache =
+        createCache("smtSuperSorts", 2000);
+
+    /**
+     * Creates a new cache and registers it for {@link #getStatistics()}. The maximal number of
+     * entries can be overridden by the system property {@code servicecaches.<name>.size}.
+     *
+     * @param name the name of the cache
+     * @param defaultSize the maximal number of entries if not overridden
+     * @return the new cache
+     */
+    private <K, V> ConcurrentCache<K, V> createCache(String name, int defaultSize) {
+        final int size = Integer.getInteger("servicecaches." + name + ".size", defaultSize);
+        final ConcurrentCache<K, V> cache = new ConcurrentCache<>(size);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    /**
+     * Returns the statistics of the bounded caches, which help to tune their sizes via the system
+     * properties {@code servicecaches.<name>.size}.
+     *
+     * @return the statistics of the caches by their names
+     */
+    public Map<String, ConcurrentCache.Statistics> getStatistics() {
+        final Map<String, ConcurrentCache.Statistics> result = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> result.put(name, cache.getStatistics()));
+        return result;
+    }
 
 
     /**
@@ -163,39 +209,39 @@ public class ServiceCaches implements SessionCaches {
      *
      * @return The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    public final Map<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
+    public final ConcurrentCache<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<JTerm, TermInfo> getBetaCandidates() {
+    public final ConcurrentCache<JTerm, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final ConcurrentCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final ConcurrentCache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Monomial> getMonomialCache() {
+    public final ConcurrentCache<org.key_project.logic.Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Polynomial> getPolynomialCache() {
+    public final ConcurrentCache<org.key_project.logic.Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
-    public final Map<org.key_project.logic.Term, TriggersSet> getTriggerSetCache() {
+    public final ConcurrentCache<org.key_project.logic.Term, TriggersSet> getTriggerSetCache() {
         return triggerSetCache;
     }
 
-    public final Map<org.key_project.logic.Term, ClausesGraph> getGraphCache() {
+    public final ConcurrentCache<org.key_project.logic.Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
 
-    public final Map<JTerm, JTerm> getTermFactoryCache() {
+    public final TermCache getTermFactoryCache() {
         return termCache;
     }
 
@@ -203,15 +249,15 @@ public class ServiceCaches implements SessionCaches {
         return disjointnessCache;
     }
 
-    public final LRUCache<JTerm, JTerm> getFormattedTermCache() {
+    public final ConcurrentCache<JTerm, JTerm> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<JTerm, JTerm> getProvedByArithFstCache() {
+    public final ConcurrentCache<JTerm, JTerm> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<JTerm, JTerm>, JTerm> getProvedByArithSndCache() {
+    public final ConcurrentCache<Pair<JTerm, JTerm>, JTerm> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -231,8 +277,12 @@ public class ServiceCaches implements SessionCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> getMVCache() {
+    public ConcurrentCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
+    public ConcurrentCache<Sort, ImmutableSet<Sort>> getSMTSuperSortsCache() {
+        return smtSuperSortsCache;
+    }
+
 }
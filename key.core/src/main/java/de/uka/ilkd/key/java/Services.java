@@ -281,11 +281,22 @@ public class Services implements TermServices, LogicServices, ProofServices {
      * creates a new service object with the same ldt information as the actual one
      */
     public Services copyPreservesLDTInformation() {
+        return copyPreservesLDTInformation(getProfile());
+    }
+
+    /**
+     * creates a new service object with the same ldt information as the actual one, but using the
+     * given profile
+     *
+     * @param profile the {@link Profile} of the copy
+     * @return the created copy
+     */
+    public Services copyPreservesLDTInformation(Profile profile) {
         Debug.assertTrue(
             !(javainfo.getKeYProgModelInfo()
                     .getServConf() instanceof SchemaCrossReferenceServiceConfiguration),
             "services: tried to copy schema cross reference service config.");
-        Services s = new Services(getProfile());
+        Services s = new Services(profile);
         s.setTypeConverter(getTypeConverter().copy(s));
         s.setNamespaces(namespaces.copy());
         nameRecorder = nameRecorder.copy();
@@ -315,13 +326,9 @@ public class Services implements TermServices, LogicServices, ProofServices {
      * returns an existing named counter, creates a new one otherwise
      */
     public Counter getCounter(String name) {
-        Counter c = counters.get(name);
-        if (c != null) {
-            return c;
+        synchronized (counters) {
+            return counters.computeIfAbsent(name, Counter::new);
         }
-        c = new Counter(name);
-        counters.put(name, c);
-        return c;
     }
 
     /**
@@ -0,0 +1,201 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.logic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.key_project.util.LRUCache;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The cache used by the {@link TermFactory} to share equal terms instead of creating new ones.
+ * <br>
+ * <br>
+ * The cache is safe to be used by several threads at the same time. To avoid contention, it is
+ * split into a number of stripes, each of which is a small {@link LRUCache} guarded by its own
+ * lock. A term is always stored in the stripe determined by its hash code. The number of terms
+ * kept is bounded by the capacity given at construction, the least recently used terms of a
+ * stripe are evicted first.
+ * <br>
+ * <br>
+ * Terms containing Java blocks are compared by {@link JTerm#equals(Object)} modulo the position
+ * information of their programs. Such a term is therefore only shared if its Java block and
+ * subterms are the very same objects as in the requested one, so that no meta information is lost.
+ * <br>
+ * <br>
+ * The cache counts its hits and misses, which helps to choose its capacity. The default capacity
+ * can be set via the system property {@code termcache.capacity}.
+ */
+public final class TermCache {
+    /**
+     * the default maximal number of terms kept
+     */
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("termcache.capacity", 20000);
+
+    /**
+     * the number of stripes (a power of two)
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * the stripes, each of them is only accessed while holding its lock
+     */
+    private final LRUCache<JTerm, JTerm>[] stripes;
+
+    /**
+     * the number of successful look-ups
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * the number of failed look-ups
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_CAPACITY}.
+     */
+    public TermCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity the maximal number of terms kept
+     */
+    @SuppressWarnings("unchecked")
+    public TermCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but is " + capacity);
+        }
+        final int stripeCapacity = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+        stripes = new LRUCache[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LRUCache<>(stripeCapacity);
+        }
+    }
+
+    private LRUCache<JTerm, JTerm> stripeFor(JTerm term) {
+        final int h = term.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Returns a cached term which can be used instead of the given one.
+     *
+     * @param term the term to look up
+     * @return a cached term equal to the given one or null if there is none
+     */
+    public @Nullable JTerm get(@NonNull JTerm term) {
+        final LRUCache<JTerm, JTerm> stripe = stripeFor(term);
+        final JTerm cached;
+        synchronized (stripe) {
+            cached = stripe.get(term);
+        }
+        if (cached != null && isReplaceableBy(term, cached)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Adds the given term to the cache unless another thread has added a term which can be used
+     * instead of it in the meantime.
+     *
+     * @param term the term to add
+     * @return the cached term which is to be used, i.e., either the given term or the one which
+     *         has been added in the meantime
+     */
+    public @NonNull JTerm putIfAbsent(@NonNull JTerm term) {
+        final LRUCache<JTerm, JTerm> stripe = stripeFor(term);
+        synchronized (stripe) {
+            final JTerm cached = stripe.get(term);
+            if (cached != null && isReplaceableBy(term, cached)) {
+                return cached;
+            }
+            stripe.put(term, term);
+        }
+        return term;
+    }
+
+    /**
+     * Checks whether the term found in the cache may be used instead of the requested term. This
+     * is always the case for terms without Java blocks. Otherwise, the position information of
+     * the programs could differ, hence the Java blocks and subterms must be identical.
+     */
+    private static boolean isReplaceableBy(JTerm term, JTerm cached) {
+        if (term == cached || !term.containsJavaBlockRecursive()) {
+            return true;
+        }
+        if (term.javaBlock() != cached.javaBlock()) {
+            return false;
+        }
+        for (int i = 0, n = term.arity(); i < n; i++) {
+            if (term.sub(i) != cached.sub(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of terms currently kept
+     */
+    public int size() {
+        int size = 0;
+        for (LRUCache<JTerm, JTerm> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of look-ups which found a term
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of look-ups which did not find a term
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of successful look-ups (0 if there was no look-up yet)
+     */
+    public double getHitRate() {
+        final long h = getHits();
+        final long total = h + getMisses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Removes all terms from the cache and resets the statistics.
+     */
+    public void clear() {
+        for (LRUCache<JTerm, JTerm> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TermCache[size=%d, hits=%d, misses=%d, hit rate=%.2f]", size(),
+            getHits(), getMisses(), getHitRate());
+    }
+}
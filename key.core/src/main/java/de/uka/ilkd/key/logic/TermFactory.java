@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.logic;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import de.uka.ilkd.key.logic.label.TermLabel;
@@ -29,7 +28,7 @@ public final class TermFactory {
 
 
     private static final ImmutableArray<JTerm> NO_SUBTERMS = new ImmutableArray<>();
-    private final Map<JTerm, JTerm> cache;
+    private final TermCache cache;
 
 
     // -------------------------------------------------------------------------
@@ -41,7 +40,7 @@ public final class TermFactory {
         this.cache = null;
     }
 
-    public TermFactory(Map<JTerm, JTerm> cache) {
+    public TermFactory(TermCache cache) {
         this.cache = cache;
     }
 
@@ -123,19 +122,12 @@ public final class TermFactory {
             (labels == null || labels.isEmpty()
                     ? new TermImpl(op, subs, boundVars, origin)
                     : new LabeledTermImpl(op, subs, boundVars, labels, origin));
-        // Check if caching is possible. It is not possible if a non-empty JavaBlock is available
-        // in the term or in one of its children because the meta information like PositionInfos
-        // may be different.
-        if (cache != null && !newTerm.containsJavaBlockRecursive()) {
-            JTerm term;
-            synchronized (cache) {
-                term = cache.get(newTerm);
-            }
+        if (cache != null) {
+            // terms with Java blocks are only shared if no meta information like PositionInfos
+            // gets lost, see TermCache
+            JTerm term = cache.get(newTerm);
             if (term == null) {
-                term = newTerm.checked();
-                synchronized (cache) {
-                    cache.put(term, term);
-                }
+                term = cache.putIfAbsent(newTerm.checked());
             }
             return term;
         } else {
@@ -0,0 +1,454 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.nparser;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes the parse trees of KeY files in a binary form and reads them back without running the
+ * lexer and parser again.
+ * <p>
+ * The binary form contains the tokens referenced by the tree (without their text, which is taken
+ * from the parsed input), the rule contexts with their children and the values of their labels
+ * (e.g., {@code sub=term60}). The parsed input itself is not part of the binary form, it has to
+ * be passed when the tree is read. The binary form is bound to the grammar it has been written
+ * with, reading it with another grammar fails.
+ * <p>
+ * Only trees without syntax errors can be written.
+ */
+@NullMarked
+public final class KeyAstSerializer {
+    private static final int MAGIC = 0x4b415354; // KAST
+    private static final int VERSION = 1;
+
+    private static final int NODE_CONTEXT = 1;
+    private static final int NODE_TERMINAL = 2;
+
+    private static final int REF_NULL = 0;
+    private static final int REF_TOKEN = 1;
+    private static final int REF_CONTEXT = 2;
+    private static final int REF_LIST = 3;
+
+    /**
+     * identifies the grammar, i.e., the token types and rule contexts the trees are built of
+     */
+    private static final long GRAMMAR = ((long) KeYLexer._serializedATN.hashCode() << 32)
+            ^ (KeYParser._serializedATN.hashCode() & 0xffffffffL);
+
+    /**
+     * how the rule contexts of the parser are created and which labels they have
+     */
+    private static final ClassValue<ContextType> CONTEXT_TYPES = new ClassValue<>() {
+        @Override
+        protected ContextType computeValue(Class<?> type) {
+            return new ContextType(type);
+        }
+    };
+
+    private KeyAstSerializer() {
+    }
+
+    /**
+     * Writes the given parse tree.
+     *
+     * @param file the parse tree
+     * @param out the output
+     * @throws IOException if the output cannot be written
+     * @throws IllegalArgumentException if the tree contains syntax errors
+     */
+    public static void write(KeyAst.File file, DataOutput out) throws IOException {
+        final ParserRuleContext root = file.ctx;
+        final CharStream input = root.start.getInputStream();
+        if (input == null) {
+            throw new IllegalArgumentException("The parse tree is not bound to its input");
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(GRAMMAR);
+        out.writeUTF(input.getSourceName());
+        writeVarInt(out, input.size());
+        new Writer(out).writeContext(root);
+    }
+
+    /**
+     * Reads a parse tree written by {@link #write(KeyAst.File, DataOutput)}.
+     *
+     * @param in the input
+     * @param text the contents of the file the parse tree has been created from
+     * @return the parse tree
+     * @throws IOException if the input cannot be read, has not been written with the grammar in
+     *         use or does not fit to the given text
+     */
+    public static KeyAst.File read(DataInput in, String text) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != GRAMMAR) {
+            throw new IOException("Parse tree has been written by another version of KeY");
+        }
+        final CharStream input = CharStreams.fromString(text, in.readUTF());
+        if (readVarInt(in) != input.size()) {
+            throw new IOException("Parse tree has been created from another input");
+        }
+        final ParserRuleContext root = new Reader(in, input).readContext(null);
+        if (!(root instanceof KeYParser.FileContext ctx)) {
+            throw new IOException("Parse tree is not the one of a file");
+        }
+        return new KeyAst.File(ctx);
+    }
+
+    /**
+     * The way to create a type of rule contexts and its labels.
+     */
+    private static final class ContextType {
+        /** the constructor taking the parent and invoking state */
+        private final Constructor<?> create;
+        /** the constructor of labeled alternatives taking the context of their rule, or null */
+        private final @Nullable Constructor<?> copy;
+        /** the labels, sorted by their names */
+        private final Field[] labels;
+
+        private ContextType(Class<?> type) {
+            if (!ParserRuleContext.class.isAssignableFrom(type)
+                    || type.getEnclosingClass() != KeYParser.class) {
+                throw new IllegalArgumentException("Not a rule context of KeY files: " + type);
+            }
+            try {
+                Constructor<?> constructor;
+                Constructor<?> labeled = null;
+                try {
+                    constructor = type.getConstructor(ParserRuleContext.class, int.class);
+                } catch (NoSuchMethodException e) {
+                    // labeled alternatives are created from the context of their rule
+                    final Class<?> rule = type.getSuperclass();
+                    constructor = rule.getConstructor(ParserRuleContext.class, int.class);
+                    labeled = type.getConstructor(rule);
+                }
+                this.create = constructor;
+                this.copy = labeled;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Cannot create rule contexts " + type, e);
+            }
+
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != ParserRuleContext.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                            && !Modifier.isFinal(modifiers)) {
+                        fields.add(field);
+                    }
+                }
+            }
+            fields.sort(Comparator.comparing(Field::getName)
+                    .thenComparing(f -> f.getDeclaringClass().getName()));
+            this.labels = fields.toArray(new Field[0]);
+        }
+
+        private ParserRuleContext create(@Nullable ParserRuleContext parent, int invokingState)
+                throws IOException {
+            try {
+                final Object ctx = create.newInstance(parent, invokingState);
+                return (ParserRuleContext) (copy == null ? ctx : copy.newInstance(ctx));
+            } catch (InstantiationException | IllegalAccessException
+                    | InvocationTargetException e) {
+                throw new IOException("Cannot create rule context", e);
+            }
+        }
+    }
+
+    /**
+     * Writes one parse tree. Tokens and rule contexts are numbered in the order they are
+     * written, later references use these numbers.
+     */
+    private static final class Writer {
+        private final DataOutput out;
+        private final Map<Token, Integer> tokens = new IdentityHashMap<>();
+        private final Map<ParserRuleContext, Integer> contexts = new IdentityHashMap<>();
+        private final Map<Class<?>, Integer> types = new HashMap<>();
+
+        private Writer(DataOutput out) {
+            this.out = out;
+        }
+
+        private void writeContext(ParserRuleContext ctx) throws IOException {
+            if (ctx.exception != null) {
+                throw new IllegalArgumentException("Parse tree contains syntax errors");
+            }
+            final ContextType type = CONTEXT_TYPES.get(ctx.getClass());
+            contexts.put(ctx, contexts.size());
+
+            final Integer typeId = types.get(ctx.getClass());
+            if (typeId == null) {
+                writeVarInt(out, types.size());
+                out.writeUTF(ctx.getClass().getName());
+                types.put(ctx.getClass(), types.size());
+            } else {
+                writeVarInt(out, typeId);
+            }
+            writeVarInt(out, ctx.invokingState + 1);
+            writeRef(ctx.start);
+            writeRef(ctx.stop);
+
+            writeVarInt(out, ctx.getChildCount());
+            for (int i = 0; i < ctx.getChildCount(); i++) {
+                final ParseTree child = ctx.getChild(i);
+                if (child instanceof ParserRuleContext c) {
+                    out.writeByte(NODE_CONTEXT);
+                    writeContext(c);
+                } else if (child.getClass() == TerminalNodeImpl.class) {
+                    out.writeByte(NODE_TERMINAL);
+                    writeToken(((TerminalNode) child).getSymbol());
+                } else {
+                    throw new IllegalArgumentException("Parse tree contains syntax errors");
+                }
+            }
+
+            for (Field label : type.labels) {
+                try {
+                    writeRef(label.get(ctx));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalArgumentException("Cannot access label " + label, e);
+                }
+            }
+        }
+
+        private void writeRef(@Nullable Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(REF_NULL);
+            } else if (value instanceof Token token) {
+                out.writeByte(REF_TOKEN);
+                writeToken(token);
+            } else if (value instanceof ParserRuleContext ctx) {
+                final Integer id = contexts.get(ctx);
+                if (id == null) {
+                    throw new IllegalArgumentException("Label refers to a foreign rule context");
+                }
+                out.writeByte(REF_CONTEXT);
+                writeVarInt(out, id);
+            } else if (value instanceof List<?> list) {
+                out.writeByte(REF_LIST);
+                writeVarInt(out, list.size());
+                for (Object element : list) {
+                    writeRef(element);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported label value " + value);
+            }
+        }
+
+        private void writeToken(Token token) throws IOException {
+            final Integer id = tokens.get(token);
+            if (id != null) {
+                writeVarInt(out, id);
+                return;
+            }
+            writeVarInt(out, tokens.size());
+            tokens.put(token, tokens.size());
+            writeVarInt(out, token.getType() + 1);
+            writeVarInt(out, token.getChannel());
+            writeVarInt(out, token.getStartIndex() + 1);
+            writeVarInt(out, token.getStopIndex() + 1);
+            writeVarInt(out, token.getLine());
+            writeVarInt(out, token.getCharPositionInLine() + 1);
+            writeVarInt(out, token.getTokenIndex() + 1);
+            final String text = token.getText();
+            if (text != null && text.equals(textOf(token.getInputStream(),
+                token.getStartIndex(), token.getStopIndex()))) {
+                out.writeBoolean(false);
+            } else {
+                out.writeBoolean(true);
+                out.writeUTF(text == null ? "" : text);
+            }
+        }
+    }
+
+    /**
+     * Reads one parse tree.
+     */
+    private static final class Reader {
+        private final DataInput in;
+        private final CharStream input;
+        private final Pair<TokenSource, CharStream> source;
+        private final List<Token> tokens = new ArrayList<>();
+        private final List<ParserRuleContext> contexts = new ArrayList<>();
+        private final List<ContextType> types = new ArrayList<>();
+
+        private Reader(DataInput in, CharStream input) {
+            this.in = in;
+            this.input = input;
+            this.source = new Pair<>(ParsingFacade.createLexer(input), input);
+        }
+
+        private ParserRuleContext readContext(@Nullable ParserRuleContext parent)
+                throws IOException {
+            final ContextType type = readType();
+            final ParserRuleContext ctx = type.create(parent, readVarInt(in) - 1);
+            contexts.add(ctx);
+            ctx.start = readTokenRef();
+            ctx.stop = readTokenRef();
+
+            final int children = readVarInt(in);
+            for (int i = 0; i < children; i++) {
+                final int kind = in.readByte();
+                if (kind == NODE_CONTEXT) {
+                    ctx.addChild(readContext(ctx));
+                } else if (kind == NODE_TERMINAL) {
+                    ctx.addChild(new TerminalNodeImpl(readToken()));
+                } else {
+                    throw new IOException("Unknown node kind " + kind);
+                }
+            }
+
+            for (Field label : type.labels) {
+                final Object value = readRef();
+                if (value != null && !label.getType().isInstance(value)) {
+                    throw new IOException("Illegal value of label " + label);
+                }
+                try {
+                    label.set(ctx, value);
+                } catch (IllegalAccessException e) {
+                    throw new IOException("Cannot set label " + label, e);
+                }
+            }
+            return ctx;
+        }
+
+        private @Nullable Token readTokenRef() throws IOException {
+            final Object value = readRef();
+            if (value != null && !(value instanceof Token)) {
+                throw new IOException("Token expected");
+            }
+            return (Token) value;
+        }
+
+        private ContextType readType() throws IOException {
+            final int id = readVarInt(in);
+            if (id < types.size()) {
+                return types.get(id);
+            }
+            if (id != types.size()) {
+                throw new IOException("Unknown rule context type " + id);
+            }
+            try {
+                final Class<?> c =
+                    Class.forName(in.readUTF(), false, KeYParser.class.getClassLoader());
+                final ContextType type = CONTEXT_TYPES.get(c);
+                types.add(type);
+                return type;
+            } catch (ClassNotFoundException | IllegalArgumentException e) {
+                throw new IOException("Unknown rule context type", e);
+            }
+        }
+
+        private @Nullable Object readRef() throws IOException {
+            final int kind = in.readByte();
+            switch (kind) {
+            case REF_NULL:
+                return null;
+            case REF_TOKEN:
+                return readToken();
+            case REF_CONTEXT:
+                final int id = readVarInt(in);
+                if (id >= contexts.size()) {
+                    throw new IOException("Unknown rule context " + id);
+                }
+                return contexts.get(id);
+            case REF_LIST:
+                final int size = readVarInt(in);
+                final List<@Nullable Object> list = new ArrayList<>(Math.min(size, 1024));
+                for (int i = 0; i < size; i++) {
+                    list.add(readRef());
+                }
+                return list;
+            default:
+                throw new IOException("Unknown reference kind " + kind);
+            }
+        }
+
+        private Token readToken() throws IOException {
+            final int id = readVarInt(in);
+            if (id < tokens.size()) {
+                return tokens.get(id);
+            }
+            if (id != tokens.size()) {
+                throw new IOException("Unknown token " + id);
+            }
+            final int type = readVarInt(in) - 1;
+            final int channel = readVarInt(in);
+            final int start = readVarInt(in) - 1;
+            final int stop = readVarInt(in) - 1;
+            if (start > input.size() || stop >= input.size()) {
+                throw new IOException("Token exceeds the input");
+            }
+            final CommonToken token = new CommonToken(source, type, channel, start, stop);
+            token.setLine(readVarInt(in));
+            token.setCharPositionInLine(readVarInt(in) - 1);
+            token.setTokenIndex(readVarInt(in) - 1);
+            if (in.readBoolean()) {
+                token.setText(in.readUTF());
+            }
+            tokens.add(token);
+            return token;
+        }
+    }
+
+    /**
+     * Computes the text of a token without explicitly set text (see {@link CommonToken#getText()}).
+     */
+    private static @Nullable String textOf(@Nullable CharStream input, int start, int stop) {
+        if (input == null) {
+            return null;
+        }
+        final int n = input.size();
+        if (start < n && stop < n) {
+            return input.getText(Interval.of(start, stop));
+        }
+        return "<EOF>";
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Malformed number");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed number");
+    }
+}
@@ -19,11 +19,11 @@ public class Counter {
         this.count = count;
     }
 
-    public int getCount() {
+    public synchronized int getCount() {
         return count;
     }
 
-    public int getCountPlusPlus() {
+    public synchronized int getCountPlusPlus() {
         return count++;
     }
 
@@ -31,7 +31,7 @@ public class Counter {
         return "Counter " + name + ": " + count;
     }
 
-    public Counter copy() {
+    public synchronized Counter copy() {
         return new Counter(name, count);
     }
 }
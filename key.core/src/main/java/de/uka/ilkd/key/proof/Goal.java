@@ -17,6 +17,7 @@ import de.uka.ilkd.key.pp.LogicPrinter;
 import de.uka.ilkd.key.pp.NotationInfo;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeJournal;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler;
 import de.uka.ilkd.key.rule.AbstractExternalSolverRuleApp;
 import de.uka.ilkd.key.rule.IBuiltInRuleApp;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
@@ -270,6 +271,7 @@ public final class Goal implements ProofGoal<Goal> {
      * @param p_node the Node in the proof tree to which this goal refers to
      */
     private void setNode(Node p_node) {
+        p_node.restoreSequent();
         if (node().sequent() != p_node.sequent()) {
             node = p_node;
             tagManager = new FormulaTagManager(this);
@@ -615,6 +617,19 @@ public final class Goal implements ProofGoal<Goal> {
      */
     @Override
     public ImmutableList<Goal> apply(@NonNull final RuleApp ruleApp) {
+        final int frames = AutoModeProfiler.enterPhase(AutoModeProfiler.PHASE_APPLY, ruleApp);
+        final long start = frames > 0 ? System.nanoTime() : 0;
+        try {
+            return applyRuleApp(ruleApp);
+        } finally {
+            AutoModeProfiler.exit(frames);
+            if (frames > 0) {
+                AutoModeProfiler.recordRuleSets(ruleApp, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private ImmutableList<Goal> applyRuleApp(final RuleApp ruleApp) {
         final Proof proof = proof();
 
         final NodeChangeJournal journal = new NodeChangeJournal(proof, this);
@@ -47,9 +47,9 @@ final class MultiThreadedTacletIndex extends TacletIndex {
         super();
     }
 
-    private MultiThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    private MultiThreadedTacletIndex(HashMap<Object, TacletDiscriminationTree> rwList,
+            HashMap<Object, TacletDiscriminationTree> antecList,
+            HashMap<Object, TacletDiscriminationTree> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
@@ -62,9 +62,9 @@ final class MultiThreadedTacletIndex extends TacletIndex {
     @Override
     public TacletIndex copy() {
         return new MultiThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, TacletDiscriminationTree>) rwList.clone(),
+            (HashMap<Object, TacletDiscriminationTree>) antecList.clone(),
+            (HashMap<Object, TacletDiscriminationTree>) succList.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
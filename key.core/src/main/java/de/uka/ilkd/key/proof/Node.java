@@ -60,7 +60,24 @@ public class Node implements Iterable<Node> {
      */
     private BranchLocation branchLocation = null;
 
-    private Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+    /**
+     * The sequent of this node, or {@code null} if the node is an inner node of a compacted closed
+     * subtree. In this case, the sequent is rebuilt on demand using the {@link #sequentDelta}.
+     *
+     * @see #compactClosedSubtree(int)
+     */
+    private volatile @Nullable Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+
+    /**
+     * The difference between the sequent of the parent node and the sequent of this node, only
+     * set if the sequent of this node has been dropped.
+     */
+    private @Nullable SequentDelta sequentDelta;
+
+    /**
+     * Whether the closed subtree below this node has already been compacted.
+     */
+    private boolean compacted = false;
 
     private final ArrayList<Node> children = new ArrayList<>(1);
 
@@ -159,11 +176,88 @@ public class Node implements Iterable<Node> {
      */
     public void setSequent(Sequent seq) {
         this.seq = seq;
+        sequentDelta = null;
     }
 
-    /** returns the sequent of this node */
+    /**
+     * returns the sequent of this node. If the sequent of this node has been dropped because the
+     * node is part of a compacted closed subtree, the sequent is rebuilt from the sequent of the
+     * nearest ancestor retaining its sequent. Rebuilt sequents are not stored, i.e., subsequent
+     * calls return equal but not identical sequents.
+     */
     public Sequent sequent() {
-        return seq;
+        Sequent result = seq;
+        if (result != null) {
+            return result;
+        }
+        ArrayList<SequentDelta> deltas = new ArrayList<>();
+        Node n = this;
+        // reading the volatile seq first guarantees that the delta written before is visible
+        while ((result = n.seq) == null) {
+            deltas.add(n.sequentDelta);
+            n = n.parent;
+        }
+        for (int i = deltas.size() - 1; i >= 0; i--) {
+            result = deltas.get(i).apply(result);
+        }
+        return result;
+    }
+
+    /**
+     * Stores the sequent of this node again if it has been dropped, such that {@link #sequent()}
+     * returns the identical sequent. This is required if the node becomes the node of a goal
+     * again, e.g., by pruning.
+     */
+    void restoreSequent() {
+        if (seq == null) {
+            setSequent(sequent());
+        }
+    }
+
+    /**
+     * Drops the sequents of the inner nodes of the closed subtree below this node to save memory.
+     * The sequents are replaced by their difference to the parent sequent, which is usually much
+     * smaller, and are rebuilt on demand by {@link #sequent()}. To bound the cost of rebuilding a
+     * sequent, every {@code snapshotDistance}-th node on a branch retains its sequent. This node,
+     * the leaves and the roots of previously compacted subtrees retain their sequents as well.
+     * Besides the sequents, the change information of the nodes (only used to highlight the
+     * changes in the user interface) is dropped.
+     *
+     * @param snapshotDistance the maximal number of nodes on a branch between two nodes retaining
+     *        their sequents
+     */
+    void compactClosedSubtree(int snapshotDistance) {
+        assert closed : "Only closed subtrees can be compacted";
+        record Pending(Node node, Sequent parentSequent, int distance) {
+        }
+        ArrayList<Pending> stack = new ArrayList<>();
+        Sequent rootSequent = sequent();
+        for (Node child : children) {
+            stack.add(new Pending(child, rootSequent, 1));
+        }
+        while (!stack.isEmpty()) {
+            Pending p = stack.remove(stack.size() - 1);
+            Node n = p.node();
+            Sequent s = n.seq;
+            if (s == null || n.leaf() || n.compacted) {
+                continue;
+            }
+            int distance = 0;
+            if (p.distance() < snapshotDistance) {
+                SequentDelta delta = SequentDelta.create(p.parentSequent(), s);
+                if (delta != null) {
+                    n.sequentDelta = delta;
+                    n.seq = null;
+                    distance = p.distance();
+                }
+            }
+            n.nodeInfo.setSequentChangeInfo(null);
+            n.children.trimToSize();
+            for (Node child : n.children) {
+                stack.add(new Pending(child, s, distance + 1));
+            }
+        }
+        compacted = true;
     }
 
     /**
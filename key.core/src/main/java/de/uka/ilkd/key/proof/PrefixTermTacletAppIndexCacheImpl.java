@@ -3,10 +3,9 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.Map;
-
 import org.key_project.logic.Term;
 import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.util.ConcurrentCache;
 import org.key_project.util.collection.ImmutableList;
 
 import org.slf4j.Logger;
@@ -14,11 +13,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The abstract superclass of caches for taclet app indexes that are implemented using a common
- * backend <code>LRUCache</code> (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
+ * backend cache (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
  * The backend is accessed in a way that guarantees that two distinct instances of this class never
  * interfere, by choosing cache keys that are specific for a particular instance of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> and cannot be created by other instances. This
- * ensures that it is safe to use one instance of <code>LRUCache</code> for many instances of
+ * ensures that it is safe to use one cache for many instances of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> (different proofs, different proof branches,
  * different locations).
  */
@@ -26,10 +25,10 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
     private static final Logger LOGGER =
         LoggerFactory.getLogger(PrefixTermTacletAppIndexCacheImpl.class);
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final ConcurrentCache<CacheKey, TermTacletAppIndex> cache;
 
     protected PrefixTermTacletAppIndexCacheImpl(ImmutableList<QuantifiableVariable> prefix,
-            Map<CacheKey, TermTacletAppIndex> cache) {
+            ConcurrentCache<CacheKey, TermTacletAppIndex> cache) {
         super(prefix);
         this.cache = cache;
     }
@@ -543,6 +543,9 @@ public class Proof implements ProofObject<Goal>, Named {
     public void closeGoal(Goal goalToClose) {
 
         Node closedSubtree = goalToClose.node().close();
+        if (GeneralSettings.compactClosedSubtrees && GeneralSettings.noPruningClosed) {
+            closedSubtree.compactClosedSubtree(GeneralSettings.SEQUENT_SNAPSHOT_DISTANCE);
+        }
 
         boolean b = false;
         Iterator<Node> it = closedSubtree.leavesIterator();
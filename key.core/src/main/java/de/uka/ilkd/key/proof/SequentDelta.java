@@ -0,0 +1,157 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The difference between the sequent of a proof node and the sequent of its parent node. A rule
+ * application typically changes only a few formulas of the sequent, so the delta is much smaller
+ * than the sequent it describes: it stores the positions of the formulas of the parent that are
+ * not part of the child and the formulas of the child that are not part of the parent. Formulas
+ * are compared by identity, which is preserved by the rule applications for unchanged formulas.
+ * <p>
+ * Deltas are used by {@link Node} to drop the sequents of inner nodes of closed subtrees. The
+ * sequents are rebuilt on demand from the sequent of the nearest ancestor that retains its sequent.
+ *
+ * @see Node#sequent()
+ */
+final class SequentDelta {
+    private final SemisequentDelta antecedent;
+    private final SemisequentDelta succedent;
+
+    private SequentDelta(SemisequentDelta antecedent, SemisequentDelta succedent) {
+        this.antecedent = antecedent;
+        this.succedent = succedent;
+    }
+
+    /**
+     * Computes the delta between the given sequents.
+     *
+     * @param parent the sequent of the parent node
+     * @param child the sequent of the child node
+     * @return the delta, or {@code null} if the child cannot be represented as delta of the parent
+     *         (e.g., if the rule application reordered formulas)
+     */
+    static @Nullable SequentDelta create(Sequent parent, Sequent child) {
+        SemisequentDelta ante =
+            SemisequentDelta.create(parent.antecedent().asList(), child.antecedent().asList());
+        if (ante == null) {
+            return null;
+        }
+        SemisequentDelta succ =
+            SemisequentDelta.create(parent.succedent().asList(), child.succedent().asList());
+        if (succ == null) {
+            return null;
+        }
+        return new SequentDelta(ante, succ);
+    }
+
+    /**
+     * Rebuilds the sequent of the child node.
+     *
+     * @param parent the sequent of the parent node
+     * @return a sequent equal to the child sequent this delta has been created for
+     */
+    Sequent apply(Sequent parent) {
+        return JavaDLSequentKit.createSequent(antecedent.apply(parent.antecedent().asList()),
+            succedent.apply(parent.succedent().asList()));
+    }
+
+    /**
+     * The difference of two semisequents.
+     *
+     * @param removed the ascending indices of the removed formulas of the parent
+     * @param addedAt the ascending indices of the added formulas in the child
+     * @param added the added formulas
+     */
+    private record SemisequentDelta(int[] removed, int[] addedAt, SequentFormula[] added) {
+        private static final int[] NONE = new int[0];
+        private static final SequentFormula[] NO_FORMULAS = new SequentFormula[0];
+
+        static @Nullable SemisequentDelta create(ImmutableList<SequentFormula> parent,
+                ImmutableList<SequentFormula> child) {
+            if (parent == child) {
+                return new SemisequentDelta(NONE, NONE, NO_FORMULAS);
+            }
+            Map<SequentFormula, Integer> parentIndex = new IdentityHashMap<>();
+            int i = 0;
+            for (SequentFormula sf : parent) {
+                parentIndex.put(sf, i++);
+            }
+            boolean[] kept = new boolean[parent.size()];
+            List<Integer> addedAt = new ArrayList<>();
+            List<SequentFormula> added = new ArrayList<>();
+            int lastKept = -1;
+            i = 0;
+            for (SequentFormula sf : child) {
+                Integer idx = parentIndex.get(sf);
+                if (idx == null) {
+                    addedAt.add(i);
+                    added.add(sf);
+                } else if (idx > lastKept) {
+                    kept[idx] = true;
+                    lastKept = idx;
+                } else {
+                    // formulas of the parent have been reordered
+                    return null;
+                }
+                i++;
+            }
+            int removedCount = 0;
+            for (boolean k : kept) {
+                if (!k) {
+                    removedCount++;
+                }
+            }
+            int[] removed = new int[removedCount];
+            removedCount = 0;
+            for (i = 0; i < kept.length; i++) {
+                if (!kept[i]) {
+                    removed[removedCount++] = i;
+                }
+            }
+            return new SemisequentDelta(removed,
+                addedAt.stream().mapToInt(Integer::intValue).toArray(),
+                added.toArray(NO_FORMULAS));
+        }
+
+        ImmutableList<SequentFormula> apply(ImmutableList<SequentFormula> parent) {
+            if (removed.length == 0 && added.length == 0) {
+                return parent;
+            }
+            List<SequentFormula> result =
+                new ArrayList<>(parent.size() - removed.length + added.length);
+            int nextRemoved = 0;
+            int nextAdded = 0;
+            int i = 0;
+            for (SequentFormula sf : parent) {
+                if (nextRemoved < removed.length && removed[nextRemoved] == i) {
+                    nextRemoved++;
+                } else {
+                    while (nextAdded < added.length && addedAt[nextAdded] == result.size()) {
+                        result.add(added[nextAdded++]);
+                    }
+                    result.add(sf);
+                }
+                i++;
+            }
+            while (nextAdded < added.length) {
+                result.add(added[nextAdded++]);
+            }
+            return ImmutableList.fromList(result);
+        }
+    }
+}
@@ -39,9 +39,9 @@ final class SingleThreadedTacletIndex extends TacletIndex {
         super(tacletSet);
     }
 
-    private SingleThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    private SingleThreadedTacletIndex(HashMap<Object, TacletDiscriminationTree> rwList,
+            HashMap<Object, TacletDiscriminationTree> antecList,
+            HashMap<Object, TacletDiscriminationTree> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
@@ -54,9 +54,9 @@ final class SingleThreadedTacletIndex extends TacletIndex {
     @Override
     public TacletIndex copy() {
         return new SingleThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, TacletDiscriminationTree>) rwList.clone(),
+            (HashMap<Object, TacletDiscriminationTree>) antecList.clone(),
+            (HashMap<Object, TacletDiscriminationTree>) succList.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
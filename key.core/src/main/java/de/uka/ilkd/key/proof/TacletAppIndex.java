@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.proof;
 
 import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
@@ -20,6 +19,7 @@ import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.sequent.Sequent;
 import org.key_project.prover.sequent.SequentChangeInfo;
 import org.key_project.prover.strategy.NewRuleListener;
+import org.key_project.util.ConcurrentCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -66,7 +66,7 @@ public class TacletAppIndex {
      */
     private Sequent seq;
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final ConcurrentCache<CacheKey, TermTacletAppIndex> cache;
 
     public TacletAppIndex(TacletIndex tacletIndex, Goal goal, Services services) {
         this(tacletIndex, null, null, goal, null, TacletFilter.TRUE,
@@ -76,8 +76,8 @@ public class TacletAppIndex {
 
     private TacletAppIndex(TacletIndex tacletIndex, SemisequentTacletAppIndex antecIndex,
             SemisequentTacletAppIndex succIndex, @NonNull Goal goal, Sequent seq,
-            RuleFilter ruleFilter,
-            TermTacletAppIndexCacheSet indexCaches, Map<CacheKey, TermTacletAppIndex> cache) {
+            RuleFilter ruleFilter, TermTacletAppIndexCacheSet indexCaches,
+            ConcurrentCache<CacheKey, TermTacletAppIndex> cache) {
         this.tacletIndex = tacletIndex;
         this.antecIndex = antecIndex;
         this.succIndex = succIndex;
@@ -0,0 +1,214 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.JModality;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+
+import org.key_project.logic.op.Operator;
+import org.key_project.logic.op.sv.SchemaVariable;
+import org.key_project.util.collection.HashTrie;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A persistent discrimination tree over the find terms of taclets. The find term of a taclet is
+ * flattened in preorder to a sequence of symbols, which is stored as a path in the tree. A symbol
+ * is the operator of the subterm, except for schema variables, which are represented by a
+ * wildcard matching any subterm. Operators which are not matched by identity are abstracted like
+ * in {@link TacletIndex}: sort depending functions by their kind, elementary updates and
+ * modalities by their class.
+ * <p>
+ * {@link #getCandidates(JTerm)} traverses the tree along the given term and returns only the
+ * taclet apps whose find term has the same skeleton as the term, i.e., which may match the term.
+ * All other taclet apps fail to match in the first place, where their find term has an operator
+ * different from the one of the term. The candidates are returned in the same order as by
+ * {@link #apps()}, hence the result of the taclet index does not depend on the tree.
+ * <p>
+ * {@link TacletIndex} keeps one tree per top level operator (or other index object).
+ *
+ * @see TacletIndex
+ */
+final class TacletDiscriminationTree {
+    /** the tree without taclets */
+    static final TacletDiscriminationTree EMPTY =
+        new TacletDiscriminationTree(Node.EMPTY, ImmutableSLList.nil(), 0);
+
+    /** the root node of the tree */
+    private final Node root;
+    /** all taclet apps in the tree, the most recently added first */
+    private final ImmutableList<NoPosTacletApp> apps;
+    /** the stamp of the next added taclet app, used to order the candidates */
+    private final int nextStamp;
+
+    private TacletDiscriminationTree(Node root, ImmutableList<NoPosTacletApp> apps,
+            int nextStamp) {
+        this.root = root;
+        this.apps = apps;
+        this.nextStamp = nextStamp;
+    }
+
+    /**
+     * @return true iff the tree does not contain any taclet app
+     */
+    boolean isEmpty() {
+        return apps.isEmpty();
+    }
+
+    /**
+     * @return all taclet apps in the tree, the most recently added first
+     */
+    ImmutableList<NoPosTacletApp> apps() {
+        return apps;
+    }
+
+    /**
+     * adds a taclet app with a find term
+     *
+     * @param app the taclet app, its taclet must be a {@link FindTaclet}
+     * @return a tree containing the taclet apps of this tree and the given one
+     */
+    TacletDiscriminationTree add(NoPosTacletApp app) {
+        final JTerm find = ((FindTaclet) app.taclet()).find();
+        final Node newRoot =
+            insert(root, ImmutableSLList.singleton(find), new Entry(nextStamp, app));
+        return new TacletDiscriminationTree(newRoot, apps.prepend(app), nextStamp + 1);
+    }
+
+    /**
+     * removes all occurrences of a taclet app
+     *
+     * @param app the taclet app
+     * @return a tree containing the taclet apps of this tree except for the given one
+     */
+    TacletDiscriminationTree remove(NoPosTacletApp app) {
+        final ImmutableList<NoPosTacletApp> remaining = apps.removeAll(app);
+        if (remaining.size() == apps.size()) {
+            return this;
+        }
+        // taclets are rarely removed, the tree is simply rebuilt
+        TacletDiscriminationTree result = EMPTY;
+        for (NoPosTacletApp a : remaining.reverse()) {
+            result = result.add(a);
+        }
+        return result;
+    }
+
+    /**
+     * returns the taclet apps whose find term may match the given term
+     *
+     * @param term the term
+     * @return the taclet apps whose find term has the same skeleton as the term, in the order of
+     *         {@link #apps()}
+     */
+    ImmutableList<NoPosTacletApp> getCandidates(JTerm term) {
+        final List<Entry> found = new ArrayList<>();
+        collect(root, ImmutableSLList.singleton(term), found);
+        if (found.size() > 1) {
+            found.sort(Comparator.comparingInt(Entry::stamp));
+        }
+        ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        for (Entry entry : found) {
+            result = result.prepend(entry.app());
+        }
+        return result;
+    }
+
+    /**
+     * @return the symbol of the term in the tree, null for the wildcard
+     */
+    private static @Nullable Object symbol(JTerm term) {
+        final Operator op = term.op();
+        return switch (op) {
+            case SchemaVariable ignored -> null;
+            case SortDependingFunction sortDependingFunction -> sortDependingFunction.getKind();
+            case ElementaryUpdate ignored -> ElementaryUpdate.class;
+            case JModality ignored -> JModality.class;
+            default -> op;
+        };
+    }
+
+    /**
+     * @return the given stack of subterms still to be visited with the subterms of the term on
+     *         top, in their order
+     */
+    private static ImmutableList<JTerm> pushSubterms(JTerm term, ImmutableList<JTerm> pending) {
+        for (int i = term.arity() - 1; i >= 0; i--) {
+            pending = pending.prepend(term.sub(i));
+        }
+        return pending;
+    }
+
+    private static Node insert(Node node, ImmutableList<JTerm> pending, Entry entry) {
+        if (pending.isEmpty()) {
+            return new Node(node.children, node.wildcard, node.entries.prepend(entry));
+        }
+        final JTerm term = pending.head();
+        final Object symbol = symbol(term);
+        if (symbol == null) {
+            final Node wildcard = node.wildcard == null ? Node.EMPTY : node.wildcard;
+            return new Node(node.children, insert(wildcard, pending.tail(), entry),
+                node.entries);
+        }
+        final Node child = node.children.get(symbol);
+        final Node newChild = insert(child == null ? Node.EMPTY : child,
+            pushSubterms(term, pending.tail()), entry);
+        return new Node(node.children.put(symbol, newChild), node.wildcard, node.entries);
+    }
+
+    private static void collect(Node node, ImmutableList<JTerm> pending, List<Entry> found) {
+        if (pending.isEmpty()) {
+            node.entries.forEach(found::add);
+            return;
+        }
+        final JTerm term = pending.head();
+        if (node.wildcard != null) {
+            // a schema variable matches the whole subterm
+            collect(node.wildcard, pending.tail(), found);
+        }
+        final Object symbol = symbol(term);
+        if (symbol != null) {
+            final Node child = node.children.get(symbol);
+            if (child != null) {
+                collect(child, pushSubterms(term, pending.tail()), found);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return apps.toString();
+    }
+
+    /**
+     * a taclet app stored in the tree
+     *
+     * @param stamp the position of the taclet app in the order of insertion
+     * @param app the taclet app
+     */
+    private record Entry(int stamp, NoPosTacletApp app) {
+    }
+
+    /**
+     * A node of the tree.
+     *
+     * @param children the subtrees by the next symbol
+     * @param wildcard the subtree of find terms with a schema variable as next symbol
+     * @param entries the taclet apps whose find term ends at this node
+     */
+    private record Node(HashTrie<Object, Node> children, @Nullable Node wildcard,
+            ImmutableList<Entry> entries) {
+        static final Node EMPTY = new Node(HashTrie.empty(), null, ImmutableSLList.nil());
+    }
+}
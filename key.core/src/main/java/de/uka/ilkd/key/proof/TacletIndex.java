@@ -37,6 +37,12 @@ import org.jspecify.annotations.Nullable;
  * information, the NoPosTacletApps) at one node. It is a persistent implementation. Taclets can be
  * added because the Taclets allow to introduce new rules during runtime. It offers selective get
  * methods for different kinds of rules.
+ * <p>
+ * Taclets with a find part are first selected by the top level operator of their find term (or the
+ * first statement of its java block, or the sort of a top level schema variable). The taclets for
+ * one top level operator are kept in a {@link TacletDiscriminationTree}, which returns only those
+ * taclets whose find term has the same skeleton as the term at hand. Only these candidates are
+ * matched by {@link #matchTaclets(ImmutableList, RuleFilter, PosInOccurrence, LogicServices)}.
  */
 public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
@@ -44,13 +50,13 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     private static final Object DEFAULT_PROGSV_KEY = new Object();
 
     /** contains rewrite Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> rwList = new LinkedHashMap<>();
+    protected HashMap<Object, TacletDiscriminationTree> rwList = new LinkedHashMap<>();
 
     /** contains antecedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> antecList = new LinkedHashMap<>();
+    protected HashMap<Object, TacletDiscriminationTree> antecList = new LinkedHashMap<>();
 
     /** contains succedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> succList = new LinkedHashMap<>();
+    protected HashMap<Object, TacletDiscriminationTree> succList = new LinkedHashMap<>();
 
     /** contains NoFind-Taclets */
     protected ImmutableList<NoPosTacletApp> noFindList = ImmutableSLList.nil();
@@ -76,9 +82,9 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
         addTaclets(toNoPosTacletApp(tacletSet));
     }
 
-    protected TacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    protected TacletIndex(HashMap<Object, TacletDiscriminationTree> rwList,
+            HashMap<Object, TacletDiscriminationTree> antecList,
+            HashMap<Object, TacletDiscriminationTree> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         this.rwList = rwList;
@@ -133,25 +139,24 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
 
     private void insertToMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+            HashMap<Object, TacletDiscriminationTree> map) {
         Object indexObj = getIndexObj((FindTaclet) tacletApp.taclet());
-        ImmutableList<NoPosTacletApp> opList = map.get(indexObj);
-        opList = Objects.requireNonNullElseGet(opList,
-            ImmutableSLList::<NoPosTacletApp>nil).prepend(tacletApp);
-        map.put(indexObj, opList);
+        TacletDiscriminationTree tree = map.get(indexObj);
+        tree = Objects.requireNonNullElse(tree, TacletDiscriminationTree.EMPTY).add(tacletApp);
+        map.put(indexObj, tree);
     }
 
 
     private void removeFromMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+            HashMap<Object, TacletDiscriminationTree> map) {
         Object op = getIndexObj((FindTaclet) tacletApp.taclet());
-        ImmutableList<NoPosTacletApp> opList = map.get(op);
-        if (opList != null) {
-            opList = opList.removeAll(tacletApp);
-            if (opList.isEmpty()) {
+        TacletDiscriminationTree tree = map.get(op);
+        if (tree != null) {
+            tree = tree.remove(tacletApp);
+            if (tree.isEmpty()) {
                 map.remove(op);
             } else {
-                map.put(op, opList);
+                map.put(op, tree);
             }
         }
     }
@@ -252,16 +257,16 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     @Override
     public @NonNull Set<NoPosTacletApp> allNoPosTacletApps() {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
-        for (ImmutableList<NoPosTacletApp> tacletApps : rwList.values()) {
-            tacletApps.forEach(result::add);
+        for (TacletDiscriminationTree tacletApps : rwList.values()) {
+            tacletApps.apps().forEach(result::add);
         }
 
-        for (ImmutableList<NoPosTacletApp> tacletApps : antecList.values()) {
-            tacletApps.forEach(result::add);
+        for (TacletDiscriminationTree tacletApps : antecList.values()) {
+            tacletApps.apps().forEach(result::add);
         }
 
-        for (ImmutableList<NoPosTacletApp> tacletApps : succList.values()) {
-            tacletApps.forEach(result::add);
+        for (TacletDiscriminationTree tacletApps : succList.values()) {
+            tacletApps.apps().forEach(result::add);
         }
 
         noFindList.forEach(result::add);
@@ -290,36 +295,52 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             @NonNull ImmutableList<NoPosTacletApp> tacletApps, final RuleFilter p_filter,
             final PosInOccurrence pos, final LogicServices services);
 
+    /**
+     * returns the NoPosTacletApps of the given map under the given key whose find term may match
+     * the given term
+     *
+     * @param map the map to select the NoPosTacletApps from
+     * @param key the index object
+     * @param term the term the NoPosTacletApps are selected for
+     * @return the candidates for the term, null if there are no taclets for the key
+     */
+    private static @Nullable ImmutableList<NoPosTacletApp> getCandidates(
+            HashMap<Object, TacletDiscriminationTree> map, Object key, JTerm term) {
+        final TacletDiscriminationTree tree = map.get(key);
+        return tree == null ? null : tree.getCandidates(term);
+    }
+
     /**
      * returns a selection from the given map with NoPosTacletApps relevant for the given program
      * element. Occurring prefix elements are tracked and taclet applications for them are added.
      *
      * @param map the map to select the NoPosTacletApps from
      * @param pe the program element that is used to retrieve the taclets
+     * @param term the term whose java block contains the program element
      * @param prefixOccurrences the PrefixOccurrence object used to keep track of the occurring
      *        prefix elements
      */
     private ImmutableList<NoPosTacletApp> getJavaTacletList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, ProgramElement pe,
+            HashMap<Object, TacletDiscriminationTree> map, ProgramElement pe, JTerm term,
             PrefixOccurrences prefixOccurrences) {
         ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
         if (pe instanceof ProgramPrefix nt) {
             int next = prefixOccurrences.occurred(pe);
             if (next < nt.getChildCount()) {
-                return getJavaTacletList(map, nt.getChildAt(next), prefixOccurrences);
+                return getJavaTacletList(map, nt.getChildAt(next), term, prefixOccurrences);
             }
         } else {
-            final ImmutableList<NoPosTacletApp> apps = map.get(pe.getClass());
+            final ImmutableList<NoPosTacletApp> apps = getCandidates(map, pe.getClass(), term);
             if (apps != null) {
                 res = apps;
             }
         }
-        return merge(res, prefixOccurrences.getList(map));
+        return merge(res, prefixOccurrences.getList(map, term));
     }
 
     @SuppressWarnings("deprecation")
     private ImmutableList<NoPosTacletApp> getListHelp(
-            final HashMap<Object, ImmutableList<NoPosTacletApp>> map, final JTerm term,
+            final HashMap<Object, TacletDiscriminationTree> map, final JTerm term,
             final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences) {
 
         ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
@@ -331,19 +352,19 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
         if (!term.javaBlock().isEmpty()) {
             prefixOccurrences.reset();
             final StatementBlock sb = (StatementBlock) term.javaBlock().program();
-            res = getJavaTacletList(map, sb.getStatementAt(0), prefixOccurrences);
+            res = getJavaTacletList(map, sb.getStatementAt(0), term, prefixOccurrences);
         }
 
         if (!term.javaBlock().isEmpty() || op instanceof ProgramVariable) {
-            res = merge(res, map.get(DEFAULT_PROGSV_KEY));
+            res = merge(res, getCandidates(map, DEFAULT_PROGSV_KEY, term));
         }
 
         final ImmutableList<NoPosTacletApp> inMap = switch (op) {
             case SortDependingFunction sortDependingFunction ->
-                map.get(sortDependingFunction.getKind());
-            case ElementaryUpdate ignored -> map.get(ElementaryUpdate.class);
-            case JModality ignored -> map.get(JModality.class);
-            default -> map.get(op);
+                getCandidates(map, sortDependingFunction.getKind(), term);
+            case ElementaryUpdate ignored -> getCandidates(map, ElementaryUpdate.class, term);
+            case JModality ignored -> getCandidates(map, JModality.class, term);
+            default -> getCandidates(map, op, term);
         };
 
         res = merge(res, inMap);
@@ -358,10 +379,10 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             }
         }
 
-        res = merge(res, map.get(term.sort()));
-        res = merge(res, map.get(DEFAULT_SV_KEY));
+        res = merge(res, getCandidates(map, term.sort(), term));
+        res = merge(res, getCandidates(map, DEFAULT_SV_KEY, term));
 
-        return merge(res, map.get(GenericSort.class));
+        return merge(res, getCandidates(map, GenericSort.class, term));
     }
 
     /**
@@ -388,20 +409,22 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
     /**
      * creates and returns a selection from the given map of NoPosTacletApps that are compatible
-     * with the given term. It is assumed that the map (key -> value mapping) (1) contains keys with
-     * the top operator of its value, if no java block is involved on top level of the value and no
-     * update is on top level (2) contains keys with the class of its top Java operator of its
-     * value's java block, if a java block is involved on the top level (3) contains keys with the
-     * special 'operators' PROGSVOP and DEFAULTSVOP if the top Java operator or top operator (resp.)
-     * of the value is a program (or variable, resp.) schema variable. (4) contains keys with the
-     * sort of the value if this is an other schema variable. If updates are on top level, they are
-     * ignored; and indexing starts on the first level beneath updates.
+     * with the given term. Within the taclets of one key, only those whose find term has the same
+     * skeleton as the term are selected (see {@link TacletDiscriminationTree}). It is assumed that
+     * the map (key -> value mapping) (1) contains keys with the top operator of its value, if no
+     * java block is involved on top level of the value and no update is on top level (2) contains
+     * keys with the class of its top Java operator of its value's java block, if a java block is
+     * involved on the top level (3) contains keys with the special 'operators' PROGSVOP and
+     * DEFAULTSVOP if the top Java operator or top operator (resp.) of the value is a program (or
+     * variable, resp.) schema variable. (4) contains keys with the sort of the value if this is an
+     * other schema variable. If updates are on top level, they are ignored; and indexing starts on
+     * the first level beneath updates.
      *
      * @param map the map from where to select the taclets
      * @param term the term that is used to find the selection
      */
     private ImmutableList<NoPosTacletApp> getList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, JTerm term, boolean ignoreUpdates) {
+            HashMap<Object, TacletDiscriminationTree> map, JTerm term, boolean ignoreUpdates) {
         return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences());
     }
 
@@ -441,7 +464,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     }
 
     private ImmutableList<NoPosTacletApp> getTopLevelTaclets(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> findTaclets, RuleFilter filter,
+            HashMap<Object, TacletDiscriminationTree> findTaclets, RuleFilter filter,
             PosInOccurrence pos, LogicServices services) {
 
         assert pos.isTopLevel();
@@ -610,13 +633,15 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
          * elements
          *
          * @param map a map to select from
+         * @param term the term whose java block contains the prefix elements
          */
         public ImmutableList<NoPosTacletApp> getList(
-                HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+                HashMap<Object, TacletDiscriminationTree> map, JTerm term) {
             ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
             for (int i = 0; i < PREFIXTYPES; i++) {
                 if (occurred[i]) {
-                    ImmutableList<NoPosTacletApp> inMap = map.get(prefixClasses[i]);
+                    ImmutableList<NoPosTacletApp> inMap =
+                        getCandidates(map, prefixClasses[i], term);
                     if (inMap != null) {
                         result = result.prepend(inMap);
                     }
@@ -3,8 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.Map;
-
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
 import de.uka.ilkd.key.rule.FindTaclet;
@@ -15,6 +13,7 @@ import org.key_project.logic.op.Modality;
 import org.key_project.logic.op.Operator;
 import org.key_project.logic.op.QuantifiableVariable;
 import org.key_project.prover.rules.Taclet;
+import org.key_project.util.ConcurrentCache;
 import org.key_project.util.LRUCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -106,9 +105,9 @@ public class TermTacletAppIndexCacheSet {
         new LRUCache<>(
             MAX_CACHE_ENTRIES);
 
-    private final Map<CacheKey, TermTacletAppIndex> cache;
+    private final ConcurrentCache<CacheKey, TermTacletAppIndex> cache;
 
-    public TermTacletAppIndexCacheSet(Map<CacheKey, TermTacletAppIndex> cache) {
+    public TermTacletAppIndexCacheSet(ConcurrentCache<CacheKey, TermTacletAppIndex> cache) {
         assert cache != null;
         this.cache = cache;
         antecCache = new TopLevelCache(ImmutableSLList.nil(), cache);
@@ -222,7 +221,7 @@ public class TermTacletAppIndexCacheSet {
 
     private class TopLevelCache extends PrefixTermTacletAppIndexCacheImpl {
         protected TopLevelCache(ImmutableList<QuantifiableVariable> prefix,
-                Map<CacheKey, TermTacletAppIndex> cache) {
+                ConcurrentCache<CacheKey, TermTacletAppIndex> cache) {
             super(prefix, cache);
         }
 
@@ -284,7 +283,7 @@ public class TermTacletAppIndexCacheSet {
 
     private class BelowProgCache extends PrefixTermTacletAppIndexCacheImpl {
         protected BelowProgCache(ImmutableList<QuantifiableVariable> prefix,
-                Map<CacheKey, TermTacletAppIndex> cache) {
+                ConcurrentCache<CacheKey, TermTacletAppIndex> cache) {
             super(prefix, cache);
         }
 
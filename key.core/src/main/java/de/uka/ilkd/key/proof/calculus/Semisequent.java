@@ -34,6 +34,12 @@ class Semisequent extends org.key_project.prover.sequent.Semisequent {
                 .equalsModThisProperty(existingFormula.formula(), checkedFormula.formula());
     }
 
+    @Override
+    protected int redundancyHashCode(SequentFormula sequentFormula) {
+        return RenamingTermProperty.RENAMING_TERM_PROPERTY
+                .hashCodeModThisProperty(sequentFormula.formula());
+    }
+
     // inner class used to represent an empty semisequent
     private static class Empty extends Semisequent {
         public Empty() {
@@ -426,12 +426,7 @@ public abstract class AbstractPO implements IPersistablePO {
         final StringBuilder sb = new StringBuilder(model.asKeyString());
 
         // contracts
-        ImmutableSet<Contract> contractsToSave = specRepos.getAllContracts();
-        for (Contract c : contractsToSave) {
-            if (!c.toBeSaved()) {
-                contractsToSave = contractsToSave.remove(c);
-            }
-        }
+        ImmutableList<Contract> contractsToSave = specRepos.getContractsToSave();
         if (!contractsToSave.isEmpty()) {
             sb.append("\\contracts {\n");
             for (Contract c : contractsToSave) {
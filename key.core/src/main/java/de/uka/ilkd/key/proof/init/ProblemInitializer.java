@@ -49,6 +49,7 @@ import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSet;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import recoder.io.PathList;
@@ -58,7 +59,11 @@ import recoder.io.ProjectSettings;
 public final class ProblemInitializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProblemInitializer.class);
 
-    private static InitConfig baseConfig;
+    /**
+     * the taclet bases which have already been read
+     */
+    private static final TacletBaseCache TACLET_BASE_CACHE =
+        new TacletBaseCache(TacletBaseCache.defaultDirectory());
     private final Services services;
     private final ProgressMonitor progMon;
     private final Set<EnvInput> alreadyParsed = new LinkedHashSet<>();
@@ -68,6 +73,12 @@ public final class ProblemInitializer {
      */
     private FileRepo fileRepo;
     private ImmutableSet<PositionedString> warnings = DefaultImmutableSet.nil();
+    /**
+     * the rule files read so far (with the digests of their contents) while the taclet base is
+     * read, null otherwise; the rule files of the taclet base are parsed via the
+     * {@link #TACLET_BASE_CACHE}
+     */
+    private @Nullable Map<RuleSource, String> tacletBaseSources;
 
     // -------------------------------------------------------------------------
     // constructors
@@ -165,8 +176,7 @@ public final class ProblemInitializer {
         reportStatus("Read LDT Includes", in.getIncludes().size());
         for (String name : in.getLDTIncludes()) {
 
-            keyFile[i] =
-                new KeYFile(name, in.get(name), progMon, initConfig.getProfile(), fileRepo);
+            keyFile[i] = createKeYFile(name, in.get(name), initConfig.getProfile());
             i++;
             setProgress(i);
         }
@@ -195,13 +205,29 @@ public final class ProblemInitializer {
         reportStatus("Read Includes", in.getIncludes().size());
         int i = 0;
         for (String fileName : in.getIncludes()) {
-            KeYFile keyFile =
-                new KeYFile(fileName, in.get(fileName), progMon, envInput.getProfile(), fileRepo);
+            KeYFile keyFile = createKeYFile(fileName, in.get(fileName), envInput.getProfile());
             readEnvInput(keyFile, initConfig);
             setProgress(++i);
         }
     }
 
+    /**
+     * Creates the input for an included rule file. While the taclet base is read, the file is
+     * parsed via the {@link #TACLET_BASE_CACHE}.
+     */
+    private KeYFile createKeYFile(String name, RuleSource source, Profile profile)
+            throws ProofInputException {
+        KeYFile keyFile = new KeYFile(name, source, progMon, profile, fileRepo);
+        if (tacletBaseSources != null) {
+            try {
+                keyFile.setParseContext(TACLET_BASE_CACHE.parse(source, tacletBaseSources));
+            } catch (IOException e) {
+                throw new ProofInputException(e);
+            }
+        }
+        return keyFile;
+    }
+
     /**
      * get a vector of Strings containing all .java file names in the cfile directory. Helper for
      * readJava().
@@ -416,37 +442,26 @@ public final class ProblemInitializer {
     }
 
     /**
-     * Creates an initConfig / a proof environment and reads an EnvInput into it
+     * Creates an initConfig / a proof environment and reads an EnvInput into it.
+     * <p>
+     * Problems are read one after another, even by different threads, since the reading holds a
+     * global lock (see below). The proofs of the read problems may be run in parallel.
      */
     public InitConfig prepare(EnvInput envInput) throws ProofInputException {
-        // The synchronized statement is required for thread save parsing since all JavaCC parser
-        // are generated static.
-        // For our own parser (ProofJavaParser.jj and SchemaJavaParser.jj) it is possible to
-        // generate them non-static
-        // which is done on branch "hentschelJavaCCInstanceNotStatic". But recoder still uses static
-        // methods and
-        // the synchronized statement can not be avoided for this reason.
+        // The synchronized statement is required for thread save parsing since the JavaCC parsers
+        // of schema Java (SchemaJavaParser.jj) and of recoder are generated static.
+        // The ProofJavaParser used for Java sources is instance-based, such that Recoder2KeY can
+        // parse the compilation units of a single problem in parallel.
 
         synchronized (SchemaJavaParser.class) {
-            // It is required to work with a copy to make this method thread save required by the
-            // Eclipse plug-ins.
-            InitConfig currentBaseConfig = baseConfig != null ? baseConfig.copy() : null;
             progressStarted(this);
             alreadyParsed.clear();
 
             // the first time, read in standard rules
             Profile profile = services.getProfile();
-            if (currentBaseConfig == null || profile != currentBaseConfig.getProfile()) {
-                currentBaseConfig = new InitConfig(services);
-                RuleSource tacletBase = profile.getStandardRules().getTacletBase();
-                if (tacletBase != null) {
-                    KeYFile tacletBaseFile = new KeYFile("taclet base",
-                        profile.getStandardRules().getTacletBase(), progMon, profile);
-                    readEnvInput(tacletBaseFile, currentBaseConfig);
-                }
-                // remove traces of the generic sorts within the base configuration
-                cleanupNamespaces(currentBaseConfig);
-                baseConfig = currentBaseConfig;
+            InitConfig currentBaseConfig = TACLET_BASE_CACHE.lookup(profile);
+            if (currentBaseConfig == null) {
+                currentBaseConfig = readTacletBase(profile);
             }
 
             InitConfig ic = prepare(envInput, currentBaseConfig);
@@ -457,6 +472,28 @@ public final class ProblemInitializer {
         }
     }
 
+    /**
+     * Reads the taclet base of the given profile into a new configuration.
+     */
+    private InitConfig readTacletBase(Profile profile) throws ProofInputException {
+        InitConfig tacletBaseConfig = new InitConfig(services);
+        Map<RuleSource, String> sources = new LinkedHashMap<>();
+        RuleSource tacletBase = profile.getStandardRules().getTacletBase();
+        if (tacletBase != null) {
+            tacletBaseSources = sources;
+            try {
+                KeYFile tacletBaseFile = createKeYFile("taclet base", tacletBase, profile);
+                readEnvInput(tacletBaseFile, tacletBaseConfig);
+            } finally {
+                tacletBaseSources = null;
+            }
+        }
+        // remove traces of the generic sorts within the base configuration
+        cleanupNamespaces(tacletBaseConfig);
+        TACLET_BASE_CACHE.store(profile, sources, tacletBaseConfig);
+        return tacletBaseConfig;
+    }
+
     private void print(Proof firstProof) {
         File taclets1;
         try {
@@ -518,8 +555,10 @@ public final class ProblemInitializer {
 
     private InitConfig prepare(EnvInput envInput, InitConfig referenceConfig)
             throws ProofInputException {
-        // create initConfig
-        InitConfig initConfig = referenceConfig.copy();
+        // create initConfig, the taclet base may have been read for another instance of the
+        // profile
+        InitConfig initConfig = referenceConfig.copyWithServices(
+            referenceConfig.getServices().copyPreservesLDTInformation(services.getProfile()));
 
         configureTermLabelSupport(initConfig);
 
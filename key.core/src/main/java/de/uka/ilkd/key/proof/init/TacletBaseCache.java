@@ -0,0 +1,384 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.KeyAstSerializer;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.proof.io.RuleSource;
+import de.uka.ilkd.key.settings.PathConfig;
+
+import org.key_project.util.LRUCache;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the parsed taclet bases of the profiles, so that the rule files have to be parsed and
+ * the taclets have to be built only once per JVM.
+ * <br>
+ * <br>
+ * The cache works on three levels:
+ * <ul>
+ * <li>For each rule set (the taclet base of a kind of profile), a snapshot of the
+ * {@link InitConfig} containing the taclets, namespaces and choices of the taclet base is kept.
+ * A snapshot is identified by the digests of the contents of all rule files it has been read
+ * from and is only reused as long as none of them changed. Hence, switching between a few
+ * profiles does not require to read the taclet bases again, and all instances of a profile (e.g.,
+ * of several threads) share the same snapshot.</li>
+ * <li>The parse trees of the rule files are kept (as long as the memory suffices) identified by
+ * their location and the digest of their contents. The taclet bases of different profiles
+ * usually share most of their rule files, which therefore need to be parsed only once.</li>
+ * <li>Optionally (system property {@code key.rules.cache.persistent}), the parse trees are also
+ * stored in the directory {@code cache} of the KeY configuration directory, such that a new JVM
+ * reads the parse trees of unchanged rule files instead of parsing them (see
+ * {@link KeyAstSerializer}). The taclets themselves are built by every JVM, as they are bound to
+ * the services of the snapshot.</li>
+ * </ul>
+ * The digest of a rule file is only computed again if the file (or the jar file containing it) has
+ * been modified since, so looking up a snapshot does not need to read the rule files.
+ * <br>
+ * <br>
+ * The snapshots do not depend on the activated choices, since the taclet base contains the
+ * taclets of all options, the active ones are selected for each proof separately.
+ */
+final class TacletBaseCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TacletBaseCache.class);
+
+    /**
+     * the maximal number of taclet bases kept (usually there are only a few profiles in use)
+     */
+    private static final int MAX_SNAPSHOTS = 4;
+
+    /**
+     * the digest algorithm used to identify the contents of rule files
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * the rule set of a profile, all profiles with the same rule set share a taclet base
+     *
+     * @param profile the class of the profile
+     * @param name the name of the profile
+     * @param tacletBase the location of the taclet base, or null if there is none
+     */
+    private record RuleSet(Class<?> profile, String name, @Nullable String tacletBase) {
+        static RuleSet of(Profile profile) {
+            final RuleSource tacletBase = profile.getStandardRules().getTacletBase();
+            return new RuleSet(profile.getClass(), profile.name(),
+                tacletBase == null ? null : tacletBase.getExternalForm());
+        }
+    }
+
+    /**
+     * The modification time and size of the file containing a rule file.
+     *
+     * @param file the file
+     * @param modified the time of the last modification
+     * @param size the size
+     */
+    private record Stamp(Path file, FileTime modified, long size) {
+    }
+
+    /**
+     * A digest of the contents of a rule file.
+     *
+     * @param stamp the stamp of the file when the digest has been computed
+     * @param value the digest
+     */
+    private record Digest(Stamp stamp, String value) {
+    }
+
+    /**
+     * A parse tree of a rule file together with the digest of the parsed contents.
+     *
+     * @param digest the digest of the contents
+     * @param ctx the parse tree
+     */
+    private record ParsedFile(String digest, KeyAst.File ctx) {
+    }
+
+    /**
+     * A snapshot of the taclet base of a profile.
+     *
+     * @param sources the rule files (by their location) read for the snapshot together with the
+     *        digests of their contents
+     * @param config the configuration containing the taclet base
+     */
+    private record Snapshot(Map<RuleSource, String> sources, InitConfig config) {
+    }
+
+    /**
+     * the directory the parse trees are stored in, or null if they are kept in memory only
+     */
+    private final @Nullable Path directory;
+
+    /**
+     * the digests of the rule files by the external form of their location
+     */
+    private final Map<String, Digest> digests = new HashMap<>();
+
+    /**
+     * the parse trees of the rule files by the external form of their location
+     */
+    private final Map<String, SoftReference<ParsedFile>> parsed = new HashMap<>();
+
+    /**
+     * the snapshots of the taclet bases by their rule sets (a snapshot refers to its profile via
+     * its services, hence weak references to the profiles would not help)
+     */
+    private final Map<RuleSet, Snapshot> snapshots = new LRUCache<>(MAX_SNAPSHOTS);
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory the directory the parse trees are stored in, or null if they are only
+     *        kept in memory
+     */
+    TacletBaseCache(@Nullable Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the directory the parse trees of the rule files are stored in by default, or null
+     *         if they should not be stored
+     */
+    static @Nullable Path defaultDirectory() {
+        if (!Boolean.getBoolean("key.rules.cache.persistent")) {
+            return null;
+        }
+        return Path.of(PathConfig.getKeyConfigDir(), "cache");
+    }
+
+    /**
+     * Returns the snapshot of the taclet base of the given profile if there is one whose rule
+     * files did not change since it has been taken. The snapshot may have been taken for another
+     * instance of the profile, it must hence be copied for the services of the given profile.
+     *
+     * @param profile the profile
+     * @return the configuration containing the taclet base (which must not be modified), or null
+     *         if none is available
+     */
+    synchronized @Nullable InitConfig lookup(Profile profile) {
+        final RuleSet ruleSet = RuleSet.of(profile);
+        final Snapshot snapshot = snapshots.get(ruleSet);
+        if (snapshot == null) {
+            return null;
+        }
+        for (Map.Entry<RuleSource, String> source : snapshot.sources().entrySet()) {
+            final String digest;
+            try {
+                digest = digest(source.getKey());
+            } catch (IOException e) {
+                LOGGER.debug("Cannot read rule file {}", source.getKey(), e);
+                snapshots.remove(ruleSet);
+                return null;
+            }
+            if (!digest.equals(source.getValue())) {
+                LOGGER.debug("Rule file {} changed, discarding taclet base of {}",
+                    source.getKey(), profile.name());
+                snapshots.remove(ruleSet);
+                return null;
+            }
+        }
+        return snapshot.config();
+    }
+
+    /**
+     * Stores the taclet base of the given profile as snapshot for its rule set.
+     *
+     * @param profile the profile
+     * @param sources the rule files the taclet base has been read from, as recorded by
+     *        {@link #parse(RuleSource, Map)}
+     * @param config the configuration containing the taclet base, must not be modified afterward
+     */
+    synchronized void store(Profile profile, Map<RuleSource, String> sources,
+            InitConfig config) {
+        snapshots.put(RuleSet.of(profile),
+            new Snapshot(Collections.unmodifiableMap(new LinkedHashMap<>(sources)), config));
+    }
+
+    /**
+     * Returns the parse tree of the given rule file, which is parsed only if its contents changed
+     * since it has been parsed last (in this or, if the parse trees are stored, a previous JVM).
+     *
+     * @param source the rule file
+     * @param sources records the rule file together with the digest of its contents
+     * @return the parse tree of the rule file
+     * @throws IOException if the rule file cannot be read
+     */
+    synchronized KeyAst.File parse(RuleSource source, Map<RuleSource, String> sources)
+            throws IOException {
+        final String location = source.getExternalForm();
+        final Stamp stamp = stamp(source);
+        byte[] contents = null;
+        String digest = knownDigest(location, stamp);
+        if (digest == null) {
+            contents = readContents(source);
+            digest = digest(contents);
+            if (stamp != null) {
+                digests.put(location, new Digest(stamp, digest));
+            }
+        }
+        sources.put(source, digest);
+
+        final SoftReference<ParsedFile> ref = parsed.get(location);
+        final ParsedFile cached = ref != null ? ref.get() : null;
+        if (cached != null && cached.digest().equals(digest)) {
+            return cached.ctx();
+        }
+
+        final Path file = directory == null ? null : cacheFile(location, digest);
+        KeyAst.File ctx = null;
+        if (file != null && Files.isRegularFile(file)) {
+            ctx = load(file, contents != null ? contents : readContents(source));
+        }
+        if (ctx == null) {
+            ctx = ParsingFacade.parseFile(source.getCharStream());
+            if (file != null) {
+                save(file, ctx);
+            }
+        }
+        parsed.put(location, new SoftReference<>(new ParsedFile(digest, ctx)));
+        return ctx;
+    }
+
+    /**
+     * Returns the digest of the contents of the given rule file.
+     */
+    private String digest(RuleSource source) throws IOException {
+        final String location = source.getExternalForm();
+        final Stamp stamp = stamp(source);
+        final String known = knownDigest(location, stamp);
+        if (known != null) {
+            return known;
+        }
+        final String digest = digest(readContents(source));
+        if (stamp != null) {
+            digests.put(location, new Digest(stamp, digest));
+        }
+        return digest;
+    }
+
+    private @Nullable String knownDigest(String location, @Nullable Stamp stamp) {
+        final Digest digest = digests.get(location);
+        return stamp != null && digest != null && digest.stamp().equals(stamp) ? digest.value()
+                : null;
+    }
+
+    /**
+     * Determines the stamp of the file containing the given rule file, which is the rule file
+     * itself or the jar file it is contained in.
+     *
+     * @return the stamp, or null if the rule file is not contained in a local file
+     */
+    private static @Nullable Stamp stamp(RuleSource source) {
+        try {
+            final URL url = source.url();
+            final Path file;
+            if ("file".equals(url.getProtocol())) {
+                file = Path.of(url.toURI());
+            } else if ("jar".equals(url.getProtocol())) {
+                final String path = url.getPath();
+                final int separator = path.indexOf("!/");
+                final URI jar = new URI(separator < 0 ? path : path.substring(0, separator));
+                if (!"file".equals(jar.getScheme())) {
+                    return null;
+                }
+                file = Path.of(jar);
+            } else {
+                return null;
+            }
+            final BasicFileAttributes attributes =
+                Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(file, attributes.lastModifiedTime(), attributes.size());
+        } catch (IOException | URISyntaxException | IllegalArgumentException
+                | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readContents(RuleSource source) throws IOException {
+        try (InputStream in = source.getNewStream()) {
+            if (in == null) {
+                throw new IOException("File/Resource " + source + " not found.");
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private static String digest(byte[] contents) {
+        return HexFormat.of().formatHex(messageDigest().digest(contents));
+    }
+
+    private static MessageDigest messageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path cacheFile(String location, String digest) {
+        assert directory != null;
+        final MessageDigest md = messageDigest();
+        md.update(location.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        md.update(digest.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve("rules-" + HexFormat.of().formatHex(md.digest()) + ".bin");
+    }
+
+    private static KeyAst.@Nullable File load(Path file, byte[] contents) {
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return KeyAstSerializer.read(in, new String(contents, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // e.g., written by another version of KeY
+            LOGGER.debug("Cannot read parsed rule file {}", file, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // the file is overwritten when the rule file has been parsed
+            }
+            return null;
+        }
+    }
+
+    private static void save(Path file, KeyAst.File ctx) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent(), "rules", ".tmp");
+            try {
+                try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    KeyAstSerializer.write(ctx, out);
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug("Cannot write parsed rule file {}", file, e);
+        }
+    }
+}
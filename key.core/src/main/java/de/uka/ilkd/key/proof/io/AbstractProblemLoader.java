@@ -58,6 +58,19 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractProblemLoader {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProblemLoader.class);
 
+    /**
+     * Default for {@link #setStreamingReplay(boolean, int)}: if set, saved proofs are replayed
+     * while they are parsed (see {@link StreamingProofFileParser}).
+     */
+    private static final boolean STREAMING_REPLAY = Boolean.getBoolean("key.replay.streaming");
+
+    /**
+     * Default for {@link #setStreamingReplay(boolean, int)}: the number of parsed but not yet
+     * replayed nodes after which the parser pauses.
+     */
+    private static final int STREAMING_REPLAY_BUFFER =
+        Integer.getInteger("key.replay.streamingBuffer", 4096);
+
     /**
      * If set to true, only the given Java file will be parsed and loaded.
      *
@@ -65,6 +78,19 @@ public abstract class AbstractProblemLoader {
      */
     private boolean loadSingleJavaFile = false;
 
+    /**
+     * If set to true, the proof is replayed while it is parsed.
+     *
+     * @see StreamingProofFileParser
+     */
+    private boolean streamingReplay = STREAMING_REPLAY;
+
+    /**
+     * The number of parsed but not yet replayed nodes after which the parser pauses in a streaming
+     * replay.
+     */
+    private int streamingReplayBuffer = STREAMING_REPLAY_BUFFER;
+
     public static class ReplayResult {
 
         private final Node node;
@@ -453,7 +479,8 @@ public abstract class AbstractProblemLoader {
             return new KeYUserProblemFile(unzippedProof.toString(), unzippedProof,
                 fileRepo, control, profileOfNewProofs, false);
         } else if (filename.endsWith(".key") || filename.endsWith(".proof")
-                || filename.endsWith(".proof.gz")) {
+                || filename.endsWith(".proof.gz")
+                || filename.endsWith(BinaryProofFormat.EXTENSION)) {
             // KeY problem specification or saved proof
             return new KeYUserProblemFile(filename, file, fileRepo, control, profileOfNewProofs,
                 filename.endsWith(".proof.gz"));
@@ -465,8 +492,8 @@ public abstract class AbstractProblemLoader {
             if (filename.lastIndexOf('.') != -1) {
                 throw new IllegalArgumentException("Unsupported file extension '"
                     + filename.substring(filename.lastIndexOf('.')) + "' of read-in file "
-                    + filename + ". Allowed extensions are: .key, .proof, .java or "
-                    + "complete directories.");
+                    + filename + ". Allowed extensions are: .key, .proof, .proof.gz, "
+                    + BinaryProofFormat.EXTENSION + ", .java or complete directories.");
             } else {
                 throw new FileNotFoundException(
                     "File or directory\n\t " + filename + "\n not found.");
@@ -627,17 +654,14 @@ public abstract class AbstractProblemLoader {
     }
 
     private ReplayResult replayProof(Proof proof) {
-        String status = "";
+        if (streamingReplay) {
+            return replayProofStreaming(proof);
+        }
         List<Throwable> errors = new LinkedList<>();
-        Node lastTouchedNode = proof.root();
-
-        IntermediateProofReplayer replayer = null;
         IntermediatePresentationProofFileParser.Result parserResult = null;
         IntermediateProofReplayer.Result replayResult = null;
 
-        final String ossStatus = (String) proof.getSettings().getStrategySettings()
-                .getActiveStrategyProperties().get(StrategyProperties.OSS_OPTIONS_KEY);
-        ReplayResult result;
+        final String ossStatus = getOneStepSimplification(proof);
         try {
             assert envInput instanceof KeYUserProblemFile;
 
@@ -652,51 +676,115 @@ public abstract class AbstractProblemLoader {
             // For loading, we generally turn on one step simplification to be
             // able to load proofs that used it even if the user has currently
             // turned OSS off.
-            StrategyProperties newProps =
-                proof.getSettings().getStrategySettings().getActiveStrategyProperties();
-            newProps.setProperty(StrategyProperties.OSS_OPTIONS_KEY, StrategyProperties.OSS_ON);
-            Strategy.updateStrategySettings(proof, newProps);
-            OneStepSimplifier.refreshOSS(proof);
+            setOneStepSimplification(proof, StrategyProperties.OSS_ON);
 
-            replayer = new IntermediateProofReplayer(this, proof, parserResult);
+            IntermediateProofReplayer replayer =
+                new IntermediateProofReplayer(this, proof, parserResult);
             replayResult =
                 replayer.replay(problemInitializer.getListener(), problemInitializer.getProgMon());
-
-            lastTouchedNode = replayResult.getLastSelectedGoal() != null
-                    ? replayResult.getLastSelectedGoal().node()
-                    : proof.root();
-
         } catch (Exception e) {
             if (parserResult == null || parserResult.errors() == null
-                    || parserResult.errors().isEmpty() || replayer == null
-                    || replayResult == null || replayResult.getErrors() == null
-                    || replayResult.getErrors().isEmpty()) {
+                    || parserResult.errors().isEmpty() || replayResult == null
+                    || replayResult.getErrors() == null || replayResult.getErrors().isEmpty()) {
                 // this exception was something unexpected
                 errors.add(e);
             }
         } finally {
-            if (parserResult != null) {
-                status = parserResult.status();
-                errors.addAll(parserResult.errors());
-            }
-            status += (status.isEmpty() ? "Proof replayed successfully." : "\n\n")
-                    + (replayResult != null ? replayResult.getStatus()
-                            : "Error while loading proof.");
-            if (replayResult != null) {
-                errors.addAll(replayResult.getErrors());
-            }
+            setOneStepSimplification(proof, ossStatus);
+        }
+        return createReplayResult(proof, parserResult, replayResult, errors);
+    }
 
-            StrategyProperties newProps =
-                proof.getSettings().getStrategySettings().getActiveStrategyProperties();
-            newProps.setProperty(StrategyProperties.OSS_OPTIONS_KEY, ossStatus);
-            Strategy.updateStrategySettings(proof, newProps);
-            OneStepSimplifier.refreshOSS(proof);
+    /**
+     * Replays the proof while it is parsed, so that the intermediate representation of the whole
+     * proof is never kept in memory.
+     *
+     * @param proof the proof to replay
+     * @return the result of the replay
+     * @see StreamingProofFileParser
+     */
+    private ReplayResult replayProofStreaming(Proof proof) {
+        List<Throwable> errors = new LinkedList<>();
+        IntermediateProofReplayer.Result replayResult = null;
 
-            result = new ReplayResult(status, errors, lastTouchedNode);
+        final StreamingProofFileParser parser =
+            new StreamingProofFileParser(proof, streamingReplayBuffer);
+        final String ossStatus = getOneStepSimplification(proof);
+        boolean finished = false;
+        try {
+            assert envInput instanceof KeYUserProblemFile;
+
+            // see replayProof(Proof)
+            setOneStepSimplification(proof, StrategyProperties.OSS_ON);
+
+            parser.start((KeYUserProblemFile) envInput);
+            IntermediateProofReplayer replayer = new IntermediateProofReplayer(this, proof, parser);
+            replayResult =
+                replayer.replay(problemInitializer.getListener(), problemInitializer.getProgMon());
+            parser.finish();
+            finished = true;
+        } catch (Exception e) {
+            errors.add(e);
+        } finally {
+            if (!finished) {
+                parser.cancel();
+            }
+            setOneStepSimplification(proof, ossStatus);
         }
+        return createReplayResult(proof, parser.getResult(), replayResult, errors);
+    }
 
+    /**
+     * @param proof a proof
+     * @return the one step simplification option of the proof's strategy settings
+     */
+    private static String getOneStepSimplification(Proof proof) {
+        return (String) proof.getSettings().getStrategySettings().getActiveStrategyProperties()
+                .get(StrategyProperties.OSS_OPTIONS_KEY);
+    }
 
-        return result;
+    /**
+     * Sets the one step simplification option of the proof's strategy settings and updates the
+     * one step simplifier accordingly.
+     *
+     * @param proof a proof
+     * @param ossStatus the new value of the option
+     */
+    private static void setOneStepSimplification(Proof proof, String ossStatus) {
+        StrategyProperties newProps =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        newProps.setProperty(StrategyProperties.OSS_OPTIONS_KEY, ossStatus);
+        Strategy.updateStrategySettings(proof, newProps);
+        OneStepSimplifier.refreshOSS(proof);
+    }
+
+    /**
+     * Combines the results of parsing and replaying a proof.
+     *
+     * @param proof the replayed proof
+     * @param parserResult the result of the parser, or null if the proof could not be parsed
+     * @param replayResult the result of the replayer, or null if the replay failed
+     * @param errors the errors which occurred besides the ones of the parser and replayer
+     * @return the result of loading the proof
+     */
+    private static ReplayResult createReplayResult(Proof proof,
+            IntermediatePresentationProofFileParser.@Nullable Result parserResult,
+            IntermediateProofReplayer.@Nullable Result replayResult, List<Throwable> errors) {
+        String status = "";
+        if (parserResult != null) {
+            status = parserResult.status();
+            errors.addAll(parserResult.errors());
+        }
+        status += (status.isEmpty() ? "Proof replayed successfully." : "\n\n")
+            + (replayResult != null ? replayResult.getStatus() : "Error while loading proof.");
+        Node lastTouchedNode = proof.root();
+        if (replayResult != null) {
+            errors.addAll(replayResult.getErrors());
+            if (replayResult.getLastSelectedGoal() != null) {
+                lastTouchedNode = replayResult.getLastSelectedGoal().node();
+            }
+        }
+        return new ReplayResult(status, errors, lastTouchedNode);
     }
 
     /**
@@ -790,4 +878,20 @@ public abstract class AbstractProblemLoader {
     public void setIgnoreWarnings(boolean ignoreWarnings) {
         this.ignoreWarnings = ignoreWarnings;
     }
+
+    /**
+     * Sets whether saved proofs are replayed while they are parsed. This bounds the memory needed
+     * for the intermediate representation by the open branches instead of the size of the proof.
+     * The defaults are given by the system properties {@code key.replay.streaming} and
+     * {@code key.replay.streamingBuffer}.
+     *
+     * @param streamingReplay whether to replay the proof while it is parsed
+     * @param bufferSize the number of parsed but not yet replayed nodes after which the parser
+     *        pauses
+     * @see StreamingProofFileParser
+     */
+    public void setStreamingReplay(boolean streamingReplay, int bufferSize) {
+        this.streamingReplay = streamingReplay;
+        this.streamingReplayBuffer = bufferSize;
+    }
 }
@@ -0,0 +1,642 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+import de.uka.ilkd.key.nparser.KeYLexer;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.nparser.ProofReplayer;
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A compact binary encoding of saved proofs, as an alternative to the textual {@code .proof} and
+ * {@code .proof.gz} files.
+ * <p>
+ * A binary proof file starts with a magic number and a format version, followed by the problem
+ * header, i.e., the text of the corresponding {@code .proof} file up to the {@code \proof}
+ * keyword. The header is kept as text, because it is read by the usual {@link KeYFile}
+ * machinery. The proof itself is stored as the sequence of elements a {@link IProofFileParser}
+ * receives:
+ * <ul>
+ * <li>All element names and string arguments, e.g., taclet names, instantiations and printed
+ * terms, are interned: The first occurrence is written inline, every later one as an index into
+ * the table of previously seen strings.</li>
+ * <li>Formula numbers and {@link org.key_project.logic.PosInTerm} paths are written as
+ * variable-length integers.</li>
+ * </ul>
+ * In error messages of the replay, the "line" of a rule application is the number of the proof
+ * element in the file, since a binary file has no lines.
+ * <p>
+ * Binary files are recognized by their extension {@link #EXTENSION} and loaded through
+ * {@link BinaryProofRuleSource}. They are written by {@link BinaryProofSaver}, which passes the
+ * proof elements directly from the proof tree to {@link #write(String, Consumer, OutputStream)}.
+ * This class also converts between the binary and the text format.
+ */
+public final class BinaryProofFormat {
+    /** The file name extension of binary proof files. */
+    public static final String EXTENSION = ".proof.bin";
+
+    private static final byte[] MAGIC = { 'K', 'e', 'Y', 'P' };
+    private static final int VERSION = 1;
+
+    /** Strings longer than this are read in chunks of this size. */
+    private static final int STRING_CHUNK = 1 << 16;
+
+    /** Tag: the innermost open element ends. */
+    private static final int TAG_END = 0;
+    /** Tag: end of the proof. */
+    private static final int TAG_EOF = 1;
+    /** Tag: an element with a name which has not been used before begins. */
+    private static final int TAG_NEW_ELEMENT = 2;
+    /** Offset of the tags denoting the start of an element with an already used name. */
+    private static final int TAG_ELEMENT = 3;
+
+    /** Argument: no argument. */
+    private static final int ARG_NONE = 0;
+    /** Argument: a string which has not been used before. */
+    private static final int ARG_NEW = 1;
+    /** Offset of arguments denoting an already used string. */
+    private static final int ARG_INTERNED = 2;
+
+    private static final Map<String, ProofElementID> ELEMENTS_BY_NAME = new HashMap<>();
+
+    static {
+        for (ProofElementID id : ProofElementID.values()) {
+            ELEMENTS_BY_NAME.put(id.getRawName(), id);
+        }
+    }
+
+    private BinaryProofFormat() {
+    }
+
+    /**
+     * @param file a file
+     * @return true iff the file name denotes a binary proof file
+     */
+    public static boolean isBinaryProof(Path file) {
+        final Path name = file.getFileName();
+        return name != null && name.toString().endsWith(EXTENSION);
+    }
+
+    // -------------------------------------------------------------------------
+    // text to binary
+    // -------------------------------------------------------------------------
+
+    /**
+     * Converts a proof in text format to the binary format.
+     *
+     * @param text the content of a {@code .key} or {@code .proof} file
+     * @param source the source of the text, used for error messages
+     * @param out the stream to write the binary proof to
+     * @throws IOException if writing fails
+     */
+    public static void toBinary(CharStream text, URI source, OutputStream out)
+            throws IOException {
+        final KeYLexer lexer = ParsingFacade.createLexer(text);
+        Token proofToken = null;
+        for (Token t = lexer.nextToken(); t.getType() != Token.EOF; t = lexer.nextToken()) {
+            if (t.getType() == KeYLexer.PROOF) {
+                proofToken = t;
+                break;
+            }
+        }
+        final int headerEnd = proofToken == null ? text.size() : proofToken.getStartIndex();
+        final String header =
+            headerEnd == 0 ? "" : text.getText(Interval.of(0, headerEnd - 1));
+        final Token start = proofToken;
+        write(header, start == null ? null : prl -> ProofReplayer.run(start, text, prl, source),
+            out);
+    }
+
+    /**
+     * Writes a binary proof.
+     *
+     * @param header the problem description in text format, i.e., the text of the corresponding
+     *        {@code .proof} file in front of the {@code \proof} block
+     * @param proof passes the proof elements in the order of a {@link IProofFileParser} to its
+     *        argument, or null if there is no proof
+     * @param out the stream to write the binary proof to
+     * @throws IOException if writing fails
+     */
+    public static void write(String header, @Nullable Consumer<IProofFileParser> proof,
+            OutputStream out) throws IOException {
+        final DataOutputStream data =
+            new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        data.write(MAGIC);
+        writeVarInt(data, VERSION);
+        writeString(data, header);
+        data.writeBoolean(proof != null);
+        if (proof != null) {
+            final Encoder encoder = new Encoder(data);
+            proof.accept(encoder);
+            if (encoder.exception != null) {
+                throw encoder.exception;
+            }
+        }
+        writeVarInt(data, TAG_EOF);
+        data.flush();
+    }
+
+    /**
+     * Converts a proof file in text format ({@code .proof} or {@code .proof.gz}) to the binary
+     * format.
+     *
+     * @param textFile the proof file to convert
+     * @param binaryFile the binary file to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void toBinary(Path textFile, Path binaryFile) throws IOException {
+        final CharStream text = RuleSourceFactory
+                .initRuleFile(textFile, textFile.toString().endsWith(".gz")).getCharStream();
+        try (OutputStream out = Files.newOutputStream(binaryFile)) {
+            toBinary(text, textFile.toUri(), out);
+        }
+    }
+
+    /**
+     * Writes the elements received as {@link IProofFileParser} to the binary stream.
+     */
+    private static final class Encoder implements IProofFileParser {
+        private final DataOutputStream out;
+        private final Map<ProofElementID, Integer> elements = new EnumMap<>(ProofElementID.class);
+        private final Map<String, Integer> strings = new HashMap<>();
+        /** The first exception while writing, rethrown after the conversion. */
+        private IOException exception;
+
+        private Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void beginExpr(ProofElementID eid, String str) {
+            if (exception != null) {
+                return;
+            }
+            try {
+                final Integer element = elements.get(eid);
+                if (element == null) {
+                    elements.put(eid, elements.size());
+                    writeVarInt(out, TAG_NEW_ELEMENT);
+                    writeString(out, eid.getRawName());
+                } else {
+                    writeVarInt(out, TAG_ELEMENT + element);
+                }
+                switch (eid) {
+                    case FORMULA -> writeNumber(str);
+                    case TERM -> writePosInTerm(str);
+                    default -> writeArgument(str);
+                }
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+
+        private void writeNumber(String str) throws IOException {
+            final int n = parseNumber(str);
+            if (n >= 0) {
+                writeVarInt(out, n + 1);
+            } else {
+                writeVarInt(out, 0);
+                writeArgument(str);
+            }
+        }
+
+        private void writePosInTerm(String str) throws IOException {
+            final int[] path = parsePath(str);
+            if (path == null) {
+                writeVarInt(out, 0);
+                writeArgument(str);
+                return;
+            }
+            writeVarInt(out, path.length);
+            for (int p : path) {
+                writeVarInt(out, p);
+            }
+        }
+
+        private void writeArgument(String str) throws IOException {
+            if (str == null) {
+                writeVarInt(out, ARG_NONE);
+                return;
+            }
+            final Integer interned = strings.get(str);
+            if (interned == null) {
+                strings.put(str, strings.size());
+                writeVarInt(out, ARG_NEW);
+                writeString(out, str);
+            } else {
+                writeVarInt(out, ARG_INTERNED + interned);
+            }
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int stringLiteralLine) {
+            if (exception != null) {
+                return;
+            }
+            try {
+                writeVarInt(out, TAG_END);
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @param str a string
+     * @return the non-negative integer denoted by the string in its canonical decimal form, or -1
+     */
+    private static int parseNumber(String str) {
+        if (str == null || str.isEmpty() || str.length() > 9
+                || (str.length() > 1 && str.charAt(0) == '0')) {
+            return -1;
+        }
+        int n = 0;
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            n = n * 10 + (c - '0');
+        }
+        return n;
+    }
+
+    /**
+     * @param str a string
+     * @return the comma separated non-negative integers in the string, or null if it has another
+     *         form
+     */
+    private static int[] parsePath(String str) {
+        if (str == null || str.isEmpty()) {
+            return null;
+        }
+        final String[] parts = str.split(",", -1);
+        final int[] path = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            path[i] = parseNumber(parts[i]);
+            if (path[i] < 0) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    // -------------------------------------------------------------------------
+    // binary to proof elements
+    // -------------------------------------------------------------------------
+
+    /**
+     * Reads the header of a binary proof file, i.e., the problem description in text format.
+     *
+     * @param in the binary proof, positioned at the start of the file
+     * @return the header
+     * @throws IOException if reading fails or the stream is not a binary proof
+     */
+    public static String readHeader(InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+        final byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary KeY proof file");
+        }
+        final int version = readVarInt(data);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version + " of binary proof file, "
+                + "expected version " + VERSION);
+        }
+        return readString(data);
+    }
+
+    /**
+     * Reads a binary proof and passes its elements to the given proof file parser, in the same
+     * order as {@link ProofReplayer} does for a proof in text format.
+     *
+     * @param in the binary proof, positioned at the start of the file
+     * @param prl the receiver of the proof elements
+     * @return true iff the file contains a proof
+     * @throws IOException if reading fails or the stream is not a valid binary proof
+     */
+    public static boolean readProof(InputStream in, IProofFileParser prl) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        readHeader(data);
+        if (!data.readBoolean()) {
+            return false;
+        }
+        final List<ProofElementID> elements = new ArrayList<>();
+        final List<String> strings = new ArrayList<>();
+        final ArrayDeque<ProofElementID> stack = new ArrayDeque<>();
+        final IntStack lines = new IntStack();
+        int elementNr = 0;
+        while (true) {
+            final int tag = readVarInt(data);
+            switch (tag) {
+                case TAG_EOF -> {
+                    if (!stack.isEmpty()) {
+                        throw new IOException("Unexpected end of binary proof");
+                    }
+                    return true;
+                }
+                case TAG_END -> {
+                    if (stack.isEmpty()) {
+                        throw new IOException("Unbalanced proof element in binary proof");
+                    }
+                    prl.endExpr(stack.pop(), lines.pop());
+                }
+                default -> {
+                    final ProofElementID eid;
+                    if (tag == TAG_NEW_ELEMENT) {
+                        final String name = readString(data);
+                        eid = ELEMENTS_BY_NAME.get(name);
+                        if (eid == null) {
+                            throw new IOException("Unknown proof element: " + name);
+                        }
+                        elements.add(eid);
+                    } else {
+                        eid = lookup(elements, tag - TAG_ELEMENT);
+                    }
+                    final String arg = switch (eid) {
+                        case FORMULA -> readNumber(data, strings);
+                        case TERM -> readPosInTerm(data, strings);
+                        default -> readArgument(data, strings);
+                    };
+                    prl.beginExpr(eid, arg);
+                    stack.push(eid);
+                    lines.push(++elementNr);
+                }
+            }
+        }
+    }
+
+    private static String readNumber(DataInputStream data, List<String> strings)
+            throws IOException {
+        final int n = readVarInt(data);
+        return n == 0 ? readArgument(data, strings) : Integer.toString(n - 1);
+    }
+
+    private static String readPosInTerm(DataInputStream data, List<String> strings)
+            throws IOException {
+        final int length = readVarInt(data);
+        if (length == 0) {
+            return readArgument(data, strings);
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(readVarInt(data));
+        }
+        return sb.toString();
+    }
+
+    private static String readArgument(DataInputStream data, List<String> strings)
+            throws IOException {
+        final int arg = readVarInt(data);
+        return switch (arg) {
+            case ARG_NONE -> null;
+            case ARG_NEW -> {
+                final String str = readString(data);
+                strings.add(str);
+                yield str;
+            }
+            default -> lookup(strings, arg - ARG_INTERNED);
+        };
+    }
+
+    private static <T> T lookup(List<T> table, int index) throws IOException {
+        if (index < 0 || index >= table.size()) {
+            throw new IOException("Invalid table index " + index + " in binary proof");
+        }
+        return table.get(index);
+    }
+
+    /**
+     * A growable stack of ints, avoiding boxing for the element numbers of open elements.
+     */
+    private static final class IntStack {
+        private int[] values = new int[64];
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // binary to text
+    // -------------------------------------------------------------------------
+
+    /**
+     * Converts a binary proof to the text format.
+     *
+     * @param binary the binary proof
+     * @param out the writer for the text
+     * @throws IOException if reading or writing fails
+     */
+    public static void toText(byte[] binary, Writer out) throws IOException {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(binary));
+        out.write(readHeader(data));
+        if (data.readBoolean()) {
+            out.write("\\proof {\n");
+            final ProofElementPrinter printer = new ProofElementPrinter(out);
+            readProof(new ByteArrayInputStream(binary), printer);
+            printer.checkError();
+            out.write("}\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * Converts a binary proof file to the text format.
+     *
+     * @param binaryFile the binary proof file
+     * @param textFile the {@code .proof} file to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void toText(Path binaryFile, Path textFile) throws IOException {
+        try (Writer out = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+            toText(Files.readAllBytes(binaryFile), out);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // round trips
+    // -------------------------------------------------------------------------
+
+    /**
+     * Converts the given proof in text format to the binary format and back, and checks that all
+     * three representations contain the same header and the same proof elements.
+     *
+     * @param textFile the proof file to check ({@code .proof} or {@code .proof.gz})
+     * @return the size of the binary proof in bytes
+     * @throws IOException if reading fails or the representations differ
+     */
+    public static int verifyRoundTrip(Path textFile) throws IOException {
+        final CharStream text = RuleSourceFactory
+                .initRuleFile(textFile, textFile.toString().endsWith(".gz")).getCharStream();
+        final URI source = textFile.toUri();
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        toBinary(text, source, binary);
+        final byte[] bytes = binary.toByteArray();
+
+        final StringWriter roundTrip = new StringWriter();
+        toText(bytes, roundTrip);
+
+        final Recorder fromText = record(CharStreams.fromString(text.toString(), source.toString()),
+            source);
+        final Recorder fromBinary = new Recorder();
+        readProof(new ByteArrayInputStream(bytes), fromBinary);
+        final Recorder fromRoundTrip =
+            record(CharStreams.fromString(roundTrip.toString(), source.toString()), source);
+
+        compare(fromText, fromBinary, "binary");
+        compare(fromText, fromRoundTrip, "text written from binary");
+        if (!readHeader(new ByteArrayInputStream(bytes)).equals(fromText.header)
+                || !fromRoundTrip.header.equals(fromText.header)) {
+            throw new IOException("The header of the binary proof differs");
+        }
+        return bytes.length;
+    }
+
+    private static Recorder record(CharStream text, URI source) {
+        final Recorder recorder = new Recorder();
+        final KeYLexer lexer = ParsingFacade.createLexer(text);
+        for (Token t = lexer.nextToken(); t.getType() != Token.EOF; t = lexer.nextToken()) {
+            if (t.getType() == KeYLexer.PROOF) {
+                recorder.header = text.getText(Interval.of(0, t.getStartIndex() - 1));
+                ProofReplayer.run(t, text, recorder, source);
+                return recorder;
+            }
+        }
+        recorder.header = text.toString();
+        return recorder;
+    }
+
+    private static void compare(Recorder expected, Recorder actual, String what)
+            throws IOException {
+        final int size = Math.min(expected.events.size(), actual.events.size());
+        for (int i = 0; i < size; i++) {
+            if (!expected.events.get(i).equals(actual.events.get(i))) {
+                throw new IOException("Proof element " + i + " of the " + what + " differs: "
+                    + actual.events.get(i) + " instead of " + expected.events.get(i));
+            }
+        }
+        if (expected.events.size() != actual.events.size()) {
+            throw new IOException("The " + what + " contains " + actual.events.size()
+                + " proof elements instead of " + expected.events.size());
+        }
+    }
+
+    /**
+     * Records the received proof elements.
+     */
+    private static final class Recorder implements IProofFileParser {
+        private final List<String> events = new ArrayList<>();
+        private String header;
+
+        @Override
+        public void beginExpr(ProofElementID eid, String str) {
+            events.add("(" + eid.getRawName() + (str == null ? "" : " \"" + str + "\""));
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int stringLiteralLine) {
+            events.add(")");
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return Collections.emptyList();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // primitives
+    // -------------------------------------------------------------------------
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer in binary proof");
+    }
+
+    private static void writeString(DataOutput out, String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        final int length = readVarInt(in);
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length + " in binary proof");
+        }
+        if (length <= STRING_CHUNK) {
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        // A corrupted length must not allocate more memory than the remaining input: read
+        // chunk-wise, so that a truncated input fails with an EOFException early.
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(STRING_CHUNK);
+        final byte[] chunk = new byte[STRING_CHUNK];
+        for (int remaining = length; remaining > 0; remaining -= STRING_CHUNK) {
+            final int n = Math.min(remaining, STRING_CHUNK);
+            in.readFully(chunk, 0, n);
+            bytes.write(chunk, 0, n);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,49 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+
+/**
+ * This file rule source reads binary proof files (see {@link BinaryProofFormat}). Its character
+ * stream is the problem header of the file, which is parsed like a {@code .key} file. The proof
+ * itself is read by {@link #readProof(IProofFileParser)}.
+ */
+public class BinaryProofRuleSource extends FileRuleSource {
+
+    /**
+     * Instantiates a new binary proof rule source.
+     *
+     * This is only instantiated from {@link RuleSourceFactory#initRuleFile(Path, boolean)}.
+     *
+     * @param ruleFile the file to read from.
+     */
+    BinaryProofRuleSource(Path ruleFile) {
+        super(ruleFile);
+    }
+
+    @Override
+    public CharStream getCharStream() throws IOException {
+        try (InputStream in = getNewStream()) {
+            return CharStreams.fromString(BinaryProofFormat.readHeader(in), file().toString());
+        }
+    }
+
+    /**
+     * Passes the proof elements of the binary proof to the given proof file parser.
+     *
+     * @param prl the receiver of the proof elements
+     * @throws IOException if reading fails or the file is not a valid binary proof
+     */
+    public void readProof(IProofFileParser prl) throws IOException {
+        try (InputStream in = getNewStream()) {
+            BinaryProofFormat.readProof(in, prl);
+        }
+    }
+}
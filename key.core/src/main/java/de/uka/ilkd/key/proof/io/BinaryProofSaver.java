@@ -0,0 +1,51 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
+
+/**
+ * This proof saver derivative writes the proof in the binary format of
+ * {@link BinaryProofFormat}. The problem is printed in the text format, the proof steps are
+ * encoded directly from the proof tree.
+ */
+public class BinaryProofSaver extends ProofSaver {
+
+    /**
+     * Instantiates a new proof saver.
+     *
+     * @param proof the non-<code>null</code> proof to save
+     * @param fileName the name of the file to write to
+     * @param internalVersion the internal version
+     */
+    public BinaryProofSaver(Proof proof, String fileName, String internalVersion) {
+        super(proof, fileName, internalVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This subclass encodes the proof in the binary format.
+     */
+    @Override
+    protected void save(Path file) throws IOException {
+        CopyReferenceResolver.copyCachedGoals(proof, null, null, null);
+        final StringWriter header = new StringWriter();
+        try (PrintWriter ps = new PrintWriter(header)) {
+            saveProblem(ps);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BinaryProofFormat.write(header.toString(),
+                saveProofSteps ? this::saveProofSteps : null, out);
+        }
+    }
+}
@@ -95,14 +95,14 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
                     stack.push(newNode);
                 } else {
                     stack.push(currNode);
-                    currNode.addChild(newNode);
+                    addChild(currNode, newNode);
                     currNode = newNode;
                 }
             }
             case RULE -> { // rule (taclet)
                 {
                     final AppNodeIntermediate newNode = new AppNodeIntermediate();
-                    currNode.addChild(newNode);
+                    addChild(currNode, newNode);
                     currNode = newNode;
                 }
                 ruleInfo = new TacletInformation(str);
@@ -160,7 +160,7 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
             case BUILT_IN_RULE -> { // BuiltIn rules
                 {
                     final AppNodeIntermediate newNode = new AppNodeIntermediate();
-                    currNode.addChild(newNode);
+                    addChild(currNode, newNode);
                     currNode = newNode;
                 }
                 ruleInfo = new BuiltinRuleInformation(str);
@@ -231,7 +231,10 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
     @Override
     public void endExpr(ProofElementID eid, int lineNr) {
         switch (eid) {
-            case BRANCH -> currNode = stack.pop();
+            case BRANCH -> {
+                nodeClosed(currNode);
+                currNode = stack.pop();
+            }
             case USER_INTERACTION -> {
                 if (currNode != null) {
                     ((AppNodeIntermediate) currNode).setInteractiveRuleApplication(true);
@@ -245,10 +248,12 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
             case RULE -> { // rule (taclet)
                 ((AppNodeIntermediate) currNode).setIntermediateRuleApp(constructTacletApp());
                 ((AppNodeIntermediate) currNode).getIntermediateRuleApp().setLineNr(lineNr);
+                nodeCompleted(currNode);
             }
             case BUILT_IN_RULE -> { // BuiltIn rules
                 ((AppNodeIntermediate) currNode).setIntermediateRuleApp(constructBuiltInApp());
                 ((AppNodeIntermediate) currNode).getIntermediateRuleApp().setLineNr(lineNr);
+                nodeCompleted(currNode);
             }
             case ASSUMES_INST_BUILT_IN -> { // ifInst (for built in rules)
                 BuiltinRuleInformation builtinInfo = (BuiltinRuleInformation) ruleInfo;
@@ -261,6 +266,33 @@ public class IntermediatePresentationProofFileParser implements IProofFileParser
         }
     }
 
+    /**
+     * Adds a newly parsed node to the intermediate tree.
+     *
+     * @param parent the node to which the child is added
+     * @param child the new child, whose rule application (if any) is not parsed yet
+     */
+    protected void addChild(NodeIntermediate parent, NodeIntermediate child) {
+        parent.addChild(child);
+    }
+
+    /**
+     * Called when the rule application of the given node has been parsed completely.
+     *
+     * @param node the completed node
+     */
+    protected void nodeCompleted(NodeIntermediate node) {
+    }
+
+    /**
+     * Called when the branch containing the given node ends, i.e., no further children will be
+     * added to the node.
+     *
+     * @param node the closed node
+     */
+    protected void nodeClosed(NodeIntermediate node) {
+    }
+
     /**
      * @return The results of the parsing procedure.
      */
@@ -71,6 +71,7 @@ import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -121,6 +122,26 @@ public class IntermediateProofReplayer {
     private final LinkedList<Pair<Node, NodeIntermediate>> queue =
         new LinkedList<>();
 
+    /**
+     * The parser which still produces the intermediate tree during the replay, or null if the
+     * tree has been parsed completely in advance
+     */
+    private final @Nullable StreamingProofFileParser streamingParser;
+
+    /**
+     * Placeholder for an intermediate child which is requested from the {@link #streamingParser}
+     * only when it is replayed.
+     */
+    private static final class PendingChild extends NodeIntermediate {
+        private final NodeIntermediate parent;
+        private final int index;
+
+        private PendingChild(NodeIntermediate parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+    }
+
     /**
      * Used by the node merging during the proof replay.
      *
@@ -149,11 +170,30 @@ public class IntermediateProofReplayer {
             IntermediatePresentationProofFileParser.Result parserResult) {
         this.proof = proof;
         this.loader = loader;
+        this.streamingParser = null;
 
         queue.addFirst(
             new Pair<>(proof.root(), parserResult.parsedResult()));
     }
 
+    /**
+     * Constructs a new {@link IntermediateProofReplayer} which replays the intermediate tree while
+     * it is parsed by the given parser. Replayed intermediate nodes are dropped, so only the open
+     * branches of the intermediate tree are kept in memory. The parser has to be
+     * {@link StreamingProofFileParser#start started} before
+     * {@link #replay(ProblemInitializer.ProblemInitializerListener, ProgressMonitor)} is called.
+     *
+     * @param loader The problem loader, for reporting errors.
+     * @param proof The proof object into which to load the replayed proof.
+     * @param streamingParser the parser producing the intermediate tree
+     */
+    public IntermediateProofReplayer(AbstractProblemLoader loader, Proof proof,
+            StreamingProofFileParser streamingParser) {
+        this.proof = proof;
+        this.loader = loader;
+        this.streamingParser = streamingParser;
+    }
+
     /**
      * Constructs a new {@link IntermediateProofReplayer} without initializing the queue of
      * intermediate parsing results. Note that
@@ -166,6 +206,7 @@ public class IntermediateProofReplayer {
     protected IntermediateProofReplayer(AbstractProblemLoader loader, Proof proof) {
         this.proof = proof;
         this.loader = loader;
+        this.streamingParser = null;
     }
 
     /**
@@ -207,7 +248,16 @@ public class IntermediateProofReplayer {
         int reportInterval = 1;
         int max = 0;
         var time = System.nanoTime();
-        if (listener != null && progressMonitor != null) {
+        if (streamingParser != null) {
+            final NodeIntermediate root = streamingParser.awaitRoot();
+            if (root != null) {
+                queue.addFirst(new Pair<>(proof.root(), root));
+            }
+            // the size of the proof is not known in advance
+            if (listener != null) {
+                listener.reportStatus(this, "Replaying proof");
+            }
+        } else if (listener != null && progressMonitor != null) {
             max = !queue.isEmpty() && queue.peekFirst().second != null
                     ? queue.peekFirst().second.countAllChildren()
                     : 1;
@@ -217,25 +267,41 @@ public class IntermediateProofReplayer {
 
         while (!queue.isEmpty()) {
             // periodically report replay progress
-            if (listener != null && progressMonitor != null && stepIndex % reportInterval == 0) {
+            if (listener != null && progressMonitor != null && streamingParser == null
+                    && stepIndex % reportInterval == 0) {
                 progressMonitor.setProgress(stepIndex);
             }
             stepIndex++;
 
             final Pair<Node, NodeIntermediate> currentP = queue.pollFirst();
             final Node currNode = currentP.first;
-            final NodeIntermediate currNodeInterm = currentP.second;
+            final NodeIntermediate currNodeInterm;
+            if (currentP.second instanceof PendingChild pending) {
+                currNodeInterm = streamingParser.awaitChild(pending.parent, pending.index);
+                if (currNodeInterm == null) {
+                    // open goal without any rule application in the proof file
+                    continue;
+                }
+            } else {
+                currNodeInterm = currentP.second;
+            }
             currGoal = proof.getOpenGoal(currNode);
 
             try {
-                if (currNodeInterm instanceof BranchNodeIntermediate) {
-                    assert currNodeInterm.getChildren().size() <= 1
-                            : "Branch node should have exactly one child.";
-                    if (currNodeInterm.getChildren().size() == 1) {
-                        currNode.getNodeInfo().setBranchLabel(
-                            ((BranchNodeIntermediate) currNodeInterm).getBranchTitle());
-                        queue.addFirst(new Pair<>(currNode,
-                            currNodeInterm.getChildren().get(0)));
+                if (currNodeInterm instanceof BranchNodeIntermediate branchInterm) {
+                    final NodeIntermediate child;
+                    if (streamingParser != null) {
+                        // the first rule application directly follows the branch in the file
+                        child = streamingParser.awaitChild(branchInterm, 0);
+                    } else {
+                        assert branchInterm.getChildren().size() <= 1
+                                : "Branch node should have exactly one child.";
+                        child = branchInterm.getChildren().isEmpty() ? null
+                                : branchInterm.getChildren().get(0);
+                    }
+                    if (child != null) {
+                        currNode.getNodeInfo().setBranchLabel(branchInterm.getBranchTitle());
+                        queue.addFirst(new Pair<>(currNode, child));
                     }
                 } else if (currNodeInterm instanceof AppNodeIntermediate currInterm) {
 
@@ -251,11 +317,7 @@ public class IntermediateProofReplayer {
                         try {
                             currGoal.apply(constructTacletApp(appInterm, currGoal));
 
-                            final Iterator<Node> children = currNode.childrenIterator();
-                            final LinkedList<NodeIntermediate> intermChildren =
-                                currInterm.getChildren();
-
-                            addChildren(children, intermChildren);
+                            addChildren(currNode.childrenIterator(), currInterm);
 
                             // set information about SUCCESSFUL rule application
                             currNode.getNodeInfo().setInteractiveRuleApplication(
@@ -263,7 +325,7 @@ public class IntermediateProofReplayer {
                             currNode.getNodeInfo()
                                     .setScriptRuleApplication(currInterm.isScriptRuleApplication());
 
-                            if (deleteIntermediateTree) {
+                            if (deleteIntermediateTree && streamingParser == null) {
                                 // Children are no longer needed, set them to null
                                 // to free memory.
                                 currInterm.setChildren(null);
@@ -319,18 +381,19 @@ public class IntermediateProofReplayer {
 
                                     final Iterator<Node> childrenIterator =
                                         currNode.childrenIterator();
-                                    for (NodeIntermediate child : currInterm.getChildren()) {
-                                        queue.addFirst(new Pair<>(childrenIterator.next(), child));
+                                    if (streamingParser != null) {
+                                        addChildren(childrenIterator, currInterm);
+                                    } else {
+                                        for (NodeIntermediate child : currInterm.getChildren()) {
+                                            queue.addFirst(
+                                                new Pair<>(childrenIterator.next(), child));
+                                        }
                                     }
 
                                     // Now add children of partner nodes
                                     for (PartnerNode partnerNodeInfo : partnerNodesInfo) {
-                                        Iterator<Node> children =
-                                            partnerNodeInfo.node.childrenIterator();
-                                        LinkedList<NodeIntermediate> intermChildren =
-                                            partnerNodeInfo.intermediate.getChildren();
-
-                                        addChildren(children, intermChildren);
+                                        addChildren(partnerNodeInfo.node.childrenIterator(),
+                                            partnerNodeInfo.intermediate);
                                     }
                                 } catch (SkipSMTRuleException | BuiltInConstructionException e) {
                                     reportError(
@@ -360,11 +423,7 @@ public class IntermediateProofReplayer {
                                 }
                                 currGoal.apply(app);
 
-                                final Iterator<Node> children = currNode.childrenIterator();
-                                LinkedList<NodeIntermediate> intermChildren =
-                                    currInterm.getChildren();
-
-                                addChildren(children, intermChildren);
+                                addChildren(currNode.childrenIterator(), currInterm);
                             } catch (SkipSMTRuleException e) {
                                 // silently continue; status will be reported
                                 // via
@@ -396,6 +455,29 @@ public class IntermediateProofReplayer {
         return new Result(status, errors, currGoal);
     }
 
+    /**
+     * Adds the pairs of proof node children and the children of the given intermediate node to
+     * the queue, see {@link #addChildren(Iterator, LinkedList)}. If the intermediate tree is still
+     * parsed, the intermediate children are added as placeholders which are requested from the
+     * parser when they are replayed.
+     *
+     * @param children Iterator of proof node children.
+     * @param intermParent The corresponding intermediate node.
+     */
+    private void addChildren(Iterator<Node> children, NodeIntermediate intermParent) {
+        if (streamingParser == null) {
+            addChildren(children, intermParent.getChildren());
+            return;
+        }
+        int i = 0;
+        while (!currGoal.node().isClosed() && children.hasNext()) {
+            Node child = children.next();
+            if (!proof.getOpenGoal(child).isLinked()) {
+                queue.add(i, new Pair<>(child, new PendingChild(intermParent, i++)));
+            }
+        }
+    }
+
     /**
      * Adds the pairs of proof node children and intermediate children to the queue. At the moment,
      * they are added in the order they were parsed. For the future, it may be sensible to choose a
@@ -180,6 +180,16 @@ public class KeYFile implements EnvInput {
         return fileCtx;
     }
 
+    /**
+     * Sets the parse tree of the file, which is then not parsed again. Used if the parse tree has
+     * already been obtained elsewhere, e.g., from a cache.
+     *
+     * @param ctx the parse tree of the file
+     */
+    public void setParseContext(KeyAst.File ctx) {
+        this.fileCtx = Objects.requireNonNull(ctx);
+    }
+
     protected ProofSettings getPreferences() {
         if (initConfig.getSettings() == null) {
             return readPreferences();
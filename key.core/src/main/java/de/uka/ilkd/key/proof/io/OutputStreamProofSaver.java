@@ -59,6 +59,7 @@ import org.key_project.prover.sequent.Sequent;
 import org.key_project.prover.sequent.SequentFormula;
 import org.key_project.util.collection.ImmutableList;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -131,9 +132,24 @@ public class OutputStreamProofSaver {
      * Write users and KeY versions to buffer.
      *
      * @return a buffer containing user and KeY version.
+     * @deprecated the log is part of the proof elements passed on by
+     *             {@link #saveProofSteps(IProofFileParser)}
      */
+    @Deprecated
     public StringBuffer writeLog() {
         final StringBuffer logstr = new StringBuffer();
+        final ProofElementPrinter printer = new ProofElementPrinter(logstr);
+        log2Proof(printer);
+        return logstr;
+    }
+
+    /**
+     * Adds the current user and KeY version to the log of the proof and passes the log as proof
+     * elements to the given receiver.
+     *
+     * @param out the receiver of the proof elements
+     */
+    private void log2Proof(IProofFileParser out) {
         // Advance the Log entries
         if (proof.userLog == null) {
             proof.userLog = new ArrayList<>();
@@ -145,11 +161,11 @@ public class OutputStreamProofSaver {
         proof.keyVersionLog.add(internalVersion);
         final int s = proof.userLog.size();
         for (int i = 0; i < s; i++) {
-            logstr.append("(keyLog \"").append(i).append("\" (keyUser \"")
-                    .append(proof.userLog.get(i)).append("\" ) (keyVersion \"")
-                    .append(proof.keyVersionLog.get(i)).append("\"))\n");
+            out.beginExpr(ProofElementID.KeY_LOG, Integer.toString(i));
+            element(out, ProofElementID.KeY_USER, proof.userLog.get(i));
+            element(out, ProofElementID.KeY_VERSION, proof.keyVersionLog.get(i));
+            out.endExpr(ProofElementID.KeY_LOG, 0);
         }
-        return logstr;
     }
 
     public String writeProfile(Profile profile) {
@@ -163,82 +179,119 @@ public class OutputStreamProofSaver {
     public void save(OutputStream out) throws IOException {
         CopyReferenceResolver.copyCachedGoals(proof, null, null, null);
         try (var ps = new PrintWriter(out, true, StandardCharsets.UTF_8)) {
-            final ProofOblInput po =
-                proof.getServices().getSpecificationRepository().getProofOblInput(proof);
-            LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
+            saveProblem(ps);
 
-            // profile
-            ps.println(writeProfile(proof.getServices().getProfile()));
-
-            // settings
-            final StrategySettings strategySettings = proof.getSettings().getStrategySettings();
-            final StrategyProperties strategyProperties =
-                strategySettings.getActiveStrategyProperties();
-            if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
-                    || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_TRUE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
-                for (final SequentFormula s : proof.root().sequent()
-                        .succedent().asList()) {
-                    ((InfFlowProof) proof).addLabeledTotalTerm((JTerm) s.formula());
-                }
-            } else {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_FALSE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
+            if (saveProofSteps) {
+                // \proof
+                ps.println("\\proof {");
+                final ProofElementPrinter printer = new ProofElementPrinter(ps);
+                saveProofSteps(printer);
+                printer.checkError();
+                ps.println("}");
             }
-            ps.println(writeSettings(proof.getSettings()));
+        }
+    }
 
+    /**
+     * Writes the problem, i.e., the profile, the settings, the declarations and the proof
+     * obligation, in the text format. This is the part of a proof file in front of the
+     * {@code \proof} block.
+     *
+     * @param ps the writer to write to
+     * @throws IOException if writing the proof obligation fails
+     */
+    protected void saveProblem(PrintWriter ps) throws IOException {
+        final ProofOblInput po =
+            proof.getServices().getSpecificationRepository().getProofOblInput(proof);
+        LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
+
+        // profile
+        ps.println(writeProfile(proof.getServices().getProfile()));
+
+        // settings
+        final StrategySettings strategySettings = proof.getSettings().getStrategySettings();
+        final StrategyProperties strategyProperties =
+            strategySettings.getActiveStrategyProperties();
+        if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
+                || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_TRUE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+            for (final SequentFormula s : proof.root().sequent()
+                    .succedent().asList()) {
+                ((InfFlowProof) proof).addLabeledTotalTerm((JTerm) s.formula());
+            }
+        } else {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_FALSE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+        }
+        ps.println(writeSettings(proof.getSettings()));
+
+        if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
+                || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_FALSE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+        }
+
+        // declarations of symbols, sorts
+        String header = proof.header();
+        header = makePathsRelative(header);
+        ps.print(header);
+
+        // \problem or \proofObligation
+        if (po instanceof IPersistablePO ppo
+                && (!(po instanceof AbstractInfFlowPO) || (!(po instanceof InfFlowCompositePO)
+                        && ((InfFlowProof) proof).getIFSymbols().isFreshContract()))) {
+            var loadingConfig = ppo.createLoaderConfig();
+            ps.println("\\proofObligation ");
+            loadingConfig.save(ps, "");
+            ps.println("\n");
+        } else {
             if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
                     || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_FALSE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
+                ps.print(((InfFlowProof) proof).printIFSymbols());
             }
-
-            // declarations of symbols, sorts
-            String header = proof.header();
-            header = makePathsRelative(header);
-            ps.print(header);
-
-            // \problem or \proofObligation
-            if (po instanceof IPersistablePO ppo
-                    && (!(po instanceof AbstractInfFlowPO) || (!(po instanceof InfFlowCompositePO)
-                            && ((InfFlowProof) proof).getIFSymbols().isFreshContract()))) {
-                var loadingConfig = ppo.createLoaderConfig();
-                ps.println("\\proofObligation ");
-                loadingConfig.save(ps, "");
-                ps.println("\n");
+            final Sequent problemSeq = proof.root().sequent();
+            ps.println("\\problem {");
+            if (problemSeq.antecedent().isEmpty() && problemSeq.succedent().size() == 1) {
+                // Problem statement is a single formula ...
+                printer.printSemisequent(problemSeq.succedent());
             } else {
-                if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
-                        || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                    ps.print(((InfFlowProof) proof).printIFSymbols());
-                }
-                final Sequent problemSeq = proof.root().sequent();
-                ps.println("\\problem {");
-                if (problemSeq.antecedent().isEmpty() && problemSeq.succedent().size() == 1) {
-                    // Problem statement is a single formula ...
-                    printer.printSemisequent(problemSeq.succedent());
-                } else {
-                    // Problem statement is a proper sequent ...
-                    printer.printSequent(problemSeq);
-                }
-                ps.println(printer.result());
-                ps.println("}\n");
-            }
-
-            if (saveProofSteps) {
-                // \proof
-                ps.println("\\proof {");
-                ps.println(writeLog());
-                ps.println("(autoModeTime \"" + proof.getAutoModeTime() + "\")\n");
-                node2Proof(proof.root(), ps);
-                ps.println("}");
+                // Problem statement is a proper sequent ...
+                printer.printSequent(problemSeq);
             }
+            ps.println(printer.result());
+            ps.println("}\n");
         }
     }
 
+    /**
+     * Passes the proof steps, i.e., the log of users and KeY versions, the time spent in auto
+     * mode and the proof tree, as proof elements to the given receiver. The elements are the same
+     * (and in the same order) as the ones a parser of the saved proof passes on.
+     *
+     * @param out the receiver of the proof elements
+     */
+    protected void saveProofSteps(IProofFileParser out) {
+        log2Proof(out);
+        element(out, ProofElementID.AUTOMODE_TIME, Long.toString(proof.getAutoModeTime()));
+        node2Proof(proof.root(), out);
+    }
+
+    /**
+     * Passes a proof element without nested elements to the receiver.
+     *
+     * @param out the receiver of the proof element
+     * @param eid the kind of the element
+     * @param str the argument of the element, or null
+     */
+    private static void element(IProofFileParser out, ProofElementID eid, @Nullable String str) {
+        out.beginExpr(eid, str);
+        out.endExpr(eid, 0);
+    }
+
     protected Path getBasePath() throws IOException {
         File javaSourceLocation = getJavaSourceLocation(proof);
         if (javaSourceLocation != null) {
@@ -322,63 +375,56 @@ public class OutputStreamProofSaver {
         }
     }
 
-    private String newNames2Proof(Node n) {
-        StringBuilder s = new StringBuilder();
+    private void newNames2Proof(Node n, IProofFileParser out) {
         final NameRecorder rec = n.getNameRecorder();
         if (rec == null) {
-            return s.toString();
+            return;
         }
         final ImmutableList<Name> proposals = rec.getProposals();
         if (proposals.isEmpty()) {
-            return s.toString();
+            return;
         }
+        StringBuilder s = new StringBuilder();
         for (final Name proposal : proposals) {
             s.append(",").append(proposal);
         }
-        return " (newnames \"" + s.substring(1) + "\")";
+        element(out, ProofElementID.NEW_NAMES, s.substring(1));
     }
 
     /**
-     * Print applied taclet rule for a single taclet rule application into the passed writer.
+     * Passes a single taclet rule application as proof elements to the receiver.
      *
-     * @param appliedRuleApp the rule application to be printed
-     * @param prefix a string which the printed rule is concatenated to
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param appliedRuleApp the rule application to be saved
+     * @param node the proof node of the rule application
+     * @param out the receiver of the proof elements
      */
-
-    private void printSingleTacletApp(TacletApp appliedRuleApp, Node node, String prefix,
-            Appendable output) throws IOException {
-
-        output.append(prefix);
-        output.append("(rule \"");
-        output.append(appliedRuleApp.rule().name().toString());
-        output.append("\"");
-        output.append(posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence()));
-        output.append(newNames2Proof(node));
-        output.append(getInteresting(appliedRuleApp.instantiations()));
+    private void printSingleTacletApp(TacletApp appliedRuleApp, Node node, IProofFileParser out) {
+        out.beginExpr(ProofElementID.RULE, appliedRuleApp.rule().name().toString());
+        posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence(), out);
+        newNames2Proof(node, out);
+        for (String singleInstantiation : getInterestingInstantiations(
+            appliedRuleApp.instantiations())) {
+            element(out, ProofElementID.INSTANTIATION, singleInstantiation);
+        }
         final ImmutableList<AssumesFormulaInstantiation> l =
             appliedRuleApp.assumesFormulaInstantiations();
         if (l != null) {
-            output.append(assumesFormulaInsts(node, l));
+            assumesFormulaInsts(node, l, out);
         }
-        output.append("");
-        userInteraction2Proof(node, output);
-        notes2Proof(node, output);
-        output.append(")\n");
+        userInteraction2Proof(node, out);
+        notes2Proof(node, out);
+        out.endExpr(ProofElementID.RULE, 0);
     }
 
     /**
-     * Print predicates for applied merge rule application into the passed writer.
+     * Passes the predicates of a merge rule application as proof elements to the receiver.
      *
-     * @param predAbstrRule the rule application with the predicates to be printed
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param predAbstrRule the rule application with the predicates to be saved
+     * @param out the receiver of the proof elements
      */
     private void printPredicatesForSingleMergeRuleApp(MergeWithPredicateAbstraction predAbstrRule,
-            Appendable output) throws IOException {
-        output.append("(").append(ProofElementID.MERGE_ABSTRACTION_PREDICATES.getRawName())
-                .append(" \"");
+            IProofFileParser out) {
+        final StringBuilder predicates = new StringBuilder();
         boolean first = true;
         for (final Map.Entry<Sort, ArrayList<AbstractionPredicate>> predsForSorts : predAbstrRule
                 .getPredicates().entrySet()) {
@@ -387,37 +433,29 @@ public class OutputStreamProofSaver {
                     first = false;
 
                 } else {
-                    output.append(", ");
+                    predicates.append(", ");
                 }
-                output.append(pred.toParseableString(proof.getServices()));
+                predicates.append(pred.toParseableString(proof.getServices()));
             }
         }
-
-        output.append("\")");
-
-        output.append(" (")
-                .append(ProofElementID.MERGE_PREDICATE_ABSTRACTION_LATTICE_TYPE.getRawName())
-                .append("\"");
-        output.append(predAbstrRule.getLatticeType().getName());
-
-        output.append("\")");
+        element(out, ProofElementID.MERGE_ABSTRACTION_PREDICATES, predicates.toString());
+        element(out, ProofElementID.MERGE_PREDICATE_ABSTRACTION_LATTICE_TYPE,
+            predAbstrRule.getLatticeType().getName());
     }
 
     /**
-     * Print predicates for applied merge rule application into the passed writer.
+     * Passes the user choices of a merge rule application as proof elements to the receiver.
      *
-     * @param concreteRule the rule application with the abstract domain to be printed
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param concreteRule the rule application with the abstract domain to be saved
+     * @param out the receiver of the proof elements
      */
     private void printLatticeAbstractionForSingleMergeRuleApp(
-            MergeWithLatticeAbstraction concreteRule, Appendable output) throws IOException {
+            MergeWithLatticeAbstraction concreteRule, IProofFileParser out) {
         final Map<ProgramVariable, AbstractDomainElement> userChoices =
             concreteRule.getUserChoices();
 
         if (!userChoices.isEmpty()) {
-            output.append(" (").append(ProofElementID.MERGE_USER_CHOICES.getRawName())
-                    .append(" \"");
+            final StringBuilder choices = new StringBuilder();
             boolean first = true;
             for (var pair : userChoices.entrySet()) {
                 final var key = pair.getKey();
@@ -425,49 +463,36 @@ public class OutputStreamProofSaver {
                 if (first) {
                     first = false;
                 } else {
-                    output.append("`), ");
+                    choices.append("`), ");
 
                 }
-                output.append(" ('").append(key.sort().toString()).append("").append(key.toString())
+                choices.append(" ('").append(key.sort().toString()).append("").append(key)
                         .append("', `").append(value.toParseableString(proof.getServices()))
                         .append("`), ");
             }
-
-            output.append("\")");
+            element(out, ProofElementID.MERGE_USER_CHOICES, choices.toString());
         }
     }
 
     /**
-     * Print applied merge rule for a single merge rule application into the passed writer.
+     * Passes the details of a merge rule application as proof elements to the receiver.
      *
-     * @param mergeApp the rule application to be printed
-     * @param prefix a string which the printed rule is concatenated to
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param mergeApp the rule application to be saved
+     * @param out the receiver of the proof elements
      */
-    private void printSingleMergeRuleApp(MergeRuleBuiltInRuleApp mergeApp, Node node, String prefix,
-            Appendable output) throws IOException {
+    private void printSingleMergeRuleApp(MergeRuleBuiltInRuleApp mergeApp, IProofFileParser out) {
         final MergeProcedure concreteRule = mergeApp.getConcreteRule();
 
-        output.append(" (").append(ProofElementID.MERGE_PROCEDURE.getRawName()).append(" \"");
-        output.append(concreteRule.toString());
-        output.append("\")");
-
-        output.append(" (").append(ProofElementID.NUMBER_MERGE_PARTNERS.getRawName()).append(" \"");
-        output.append(Integer.toString(mergeApp.getMergePartners().size()));
-        output.append("\")");
-
-        output.append(" (").append(ProofElementID.MERGE_ID.getRawName()).append(" \"");
-        output.append(Integer.toString(mergeApp.getMergeNode().serialNr()));
-        output.append("\")");
+        element(out, ProofElementID.MERGE_PROCEDURE, concreteRule.toString());
+        element(out, ProofElementID.NUMBER_MERGE_PARTNERS,
+            Integer.toString(mergeApp.getMergePartners().size()));
+        element(out, ProofElementID.MERGE_ID,
+            Integer.toString(mergeApp.getMergeNode().serialNr()));
 
         if (mergeApp.getDistinguishingFormula() != null) {
-            output.append(" (").append(ProofElementID.MERGE_DIST_FORMULA.getRawName())
-                    .append(" \"");
-            output.append(escapeCharacters(
+            element(out, ProofElementID.MERGE_DIST_FORMULA,
                 printAnything(mergeApp.getDistinguishingFormula(), proof.getServices(), false)
-                        .trim().replaceAll("(\\r|\\n|\\r\\n)+", "")));
-            output.append("\")");
+                        .trim().replaceAll("(\\r|\\n|\\r\\n)+", ""));
         }
 
         // Predicates for merges with predicate abstraction.
@@ -475,54 +500,40 @@ public class OutputStreamProofSaver {
                 && ((MergeWithPredicateAbstraction) concreteRule).getPredicates().size() > 0) {
 
             printPredicatesForSingleMergeRuleApp((MergeWithPredicateAbstraction) concreteRule,
-                output);
+                out);
         }
 
         if (concreteRule instanceof MergeWithLatticeAbstraction) {
             printLatticeAbstractionForSingleMergeRuleApp((MergeWithLatticeAbstraction) concreteRule,
-                output);
+                out);
         }
     }
 
-    /*
-     *
-     * Print applied close-after-merge rule for a single close-after-merge rule application into the
-     * passed writer.
-     *
-     * @param closeApp the rule application to be printed
-     *
-     * @param prefix a string which the printed rule is concatenated to
-     *
-     * @param output the writer in which the rule is printed
+    /**
+     * Passes the details of a close-after-merge rule application as proof elements to the
+     * receiver.
      *
-     * @throws IOException an exception thrown when printing fails
+     * @param closeApp the rule application to be saved
+     * @param out the receiver of the proof elements
      */
     private void printSingleCloseAfterMergeRuleApp(CloseAfterMergeRuleBuiltInRuleApp closeApp,
-            Node node, String prefix, Appendable output) throws IOException {
+            IProofFileParser out) {
 
         // TODO (DS): There may be problems here if the merge node is
         // pruned away. Need to test some cases and either check for
         // null pointers at this place or find a better solution.
-        output.append(" (").append(ProofElementID.MERGE_NODE.getRawName()).append(" \"");
-        output.append(Integer.toString(closeApp.getCorrespondingMergeNode().parent().serialNr()));
-        output.append("\")");
-    }
-
-    private void printSingleSMTRuleApp(SMTRuleApp smtApp, Node node, String prefix,
-            Appendable output) throws IOException {
-        output.append(" (").append(ProofElementID.SOLVERTYPE.getRawName())
-                .append(" \"").append(smtApp.getSuccessfulSolverName()).append("\")");
+        element(out, ProofElementID.MERGE_NODE,
+            Integer.toString(closeApp.getCorrespondingMergeNode().parent().serialNr()));
     }
 
     /**
-     * Print rule justification for applied built-in rule application into the passed writer.
+     * Passes the rule justification of a built-in rule application as proof element to the
+     * receiver.
      *
-     * @param appliedRuleApp the rule application to be printed
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param appliedRuleApp the rule application to be saved
+     * @param out the receiver of the proof elements
      */
-    private void printRuleJustification(IBuiltInRuleApp appliedRuleApp, Appendable output)
-            throws IOException {
+    private void printRuleJustification(IBuiltInRuleApp appliedRuleApp, IProofFileParser out) {
         final RuleJustification ruleJusti = proof.getInitConfig().getJustifInfo()
                 .getJustification(appliedRuleApp, proof.getServices());
 
@@ -530,108 +541,94 @@ public class OutputStreamProofSaver {
                 : "Please consult bug #1111 if this fails.";
 
         final RuleJustificationBySpec ruleJustiBySpec = (RuleJustificationBySpec) ruleJusti;
-        output.append(" (contract \"");
-        output.append(ruleJustiBySpec.spec().getName());
-        output.append("\")");
+        element(out, ProofElementID.CONTRACT, ruleJustiBySpec.spec().getName());
     }
 
     /**
-     * Print applied built-in rule for a single built-in rule application into the passed writer.
+     * Passes a single built-in rule application as proof elements to the receiver.
      *
-     * @param appliedRuleApp the rule application to be printed
-     * @param prefix a string which the printed rule is concatenated to
-     * @param output the writer in which the rule is printed
-     * @throws IOException an exception thrown when printing fails
+     * @param appliedRuleApp the rule application to be saved
+     * @param node the proof node of the rule application
+     * @param out the receiver of the proof elements
      */
-    private void printSingleBuiltInRuleApp(IBuiltInRuleApp appliedRuleApp, Node node, String prefix,
-            Appendable output) throws IOException {
-        output.append(prefix);
-        output.append(" (builtin \"");
-        output.append(appliedRuleApp.rule().name().toString());
-        output.append("\"");
-        output.append(posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence()));
+    private void printSingleBuiltInRuleApp(IBuiltInRuleApp appliedRuleApp, Node node,
+            IProofFileParser out) {
+        out.beginExpr(ProofElementID.BUILT_IN_RULE, appliedRuleApp.rule().name().toString());
+        posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence(), out);
 
-        output.append(newNames2Proof(node));
-        output.append(builtinRuleAssumesInsts(node, appliedRuleApp.assumesInsts()));
+        newNames2Proof(node, out);
+        builtinRuleAssumesInsts(node, appliedRuleApp.assumesInsts(), out);
 
         if (appliedRuleApp.rule() instanceof UseOperationContractRule
                 || appliedRuleApp.rule() instanceof UseDependencyContractRule) {
-            printRuleJustification(appliedRuleApp, output);
+            printRuleJustification(appliedRuleApp, out);
 
             // for operation contract rules we add the modality under which the rule was applied
             // -> needed for proof management tool
             if (appliedRuleApp.rule() instanceof UseOperationContractRule) {
                 if (appliedRuleApp instanceof ContractRuleApp app) {
                     Modality modality = (Modality) app.programTerm().op();
-                    output.append(" (modality \"");
-                    output.append(modality.toString());
-                    output.append("\")");
+                    element(out, ProofElementID.MODALITY, modality.toString());
                 }
             }
         }
         if (appliedRuleApp instanceof MergeRuleBuiltInRuleApp) {
-            printSingleMergeRuleApp((MergeRuleBuiltInRuleApp) appliedRuleApp, node, prefix, output);
+            printSingleMergeRuleApp((MergeRuleBuiltInRuleApp) appliedRuleApp, out);
         }
 
         if (appliedRuleApp instanceof CloseAfterMergeRuleBuiltInRuleApp) {
             printSingleCloseAfterMergeRuleApp((CloseAfterMergeRuleBuiltInRuleApp) appliedRuleApp,
-                node, prefix, output);
-        } else if (appliedRuleApp instanceof SMTRuleApp) {
-            printSingleSMTRuleApp((SMTRuleApp) appliedRuleApp, node, prefix, output);
+                out);
+        } else if (appliedRuleApp instanceof SMTRuleApp smtApp) {
+            element(out, ProofElementID.SOLVERTYPE, smtApp.getSuccessfulSolverName());
         }
 
-        output.append("");
-        userInteraction2Proof(node, output);
-        notes2Proof(node, output);
-        output.append(")\n");
+        userInteraction2Proof(node, out);
+        notes2Proof(node, out);
+        out.endExpr(ProofElementID.BUILT_IN_RULE, 0);
     }
 
     /**
-     * Print applied rule (s) for a single proof node into the passed writer.
+     * Passes the applied rule of a single proof node, or its open goal, as proof elements to the
+     * receiver.
      *
-     * @param node the proof node to be printed
-     * @param prefix a string which the printed rules are concatenated to
-     * @param output the writer in which the rule(s) is /are printed
-     * @throws IOException an exception thrown when printing fails
+     * @param node the proof node to be saved
+     * @param out the receiver of the proof elements
      */
-    private void printSingleNode(Node node, String prefix, Appendable output) throws IOException {
+    private void printSingleNode(Node node, IProofFileParser out) {
         final RuleApp appliedRuleApp = node.getAppliedRuleApp();
         if (appliedRuleApp == null && (proof.getOpenGoal(node) != null)) {
             // open goal
-            output.append(prefix);
-            output.append(" (opengoal \"");
             final LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
 
             printer.printSequent(node.sequent());
-            output.append(escapeCharacters(printer.result().replace('\n', ' ')));
-            output.append("\")\n");
+            element(out, ProofElementID.OPEN_GOAL, printer.result().replace('\n', ' '));
             return;
         }
 
         if (appliedRuleApp instanceof TacletApp) {
-            printSingleTacletApp((TacletApp) appliedRuleApp, node, prefix, output);
+            printSingleTacletApp((TacletApp) appliedRuleApp, node, out);
         } else if (appliedRuleApp instanceof IBuiltInRuleApp) {
-            printSingleBuiltInRuleApp((IBuiltInRuleApp) appliedRuleApp, node, prefix, output);
+            printSingleBuiltInRuleApp((IBuiltInRuleApp) appliedRuleApp, node, out);
         }
     }
 
     /**
-     * Print applied rule(s) for a proof node and its decendants into the passed writer.
+     * Passes the applied rules of a proof node and its descendants as proof elements to the
+     * receiver.
      *
-     * @param node the proof node from which to be printed
-     * @param prefix a string which the printed rules are concatenated to
-     * @param output the writer in which the rule(s) is/are printed
-     * @throws IOException an exception thrown when printing fails
+     * @param node the proof node from which to be saved
+     * @param out the receiver of the proof elements
      */
-    private void collectProof(Node node, String prefix, Appendable output) throws IOException {
+    private void collectProof(Node node, IProofFileParser out) {
 
-        printSingleNode(node, prefix, output);
+        printSingleNode(node, out);
         Iterator<Node> childrenIt;
 
         while (node.childrenCount() == 1) {
             childrenIt = node.childrenIterator();
             node = childrenIt.next();
-            printSingleNode(node, prefix, output);
+            printSingleNode(node, out);
         }
 
         if (node.childrenCount() == 0) {
@@ -642,36 +639,27 @@ public class OutputStreamProofSaver {
 
         while (childrenIt.hasNext()) {
             final Node child = childrenIt.next();
-            output.append(prefix);
-            final String branchLabel = child.getNodeInfo().getBranchLabel();
-
             // The branchLabel is ignored when reading in the proof,
-            // print it if we have it, ignore it otherwise. (MU)
-            if (branchLabel == null) {
-                output.append("(branch\n");
-            } else {
-                output.append("(branch \"").append(escapeCharacters(branchLabel)).append("\"\n");
-            }
-
-            collectProof(child, prefix + "   ", output);
-            output.append(prefix).append(")\n");
+            // save it if we have it, ignore it otherwise. (MU)
+            out.beginExpr(ProofElementID.BRANCH, child.getNodeInfo().getBranchLabel());
+            collectProof(child, out);
+            out.endExpr(ProofElementID.BRANCH, 0);
         }
     }
 
     /**
      * Check whether the applied rule of the passed proof node was performed interactively. If this
-     * is the case, a user interaction label is appended.
+     * is the case, a user interaction label is passed to the receiver.
      *
      * @param node the proof node to be checked
-     * @param output the writer to which the label should be appended
-     * @throws IOException an exception thrown in case printing fails
+     * @param out the receiver of the proof elements
      */
-    private void userInteraction2Proof(Node node, Appendable output) throws IOException {
+    private void userInteraction2Proof(Node node, IProofFileParser out) {
         if (node.getNodeInfo().getInteractiveRuleApplication()) {
-            output.append(" (userinteraction)");
+            element(out, ProofElementID.USER_INTERACTION, null);
         }
         if (node.getNodeInfo().getScriptRuleApplication()) {
-            output.append(" (proofscript)");
+            element(out, ProofElementID.PROOF_SCRIPT, null);
         }
     }
 
@@ -679,18 +667,12 @@ public class OutputStreamProofSaver {
      * Saves user provided notes to the proof if present.
      *
      * @param node the node to check for notes
-     * @param output the writer to which to append the notes
-     * @throws IOException if printing fails
+     * @param out the receiver of the proof elements
      */
-    private void notes2Proof(Node node, Appendable output) throws IOException {
+    private void notes2Proof(Node node, IProofFileParser out) {
         String notes = node.getNodeInfo().getNotes();
         if (notes != null) {
-            output.append(" (notes \"");
-            // to allow for quotes inside the notes: escape backslashes and quotes
-            notes = notes.replace("\\\\", "\\\\\\\\");
-            notes = notes.replace("\\\"", "\\\\\"");
-            output.append(notes);
-            output.append("\")");
+            element(out, ProofElementID.NOTES, notes);
         }
     }
 
@@ -703,9 +685,22 @@ public class OutputStreamProofSaver {
      * @throws IOException an exception thrown when printing fails
      */
     public void node2Proof(Node node, Appendable ps) throws IOException {
-        ps.append("(branch \"dummy ID\"\n");
-        collectProof(node, "", ps);
-        ps.append(")\n");
+        final ProofElementPrinter printer = new ProofElementPrinter(ps);
+        node2Proof(node, printer);
+        printer.checkError();
+    }
+
+    /**
+     * Passes the applied rule(s) of a proof node and its descendants as proof elements to the
+     * receiver, such that they can be replayed as a proof.
+     *
+     * @param node the proof node from which to be saved
+     * @param out the receiver of the proof elements
+     */
+    public void node2Proof(Node node, IProofFileParser out) {
+        out.beginExpr(ProofElementID.BRANCH, "dummy ID");
+        collectProof(node, out);
+        out.endExpr(ProofElementID.BRANCH, 0);
     }
 
     public static String posInOccurrence2Proof(Sequent seq,
@@ -718,16 +713,29 @@ public class OutputStreamProofSaver {
             + "\")" + posInTerm2Proof(pos.posInTerm());
     }
 
+    private static void posInOccurrence2Proof(Sequent seq, PosInOccurrence pos,
+            IProofFileParser out) {
+        if (pos == null) {
+            return;
+        }
+        element(out, ProofElementID.FORMULA,
+            Integer.toString(seq.formulaNumberInSequent(pos.isInAntec(), pos.sequentFormula())));
+        if (pos.posInTerm() != PosInTerm.getTopLevel()) {
+            element(out, ProofElementID.TERM, posInTermList(pos.posInTerm()));
+        }
+    }
+
     public static String posInTerm2Proof(PosInTerm pos) {
         if (pos == PosInTerm.getTopLevel()) {
             return "";
         }
-        String s = " (term \"";
+        return " (term \"" + posInTermList(pos) + "\")";
+    }
+
+    private static String posInTermList(PosInTerm pos) {
         final String list = pos.integerList(pos.reverseIterator()); // cheaper to read
         // in
-        s = s + list.substring(1, list.length() - 1); // chop off "[" and "]"
-        s = s + "\")";
-        return s;
+        return list.substring(1, list.length() - 1); // chop off "[" and "]"
     }
 
     /**
@@ -759,51 +767,30 @@ public class OutputStreamProofSaver {
         return s;
     }
 
-    private String getInteresting(SVInstantiations inst) {
-        StringBuilder s = new StringBuilder();
-
-        for (String singleInstantiation : getInterestingInstantiations(inst)) {
-            s.append(" (inst \"").append(escapeCharacters(singleInstantiation)).append("\")");
-        }
-
-        return s.toString();
-    }
-
-    public String assumesFormulaInsts(Node node,
-            ImmutableList<AssumesFormulaInstantiation> instantiations) {
-        StringBuilder s = new StringBuilder();
+    private void assumesFormulaInsts(Node node,
+            ImmutableList<AssumesFormulaInstantiation> instantiations, IProofFileParser out) {
         for (final AssumesFormulaInstantiation assumesFormulaInstantiation : instantiations) {
             final SequentFormula sequentFormula = assumesFormulaInstantiation.getSequentFormula();
             if (assumesFormulaInstantiation instanceof AssumesFormulaInstSeq assumesFormulaInSequent) {
-                s.append(" (ifseqformula \"")
-                        .append(node.sequent()
-                                .formulaNumberInSequent(assumesFormulaInSequent.inAntecedent(),
-                                    sequentFormula))
-                        .append("\")");
+                element(out, ProofElementID.ASSUMES_FORMULA_IN_SEQUENT,
+                    Integer.toString(node.sequent().formulaNumberInSequent(
+                        assumesFormulaInSequent.inAntecedent(), sequentFormula)));
             } else if (assumesFormulaInstantiation instanceof AssumesFormulaInstDirect) {
-
-                final String directInstantiation =
-                    printTerm((JTerm) sequentFormula.formula(), node.proof().getServices());
-
-                s.append(" (ifdirectformula \"").append(escapeCharacters(directInstantiation))
-                        .append("\")");
+                element(out, ProofElementID.ASSUMES_FORMULA_DIRECT,
+                    printTerm((JTerm) sequentFormula.formula(), node.proof().getServices()));
             } else {
                 throw new IllegalArgumentException("Unknown Assumes-Seq-Formula type");
             }
         }
-
-        return s.toString();
     }
 
-    public String builtinRuleAssumesInsts(Node node,
-            ImmutableList<PosInOccurrence> assumesInstantiations) {
-        StringBuilder s = new StringBuilder();
+    private void builtinRuleAssumesInsts(Node node,
+            ImmutableList<PosInOccurrence> assumesInstantiations, IProofFileParser out) {
         for (final PosInOccurrence posOfAssumesInstatiation : assumesInstantiations) {
-            s.append(" (ifInst \"\" ");
-            s.append(posInOccurrence2Proof(node.sequent(), posOfAssumesInstatiation));
-            s.append(")");
+            out.beginExpr(ProofElementID.ASSUMES_INST_BUILT_IN, "");
+            posInOccurrence2Proof(node.sequent(), posOfAssumesInstatiation, out);
+            out.endExpr(ProofElementID.ASSUMES_INST_BUILT_IN, 0);
         }
-        return s.toString();
     }
 
     /**
@@ -0,0 +1,143 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Prints the received proof elements in the text format of proof files, i.e., as the content of
+ * the {@code \proof} block. The layout is the one proof files have always been saved in: Every
+ * log entry, rule application, open goal and branch ends with a line break and is indented by
+ * the depth of its branch.
+ * <p>
+ * Since {@link Appendable} may throw checked exceptions, the first exception is stored and
+ * rethrown by {@link #checkError()}.
+ */
+final class ProofElementPrinter implements IProofFileParser {
+    private final Appendable out;
+    private int openElements;
+    private int branchDepth;
+    private boolean afterLog;
+    private @Nullable IOException exception;
+
+    /**
+     * Creates a new printer.
+     *
+     * @param out the destination of the text
+     */
+    ProofElementPrinter(Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public void beginExpr(ProofElementID eid, @Nullable String str) {
+        try {
+            if (openElements == 0 && afterLog && eid != ProofElementID.KeY_LOG) {
+                // the log is followed by an empty line
+                out.append('\n');
+                afterLog = false;
+            }
+            if (eid == ProofElementID.BRANCH || eid == ProofElementID.RULE) {
+                indent();
+            } else if (eid == ProofElementID.BUILT_IN_RULE || eid == ProofElementID.OPEN_GOAL) {
+                indent();
+                out.append(' ');
+            } else if (openElements > 0 && eid != ProofElementID.MERGE_ABSTRACTION_PREDICATES) {
+                out.append(' ');
+            }
+            out.append('(').append(eid.getRawName());
+            if (str != null) {
+                if (eid != ProofElementID.MERGE_PREDICATE_ABSTRACTION_LATTICE_TYPE) {
+                    out.append(' ');
+                }
+                out.append('"').append(escape(eid, str)).append('"');
+            }
+            if (eid == ProofElementID.BRANCH) {
+                out.append('\n');
+            } else if (eid == ProofElementID.ASSUMES_INST_BUILT_IN) {
+                out.append(' ');
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        openElements++;
+        if (eid == ProofElementID.BRANCH) {
+            branchDepth++;
+        }
+    }
+
+    @Override
+    public void endExpr(ProofElementID eid, int stringLiteralLine) {
+        openElements--;
+        try {
+            if (eid == ProofElementID.BRANCH) {
+                branchDepth--;
+                indent();
+            } else if (eid == ProofElementID.KeY_USER) {
+                out.append(' ');
+            }
+            out.append(')');
+            if (eid == ProofElementID.BRANCH || eid == ProofElementID.RULE
+                    || eid == ProofElementID.BUILT_IN_RULE || eid == ProofElementID.OPEN_GOAL) {
+                out.append('\n');
+            } else if (openElements == 0 && eid == ProofElementID.KeY_LOG) {
+                out.append('\n');
+                afterLog = true;
+            } else if (openElements == 0 && eid == ProofElementID.AUTOMODE_TIME) {
+                out.append("\n\n");
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Escapes the argument of an element. Only the arguments which may contain arbitrary text
+     * are escaped, the others are printed as they are.
+     */
+    private static String escape(ProofElementID eid, String str) {
+        return switch (eid) {
+        case INSTANTIATION, ASSUMES_FORMULA_DIRECT, MERGE_DIST_FORMULA, OPEN_GOAL, BRANCH ->
+            OutputStreamProofSaver.escapeCharacters(str);
+        case NOTES -> str.replace("\\\\", "\\\\\\\\").replace("\\\"", "\\\\\"");
+        default -> str;
+        };
+    }
+
+    private void indent() throws IOException {
+        // the outermost branch, which contains the whole proof, is not indented
+        out.append(" ".repeat(3 * Math.max(branchDepth - 1, 0)));
+    }
+
+    private void fail(IOException e) {
+        if (exception == null) {
+            exception = e;
+        }
+    }
+
+    /**
+     * @throws IOException the first exception thrown while printing, if any
+     */
+    void checkError() throws IOException {
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public String getStatus() {
+        return "";
+    }
+
+    @Override
+    public List<Throwable> getErrors() {
+        return Collections.emptyList();
+    }
+}
@@ -51,10 +51,13 @@ public class RuleSourceFactory {
      *
      * @param file the non-<code>null</code> file reference
      * @param compressed <code>true</code> iff the file is gzip-compressed
-     * @return the rule source read from the file.
+     * @return the rule source read from the file; a {@link BinaryProofRuleSource} if the file is
+     *         a binary proof file
      */
     public static RuleSource initRuleFile(final Path file, boolean compressed) {
-        if (compressed) {
+        if (BinaryProofFormat.isBinaryProof(file)) {
+            return new BinaryProofRuleSource(file);
+        } else if (compressed) {
             return new GZipFileRuleSource(file);
         } else {
             return new FileRuleSource(file);
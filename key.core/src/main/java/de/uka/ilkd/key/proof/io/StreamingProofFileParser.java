@@ -0,0 +1,250 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.KeYUserProblemFile;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.proof.io.intermediate.AppNodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An {@link IntermediatePresentationProofFileParser} which parses the proof in a background thread
+ * while the intermediate nodes are already replayed by an {@link IntermediateProofReplayer}.
+ * <p>
+ * The replayer requests the children of an intermediate node one by one
+ * ({@link #awaitChild(NodeIntermediate, int)}), waiting until the parser has reached them. A child
+ * is removed from the intermediate tree as soon as it has been handed out, hence the replayed part
+ * of the proof can be garbage collected. To keep the parser from building the whole tree anyway,
+ * it pauses as soon as a bounded number of parsed nodes has not been requested yet, unless the
+ * replayer is waiting itself. The intermediate tree in memory is thus bounded by the open branches
+ * of the parser and the replayer, not by the size of the proof.
+ * <p>
+ * Usage: {@link #start(KeYUserProblemFile)}, replay, {@link #finish()}, and {@link #getResult()}.
+ * If the replay is aborted, {@link #cancel()} stops the parser.
+ *
+ * @see IntermediateProofReplayer#IntermediateProofReplayer(AbstractProblemLoader, Proof,
+ *      StreamingProofFileParser)
+ */
+public class StreamingProofFileParser extends IntermediatePresentationProofFileParser {
+    /**
+     * Maximal number of parsed nodes which have not been requested by the replayer, before the
+     * parser pauses.
+     */
+    private final int bufferSize;
+
+    /** Nodes which may still get further children. */
+    private final Set<NodeIntermediate> open = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The node whose rule application is currently parsed, if any. */
+    private @Nullable NodeIntermediate incomplete;
+
+    /** Number of parsed nodes which have not been requested yet. */
+    private int buffered;
+
+    private boolean consumerWaiting;
+    private boolean producerWaiting;
+    /** Set if the replayer does not request any more nodes. */
+    private boolean consumerDone;
+    private boolean cancelled;
+    /** Set when the parser thread has terminated. */
+    private boolean done;
+
+    private @Nullable Thread thread;
+
+    /**
+     * @param proof Proof object for storing meta information about the parsed proof.
+     * @param bufferSize maximal number of parsed nodes which have not been requested by the
+     *        replayer, before the parser pauses
+     */
+    public StreamingProofFileParser(Proof proof, int bufferSize) {
+        super(proof);
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Starts to parse the proof of the given file in a background thread.
+     *
+     * @param kupf the file containing the proof
+     */
+    public void start(KeYUserProblemFile kupf) {
+        if (thread != null) {
+            throw new IllegalStateException("The parser has already been started.");
+        }
+        thread = new Thread(() -> parse(kupf), "Proof parser " + kupf.name());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void parse(KeYUserProblemFile kupf) {
+        try {
+            kupf.readProof(this);
+        } catch (CancellationException e) {
+            // the replay has been aborted
+        } catch (IOException e) {
+            getErrors().add(new ProofInputException(e));
+        } catch (Throwable e) {
+            getErrors().add(e);
+        } finally {
+            kupf.close();
+            synchronized (this) {
+                done = true;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Signals that the replay is finished and waits until the remaining proof has been parsed, so
+     * that all parser errors are available in {@link #getResult()}.
+     */
+    public void finish() {
+        synchronized (this) {
+            consumerDone = true;
+            notifyAll();
+        }
+        joinThread();
+    }
+
+    /**
+     * Stops the parser and waits for the background thread to terminate.
+     */
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+            notifyAll();
+        }
+        joinThread();
+    }
+
+    private void joinThread() {
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until the root of the intermediate tree, the "dummy ID" branch, has been parsed.
+     *
+     * @return the root, or null if the file does not contain a proof
+     */
+    public synchronized @Nullable NodeIntermediate awaitRoot() {
+        while (getParsedResult() == null && !done) {
+            waitForProducer();
+        }
+        return getParsedResult();
+    }
+
+    /**
+     * Waits until the given child of an intermediate node has been parsed and removes it from the
+     * intermediate tree. Every child can be requested only once.
+     *
+     * @param parent the parent node
+     * @param index the index of the child
+     * @return the child, or null if the parent has no such child
+     */
+    public synchronized @Nullable NodeIntermediate awaitChild(NodeIntermediate parent,
+            int index) {
+        while (true) {
+            final List<NodeIntermediate> children = parent.getChildren();
+            if (index < children.size() && children.get(index) != incomplete) {
+                final NodeIntermediate child = children.set(index, null);
+                buffered--;
+                if (producerWaiting) {
+                    notifyAll();
+                }
+                return child;
+            }
+            if (done || (index >= children.size() && !open.contains(parent))) {
+                return null;
+            }
+            waitForProducer();
+        }
+    }
+
+    private void waitForProducer() {
+        consumerWaiting = true;
+        notifyAll();
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the proof parser");
+        } finally {
+            consumerWaiting = false;
+        }
+    }
+
+    @Override
+    public void beginExpr(ProofElementID eid, String str) {
+        final boolean root = eid == ProofElementID.BRANCH && getParsedResult() == null;
+        super.beginExpr(eid, str);
+        if (root) {
+            synchronized (this) {
+                open.add(getParsedResult());
+                if (consumerWaiting) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    protected synchronized void addChild(NodeIntermediate parent, NodeIntermediate child) {
+        while (buffered >= bufferSize && !consumerWaiting && !consumerDone && !cancelled) {
+            producerWaiting = true;
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            } finally {
+                producerWaiting = false;
+            }
+        }
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        super.addChild(parent, child);
+        buffered++;
+        open.add(child);
+        if (child instanceof AppNodeIntermediate) {
+            // a rule application is always the only child of its parent
+            open.remove(parent);
+            incomplete = child;
+        }
+        if (consumerWaiting) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    protected synchronized void nodeCompleted(NodeIntermediate node) {
+        incomplete = null;
+        if (consumerWaiting) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    protected synchronized void nodeClosed(NodeIntermediate node) {
+        open.remove(node);
+        if (consumerWaiting) {
+            notifyAll();
+        }
+    }
+}
@@ -77,6 +77,11 @@ public final class SpecificationRepository {
     private final Map<Pair<KeYJavaType, IObserverFunction>, ImmutableSet<WellDefinednessCheck>> wdChecks =
         new LinkedHashMap<>();
     private final Map<String, Contract> contractsByName = new LinkedHashMap<>();
+    /**
+     * The names of the registered contracts which are saved with the proofs (see
+     * {@link Contract#toBeSaved()}), in the order of their registration.
+     */
+    private final Set<String> contractsToSave = new LinkedHashSet<>();
     private final Map<KeYJavaType, ImmutableSet<IObserverFunction>> contractTargets =
         new LinkedHashMap<>();
     private final Map<KeYJavaType, ImmutableSet<ClassInvariant>> invs = new LinkedHashMap<>();
@@ -449,6 +454,9 @@ public final class SpecificationRepository {
             registerWdCheck((WellDefinednessCheck) contract);
         }
         contractsByName.put(contract.getName(), contract);
+        if (contract.toBeSaved()) {
+            contractsToSave.add(contract.getName());
+        }
         final ImmutableSet<IObserverFunction> oldTargets = getContractTargets(targetKJT);
         final ImmutableSet<IObserverFunction> newTargets = oldTargets.add(targetMethod);
         contractTargets.put(targetKJT, newTargets);
@@ -481,6 +489,7 @@ public final class SpecificationRepository {
             unregisterWdCheck((WellDefinednessCheck) contract);
         }
         contractsByName.remove(contract.getName());
+        contractsToSave.remove(contract.getName());
     }
 
     /**
@@ -742,6 +751,24 @@ public final class SpecificationRepository {
         return WellDefinednessCheck.isOn() ? result : removeWdChecks(result);
     }
 
+    /**
+     * Returns the registered contracts which are saved with the proofs of this repository (see
+     * {@link Contract#toBeSaved()}), in the order of their registration. They are kept separately,
+     * such that the cost of creating a proof obligation does not grow with the number of loaded
+     * contracts.
+     */
+    public ImmutableList<Contract> getContractsToSave() {
+        final boolean wdOn = WellDefinednessCheck.isOn();
+        ImmutableList<Contract> result = ImmutableSLList.nil();
+        for (String name : contractsToSave) {
+            final Contract contract = contractsByName.get(name);
+            if (wdOn || !(contract instanceof WellDefinednessCheck)) {
+                result = result.prepend(contract);
+            }
+        }
+        return result.reverse();
+    }
+
     /**
      * Returns all registered (atomic) contracts for the passed target.
      */
@@ -15,9 +15,11 @@ import de.uka.ilkd.key.strategy.StrategyProperties;
 import org.key_project.prover.engine.*;
 import org.key_project.prover.engine.impl.ApplyStrategyInfo;
 import org.key_project.prover.engine.impl.DefaultProver;
+import org.key_project.prover.engine.impl.ParallelGoalPreparer;
 import org.key_project.prover.rules.RuleApp;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
+import org.key_project.util.java.thread.WorkerPool;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -36,6 +38,16 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
 
     public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
 
+    /**
+     * The worker threads preparing open goals concurrently. Their number is configured via the
+     * system property {@code strategy.threading.workers}. A value of at most {@code 1} (the
+     * default) disables the concurrent preparation of goals.
+     *
+     * @see ParallelGoalPreparer
+     */
+    private static final WorkerPool WORKER_POOL =
+        new WorkerPool("ApplyStrategy", "strategy.threading.workers", 1);
+
     /**
      * The default {@link GoalChooser} to choose goals to which rules are applied if the
      * {@link StrategySettings} of the proof provides no customized one.
@@ -49,7 +61,25 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
     // Otherwise, the addition/removal of the InteractiveProofListener
     // can cause a ConcurrentModificationException during ongoing operation
     public ApplyStrategy(GoalChooser<Proof, Goal> defaultGoalChooser) {
+        this(defaultGoalChooser, WORKER_POOL.getWorkers());
+    }
+
+    /**
+     * Creates a new instance which prepares open goals using the given number of worker threads.
+     * The rule applications themselves are always performed by the thread running the strategy,
+     * in the order determined by the {@link GoalChooser}, so the resulting proof does not depend
+     * on the number of workers.
+     *
+     * @param defaultGoalChooser the default {@link GoalChooser}
+     * @param workers the number of worker threads; values of at most {@code 1} disable the
+     *        concurrent preparation of goals
+     */
+    public ApplyStrategy(GoalChooser<Proof, Goal> defaultGoalChooser, int workers) {
         this.defaultGoalChooser = defaultGoalChooser;
+        if (workers > 1) {
+            this.goalPreparer =
+                new ParallelGoalPreparer<>(WORKER_POOL.getExecutor(workers), 4 * workers);
+        }
     }
 
     private void init(Proof newProof, ImmutableList<Goal> goals, int maxSteps, long timeout) {
@@ -64,6 +94,9 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
         goalChooser = getGoalChooserForProof(proof);
         assert goalChooser != null;
         goalChooser.init(newProof, goals);
+        if (goalPreparer != null) {
+            goalPreparer.reset();
+        }
         setAutoModeActive(true);
         fireTaskStarted(
             new DefaultTaskStartedInfo(TaskStartedInfo.TaskKind.Strategy, PROCESSING_STRATEGY,
@@ -128,10 +161,19 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
 
         this.stopAtFirstNonClosableGoal = stopAtFirstNonCloseableGoal;
 
-        ProofTreeListener treeListener = prepareStrategy(proof, goals, maxSteps, timeout);
-        ApplyStrategyInfo<Proof, Goal> result = executeStrategy(treeListener);
-        finishStrategy(result);
-        return result;
+        final AutoModeProfiler profiler = AutoModeProfiler.getInstance();
+        final boolean profiling = AutoModeProfiler.isEnabled() && profiler.start();
+        try {
+            ProofTreeListener treeListener = prepareStrategy(proof, goals, maxSteps, timeout);
+            ApplyStrategyInfo<Proof, Goal> result = executeStrategy(treeListener);
+            finishStrategy(result);
+            return result;
+        } finally {
+            if (profiling) {
+                profiler.stop();
+                profiler.writeReports(proof.name().toString());
+            }
+        }
     }
 
 
@@ -0,0 +1,440 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.uka.ilkd.key.rule.TacletApp;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.rules.RuleSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records where the auto mode spends its time: per taclet, per rule set, per feature of the
+ * strategy and per built-in rule, separated by the phase of the auto mode (evaluating the cost
+ * of a rule application, approving, instantiating or applying it). In contrast to
+ * {@link PerfScope}, which only sums up the time of a few fixed code regions, this allows to
+ * find the rules and features which make a particular proof slow.
+ * <br>
+ * <br>
+ * The profiler is disabled by default and can be enabled by setting the system property
+ * {@code key.profiler.enabled} to {@code true}. Then each run of {@link ApplyStrategy} writes two
+ * reports into the directory given by the system property {@code key.profiler.dir} (default:
+ * the working directory):
+ * <ul>
+ * <li>{@code profile-<timestamp>.json} contains the number of invocations and the total time
+ * (in nanoseconds, including nested frames) per category, name and phase,</li>
+ * <li>{@code profile-<timestamp>.folded} contains the self time (in nanoseconds) per stack of
+ * frames in the collapsed format understood by flame graph tools such as
+ * {@code flamegraph.pl} or speedscope.</li>
+ * </ul>
+ * The measured regions are marked by {@link #enter(Category, String)} and {@link #exit()}. Each
+ * thread has its own stack of frames, hence the profiler can be used by the worker threads
+ * preparing goals concurrently, too. Profiling causes a considerable overhead, so the absolute
+ * times are too high, but their relation remains meaningful.
+ */
+public final class AutoModeProfiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoModeProfiler.class);
+
+    /**
+     * whether profiling is enabled
+     */
+    private static final boolean ENABLED =
+        "true".equals(System.getProperty("key.profiler.enabled", "false"));
+
+    /**
+     * the directory the reports are written to
+     */
+    private static final String OUTPUT_DIR = System.getProperty("key.profiler.dir", ".");
+
+    /**
+     * the single instance used by the auto mode
+     */
+    private static final AutoModeProfiler INSTANCE = new AutoModeProfiler();
+
+    /** The phase of evaluating the cost of a rule application. */
+    public static final String PHASE_COST = "cost";
+    /** The phase of approving a rule application before it is applied. */
+    public static final String PHASE_APPROVE = "approve";
+    /** The phase of instantiating the schema variables of a rule application. */
+    public static final String PHASE_INSTANTIATE = "instantiate";
+    /** The phase of applying a rule application to a goal. */
+    public static final String PHASE_APPLY = "apply";
+    /** The phase of everything which is not enclosed by another phase. */
+    public static final String PHASE_AUTO_MODE = "autoMode";
+
+    /**
+     * The categories of the measured frames.
+     */
+    public enum Category {
+        /** a phase of the auto mode, see the {@code PHASE_*} constants */
+        PHASE("phases", ""),
+        /** a taclet, identified by its name */
+        TACLET("taclets", "taclet:"),
+        /** a rule set, identified by its name */
+        RULE_SET("ruleSets", "ruleSet:"),
+        /** a feature of the strategy, identified by the name given to it */
+        FEATURE("features", "feature:"),
+        /** a built-in rule, identified by its name */
+        BUILT_IN_RULE("builtInRules", "builtIn:");
+
+        /** the name of the category in the JSON report */
+        private final String reportName;
+        /** the prefix of the frames of this category in the stacks */
+        private final String framePrefix;
+
+        Category(String reportName, String framePrefix) {
+            this.reportName = reportName;
+            this.framePrefix = framePrefix;
+        }
+    }
+
+    /**
+     * Identifies the statistics of a frame.
+     *
+     * @param category the category of the frame
+     * @param name the name of the frame
+     * @param phase the phase the frame has been entered in
+     */
+    private record Key(Category category, String name, String phase) {
+    }
+
+    /**
+     * The number of invocations and the total time of a frame.
+     */
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder time = new LongAdder();
+    }
+
+    /**
+     * A frame on the stack of a thread.
+     */
+    private static final class Frame {
+        private final Key key;
+        /** the stack of frames up to this one in the collapsed format */
+        private final String path;
+        private final long start = System.nanoTime();
+        /** the time spent in the frames entered from this one */
+        private long childTime;
+
+        private Frame(Key key, String path) {
+            this.key = key;
+            this.path = path;
+        }
+    }
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+    /** the self time per stack of frames */
+    private final Map<String, LongAdder> stacks = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private volatile boolean running;
+    private long startTime;
+    private long totalTime;
+
+    /**
+     * Creates a new profiler which is not running.
+     */
+    AutoModeProfiler() {
+    }
+
+    /**
+     * @return true iff profiling has been enabled via the system property
+     *         {@code key.profiler.enabled}
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return the profiler used by the auto mode
+     */
+    public static AutoModeProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enters a frame of the profiler used by the auto mode if it is running. The frame must be
+     * left via {@link #exit()} iff this method returns true, typically in a finally block.
+     *
+     * @param category the category of the frame
+     * @param name the name of the frame
+     * @return true iff a frame has been entered
+     */
+    public static boolean enter(Category category, String name) {
+        return ENABLED && INSTANCE.enterFrame(category, name);
+    }
+
+    /**
+     * Enters the frame of the given phase and within it the frame of the rule of the given rule
+     * application, if the profiler used by the auto mode is running. The frames must be left via
+     * {@link #exit(int)}, typically in a finally block.
+     *
+     * @param phase the phase, see the {@code PHASE_*} constants
+     * @param app the rule application
+     * @return the number of frames entered
+     */
+    public static int enterPhase(String phase, RuleApp app) {
+        if (!enter(Category.PHASE, phase)) {
+            return 0;
+        }
+        final boolean entered = INSTANCE.enterFrame(
+            app instanceof TacletApp ? Category.TACLET : Category.BUILT_IN_RULE,
+            app.rule().name().toString());
+        return entered ? 2 : 1;
+    }
+
+    /**
+     * Leaves the frame entered last by the current thread via {@link #enter(Category, String)}.
+     */
+    public static void exit() {
+        INSTANCE.exitFrame();
+    }
+
+    /**
+     * Leaves the given number of frames entered last by the current thread.
+     *
+     * @param frames the number of frames, as returned by {@link #enterPhase(String, RuleApp)}
+     */
+    public static void exit(int frames) {
+        for (int i = 0; i < frames; i++) {
+            INSTANCE.exitFrame();
+        }
+    }
+
+    /**
+     * Attributes the given time to the rule sets of the given rule application, if it is a
+     * taclet application and the profiler used by the auto mode is running. This does not enter
+     * frames, since a taclet usually belongs to several rule sets.
+     *
+     * @param app the rule application
+     * @param time the time in nanoseconds
+     */
+    public static void recordRuleSets(RuleApp app, long time) {
+        if (ENABLED && INSTANCE.running && app instanceof TacletApp tacletApp) {
+            for (RuleSet ruleSet : tacletApp.taclet().getRuleSets()) {
+                INSTANCE.record(Category.RULE_SET, ruleSet.name().toString(), time);
+            }
+        }
+    }
+
+    /**
+     * Starts to record frames after resetting all statistics.
+     *
+     * @return true iff the profiler has been started, false if it was already running
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return false;
+        }
+        counters.clear();
+        stacks.clear();
+        totalTime = 0;
+        startTime = System.nanoTime();
+        running = true;
+        return true;
+    }
+
+    /**
+     * Stops to record frames. The statistics are kept until the next start.
+     */
+    public synchronized void stop() {
+        if (running) {
+            running = false;
+            totalTime = System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * @return true iff the profiler records frames at the moment
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Enters a frame if the profiler is running.
+     *
+     * @param category the category of the frame
+     * @param name the name of the frame
+     * @return true iff a frame has been entered, which must be left via {@link #exitFrame()}
+     */
+    boolean enterFrame(Category category, String name) {
+        if (!running) {
+            return false;
+        }
+        final Deque<Frame> stack = frames.get();
+        final Frame parent = stack.peek();
+        final String frameName = category.framePrefix + name.replace(';', '_');
+        final String path =
+            parent == null ? PHASE_AUTO_MODE + ";" + frameName : parent.path + ";" + frameName;
+        stack.push(new Frame(new Key(category, name, currentPhase(stack)), path));
+        return true;
+    }
+
+    private static String currentPhase(Deque<Frame> stack) {
+        for (Frame frame : stack) {
+            if (frame.key.category() == Category.PHASE) {
+                return frame.key.name();
+            }
+        }
+        return PHASE_AUTO_MODE;
+    }
+
+    /**
+     * Leaves the frame entered last by the current thread.
+     */
+    void exitFrame() {
+        final Deque<Frame> stack = frames.get();
+        final Frame frame = stack.pop();
+        final long elapsed = System.nanoTime() - frame.start;
+        final Frame parent = stack.peek();
+        if (parent != null) {
+            parent.childTime += elapsed;
+        }
+        record(frame.key, elapsed);
+        stacks.computeIfAbsent(frame.path, k -> new LongAdder()).add(elapsed - frame.childTime);
+    }
+
+    /**
+     * Records an invocation of the given name taking the given time in the current phase without
+     * entering a frame.
+     *
+     * @param category the category
+     * @param name the name
+     * @param time the time in nanoseconds
+     */
+    void record(Category category, String name, long time) {
+        record(new Key(category, name, currentPhase(frames.get())), time);
+    }
+
+    private void record(Key key, long time) {
+        final Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+        counter.count.increment();
+        counter.time.add(time);
+    }
+
+    /**
+     * Writes the reports of the last run into the directory given by the system property
+     * {@code key.profiler.dir}.
+     *
+     * @param title the title of the report, e.g., the name of the proof
+     */
+    public void writeReports(String title) {
+        final String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        final Path json = Paths.get(OUTPUT_DIR, "profile-" + timestamp + ".json");
+        final Path folded = Paths.get(OUTPUT_DIR, "profile-" + timestamp + ".folded");
+        try {
+            Files.createDirectories(json.toAbsolutePath().getParent());
+            try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+                writeJson(out, title);
+            }
+            try (Writer out = Files.newBufferedWriter(folded, StandardCharsets.UTF_8)) {
+                writeFoldedStacks(out);
+            }
+            LOGGER.info("Profile of the auto mode written to {} and {}", json, folded);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write the profile of the auto mode", e);
+        }
+    }
+
+    /**
+     * Writes the statistics as JSON object. For each category, the names are ordered by their
+     * total time (highest first).
+     *
+     * @param out the writer
+     * @param title the title of the report
+     * @throws IOException if writing fails
+     */
+    void writeJson(Writer out, String title) throws IOException {
+        final Map<Category, Map<String, Map<String, Counter>>> byCategory =
+            new EnumMap<>(Category.class);
+        for (Map.Entry<Key, Counter> entry : counters.entrySet()) {
+            final Key key = entry.getKey();
+            byCategory.computeIfAbsent(key.category(), c -> new HashMap<>())
+                    .computeIfAbsent(key.name(), n -> new TreeMap<>())
+                    .put(key.phase(), entry.getValue());
+        }
+
+        out.write("{\n  \"title\": " + quote(title) + ",\n  \"totalTimeNs\": " + totalTime);
+        for (Category category : Category.values()) {
+            out.write(",\n  " + quote(category.reportName) + ": {");
+            final Map<String, Map<String, Counter>> byName =
+                byCategory.getOrDefault(category, Collections.emptyMap());
+            final List<String> names = new ArrayList<>(byName.keySet());
+            names.sort(Comparator.comparingLong((String n) -> totalTime(byName.get(n)))
+                    .reversed().thenComparing(Comparator.naturalOrder()));
+            String separator = "\n";
+            for (String name : names) {
+                out.write(separator + "    " + quote(name) + ": {");
+                String phaseSeparator = " ";
+                for (Map.Entry<String, Counter> phase : byName.get(name).entrySet()) {
+                    out.write(phaseSeparator + quote(phase.getKey()) + ": { \"count\": "
+                        + phase.getValue().count.sum() + ", \"timeNs\": "
+                        + phase.getValue().time.sum() + " }");
+                    phaseSeparator = ", ";
+                }
+                out.write(" }");
+                separator = ",\n";
+            }
+            out.write(names.isEmpty() ? "}" : "\n  }");
+        }
+        out.write("\n}\n");
+    }
+
+    private static long totalTime(Map<String, Counter> phases) {
+        long time = 0;
+        for (Counter counter : phases.values()) {
+            time += counter.time.sum();
+        }
+        return time;
+    }
+
+    private static String quote(String s) {
+        final StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Writes the self times per stack of frames in the collapsed format, one stack per line.
+     *
+     * @param out the writer
+     * @throws IOException if writing fails
+     */
+    void writeFoldedStacks(Writer out) throws IOException {
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(stacks).entrySet()) {
+            out.write(entry.getKey() + " " + entry.getValue().sum() + "\n");
+        }
+    }
+}
@@ -16,9 +16,11 @@ import org.key_project.prover.rules.TacletMatcher;
  * {@link #createTacletMatcher(Taclet)} to create a matcher for a {@link Taclet}
  *
  * The active factory is chosen at runtime by passing a value for the system property
- * <code>taclet.match</code> Currently supported values are: {@code vm}. The
+ * <code>taclet.match</code> Currently supported values are: {@code vm} and {@code compiled}. The
  * legacy matching algorithm is the one used since the beginning of KeY. It will soon become
- * deprecated and replaced y {@code vm} as default.
+ * deprecated and replaced y {@code vm} as default. The value {@code compiled} selects the vm based
+ * matcher with {@link de.uka.ilkd.key.rule.match.vm.CompiledMatchProgram compiled} match programs,
+ * which falls back to the interpreter for patterns that cannot be compiled.
  */
 public abstract class TacletMatcherKit {
 
@@ -32,6 +34,16 @@ public abstract class TacletMatcherKit {
         }
     }
 
+    /**
+     * The concrete factory for the vm based taclet matcher with compiled match programs.
+     */
+    private static final class CompiledTacletMatcherKit extends TacletMatcherKit {
+        @Override
+        public TacletMatcher createTacletMatcher(Taclet taclet) {
+            return new VMTacletMatcher(taclet, true);
+        }
+    }
+
     /**
      * sets up the concrete factory to use depending on the provided system property or the given
      * default if no property is set
@@ -42,6 +54,8 @@ public abstract class TacletMatcherKit {
     static {
         if ("vm".equals(TACLET_MATCHER_SELECTION_VALUE)) {
             ACTIVE_TACLET_MATCHER_KIT = new VMTacletMatcherKit();
+        } else if ("compiled".equals(TACLET_MATCHER_SELECTION_VALUE)) {
+            ACTIVE_TACLET_MATCHER_KIT = new CompiledTacletMatcherKit();
         } else {
             throw new RuntimeException("Unknown taclet matcher selected.");
         }
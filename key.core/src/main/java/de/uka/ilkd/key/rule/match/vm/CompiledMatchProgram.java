@@ -0,0 +1,227 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.LocationVariable;
+import de.uka.ilkd.key.logic.op.ModalOperatorSV;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.logic.sort.GenericSort;
+import de.uka.ilkd.key.rule.MatchConditions;
+
+import org.key_project.logic.LogicServices;
+import org.key_project.logic.SyntaxElement;
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.Operator;
+import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.logic.op.sv.SchemaVariable;
+import org.key_project.prover.rules.instantiation.MatchResultInfo;
+import org.key_project.prover.rules.matcher.vm.VMProgramInterpreter;
+import org.key_project.prover.rules.matcher.vm.instruction.MatchInstruction;
+import org.key_project.util.collection.ImmutableArray;
+
+import org.jspecify.annotations.Nullable;
+
+import static de.uka.ilkd.key.rule.match.vm.instructions.JavaDLMatchVMInstructionSet.*;
+
+/**
+ * A match program compiled from a pattern. Instead of interpreting the instruction sequence
+ * created by {@link SyntaxElementMatchProgramGenerator} with a cursor, the pattern is translated
+ * to a tree of matchers specialized to its subterms, which access the operator, the bound
+ * variables and the subterms of the matched term directly. The instructions which only move the
+ * cursor or check the kind of a node vanish, operators are compared inline, and the matchers for
+ * the subterms are called without a loop for the common arities.
+ * <p>
+ * Schema variables, bound variables, term labels, sort depending functions, modalities and
+ * programs are matched by the same instructions as in the interpreted program, hence both produce
+ * the same match results. Patterns whose instruction sequence does not follow the structure of
+ * the matched term are not compiled, see {@link #compile(JTerm)}.
+ *
+ * @see VMTacletMatcher
+ */
+public final class CompiledMatchProgram extends VMProgramInterpreter {
+
+    /** the matcher for the whole pattern */
+    private final TermMatcher matcher;
+
+    private CompiledMatchProgram(JTerm pattern, TermMatcher matcher) {
+        super(SyntaxElementMatchProgramGenerator.createProgram(pattern));
+        this.matcher = matcher;
+    }
+
+    /**
+     * compiles the match program for the given pattern
+     *
+     * @param pattern the {@link JTerm} specifying the pattern
+     * @return the compiled match program or {@code null} if the pattern is not supported, in which
+     *         case the program created by {@link SyntaxElementMatchProgramGenerator} has to be
+     *         interpreted
+     */
+    public static @Nullable CompiledMatchProgram compile(JTerm pattern) {
+        final TermMatcher matcher = compileTerm(pattern);
+        return matcher == null ? null : new CompiledMatchProgram(pattern, matcher);
+    }
+
+    @Override
+    public @Nullable MatchResultInfo match(SyntaxElement toMatch, MatchResultInfo mc,
+            LogicServices services) {
+        if (toMatch instanceof JTerm term) {
+            return matcher.match(term, mc, services);
+        }
+        return super.match(toMatch, mc, services);
+    }
+
+    private static @Nullable TermMatcher compileTerm(JTerm pattern) {
+        final Operator op = pattern.op();
+        final ImmutableArray<QuantifiableVariable> boundVars = pattern.boundVars();
+
+        TermMatcher matcher;
+        if (op instanceof SchemaVariable sv) {
+            if (pattern.arity() > 0 || !boundVars.isEmpty()) {
+                // the interpreted program skips the whole term after matching the schema variable
+                return null;
+            }
+            final MatchInstruction svInstruction = getMatchInstructionForSV(sv);
+            matcher = svInstruction::match;
+        } else {
+            final TermMatcher opMatcher = compileOperator(pattern);
+            if (opMatcher == null) {
+                return null;
+            }
+            final TermMatcher[] subMatchers = new TermMatcher[pattern.arity()];
+            for (int i = 0; i < subMatchers.length; i++) {
+                subMatchers[i] = compileTerm(pattern.sub(i));
+                if (subMatchers[i] == null) {
+                    return null;
+                }
+            }
+            matcher = sequence(opMatcher, subMatchers);
+        }
+
+        if (pattern.hasLabels()) {
+            final MatchInstruction labelInstruction = matchTermLabelSV(pattern.getLabels());
+            final TermMatcher unlabeled = matcher;
+            matcher = (term, mc, services) -> {
+                final MatchResultInfo result = labelInstruction.match(term, mc, services);
+                return result == null ? null : unlabeled.match(term, result, services);
+            };
+        }
+
+        if (!boundVars.isEmpty()) {
+            final MatchInstruction bindInstruction = matchAndBindVariables(boundVars);
+            final TermMatcher body = matcher;
+            matcher = (term, mc, services) -> {
+                MatchResultInfo result = bindInstruction.match(term, mc, services);
+                if (result != null) {
+                    result = body.match(term, result, services);
+                }
+                return result == null ? null : ((MatchConditions) result).shrinkRenameTable();
+            };
+        }
+        return matcher;
+    }
+
+    /**
+     * @return the matcher for the operator of the pattern, or {@code null} if the operator is
+     *         not supported
+     */
+    private static @Nullable TermMatcher compileOperator(JTerm pattern) {
+        final Operator op = pattern.op();
+        if (op instanceof final SortDependingFunction sortDependingFunction) {
+            final MatchInstruction similarInstruction =
+                getSimilarSortDependingFunctionInstruction(sortDependingFunction);
+            final MatchInstruction sortInstruction =
+                sortDependingFunction.getSortDependingOn() instanceof GenericSort gs
+                        ? getMatchGenericSortInstruction(gs)
+                        : getMatchIdentityInstruction(sortDependingFunction.getChild(0));
+            return (term, mc, services) -> {
+                if (!(term.op() instanceof SortDependingFunction other)) {
+                    return null;
+                }
+                final MatchResultInfo result = similarInstruction.match(other, mc, services);
+                return result == null ? null
+                        : sortInstruction.match(other.getChild(0), result, services);
+            };
+        } else if (op instanceof ElementaryUpdate elUp) {
+            if (elUp.lhs() instanceof SchemaVariable sv) {
+                final MatchInstruction lhsInstruction = getMatchInstructionForSV(sv);
+                return (term, mc, services) -> term.op() instanceof ElementaryUpdate other
+                        ? lhsInstruction.match(other.lhs(), mc, services)
+                        : null;
+            } else if (elUp.lhs() instanceof LocationVariable locVar) {
+                return (term, mc, services) -> term.op() instanceof ElementaryUpdate other
+                        && other.lhs() == locVar ? mc : null;
+            }
+            return null;
+        } else if (op instanceof Modality mod) {
+            final MatchInstruction kindInstruction =
+                mod.kind() instanceof ModalOperatorSV modKindSV ? matchModalOperatorSV(modKindSV)
+                        : getMatchIdentityInstruction(mod.kind());
+            final MatchInstruction programInstruction =
+                matchProgram(pattern.javaBlock().program());
+            return (term, mc, services) -> {
+                if (!(term.op() instanceof Modality other)) {
+                    return null;
+                }
+                final MatchResultInfo result = kindInstruction.match(other.kind(), mc, services);
+                return result == null ? null
+                        : programInstruction.match(other.getChild(1), result, services);
+            };
+        } else if (op.getChildCount() == 0) {
+            return (term, mc, services) -> term.op() == op ? mc : null;
+        }
+        // the interpreted program would descend into the children of the operator
+        return null;
+    }
+
+    /**
+     * @return a matcher which matches the operator and then the subterms of a term
+     */
+    private static TermMatcher sequence(TermMatcher opMatcher, TermMatcher[] subMatchers) {
+        return switch (subMatchers.length) {
+            case 0 -> opMatcher;
+            case 1 -> {
+                final TermMatcher sub0 = subMatchers[0];
+                yield (term, mc, services) -> {
+                    final MatchResultInfo result = opMatcher.match(term, mc, services);
+                    return result == null ? null : sub0.match(term.sub(0), result, services);
+                };
+            }
+            case 2 -> {
+                final TermMatcher sub0 = subMatchers[0];
+                final TermMatcher sub1 = subMatchers[1];
+                yield (term, mc, services) -> {
+                    MatchResultInfo result = opMatcher.match(term, mc, services);
+                    if (result != null) {
+                        result = sub0.match(term.sub(0), result, services);
+                    }
+                    return result == null ? null : sub1.match(term.sub(1), result, services);
+                };
+            }
+            default -> (term, mc, services) -> {
+                MatchResultInfo result = opMatcher.match(term, mc, services);
+                for (int i = 0; result != null && i < subMatchers.length; i++) {
+                    result = subMatchers[i].match(term.sub(i), result, services);
+                }
+                return result;
+            };
+        };
+    }
+
+    /**
+     * The compiled matcher of a pattern.
+     */
+    @FunctionalInterface
+    private interface TermMatcher {
+        /**
+         * @param term the term to be matched
+         * @param mc the match conditions so far
+         * @param services the {@link LogicServices}
+         * @return the extended match conditions, or {@code null} if the term does not match
+         */
+        @Nullable
+        MatchResultInfo match(JTerm term, MatchResultInfo mc, LogicServices services);
+    }
+}
@@ -90,6 +90,15 @@ public class VMTacletMatcher implements TacletMatcher {
      * @param taclet the Taclet matched by this matcher
      */
     public VMTacletMatcher(Taclet taclet) {
+        this(taclet, false);
+    }
+
+    /**
+     * @param taclet the Taclet matched by this matcher
+     * @param compile whether to use {@link CompiledMatchProgram}s instead of interpreting the
+     *        match programs where possible
+     */
+    public VMTacletMatcher(Taclet taclet, boolean compile) {
         varconditions = taclet.getVariableConditions();
         assumesSequent = taclet.assumesSequent();
         boundVars = taclet.getBoundVariables();
@@ -99,8 +108,7 @@ public class VMTacletMatcher implements TacletMatcher {
             findExp = findTaclet.find();
             ignoreTopLevelUpdates = taclet.ignoreTopLevelUpdates()
                     && !(findExp.op() instanceof UpdateApplication);
-            findMatchProgram =
-                new VMProgramInterpreter(SyntaxElementMatchProgramGenerator.createProgram(findExp));
+            findMatchProgram = createMatchProgram(findExp, compile);
 
         } else {
             ignoreTopLevelUpdates = false;
@@ -110,9 +118,26 @@ public class VMTacletMatcher implements TacletMatcher {
 
         for (final SequentFormula sf : assumesSequent) {
             assumesMatchPrograms.put(sf.formula(),
-                new VMProgramInterpreter(
-                    SyntaxElementMatchProgramGenerator.createProgram((JTerm) sf.formula())));
+                createMatchProgram((JTerm) sf.formula(), compile));
+        }
+    }
+
+    /**
+     * creates the match program for the given pattern
+     *
+     * @param pattern the pattern
+     * @param compile whether to compile the match program if possible
+     * @return the compiled match program if requested and supported, otherwise the interpreter
+     *         for the match program
+     */
+    private static VMProgramInterpreter createMatchProgram(JTerm pattern, boolean compile) {
+        if (compile) {
+            final CompiledMatchProgram compiled = CompiledMatchProgram.compile(pattern);
+            if (compiled != null) {
+                return compiled;
+            }
         }
+        return new VMProgramInterpreter(SyntaxElementMatchProgramGenerator.createProgram(pattern));
     }
 
     /**
@@ -20,6 +20,21 @@ public class GeneralSettings extends AbstractSettings {
      */
     public static boolean noPruningClosed = true;
 
+    /**
+     * If this option is set (and pruning in closed branches is disabled), the sequents of the
+     * inner nodes of closed subtrees are dropped and rebuilt on demand from the sequents of their
+     * ancestors. This reduces the memory footprint of large proofs, e.g., in batch mode, at the
+     * cost of slower access to the sequents of closed nodes.
+     */
+    public static boolean compactClosedSubtrees = false;
+
+    /**
+     * The maximal number of nodes on a branch of a compacted closed subtree between two nodes
+     * retaining their sequents, i.e., the maximal number of steps to rebuild a sequent.
+     */
+    public static final int SEQUENT_SNAPSHOT_DISTANCE =
+        Integer.getInteger("key.proof.sequentSnapshotDistance", 16);
+
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary directories (can be
      * used for debugging).
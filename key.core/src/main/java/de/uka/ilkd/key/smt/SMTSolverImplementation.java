@@ -14,8 +14,12 @@ import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
+import de.uka.ilkd.key.smt.communication.Pipe;
+import de.uka.ilkd.key.smt.communication.PooledSolverProcess;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
 import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverProcessPool;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
@@ -31,7 +35,7 @@ import org.slf4j.LoggerFactory;
  * performs the following steps:
  * <ol>
  * <li>Translates the given problem to SMT format.</li>
- * <li>Starts the external solver process.</li>
+ * <li>Starts the external solver process (or reuses one of the {@link SolverProcessPool}).</li>
  * <li>Sends the problem to the process.</li>
  * <li>Communicates with the solver via the solver socket.</li>
  * </ol>
@@ -78,6 +82,12 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private final ExternalProcessLauncher processLauncher;
 
+    /**
+     * the pooled process used instead of {@link #processLauncher} if the
+     * {@link SolverProcessPool} is enabled
+     */
+    private volatile PooledSolverProcess pooledProcess;
+
     /**
      * The services object is stored in order to have the possibility to access it in every method
      */
@@ -125,6 +135,16 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private String problemString = "NOT YET COMPUTED";
 
+    /**
+     * The command starting the solver process, null if the problem has not been translated yet
+     */
+    private String[] solverCommand;
+
+    /**
+     * If the translation of the problem failed, the exception is stored in this attribute.
+     */
+    private Throwable translationException;
+
     /**
      * Stores the taclet translation that is associated with this solver.
      */
@@ -252,18 +272,27 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         setSolverState(SolverState.Running);
         listener.processStarted(this, problem);
 
-        // Secondly: Translate the given problem
+        // Secondly: Translate the given problem (if not already done by the launcher)
+        translate(smtSettings);
         String[] commands;
-        try {
-            commands = translateToCommand(problem.getSequent());
-        } catch (Throwable e) {
-            interruptionOccurred(e);
-            listener.processInterrupted(this, problem, e);
+        Throwable translationFailure;
+        synchronized (this) {
+            commands = solverCommand;
+            translationFailure = translationException;
+        }
+        if (translationFailure != null) {
+            interruptionOccurred(translationFailure);
+            listener.processInterrupted(this, problem, translationFailure);
             setSolverState(SolverState.Stopped);
             solverTimeout.cancel();
             return;
         }
 
+        if (SolverProcessPool.isEnabled() && getType() != SolverTypes.Z3_CE_SOLVER) {
+            runPooled(commands);
+            return;
+        }
+
         // Thirdly: start the external process.
         try {
             processLauncher.launch(commands);
@@ -287,6 +316,41 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         }
     }
 
+    /**
+     * Solves the problem using a long-lived process of the {@link SolverProcessPool}: The
+     * preamble and the declarations are only sent if the process has not received them for a
+     * previous problem, the rest of the problem is sent in its own assertion scope.
+     *
+     * @param commands the command to start a new process if there is no idle one
+     */
+    private void runPooled(String[] commands) {
+        SolverProcessPool pool = SolverProcessPool.getInstance();
+        try {
+            pooledProcess = pool.acquire(commands, type.getDelimiters());
+            String[] parts = PooledSolverProcess.splitProblem(type.modifyProblem(problemString),
+                ModularSMTLib2Translator.DECLARATIONS_HEADER,
+                ModularSMTLib2Translator.AXIOMS_HEADER);
+            Pipe pipe = pooledProcess.openSession(solverCommunication, parts[0], parts[1]);
+            pipe.sendMessage(parts[2]);
+
+            String msg = pipe.readMessage();
+            while (msg != null) {
+                socket.messageIncoming(pipe, msg);
+                msg = pipe.readMessage();
+            }
+        } catch (IllegalStateException | IOException | InterruptedException e) {
+            interruptionOccurred(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            solverTimeout.cancel();
+            setSolverState(SolverState.Stopped);
+            listener.processStopped(this, problem);
+            if (pooledProcess != null) {
+                pool.release(pooledProcess);
+            }
+        }
+    }
+
     private void interruptionOccurred(Throwable e) {
         ReasonOfInterruption reason = getReasonOfInterruption();
         setReasonOfInterruption(ReasonOfInterruption.Exception, e);
@@ -315,6 +379,26 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         }
     }
 
+    /**
+     * Translates the problem to SMT format unless this has already been done. The
+     * {@link SolverLauncher} calls this method for the waiting solvers in parallel, such that the
+     * problems are translated in advance. Otherwise, the problem is translated by the solver
+     * thread when the solver is started.
+     *
+     * @param settings the SMTSettings to use for the translation
+     */
+    synchronized void translate(SMTSettings settings) {
+        if (solverCommand != null || translationException != null) {
+            return;
+        }
+        smtSettings = settings;
+        try {
+            solverCommand = translateToCommand(problem.getSequent());
+        } catch (Throwable e) {
+            translationException = e;
+        }
+    }
+
     private String[] translateToCommand(Sequent sequent) throws IllegalFormulaException {
         if (getType() == SolverTypes.Z3_CE_SOLVER) {
             Proof proof = problem.getGoal().proof();
@@ -368,6 +452,11 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         }
         if (thread != null) {
             processLauncher.stop();
+            // the state of an interrupted pooled process is unknown, it cannot be reused
+            PooledSolverProcess pooled = pooledProcess;
+            if (pooled != null) {
+                pooled.destroy();
+            }
             thread.interrupt();
         }
     }
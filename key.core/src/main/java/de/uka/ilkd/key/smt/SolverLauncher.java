@@ -4,6 +4,8 @@
 package de.uka.ilkd.key.smt;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -12,6 +14,8 @@ import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 
+import org.key_project.util.java.thread.WorkerPool;
+
 /**
  * IN ORDER TO START THE SOLVERS USE THIS CLASS.<br>
  * There are two cases how the solvers can be started:<br>
@@ -148,6 +152,19 @@ public class SolverLauncher implements SolverListener {
      */
     private static final int PERIOD = 50;
 
+    /**
+     * The threads translating the problems of the waiting solvers in advance. Their number is
+     * configured via the system property {@code smt.translation.workers}.
+     */
+    private static final WorkerPool TRANSLATION_POOL = new WorkerPool("SMTTranslator",
+        "smt.translation.workers", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The number of threads translating the problems in advance. A value of at most {@code 1}
+     * translates each problem in the thread of its solver when the solver is started.
+     */
+    private static final int TRANSLATION_WORKERS = TRANSLATION_POOL.getWorkers();
+
     /**
      * Used for synchronisation. This lock is used in the same way as the
      * <code>synchronize<code>statement.
@@ -188,6 +205,11 @@ public class SolverLauncher implements SolverListener {
      */
     private boolean launcherHasBeenUsed = false;
 
+    /**
+     * The pending translations of the problems, see {@link #translateInAdvance(Collection)}.
+     */
+    private final List<Future<?>> translations = new ArrayList<>();
+
     /**
      * Creates the concrete solver objects and distributes them to the SMT problems.
      */
@@ -283,6 +305,8 @@ public class SolverLauncher implements SolverListener {
         // Show progress dialog
         notifyListenersOfStart(problems, solverTypes);
 
+        translateInAdvance(solvers);
+
         // Launch all solvers until the queue is empty or the launcher is
         // interrupted.
         launchLoop(solvers);
@@ -302,6 +326,29 @@ public class SolverLauncher implements SolverListener {
         }
     }
 
+    /**
+     * Translates the problems of the given solvers in parallel, such that the translations are
+     * (mostly) done when the solvers are started. A solver started before its problem has been
+     * translated translates it itself (or waits for the running translation).
+     */
+    private void translateInAdvance(Collection<SMTSolver> solvers) {
+        if (TRANSLATION_WORKERS <= 1 || solvers.size() <= 1) {
+            return;
+        }
+        ExecutorService pool = TRANSLATION_POOL.getExecutor();
+        for (SMTSolver solver : solvers) {
+            // This cast is okay since there is only the class
+            // SMTSolverImplementation that implements SMTSolver.
+            if (solver instanceof SMTSolverImplementation impl) {
+                translations.add(pool.submit(() -> {
+                    if (!isInterrupted()) {
+                        impl.translate(settings);
+                    }
+                }));
+            }
+        }
+    }
+
     /**
      * Core of the launcher. Start all solvers until the queue is empty or the launcher is
      * interrupted.
@@ -349,6 +396,10 @@ public class SolverLauncher implements SolverListener {
      * set.
      */
     private void cleanUp(Collection<SMTSolver> solvers) {
+        // translations of solvers that have not been started are not needed anymore
+        for (Future<?> translation : translations) {
+            translation.cancel(false);
+        }
         if (isInterrupted()) {
             for (SMTSolver solver : solvers) {
                 solver.interrupt(ReasonOfInterruption.User);
@@ -0,0 +1,414 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived external solver process managed by a {@link SolverProcessPool}. The process is
+ * reused for several SMT problems: The preamble shared by all problems is sent only once at the
+ * outermost assertion level, while each problem is sent in its own assertion scope which is
+ * opened with {@code (push 1)} and closed with {@code (pop 1)} when the problem has been solved.
+ * <br>
+ * <br>
+ * The symbol declarations of a problem are sent at the outermost assertion level as well and are
+ * kept for later problems, which only send the declarations of symbols not declared yet. If a
+ * problem declares a symbol differently than a previous one, the process is reset first. Axioms
+ * are not shared since they are not guaranteed to hold for the symbols of other problems (which
+ * may stem from a different proof), so they are sent again in the scope of each problem.
+ * <br>
+ * <br>
+ * The communication for a single problem is performed via a {@link Pipe} obtained from
+ * {@link #openSession(SolverCommunication, String, String)}. Since the process must not
+ * terminate, the {@code (exit)} command sent by the solver sockets is replaced by an
+ * {@code (echo)} of a unique marker which signals the end of the session.
+ */
+public final class PooledSolverProcess {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledSolverProcess.class);
+
+    /**
+     * the prefix of the markers echoed by the solver to signal the end of a session
+     */
+    private static final String MARKER_PREFIX = "key-session-end-";
+
+    /**
+     * the number of declarations kept at the outermost assertion level after which the process is
+     * reset, so that a long-lived process does not accumulate the symbols of arbitrarily many
+     * problems
+     */
+    private static final int MAX_BASE_DECLARATIONS = 100_000;
+
+    /**
+     * the commands declaring a single symbol, which is given as their first argument
+     */
+    private static final Set<String> DECLARATION_COMMANDS =
+        Set.of("declare-fun", "declare-const", "declare-sort", "define-fun", "define-sort");
+
+    /**
+     * the command (program and arguments) used to start the process, used as key in the pool
+     */
+    private final @NonNull String[] command;
+
+    /**
+     * the external process
+     */
+    private final @NonNull Process process;
+
+    /**
+     * the writer connected to stdin of the process
+     */
+    private final @NonNull Writer processWriter;
+
+    /**
+     * the reader splitting the merged stdout/stderr of the process into messages
+     */
+    private final @NonNull BufferedMessageReader reader;
+
+    /**
+     * the preamble that has been sent at the outermost assertion level (null if none)
+     */
+    private @Nullable String basePreamble;
+
+    /**
+     * the declarations that have been sent at the outermost assertion level, by declared symbol
+     */
+    private final Map<String, String> baseDeclarations = new HashMap<>();
+
+    /**
+     * the number of sessions opened so far, used to create unique markers
+     */
+    private int sessionCount;
+
+    /**
+     * false as soon as the state of the process is unknown (e.g., after an error or an
+     * interruption), in which case it must not be reused
+     */
+    private volatile boolean reusable = true;
+
+    /**
+     * true while a session is open, i.e., until its assertion scope has been closed successfully
+     */
+    private volatile boolean busy;
+
+    /**
+     * Starts a new solver process.
+     *
+     * @param command the command (program and arguments) to start the process
+     * @param messageDelimiters the delimiters which separate the messages of the solver
+     * @throws IOException if the process cannot be started
+     */
+    PooledSolverProcess(@NonNull String[] command, @NonNull String[] messageDelimiters)
+            throws IOException {
+        this.command = Arrays.copyOf(command, command.length);
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        processWriter =
+            new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        reader = new BufferedMessageReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8),
+            messageDelimiters);
+    }
+
+    /**
+     * Splits an SMT problem into the preamble which may be shared with other problems, the
+     * declarations which may partly be shared, and the problem specific remainder. The preamble
+     * is everything before the declarations header, the declarations are everything between the
+     * declarations header and the axioms header.
+     *
+     * @param problem the complete SMT problem
+     * @param declarationsHeader the header of the declarations section
+     * @param axiomsHeader the header of the section following the declarations
+     * @return an array containing the preamble, the declarations and the remainder (in this
+     *         order); the preamble and the declarations are empty if the problem does not contain
+     *         the respective header
+     */
+    public static String[] splitProblem(String problem, String declarationsHeader,
+            String axiomsHeader) {
+        int declIdx = problem.indexOf(declarationsHeader);
+        if (declIdx < 0) {
+            return new String[] { "", "", problem };
+        }
+        int axIdx = problem.indexOf(axiomsHeader, declIdx);
+        if (axIdx < 0) {
+            return new String[] { problem.substring(0, declIdx), "",
+                problem.substring(declIdx) };
+        }
+        return new String[] { problem.substring(0, declIdx), problem.substring(declIdx, axIdx),
+            problem.substring(axIdx) };
+    }
+
+    /**
+     * Splits SMT-LIB text into its top level commands. Comments and whitespace between the
+     * commands are dropped.
+     *
+     * @param text the SMT-LIB text
+     * @return the top level commands in the order of their occurrence
+     */
+    static List<String> splitCommands(String text) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ';' && depth == 0) {
+                int eol = text.indexOf('\n', i);
+                i = eol < 0 ? text.length() : eol;
+            } else if (c == '"' || c == '|') {
+                // strings ("" is an escaped quote) and quoted symbols may contain parentheses
+                int end = text.indexOf(c, i + 1);
+                while (c == '"' && end >= 0 && end + 1 < text.length()
+                        && text.charAt(end + 1) == '"') {
+                    end = text.indexOf(c, end + 2);
+                }
+                i = end < 0 ? text.length() : end;
+            } else if (c == '(') {
+                if (depth++ == 0) {
+                    start = i;
+                }
+            } else if (c == ')' && depth > 0 && --depth == 0) {
+                result.add(text.substring(start, i + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the symbol declared by the given command.
+     *
+     * @param command a top level SMT-LIB command
+     * @return the symbol declared by the command, or null if it is not a command declaring a
+     *         single symbol
+     */
+    static @Nullable String declaredSymbol(String command) {
+        String[] tokens = command.substring(1).trim().split("[\\s()]+", 3);
+        if (tokens.length < 2 || !DECLARATION_COMMANDS.contains(tokens[0])) {
+            return null;
+        }
+        if (tokens[1].startsWith("|")) {
+            int start = command.indexOf('|');
+            int end = command.indexOf('|', start + 1);
+            return end < 0 ? null : command.substring(start, end + 1);
+        }
+        return tokens[1];
+    }
+
+    /**
+     * Prepares the process for solving the next problem and returns the pipe to communicate with
+     * it. If the process has been set up with a different preamble before, or if the problem
+     * declares a symbol differently than a previous problem, it is reset first. Declarations not
+     * sent yet are sent at the outermost assertion level. If the declarations section contains
+     * other commands than declarations of single symbols, nothing is shared and the whole
+     * section is sent in the assertion scope of the problem.
+     *
+     * @param session the store for the messages of this session
+     * @param preamble the preamble of the problem (see
+     *        {@link #splitProblem(String, String, String)})
+     * @param declarations the declarations of the problem (see
+     *        {@link #splitProblem(String, String, String)})
+     * @return the pipe for communicating with the solver about the problem
+     * @throws IOException if sending the preamble or the declarations fails
+     */
+    public @NonNull Pipe openSession(@NonNull SolverCommunication session,
+            @NonNull String preamble, @NonNull String declarations) throws IOException {
+        busy = true;
+        Session pipe = new Session(session, MARKER_PREFIX + (++sessionCount));
+
+        List<String> commands = splitCommands(declarations);
+        Map<String, String> declared = new LinkedHashMap<>();
+        for (String command : commands) {
+            String symbol = declaredSymbol(command);
+            if (symbol == null || declared.putIfAbsent(symbol, command) != null) {
+                // later declarations may depend on this command, so none of them can be shared
+                declared.clear();
+                break;
+            }
+        }
+        List<String> scoped = declared.isEmpty() ? commands : List.of();
+        // the scoped declarations must not clash with the ones of previous problems
+        boolean conflict = !scoped.isEmpty() && !baseDeclarations.isEmpty();
+        for (Map.Entry<String, String> decl : declared.entrySet()) {
+            String known = baseDeclarations.get(decl.getKey());
+            conflict |= known != null && !known.equals(decl.getValue());
+        }
+
+        if (!preamble.equals(basePreamble) || conflict
+                || baseDeclarations.size() + declared.size() > MAX_BASE_DECLARATIONS) {
+            if (basePreamble != null) {
+                pipe.sendMessage("(reset)");
+            }
+            basePreamble = preamble;
+            baseDeclarations.clear();
+            if (!preamble.isBlank()) {
+                pipe.sendMessage(preamble);
+            }
+        }
+        StringBuilder newDeclarations = new StringBuilder();
+        for (Map.Entry<String, String> decl : declared.entrySet()) {
+            if (baseDeclarations.putIfAbsent(decl.getKey(), decl.getValue()) == null) {
+                newDeclarations.append(decl.getValue()).append(System.lineSeparator());
+            }
+        }
+        if (!newDeclarations.isEmpty()) {
+            pipe.sendMessage(newDeclarations.toString());
+        }
+        pipe.sendMessage("(push 1)");
+        if (!scoped.isEmpty()) {
+            pipe.sendMessage(String.join(System.lineSeparator(), scoped));
+        }
+        return pipe;
+    }
+
+    /**
+     * @return the command which has been used to start the process
+     */
+    @NonNull
+    String[] getCommand() {
+        return command;
+    }
+
+    /**
+     * @return whether the process may be used for another problem
+     */
+    boolean isReusable() {
+        return reusable && !busy && process.isAlive();
+    }
+
+    /**
+     * Forcibly terminates the process, it cannot be reused afterwards.
+     */
+    public void destroy() {
+        reusable = false;
+        process.destroyForcibly();
+    }
+
+    private void write(String message) throws IOException {
+        processWriter.write(message + System.lineSeparator());
+        processWriter.flush();
+    }
+
+    /**
+     * The pipe for the communication about a single problem.
+     */
+    private final class Session implements Pipe {
+        /**
+         * the store for the messages of this session
+         */
+        private final @NonNull SolverCommunication session;
+
+        /**
+         * the marker echoed by the solver at the end of this session
+         */
+        private final @NonNull String marker;
+
+        /**
+         * whether the marker has been received
+         */
+        private boolean finished;
+
+        Session(@NonNull SolverCommunication session, @NonNull String marker) {
+            this.session = session;
+            this.marker = marker;
+        }
+
+        @Override
+        public void sendMessage(@NonNull String message) throws IOException {
+            if (finished) {
+                return;
+            }
+            if (message.trim().equals("(exit)")) {
+                // end the session instead of terminating the process
+                message = "(echo \"" + marker + "\")";
+            }
+            session.addMessage(message, SolverCommunication.MessageType.INPUT);
+            try {
+                write(message);
+            } catch (IOException e) {
+                reusable = false;
+                throw e;
+            }
+        }
+
+        @Override
+        public @Nullable String readMessage() throws IOException {
+            if (finished) {
+                return null;
+            }
+            String msg;
+            try {
+                msg = reader.readMessage();
+            } catch (IOException e) {
+                reusable = false;
+                throw e;
+            }
+            if (msg == null) {
+                // the process has terminated
+                reusable = false;
+                return null;
+            }
+            String trimmed = msg.trim();
+            if (trimmed.startsWith("(error")) {
+                // the declarations kept at the outermost level may not match the solver state
+                reusable = false;
+            }
+            if (trimmed.equals(marker) || trimmed.equals("\"" + marker + "\"")) {
+                finished = true;
+                closeScope();
+                return null;
+            }
+            return msg;
+        }
+
+        /**
+         * Removes the assertions of this session from the solver and waits until the solver has
+         * processed the {@code (pop 1)} command, so that no output of this session remains.
+         */
+        private void closeScope() throws IOException {
+            String popMarker = marker + "-pop";
+            write("(pop 1)");
+            write("(echo \"" + popMarker + "\")");
+            String msg;
+            while ((msg = reader.readMessage()) != null) {
+                String trimmed = msg.trim();
+                if (trimmed.equals(popMarker) || trimmed.equals("\"" + popMarker + "\"")) {
+                    busy = false;
+                    return;
+                }
+                if (trimmed.startsWith("(error")) {
+                    LOGGER.debug("Solver reported error when closing scope: {}", trimmed);
+                    reusable = false;
+                }
+            }
+            reusable = false;
+        }
+
+        @Override
+        public @NonNull SolverCommunication getSolverCommunication() {
+            return session;
+        }
+
+        @Override
+        public void close() {
+            destroy();
+        }
+
+        @Override
+        public void sendEOF() {
+            // closing stdin would terminate the process, so it cannot be reused anymore
+            reusable = false;
+            try {
+                processWriter.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close process writer", e);
+            }
+        }
+    }
+}
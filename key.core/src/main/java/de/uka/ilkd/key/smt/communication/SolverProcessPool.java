@@ -0,0 +1,135 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A pool of long-lived external solver processes. Instead of starting a new process for each
+ * SMT problem, idle processes started with the same command are reused (see
+ * {@link PooledSolverProcess}), which saves the process startup time and allows to send the
+ * preamble shared by the problems only once.
+ * <br>
+ * <br>
+ * The pool is disabled by default and can be enabled by setting the system property
+ * {@code smt.pool.enabled} to {@code true}. The maximal number of idle processes kept per
+ * command can be set via the system property {@code smt.pool.maxIdle}.
+ */
+public final class SolverProcessPool {
+    /**
+     * whether solver processes are pooled
+     */
+    private static final boolean ENABLED =
+        "true".equals(System.getProperty("smt.pool.enabled", "false"));
+
+    /**
+     * the maximal number of idle processes kept per command
+     */
+    private static final int MAX_IDLE =
+        Integer.getInteger("smt.pool.maxIdle", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * the single instance of the pool
+     */
+    private static final SolverProcessPool INSTANCE = new SolverProcessPool(MAX_IDLE);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::shutdown, "SMTPoolShutdown"));
+    }
+
+    /**
+     * the idle processes by the command they have been started with
+     */
+    private final Map<List<String>, Deque<PooledSolverProcess>> idle = new HashMap<>();
+
+    /**
+     * the maximal number of idle processes kept per command
+     */
+    private final int maxIdle;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxIdle the maximal number of idle processes kept per command
+     */
+    SolverProcessPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @return true iff solver processes are pooled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return the pool shared by all solvers
+     */
+    public static SolverProcessPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns an idle process started with the given command, or starts a new one if there is
+     * none. The process has to be given back via {@link #release(PooledSolverProcess)}.
+     *
+     * @param command the command (program and arguments) to start the process
+     * @param messageDelimiters the delimiters which separate the messages of the solver
+     * @return a process that is not used by anyone else
+     * @throws IOException if a new process cannot be started
+     */
+    public @NonNull PooledSolverProcess acquire(@NonNull String[] command,
+            @NonNull String[] messageDelimiters) throws IOException {
+        List<String> key = List.of(command);
+        synchronized (idle) {
+            Deque<PooledSolverProcess> processes = idle.get(key);
+            while (processes != null && !processes.isEmpty()) {
+                PooledSolverProcess process = processes.pop();
+                if (process.isReusable()) {
+                    return process;
+                }
+                process.destroy();
+            }
+        }
+        return new PooledSolverProcess(command, messageDelimiters);
+    }
+
+    /**
+     * Gives back a process obtained by {@link #acquire(String[], String[])}. The process is kept
+     * for reuse if its state is known to be clean, otherwise it is terminated.
+     *
+     * @param process the process to give back
+     */
+    public void release(@NonNull PooledSolverProcess process) {
+        if (!process.isReusable()) {
+            process.destroy();
+            return;
+        }
+        synchronized (idle) {
+            Deque<PooledSolverProcess> processes =
+                idle.computeIfAbsent(List.of(process.getCommand()), k -> new ArrayDeque<>());
+            if (processes.size() < maxIdle) {
+                processes.push(process);
+                return;
+            }
+        }
+        process.destroy();
+    }
+
+    /**
+     * Terminates all idle processes.
+     */
+    public void shutdown() {
+        synchronized (idle) {
+            for (Deque<PooledSolverProcess> processes : idle.values()) {
+                processes.forEach(PooledSolverProcess::destroy);
+            }
+            idle.clear();
+        }
+    }
+}
@@ -58,6 +58,12 @@ public class MasterHandler {
     /** A list of untranslatable values */
     private final Map<Term, SExpr> unknownValues = new HashMap<>();
 
+    /**
+     * The translations of the compound terms translated so far. Terms occurring several times in
+     * the problem (e.g., in several formulas of the sequent) are only translated once.
+     */
+    private final Map<Term, SExpr> translations = new HashMap<>();
+
     /** The collected set of sorts occurring in the problem */
     private final Set<Sort> sorts = new HashSet<>();
 
@@ -139,6 +145,25 @@ public class MasterHandler {
      * @return the S-Expression representing the translation
      */
     public SExpr translate(Term problem) {
+        if (problem.arity() == 0) {
+            return translateTerm(problem);
+        }
+        SExpr result = translations.get(problem);
+        if (result == null) {
+            result = translateTerm(problem);
+            translations.put(problem, result);
+        }
+        return result;
+    }
+
+    /**
+     * Translate a single term by delegating to the responsible {@link SMTHandler}, without
+     * looking up previous translations of the term.
+     *
+     * @param problem the non-null term to translate
+     * @return the S-Expression representing the translation
+     */
+    private SExpr translateTerm(Term problem) {
         try {
             SMTHandler cached = handlerMap.get(problem.op());
             if (cached != null) {
@@ -53,6 +53,19 @@ public class ModularSMTLib2Translator implements SMTTranslator {
      */
     private static final String GET_UNSAT_CORE = "getUnsatCore";
 
+    /**
+     * The header of the section following the preamble. Everything before it is independent of
+     * the translated sequent and may be shared between several problems (see
+     * {@link de.uka.ilkd.key.smt.communication.SolverProcessPool}).
+     */
+    public static final String DECLARATIONS_HEADER = "; --- Declarations";
+
+    /**
+     * The header of the section following the declarations. The declarations before it may be
+     * kept by a pooled solver process for later problems declaring the same symbols.
+     */
+    public static final String AXIOMS_HEADER = "; --- Axioms";
+
     /**
      * The smt preamble prepended to smt problems that are created with this translator.
      */
@@ -125,14 +138,14 @@ public class ModularSMTLib2Translator implements SMTTranslator {
         sb.append(preamble);
         sb.append(System.lineSeparator());
 
-        sb.append("; --- Declarations\n");
+        sb.append(DECLARATIONS_HEADER).append("\n");
         extractSortDeclarations(services, master);
         for (Writable decl : master.getDeclarations()) {
             decl.appendTo(sb);
             sb.append("\n");
         }
 
-        sb.append("\n; --- Axioms\n");
+        sb.append("\n").append(AXIOMS_HEADER).append("\n");
         for (Writable ax : master.getAxioms()) {
             ax.appendTo(sb);
             sb.append("\n");
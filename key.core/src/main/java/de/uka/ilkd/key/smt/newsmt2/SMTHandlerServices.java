@@ -64,6 +64,9 @@ public class SMTHandlerServices {
     /** The smt2 preamble */
     private volatile String preamble;
 
+    /** The handler names listed in {@link #DEFAULT_HANDLERS}, read on first use */
+    private volatile String[] defaultHandlerNames;
+
     /** lock for synchronisation */
     private final Object handlerModificationLock = new Object();
 
@@ -75,7 +78,7 @@ public class SMTHandlerServices {
      *
      * @return non-null instance of this class. Always the same.
      */
-    public static SMTHandlerServices getInstance() {
+    public static synchronized SMTHandlerServices getInstance() {
         if (theInstance == null) {
             theInstance = new SMTHandlerServices();
         }
@@ -106,10 +109,7 @@ public class SMTHandlerServices {
     public Collection<SMTHandler> getTemplateHandlers(String[] handlerNames) throws IOException {
         // If handlerNames is empty, use default handlerNames list.
         if (handlerNames.length == 0) {
-            InputStream stream = SolverPropertiesLoader.class.getResourceAsStream(DEFAULT_HANDLERS);
-            BufferedReader reader =
-                new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
-            handlerNames = reader.lines().toArray(String[]::new);
+            handlerNames = getDefaultHandlerNames();
         }
         Collection<SMTHandler> result = new LinkedList<>();
         for (String name : handlerNames) {
@@ -149,6 +149,29 @@ public class SMTHandlerServices {
         return result;
     }
 
+    /**
+     * Get the names of the handlers listed in {@link #DEFAULT_HANDLERS}. The resource is read only
+     * once, since the translations of many goals (possibly in parallel) ask for it.
+     *
+     * @return the non-null array of fully qualified class names, always the same
+     * @throws IOException if the resource cannot be read
+     */
+    private String[] getDefaultHandlerNames() throws IOException {
+        String[] result = defaultHandlerNames;
+        if (result == null) {
+            InputStream stream = SolverPropertiesLoader.class.getResourceAsStream(DEFAULT_HANDLERS);
+            if (stream == null) {
+                throw new IOException("Resource not found: " + DEFAULT_HANDLERS);
+            }
+            try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                result = reader.lines().toArray(String[]::new);
+            }
+            defaultHandlerNames = result;
+        }
+        return result;
+    }
+
     // Search for a handler of the given class in the snippetMap and if it exists, add it to
     // the result collection.
     private boolean findHandler(Class<SMTHandler> clazz, Collection<SMTHandler> result) {
@@ -3,9 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.smt.newsmt2;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import de.uka.ilkd.key.java.Services;
@@ -14,6 +17,8 @@ import de.uka.ilkd.key.logic.sort.NullSort;
 import de.uka.ilkd.key.smt.newsmt2.SExpr.Type;
 
 import org.key_project.logic.sort.Sort;
+import org.key_project.util.ConcurrentCache;
+import org.key_project.util.collection.ImmutableSet;
 
 /**
  * This class contains the outsourced routines for KeY sort definitions and axioms for the modular
@@ -43,8 +48,9 @@ class TypeManager {
      */
     private void createSortTypeHierarchy(MasterHandler master, Services services) {
 
+        Map<Sort, Set<Sort>> directChildSorts = directChildSorts(master.getSorts(), services);
         for (Sort s : master.getSorts()) {
-            Set<Sort> children = directChildSorts(s, master.getSorts(), services);
+            Set<Sort> children = directChildSorts.getOrDefault(s, Collections.emptySet());
             for (Sort child : children) {
                 master.addAxiom(new SExpr("assert",
                     new SExpr("subtype", SExprs.sortExpr(child), SExprs.sortExpr(s))));
@@ -73,24 +79,26 @@ class TypeManager {
     }
 
     /**
-     * @param parent the (possible) parent sort
-     * @param child the (possible) child sort
-     * @return true iff parent is a direct parent sort of child
-     */
-    private boolean isDirectParentOf(Sort parent, Sort child, Services s) {
-        return child.extendsSorts(s).contains(parent);
-    }
-
-    /**
-     * @param s The parent sort
+     * Computes the direct child sorts of all sorts in the given set. The direct super sorts of a
+     * sort are cached in the {@link de.uka.ilkd.key.java.ServiceCaches} of the proof, such that
+     * they are computed only once for all goals of the proof.
+     *
      * @param sorts the set of sorts to test
-     * @return all direct child sorts of s in the set sorts
+     * @param services the services of the proof
+     * @return a map from each sort to its direct child sorts in the set sorts (sorts without
+     *         children in the set are not contained)
      */
-    private Set<Sort> directChildSorts(Sort s, Set<Sort> sorts, Services services) {
-        Set<Sort> res = new HashSet<>();
+    private Map<Sort, Set<Sort>> directChildSorts(Set<Sort> sorts, Services services) {
+        ConcurrentCache<Sort, ImmutableSet<Sort>> superSorts =
+            services.getCaches().getSMTSuperSortsCache();
+        Map<Sort, Set<Sort>> res = new HashMap<>();
         for (Sort child : sorts) {
-            if (isDirectParentOf(s, child, services)) {
-                res.add(child);
+            ImmutableSet<Sort> parents =
+                superSorts.computeIfAbsent(child, c -> c.extendsSorts(services));
+            for (Sort parent : parents) {
+                if (sorts.contains(parent)) {
+                    res.computeIfAbsent(parent, p -> new HashSet<>()).add(child);
+                }
             }
         }
         return res;
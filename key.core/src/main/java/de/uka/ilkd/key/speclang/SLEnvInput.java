@@ -306,6 +306,12 @@ public final class SLEnvInput extends AbstractEnvInput {
         final KeYJavaType[] kjts =
             sortKJTs(allKeYJavaTypes.toArray(new KeYJavaType[0]));
 
+        // parse the comments of all types in advance (in parallel)
+        specExtractor.preParse(Arrays.stream(kjts)
+                .filter(kjt -> kjt.getJavaType() instanceof ClassDeclaration
+                        || kjt.getJavaType() instanceof InterfaceDeclaration)
+                .toList());
+
         // create specifications for all types
         for (KeYJavaType kjt : kjts) {
             if (!(kjt.getJavaType() instanceof ClassDeclaration
@@ -3,6 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.speclang;
 
+import java.util.Collection;
+
 import de.uka.ilkd.key.java.StatementBlock;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.java.statement.LabeledStatement;
@@ -20,6 +22,13 @@ import org.key_project.util.collection.ImmutableSet;
  */
 public interface SpecExtractor {
 
+    /**
+     * Prepares the extraction of the specifications of the passed types, e.g., by parsing their
+     * comments in advance. Calling this method is optional, the extracted specifications are the
+     * same as without preparation.
+     */
+    void preParse(Collection<KeYJavaType> kjts);
+
     /**
      * Returns the operation contracts for the passed operation.
      */
@@ -5,6 +5,9 @@ package de.uka.ilkd.key.speclang.jml;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.ArrayType;
@@ -39,8 +42,10 @@ import org.key_project.util.collection.*;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.java.thread.WorkerPool;
 
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.jspecify.annotations.Nullable;
 
 import static de.uka.ilkd.key.speclang.jml.pretranslation.TextualJMLSpecCase.Clause.SIGNALS_ONLY;
 import static de.uka.ilkd.key.speclang.jml.pretranslation.TextualJMLSpecCase.ClauseHd.*;
@@ -66,10 +71,46 @@ public final class JMLSpecExtractor implements SpecExtractor {
      **/
     private static final TermLabel IMPL_TERM_LABEL =
         ParameterlessTermLabel.IMPLICIT_SPECIFICATION_LABEL;
+
+    /**
+     * The threads pre-parsing JML comments in parallel. Their number is configured via the system
+     * property {@code key.jml.parser.workers}.
+     */
+    private static final WorkerPool PARSER_POOL = new WorkerPool("JmlParser",
+        "key.jml.parser.workers", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The number of threads pre-parsing JML comments in parallel. A value of at most {@code 1}
+     * disables pre-parsing, i.e., each comment is parsed when its specifications are extracted.
+     */
+    public static final int PARSER_WORKERS = PARSER_POOL.getWorkers();
+
     private final Services services;
     private final JMLSpecFactory jsf;
     private ImmutableList<PositionedString> warnings = ImmutableSLList.nil();
 
+    /**
+     * the class level comments parsed by {@link #preParse(Collection)} that have not been used yet
+     */
+    private final Map<CommentKey, PreParsed> preParsed = new HashMap<>();
+
+    /**
+     * A concatenated class level comment, identified by its text and location.
+     */
+    private record CommentKey(String text, @Nullable URI fileName, Position pos) {
+    }
+
+    /**
+     * The result of parsing a class level comment.
+     *
+     * @param constructs the parsed constructs, empty if the comment could not be parsed
+     * @param warnings the warnings of the parser
+     * @param error the exception thrown by the parser, if any
+     */
+    private record PreParsed(ImmutableList<TextualJMLConstruct> constructs,
+            ImmutableList<PositionedString> warnings, @Nullable RuntimeException error) {
+    }
+
     // -------------------------------------------------------------------------
     // constructors
     // -------------------------------------------------------------------------
@@ -135,6 +176,87 @@ public final class JMLSpecExtractor implements SpecExtractor {
         return sb.toString();
     }
 
+    /**
+     * Returns the comments of the members of the given type declaration and (as last element) the
+     * comments of the type declaration itself, which may contain class level JML constructs.
+     */
+    private static List<Comment[]> getClassLevelComments(TypeDeclaration td) {
+        List<Comment[]> result = new ArrayList<>();
+        for (int i = 0, n = td.getChildCount(); i <= n; i++) {
+            // collect comments
+            // (last position are comments of type declaration itself)
+            Comment[] comments = null;
+            if (i < n) {
+                ProgramElement child = td.getChildAt(i);
+                comments = child.getComments();
+                // skip model and ghost elements
+                // (their comments are duplicates of other comments)
+                if ((child instanceof FieldDeclaration && (((FieldDeclaration) child).isGhost()
+                        || ((FieldDeclaration) child).isModel()))
+                        || (child instanceof IProgramMethod
+                                && ((IProgramMethod) child).isModel())) {
+                    continue;
+                }
+            } else if (td.getComments() != null) {
+                comments = td.getComments();
+            }
+            if (comments != null && comments.length != 0) {
+                result.add(comments);
+            }
+        }
+        return result;
+    }
+
+    private CommentKey getCommentKey(Comment[] comments, @Nullable URI fileName) {
+        // concatenate comments, determine position
+        return new CommentKey(concatenate(comments), fileName, comments[0].getStartPosition());
+    }
+
+    /**
+     * Parses a class level comment. This only depends on the comment and may thus run in
+     * parallel to other tasks.
+     */
+    private static PreParsed parseComment(CommentKey key, boolean attachOrigin) {
+        PreParser parser = new PreParser(attachOrigin);
+        try {
+            ImmutableList<TextualJMLConstruct> constructs =
+                parser.parseClassLevel(key.text(), key.fileName(), key.pos());
+            return new PreParsed(constructs, parser.getWarnings(), null);
+        } catch (RuntimeException e) {
+            return new PreParsed(ImmutableSLList.nil(), parser.getWarnings(), e);
+        }
+    }
+
+    /**
+     * Returns the constructs of a class level comment, which are taken from the pre-parsed
+     * comments if available. Warnings and errors of the parser are reported as if the comment was
+     * parsed now.
+     *
+     * @param comments the comments, at least one
+     * @param fileName the file containing the comments
+     * @param modified whether the caller modifies the constructs; then they are parsed again when
+     *        the comment is requested the next time
+     * @return the parsed constructs
+     */
+    private ImmutableList<TextualJMLConstruct> parseClassLevel(Comment[] comments,
+            @Nullable URI fileName, boolean modified) {
+        CommentKey key = getCommentKey(comments, fileName);
+        PreParsed result = modified ? preParsed.remove(key) : preParsed.get(key);
+        if (result == null) {
+            // call preparser
+            PreParser parser = new PreParser(services.getOriginFactory() != null);
+            ImmutableList<TextualJMLConstruct> constructs =
+                parser.parseClassLevel(key.text(), key.fileName(), key.pos());
+            warnings = warnings.append(parser.getWarnings());
+            return constructs;
+        }
+        if (result.error() != null) {
+            throw result.error();
+        }
+        warnings = warnings.append(result.warnings());
+        return result.constructs();
+    }
+
     private int getIndexOfMethodDecl(IProgramMethod pm, TextualJMLConstruct[] constructsArray) {
         for (int i = 0; i < constructsArray.length; i++) {
             if (constructsArray[i] instanceof TextualJMLMethodDecl methodDecl) {
@@ -232,6 +354,70 @@ public final class JMLSpecExtractor implements SpecExtractor {
     // public interface
     // -------------------------------------------------------------------------
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Parsing a comment into textual JML constructs only depends on the comment itself, hence the
+     * comments are parsed in parallel if {@link #PARSER_WORKERS} is greater than {@code 1}. The
+     * translation of the constructs into specifications accesses the Java model and the
+     * namespaces and thus remains sequential, such that specifications are created and
+     * registered in the same order and with the same names as without pre-parsing.
+     */
+    @Override
+    public void preParse(Collection<KeYJavaType> kjts) {
+        if (PARSER_WORKERS <= 1) {
+            return;
+        }
+        final JavaInfo javaInfo = services.getJavaInfo();
+        final Set<CommentKey> keys = new LinkedHashSet<>();
+        for (KeYJavaType kjt : kjts) {
+            if (!(kjt.getJavaType() instanceof TypeDeclaration td)) {
+                continue;
+            }
+            URI fileName = td.getPositionInfo().getURI().orElse(null);
+            for (Comment[] comments : getClassLevelComments(td)) {
+                keys.add(getCommentKey(comments, fileName));
+            }
+            List<IProgramMethod> methods = new ArrayList<>();
+            javaInfo.getAllProgramMethodsLocallyDeclared(kjt).forEach(methods::add);
+            javaInfo.getConstructors(kjt).forEach(methods::add);
+            for (IProgramMethod pm : methods) {
+                Comment[] comments = pm.getComments();
+                if (comments.length != 0) {
+                    keys.add(getCommentKey(comments, fileName));
+                }
+            }
+        }
+        keys.removeAll(preParsed.keySet());
+        if (keys.size() <= 1) {
+            return;
+        }
+
+        final boolean attachOrigin = services.getOriginFactory() != null;
+        ExecutorService pool = PARSER_POOL.getExecutor();
+        Map<CommentKey, Future<PreParsed>> futures = new LinkedHashMap<>();
+        for (CommentKey key : keys) {
+            futures.put(key, pool.submit(() -> parseComment(key, attachOrigin)));
+        }
+        try {
+            for (Map.Entry<CommentKey, Future<PreParsed>> entry : futures.entrySet()) {
+                try {
+                    preParsed.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    // e.g., a stack overflow in a worker thread, the comment is parsed again
+                    // when it is used
+                }
+            }
+        } catch (InterruptedException e) {
+            // the remaining comments are parsed when they are used
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Future<PreParsed> future : futures.values()) {
+                future.cancel(true);
+            }
+        }
+    }
+
     @Override
     public ImmutableSet<SpecificationElement> extractClassSpecs(KeYJavaType kjt)
             throws SLTranslationException {
@@ -287,37 +473,9 @@ public final class JMLSpecExtractor implements SpecExtractor {
         }
 
         // iterate over all children
-        for (int i = 0, n = td.getChildCount(); i <= n; i++) {
-            // collect comments
-            // (last position are comments of type declaration itself)
-            Comment[] comments = null;
-            if (i < n) {
-                ProgramElement child = td.getChildAt(i);
-                comments = child.getComments();
-                // skip model and ghost elements
-                // (their comments are duplicates of other comments)
-                if ((child instanceof FieldDeclaration && (((FieldDeclaration) child).isGhost()
-                        || ((FieldDeclaration) child).isModel()))
-                        || (child instanceof IProgramMethod
-                                && ((IProgramMethod) child).isModel())) {
-                    continue;
-                }
-            } else if (td.getComments() != null) {
-                comments = td.getComments();
-            }
-            if (comments == null || comments.length == 0) {
-                continue;
-            }
-
-            // concatenate comments, determine position
-            String concatenatedComment = concatenate(comments);
-            Position pos = comments[0].getStartPosition();
-
-            // call preparser
-            var parser = new PreParser(services.getOriginFactory() != null);
+        for (Comment[] comments : getClassLevelComments(td)) {
             ImmutableList<TextualJMLConstruct> constructs =
-                parser.parseClassLevel(concatenatedComment, fileName, pos);
-            warnings = warnings.append(parser.getWarnings());
+                parseClassLevel(comments, fileName, false);
 
             // create class invs out of textual constructs, add them to result
             for (TextualJMLConstruct c : constructs) {
@@ -381,14 +539,8 @@ public final class JMLSpecExtractor implements SpecExtractor {
         Comment[] comments = pm.getComments();
         ImmutableList<TextualJMLConstruct> constructs;
         if (comments.length != 0) {
-            // concatenate comments, determine position
-            String concatenatedComment = concatenate(comments);
-            Position pos = comments[0].getStartPosition();
-
-            // call preparser
-            PreParser parser = new PreParser(services.getOriginFactory() != null);
-            constructs = parser.parseClassLevel(concatenatedComment, fileName, pos);
-            warnings = warnings.append(parser.getWarnings());
+            // the spec cases are extended below, so the constructs must not be used again
+            constructs = parseClassLevel(comments, fileName, true);
         } else {
             constructs = ImmutableSLList.nil();
         }
@@ -70,6 +70,11 @@ public class FocussedBreakpointRuleApplicationManager
         return delegate.peekNext();
     }
 
+    @Override
+    public void prepareNext() {
+        delegate.prepareNext();
+    }
+
     @Override
     public RuleApp next() {
         return delegate.next();
@@ -84,6 +84,11 @@ public class FocussedRuleApplicationManager
         return delegate.peekNext();
     }
 
+    @Override
+    public void prepareNext() {
+        delegate.prepareNext();
+    }
+
     @Override
     public RuleApp next() {
         final RuleApp app = delegate.next();
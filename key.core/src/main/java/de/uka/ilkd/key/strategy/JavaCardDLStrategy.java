@@ -19,6 +19,7 @@ import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
 import de.uka.ilkd.key.strategy.feature.*;
 import de.uka.ilkd.key.strategy.feature.findprefix.FindPrefixRestrictionFeature;
@@ -105,7 +106,8 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
 
         costComputationF = setupGlobalF(costComputationDispatcher);
         instantiationF = setupGlobalF(instantiationDispatcher);
-        approvalF = add(setupApprovalF(), approvalDispatcher);
+        approvalF = add(ProfilingFeature.create("approval", setupApprovalF()),
+            ProfilingFeature.create("ruleSetDispatch", approvalDispatcher));
 
     }
 
@@ -213,14 +215,24 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
 
         // final Feature smtF = smtFeature(inftyConst());
 
-        return SumFeature.createSum(AutomatedRuleFeature.getInstance(),
-            NonDuplicateAppFeature.INSTANCE,
+        return SumFeature.createSum(
+            ProfilingFeature.create("automatedRule", AutomatedRuleFeature.getInstance()),
+            ProfilingFeature.create("nonDuplicateApp", NonDuplicateAppFeature.INSTANCE),
             // splitF,
             // strengthenConstraints,
-            AgeFeature.INSTANCE, oneStepSimplificationF, mergeRuleF,
+            ProfilingFeature.create("age", AgeFeature.INSTANCE),
+            ProfilingFeature.create("oneStepSimplification", oneStepSimplificationF),
+            ProfilingFeature.create("mergeRule", mergeRuleF),
             // smtF,
-            methodSpecF, queryF, depSpecF, loopInvF, blockFeature, loopBlockFeature,
-            loopBlockApplyHeadFeature, ifMatchedF, dispatcher);
+            ProfilingFeature.create("methodSpec", methodSpecF),
+            ProfilingFeature.create("querySpec", queryF),
+            ProfilingFeature.create("dependencyContract", depSpecF),
+            ProfilingFeature.create("loopInvariant", loopInvF),
+            ProfilingFeature.create("blockContract", blockFeature),
+            ProfilingFeature.create("loopContract", loopBlockFeature),
+            ProfilingFeature.create("loopContractApplyHead", loopBlockApplyHeadFeature),
+            ProfilingFeature.create("matchedAssumes", ifMatchedF),
+            ProfilingFeature.create("ruleSetDispatch", dispatcher));
     }
 
     private Feature oneStepSimplificationFeature(Feature cost) {
@@ -2090,9 +2102,11 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             Goal goal,
             MutableState mState) {
         var time = System.nanoTime();
+        final int frames = AutoModeProfiler.enterPhase(AutoModeProfiler.PHASE_COST, app);
         try {
             return costComputationF.computeCost(app, pio, goal, mState);
         } finally {
+            AutoModeProfiler.exit(frames);
             PERF_COMPUTE.addAndGet(System.nanoTime() - time);
         }
     }
@@ -2110,10 +2124,12 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     public final boolean isApprovedApp(RuleApp app,
             PosInOccurrence pio, Goal goal) {
         var time = System.nanoTime();
+        final int frames = AutoModeProfiler.enterPhase(AutoModeProfiler.PHASE_APPROVE, app);
         try {
             return !(approvalF.computeCost(app, pio, goal,
                 new MutableState()) == TopRuleAppCost.INSTANCE);
         } finally {
+            AutoModeProfiler.exit(frames);
             PERF_APPROVE.addAndGet(System.nanoTime() - time);
         }
     }
@@ -2123,9 +2139,11 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             PosInOccurrence pio, Goal goal,
             MutableState mState) {
         var time = System.nanoTime();
+        final int frames = AutoModeProfiler.enterPhase(AutoModeProfiler.PHASE_INSTANTIATE, app);
         try {
             return instantiationF.computeCost(app, pio, goal, mState);
         } finally {
+            AutoModeProfiler.exit(frames);
             PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
         }
     }
@@ -67,6 +67,19 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
 
     private long nextRuleTime;
 
+    /**
+     * The further {@link RuleAppContainer}s created from {@link #previousMinimum} by
+     * {@link #prepareNext()}. They are only used by {@link #peekNext()} if neither the previous
+     * minimum nor the time of the goal have changed in the meantime.
+     */
+    private @Nullable ImmutableHeap<RuleAppContainer> preparedFurtherApps = null;
+
+    /** The previous minimum from which {@link #preparedFurtherApps} have been created. */
+    private @Nullable RuleAppContainer preparedFrom = null;
+
+    /** The time of the goal at which {@link #preparedFurtherApps} have been created. */
+    private long preparedTime;
+
     @Override
     public void setGoal(Goal p_goal) {
         goal = p_goal;
@@ -79,6 +92,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
     public void clearCache() {
         queue = null;
         previousMinimum = null;
+        clearPreparedFurtherApps();
         if (goal != null) {
             goal.proof().getServices().getCaches().getIfInstantiationCache().releaseAll();
         }
@@ -239,11 +253,17 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
 
             /*
              * Create further appcontainers from previous minimum, which was removed from queue in a
-             * previous round.
+             * previous round (unless this has already been done by prepareNext()).
              */
-            ImmutableHeap<@NonNull RuleAppContainer> furtherAppsQueue =
-                createFurtherApps(previousMinimum, goal);
+            ImmutableHeap<@NonNull RuleAppContainer> furtherAppsQueue;
+            if (preparedFurtherApps != null && preparedFrom == previousMinimum
+                    && preparedTime == currentTime) {
+                furtherAppsQueue = preparedFurtherApps;
+            } else {
+                furtherAppsQueue = createFurtherApps(previousMinimum, goal);
+            }
             previousMinimum = null;
+            clearPreparedFurtherApps();
 
             computeNextRuleApp(furtherAppsQueue);
             return nextRuleApp;
@@ -252,6 +272,38 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
         }
     }
 
+    /**
+     * Builds the queue, updates the taclet app index of the goal and creates the further apps of
+     * the previous minimum, which is the expensive part of {@link #peekNext()} that only depends on
+     * the goal itself. Completing the rule app is left to {@link #peekNext()}.
+     */
+    @Override
+    public void prepareNext() {
+        ensureQueueExists();
+        if (goal == null) {
+            return;
+        }
+
+        final long currentTime = goal.getTime();
+        if (nextRuleApp != null && currentTime == nextRuleTime) {
+            return;
+        }
+
+        goal.ruleAppIndex().fillCache();
+
+        if (previousMinimum != null
+                && (preparedFrom != previousMinimum || preparedTime != currentTime)) {
+            preparedFurtherApps = createFurtherApps(previousMinimum, goal);
+            preparedFrom = previousMinimum;
+            preparedTime = currentTime;
+        }
+    }
+
+    private void clearPreparedFurtherApps() {
+        preparedFurtherApps = null;
+        preparedFrom = null;
+    }
+
     /**
      * @return the first applicable rule app, i.e. the least expensive element of the heap that is
      *         not obsolete
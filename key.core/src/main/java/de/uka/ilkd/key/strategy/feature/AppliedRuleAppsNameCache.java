@@ -4,7 +4,7 @@
 package de.uka.ilkd.key.strategy.feature;
 
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.util.AssertionFailure;
@@ -26,9 +26,8 @@ public class AppliedRuleAppsNameCache {
     private final LRUCache<Node, HashMap<Name, List<RuleApp>>> cache =
         new LRUCache<>(32);
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
-    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    /** lookups reorder the entries of the LRU cache, hence even reads need exclusive access */
+    private final ReentrantLock lock = new ReentrantLock();
 
     public AppliedRuleAppsNameCache() {}
 
@@ -42,7 +41,7 @@ public class AppliedRuleAppsNameCache {
             Node node) {
         HashMap<Name, List<RuleApp>> nodeCache;
         try {
-            writeLock.lock();
+            lock.lock();
             nodeCache = cache.get(node);
             if (nodeCache == null) {
                 // Try to use parent cache to initialize the new cache
@@ -92,7 +91,7 @@ public class AppliedRuleAppsNameCache {
                 cache.put(node, nodeCache);
             }
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
 
         return nodeCache;
@@ -119,10 +118,10 @@ public class AppliedRuleAppsNameCache {
 
         HashMap<Name, List<RuleApp>> nodeCache;
         try {
-            readLock.lock();
+            lock.lock();
             nodeCache = cache.get(node);
         } finally {
-            readLock.unlock();
+            lock.unlock();
         }
 
         if (nodeCache == null) {
@@ -0,0 +1,54 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler;
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler.Category;
+
+import org.key_project.prover.proof.ProofGoal;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.strategy.costbased.MutableState;
+import org.key_project.prover.strategy.costbased.RuleAppCost;
+import org.key_project.prover.strategy.costbased.feature.Feature;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Wraps a feature and records the time spent computing it in the {@link AutoModeProfiler}.
+ */
+public class ProfilingFeature implements Feature {
+    private final String name;
+    private final Feature f;
+
+    private ProfilingFeature(String name, Feature f) {
+        this.name = name;
+        this.f = f;
+    }
+
+    /**
+     * Wraps the given feature if profiling is enabled.
+     *
+     * @param name the name of the feature in the profile
+     * @param f the feature
+     * @return the wrapped feature, or the given one if profiling is disabled
+     */
+    public static Feature create(String name, Feature f) {
+        return AutoModeProfiler.isEnabled() ? new ProfilingFeature(name, f) : f;
+    }
+
+    @Override
+    public <Goal extends ProofGoal<@NonNull Goal>> RuleAppCost computeCost(RuleApp app,
+            PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        final boolean profiled = AutoModeProfiler.enter(Category.FEATURE, name);
+        try {
+            return f.computeCost(app, pos, goal, mState);
+        } finally {
+            if (profiled) {
+                AutoModeProfiler.exit();
+            }
+        }
+    }
+}
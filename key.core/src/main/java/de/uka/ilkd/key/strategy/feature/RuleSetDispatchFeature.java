@@ -6,6 +6,8 @@ package de.uka.ilkd.key.strategy.feature;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler;
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler.Category;
 import de.uka.ilkd.key.rule.TacletApp;
 
 import org.key_project.prover.proof.ProofGoal;
@@ -53,7 +55,15 @@ public class RuleSetDispatchFeature implements Feature {
 
             final Feature partialF = rulesetToFeature.get(rs);
             if (partialF != null) {
-                res = res.add(partialF.computeCost(app, pos, goal, mState));
+                final boolean profiled =
+                    AutoModeProfiler.enter(Category.RULE_SET, rs.name().toString());
+                try {
+                    res = res.add(partialF.computeCost(app, pos, goal, mState));
+                } finally {
+                    if (profiled) {
+                        AutoModeProfiler.exit();
+                    }
+                }
                 if (res instanceof TopRuleAppCost) {
                     break;
                 }
@@ -33,18 +33,7 @@ public class ClausesGraph {
     private final ImmutableSet<Term> clauses;
 
     static ClausesGraph create(Term quantifiedFormula, ServiceCaches caches) {
-        final Map<Term, ClausesGraph> graphCache = caches.getGraphCache();
-        ClausesGraph graph;
-        synchronized (graphCache) {
-            graph = graphCache.get(quantifiedFormula);
-        }
-        if (graph == null) {
-            graph = new ClausesGraph(quantifiedFormula);
-            synchronized (graphCache) {
-                graphCache.put(quantifiedFormula, graph);
-            }
-        }
-        return graph;
+        return caches.getGraphCache().computeIfAbsent(quantifiedFormula, ClausesGraph::new);
     }
 
     private ClausesGraph(Term quantifiedFormula) {
@@ -20,6 +20,7 @@ import de.uka.ilkd.key.logic.op.*;
 
 import org.key_project.logic.op.Operator;
 import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.util.ConcurrentCache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableSet;
@@ -55,21 +56,15 @@ public class TriggersSet {
     }
 
     static TriggersSet create(JTerm allTerm, Services services) {
-        final Map<org.key_project.logic.Term, TriggersSet> triggerSetCache =
+        final ConcurrentCache<org.key_project.logic.Term, TriggersSet> triggerSetCache =
             services.getCaches().getTriggerSetCache();
         allTerm = TermLabelManager.removeIrrelevantLabels(allTerm, services);
-        TriggersSet trs;
-
-        synchronized (triggerSetCache) {
-            trs = triggerSetCache.get(allTerm);
-        }
+        TriggersSet trs = triggerSetCache.get(allTerm);
 
         if (trs == null) {
             // add check whether it is in PCNF
             trs = new TriggersSet(allTerm, services);
-            synchronized (triggerSetCache) {
-                triggerSetCache.put(allTerm, trs);
-            }
+            triggerSetCache.put(allTerm, trs);
         }
         return trs;
     }
@@ -5,7 +5,10 @@ package de.uka.ilkd.key.util;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -16,6 +19,7 @@ import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.logic.op.IObserverFunction;
 import de.uka.ilkd.key.logic.op.IProgramMethod;
+import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
 import de.uka.ilkd.key.proof.init.ContractPO;
@@ -302,6 +306,26 @@ public class HelperClassForTests {
         return pm;
     }
 
+    /**
+     * Describes the proof tree of the given {@link Proof}, e.g., to compare a loaded proof to the
+     * one it was saved from.
+     *
+     * @param proof The {@link Proof} to describe.
+     * @return For every node in pre-order: its serial number, the name of its applied rule and
+     *         its branch label.
+     */
+    public static List<String> appliedRules(Proof proof) {
+        List<String> rules = new ArrayList<>();
+        for (Iterator<Node> it = proof.root().subtreeIterator(); it.hasNext();) {
+            final Node node = it.next();
+            rules.add(node.serialNr() + ":"
+                + (node.getAppliedRuleApp() == null ? "-"
+                        : node.getAppliedRuleApp().rule().name().toString())
+                + ":" + node.getNodeInfo().getBranchLabel());
+        }
+        return rules;
+    }
+
     public static Services createServices(Path keyFile) {
         JavaInfo javaInfo = new HelperClassForTests().parse(keyFile).getFirstProof().getJavaInfo();
         return javaInfo.getServices();
@@ -13,7 +13,7 @@ import java.net.URL;
 
 public class JavaCharStream
 {
-  public static final boolean staticFlag = true;
+  public static final boolean staticFlag = false;
   static final int hexval(char c) throws java.io.IOException {
     switch(c)
     {
@@ -61,32 +61,32 @@ public class JavaCharStream
     throw new java.io.IOException(); // Should never come here
   }
 
-  static public int bufpos = -1;
-  static int bufsize;
-  static int available;
-  static int tokenBegin;
-  static protected int bufline[];
-  static protected int bufcolumn[];
+  public int bufpos = -1;
+  int bufsize;
+  int available;
+  int tokenBegin;
+  protected int bufline[];
+  protected int bufcolumn[];
 
-  static protected int column = 0;
-  static protected int line = 1;
+  protected int column = 0;
+  protected int line = 1;
 
-  static protected boolean prevCharIsCR = false;
-  static protected boolean prevCharIsLF = false;
+  protected boolean prevCharIsCR = false;
+  protected boolean prevCharIsLF = false;
 
-  static protected java.io.Reader inputStream;
+  protected java.io.Reader inputStream;
 
-  static protected char[] nextCharBuf;
-  static protected char[] buffer;
-  static protected int maxNextCharInd = 0;
-  static protected int nextCharInd = -1;
-  static protected int inBuf = 0;
-  static protected int tabSize = 8;
+  protected char[] nextCharBuf;
+  protected char[] buffer;
+  protected int maxNextCharInd = 0;
+  protected int nextCharInd = -1;
+  protected int inBuf = 0;
+  protected int tabSize = 8;
 
-  static protected void setTabSize(int i) { tabSize = i; }
-  static protected int getTabSize(int i) { return tabSize; }
+  protected void setTabSize(int i) { tabSize = i; }
+  protected int getTabSize(int i) { return tabSize; }
 
-  static protected void ExpandBuff(boolean wrapAround)
+  protected void ExpandBuff(boolean wrapAround)
   {
      char[] newbuffer = new char[bufsize + 2048];
      int newbufline[] = new int[bufsize + 2048];
@@ -134,7 +134,7 @@ public class JavaCharStream
      tokenBegin = 0;
   }
 
-  static protected void FillBuff() throws java.io.IOException
+  protected void FillBuff() throws java.io.IOException
   {
      int i;
      if (maxNextCharInd == 4096)
@@ -166,7 +166,7 @@ public class JavaCharStream
      }
   }
 
-  static protected char ReadByte() throws java.io.IOException
+  protected char ReadByte() throws java.io.IOException
   {
      if (++nextCharInd >= maxNextCharInd)
         FillBuff();
@@ -174,7 +174,7 @@ public class JavaCharStream
      return nextCharBuf[nextCharInd];
   }
 
-  static public char BeginToken() throws java.io.IOException
+  public char BeginToken() throws java.io.IOException
   {     
      if (inBuf > 0)
      {
@@ -193,7 +193,7 @@ public class JavaCharStream
      return readChar();
   }     
 
-  static protected void AdjustBuffSize()
+  protected void AdjustBuffSize()
   {
      if (available == bufsize)
      {
@@ -213,7 +213,7 @@ public class JavaCharStream
         available = tokenBegin;
   }
 
-  static protected void UpdateLineColumn(char c)
+  protected void UpdateLineColumn(char c)
   {
      column++;
 
@@ -253,7 +253,7 @@ public class JavaCharStream
      bufcolumn[bufpos] = column;
   }
 
-  static public char readChar() throws java.io.IOException
+  public char readChar() throws java.io.IOException
   {
      if (inBuf > 0)
      {
@@ -349,7 +349,7 @@ public class JavaCharStream
    * @see #getEndColumn
    */
   @Deprecated
-  static public int getColumn() {
+  public int getColumn() {
      return bufcolumn[bufpos];
   }
 
@@ -358,27 +358,27 @@ public class JavaCharStream
    * @see #getEndLine
    */
   @Deprecated
-  static public int getLine() {
+  public int getLine() {
      return bufline[bufpos];
   }
 
-  static public int getEndColumn() {
+  public int getEndColumn() {
      return bufcolumn[bufpos];
   }
 
-  static public int getEndLine() {
+  public int getEndLine() {
      return bufline[bufpos];
   }
 
-  static public int getBeginColumn() {
+  public int getBeginColumn() {
      return bufcolumn[tokenBegin];
   }
 
-  static public int getBeginLine() {
+  public int getBeginLine() {
      return bufline[tokenBegin];
   }
 
-  static public void backup(int amount) {
+  public void backup(int amount) {
 
     inBuf += amount;
     if ((bufpos -= amount) < 0)
@@ -388,10 +388,6 @@ public class JavaCharStream
   public JavaCharStream(java.io.Reader dstream,
                  int startline, int startcolumn, int buffersize)
   {
-    if (inputStream != null)
-       throw new Error("\n   ERROR: Second call to the constructor of a static JavaCharStream.  You must\n" +
-       "       either use ReInit() or set the JavaCC option STATIC to false\n" +
-       "       during the generation of this class.");
     inputStream = dstream;
     line = startline;
     column = startcolumn - 1;
@@ -508,7 +504,7 @@ public class JavaCharStream
      ReInit(dstream, 1, 1, 4096);
   }
 
-  static public String GetImage()
+  public String GetImage()
   {
      if (bufpos >= tokenBegin)
         return new String(buffer, tokenBegin, bufpos - tokenBegin + 1);
@@ -517,7 +513,7 @@ public class JavaCharStream
                               new String(buffer, 0, bufpos + 1);
   }
 
-  static public char[] GetSuffix(int len)
+  public char[] GetSuffix(int len)
   {
      char[] ret = new char[len];
 
@@ -533,7 +529,7 @@ public class JavaCharStream
      return ret;
   }
 
-  static public void Done()
+  public void Done()
   {
      nextCharBuf = null;
      buffer = null;
@@ -544,7 +540,7 @@ public class JavaCharStream
   /**
    * Method to adjust line and column numbers for the start of a token.
    */
-  static public void adjustBeginLineColumn(int newLine, int newCol)
+  public void adjustBeginLineColumn(int newLine, int newCol)
   {
      int start = tokenBegin;
      int len;
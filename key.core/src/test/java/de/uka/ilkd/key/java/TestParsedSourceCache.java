@@ -0,0 +1,54 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.util.List;
+
+import de.uka.ilkd.key.java.recoderext.KeYCrossReferenceServiceConfiguration;
+import de.uka.ilkd.key.util.KeYRecoderExcHandler;
+
+import org.junit.jupiter.api.Test;
+import recoder.ProgramFactory;
+import recoder.java.CompilationUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestParsedSourceCache {
+    private static final String SOURCE = """
+            package java.lang;
+            public class Object {
+                /*@ public normal_behavior
+                  @ ensures true;
+                  @*/
+                public Object() { }
+            }
+            """;
+
+    @Test
+    public void testCopiesAreHandedOut() throws Exception {
+        ProgramFactory pf = new KeYCrossReferenceServiceConfiguration(new KeYRecoderExcHandler())
+                .getProgramFactory();
+        CompilationUnit parsed = pf.parseCompilationUnit(SOURCE);
+        String source = parsed.toSource();
+
+        ParsedSourceCache cache = new ParsedSourceCache(4, false);
+        String digest = ParsedSourceCache.digest(List.of("java/lang/Object.java"), List.of(SOURCE));
+        assertNotEquals(digest,
+            ParsedSourceCache.digest(List.of("java/lang/Object.java"), List.of(SOURCE + " ")));
+        assertNull(cache.lookup(digest));
+
+        cache.store(digest, List.of(parsed));
+        // modifications of the stored units do not affect the cache
+        parsed.getTypeDeclarationAt(0).getMembers().clear();
+
+        List<CompilationUnit> first = cache.lookup(digest);
+        List<CompilationUnit> second = cache.lookup(digest);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(1, first.size());
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals(source, first.get(0).toSource());
+        assertNotNull(first.get(0).getTypeDeclarationAt(0).getMembers().get(0).getComments());
+    }
+}
@@ -317,7 +317,8 @@ public class TestTermFactory {
 
 
     /**
-     * Tests the caching of {@link JTerm}s with and without {@link JavaBlock}s.
+     * Tests the caching of {@link JTerm}s with and without {@link JavaBlock}s. Terms with
+     * {@link JavaBlock}s are shared as well, since equal programs lead to the same modality.
      */
     @Test
     public void testCaching() {
@@ -344,8 +345,32 @@ public class TestTermFactory {
         // Test caching
         assertSame(noJB, noJBAgain);
         assertSame(noJBWithChild, noJBWithChildAgain);
-        assertNotSame(withJB, withJBAgain);
-        assertNotSame(withJBChild, withJBChildAgain);
-        assertNotSame(withJBChildChild, withJBChildChildAgain);
+        assertSame(withJB.javaBlock(), withJBAgain.javaBlock());
+        assertSame(withJB, withJBAgain);
+        assertSame(withJBChild, withJBChildAgain);
+        assertSame(withJBChildChild, withJBChildChildAgain);
+    }
+
+    /**
+     * Tests the statistics and the bound of {@link TermCache}.
+     */
+    @Test
+    public void testCacheStatistics() {
+        TermCache cache = new TermCache(16);
+        TermFactory factory = new TermFactory(cache);
+        JTerm t = factory.createTerm(Junctor.TRUE);
+        assertSame(t, factory.createTerm(Junctor.TRUE));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+
+        for (int i = 0; i < 100; i++) {
+            t = factory.createTerm(Junctor.NOT, t);
+        }
+        assertTrue(cache.size() <= 16 + 15, "cache exceeds its capacity: " + cache);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
     }
 }
@@ -3,6 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.parser.proofjava;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import de.uka.ilkd.key.java.recoderext.KeYCrossReferenceServiceConfiguration;
 import de.uka.ilkd.key.java.recoderext.ProofJavaProgramFactory;
 import de.uka.ilkd.key.util.KeYRecoderExcHandler;
@@ -13,8 +19,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import recoder.ParserException;
 import recoder.ServiceConfiguration;
+import recoder.java.CompilationUnit;
 import recoder.java.Expression;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  *
  * TestCases for a modified ProofJavaParser which supports <...> for generics and for implicit
@@ -76,4 +85,38 @@ public class TestProofJavaParser {
         factory.parseMemberDeclaration("private <T> Type m() { };");
     }
 
+    @Test
+    public void testParallelParsing() throws Exception {
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            sources.add("package p" + i + ";\n/** class " + i + " */\npublic class C" + i
+                + " {\n  //@ ensures \\result == " + i + ";\n  int m() {\n    return " + i
+                + "; // comment " + i + "\n  }\n}\n");
+        }
+        List<String> expected = new ArrayList<>();
+        for (String source : sources) {
+            expected.add(toSource(factory.parseCompilationUnit(source)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (String source : sources) {
+                results.add(pool.submit(() -> toSource(factory.parseCompilationUnit(source))));
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                assertEquals(expected.get(i), results.get(i).get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String toSource(CompilationUnit cu) {
+        StringBuilder sb = new StringBuilder(cu.toSource());
+        cu.getTypeDeclarationAt(0).getMembers().forEach(m -> sb.append('|')
+                .append(m.getComments() == null ? 0 : m.getComments().size())
+                .append(':').append(m.getStartPosition()));
+        return sb.toString();
+    }
 }
@@ -0,0 +1,109 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.prover.sequent.Sequent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the sequents of compacted closed subtrees are rebuilt correctly.
+ */
+public class TestClosedSubtreeCompaction {
+    private static final String PROBLEM = """
+            \\predicates { p; q; r; s; }
+            \\problem {
+                ((p -> q) & (q -> r) & (r -> s) -> (p -> s))
+              & ((p | q) & (p -> r) & (q -> r) -> r)
+            }
+            """;
+
+    @Test
+    public void testSequentsAreRebuilt() throws Exception {
+        Path file = Files.createTempFile("compaction", ".key");
+        Files.writeString(file, PROBLEM);
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file);
+        try {
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+
+            List<Node> nodes = new ArrayList<>();
+            List<Sequent> sequents = new ArrayList<>();
+            for (Iterator<Node> it = proof.root().subtreeIterator(); it.hasNext();) {
+                Node node = it.next();
+                nodes.add(node);
+                sequents.add(node.sequent());
+            }
+
+            proof.root().compactClosedSubtree(3);
+
+            Node dropped = null;
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                Sequent sequent = node.sequent();
+                assertEquals(sequents.get(i), sequent);
+                if (sequent != sequents.get(i)) {
+                    assertFalse(node.leaf());
+                    dropped = node;
+                }
+            }
+            assertSame(sequents.get(0), proof.root().sequent());
+            assertNotNull(dropped, "no sequent has been dropped");
+
+            dropped.restoreSequent();
+            assertSame(dropped.sequent(), dropped.sequent());
+            assertEquals(sequents.get(nodes.indexOf(dropped)), dropped.sequent());
+        } finally {
+            env.dispose();
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCompactionWhileProving() throws Exception {
+        Path file = Files.createTempFile("compaction", ".key");
+        Files.writeString(file, PROBLEM);
+        boolean oldNoPruningClosed = GeneralSettings.noPruningClosed;
+        GeneralSettings.noPruningClosed = true;
+        GeneralSettings.compactClosedSubtrees = true;
+        KeYEnvironment<DefaultUserInterfaceControl> env = null;
+        try {
+            env = KeYEnvironment.load(file);
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+
+            int dropped = 0;
+            for (Iterator<Node> it = proof.root().subtreeIterator(); it.hasNext();) {
+                Node node = it.next();
+                Sequent sequent = node.sequent();
+                assertEquals(sequent, node.sequent());
+                if (sequent != node.sequent()) {
+                    dropped++;
+                }
+            }
+            assertTrue(dropped > 0, "no sequent has been dropped");
+        } finally {
+            GeneralSettings.compactClosedSubtrees = false;
+            GeneralSettings.noPruningClosed = oldNoPruningClosed;
+            if (env != null) {
+                env.dispose();
+            }
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.RewriteTaclet;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.proof.rulefilter.TacletFilter;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TacletDiscriminationTree}.
+ */
+public class TestTacletDiscriminationTree {
+
+    private static void collectPositions(PosInOccurrence pos, List<PosInOccurrence> positions) {
+        positions.add(pos);
+        for (int i = 0; i < pos.subTerm().arity(); i++) {
+            collectPositions(pos.down(i), positions);
+        }
+    }
+
+    private static Set<String> names(Iterable<NoPosTacletApp> apps) {
+        final Set<String> result = new HashSet<>();
+        for (NoPosTacletApp app : apps) {
+            result.add(app.taclet().name().toString());
+        }
+        return result;
+    }
+
+    /**
+     * The taclet index must find exactly the rewrite taclets which match at a position, i.e.,
+     * the discrimination trees must not drop any taclet which matches.
+     */
+    @Test
+    public void testRewriteTacletsComplete() throws Exception {
+        final Path file =
+            HelperClassForTests.TESTCASE_DIRECTORY.resolve("proofStarter/CC/project.key");
+        final KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setMaxRuleApplications(200);
+            ps.start();
+            assertFalse(proof.openGoals().isEmpty());
+
+            final Services services = proof.getServices();
+            final Goal goal = proof.openGoals().head();
+            final TacletIndex index = goal.indexOfTaclets();
+            final List<NoPosTacletApp> rewriteTaclets = new ArrayList<>();
+            for (NoPosTacletApp app : index.allNoPosTacletApps()) {
+                if (app.taclet() instanceof RewriteTaclet) {
+                    rewriteTaclets.add(app);
+                }
+            }
+
+            final List<PosInOccurrence> positions = new ArrayList<>();
+            for (SequentFormula sf : goal.sequent().antecedent()) {
+                collectPositions(new PosInOccurrence(sf, PosInTerm.getTopLevel(), true),
+                    positions);
+            }
+            for (SequentFormula sf : goal.sequent().succedent()) {
+                collectPositions(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false),
+                    positions);
+            }
+
+            int found = 0;
+            for (PosInOccurrence pos : positions) {
+                final List<NoPosTacletApp> expected = new ArrayList<>();
+                for (NoPosTacletApp app : rewriteTaclets) {
+                    if (app.matchFind(pos, services) != null) {
+                        expected.add(app);
+                    }
+                }
+                final Set<String> actual =
+                    names(index.getRewriteTaclet(pos, TacletFilter.TRUE, services));
+                assertEquals(names(expected), actual, "taclets at " + pos);
+                found += actual.size();
+            }
+            assertTrue(found > 0);
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -8,14 +8,18 @@ import de.uka.ilkd.key.ldt.JavaDLTheory;
 import de.uka.ilkd.key.logic.JTerm;
 import de.uka.ilkd.key.logic.TermBuilder;
 import de.uka.ilkd.key.logic.op.JFunction;
+import de.uka.ilkd.key.logic.op.LogicVariable;
 import de.uka.ilkd.key.logic.sort.SortImpl;
 import de.uka.ilkd.key.rule.TacletForTests;
 
 import org.key_project.logic.Name;
+import org.key_project.logic.PosInTerm;
 import org.key_project.logic.op.Function;
 import org.key_project.logic.sort.Sort;
+import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.sequent.Semisequent;
 import org.key_project.prover.sequent.SemisequentChangeInfo;
+import org.key_project.prover.sequent.Sequent;
 import org.key_project.prover.sequent.SequentFormula;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -322,6 +326,94 @@ public class TestSemisequent {
         assertEquals(expected, extract(sci), "Both semisequents should be equal.");
     }
 
+    /**
+     * the formula {@code \forall name; name >= bound}
+     */
+    private static SequentFormula quantified(String name, int bound) {
+        final TermBuilder tb = TacletForTests.services().getTermBuilder();
+        final Sort intSort =
+            TacletForTests.services().getTypeConverter().getIntegerLDT().targetSort();
+        final LogicVariable x = new LogicVariable(new Name(name), intSort);
+        return new SequentFormula(tb.all(x, tb.geq(tb.var(x), tb.zTerm(bound))));
+    }
+
+    /**
+     * Semisequents with many formulas use an index for the redundancy check, which must give the
+     * same results as comparing with all formulas.
+     */
+    @Test
+    void testLargeSemisequent() {
+        final int n = 50;
+        final SequentFormula[] formulas = new SequentFormula[n];
+        Semisequent seq = JavaDLSequentKit.emptySemisequent();
+        for (int i = 0; i < n; i++) {
+            formulas[i] = quantified("x" + i, i);
+            seq = extract(seq.insertLast(formulas[i]));
+        }
+        assertEquals(n, seq.size());
+
+        // redundant modulo renaming
+        final SequentFormula renamed = quantified("y", 7);
+        SemisequentChangeInfo sci = seq.insert(3, renamed);
+        assertFalse(sci.hasChanged());
+        assertEquals(ImmutableSLList.singleton(renamed), sci.rejectedFormulas());
+        assertSame(seq.asList(), sci.getFormulaList());
+
+        // not redundant, inserted in the middle
+        final SequentFormula fresh = quantified("y", n);
+        sci = seq.insert(3, fresh);
+        assertTrue(sci.hasChanged());
+        final Semisequent inserted = extract(sci);
+        assertEquals(n + 1, inserted.size());
+        assertSame(fresh, inserted.get(3));
+        assertSame(formulas[3], inserted.get(4));
+        assertTrue(inserted.contains(fresh));
+        assertFalse(inserted.contains(renamed));
+        assertTrue(inserted.containsEqual(new SequentFormula(fresh.formula())));
+
+        // replacing a formula by a renaming of itself is no redundancy
+        final SequentFormula renamed10 = quantified("z", 10);
+        final Semisequent replaced = extract(seq.replace(10, renamed10));
+        assertEquals(n, replaced.size());
+        assertSame(renamed10, replaced.get(10));
+        assertFalse(replaced.contains(formulas[10]));
+
+        // a removed formula can be added again
+        final Semisequent removed = extract(seq.remove(20));
+        assertFalse(removed.contains(formulas[20]));
+        assertFalse(removed.containsEqual(formulas[20]));
+        assertTrue(removed.insertFirst(quantified("z", 20)).hasChanged());
+        assertFalse(removed.insertFirst(quantified("z", 21)).hasChanged());
+    }
+
+    /**
+     * The index of a semisequent is passed on through the changes of a sequent.
+     */
+    @Test
+    void testLargeSequentChanges() {
+        final int n = 40;
+        Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+        for (int i = 0; i < n; i++) {
+            seq = seq.addFormula(quantified("x" + i, i), false, i % 2 == 0).sequent();
+        }
+        assertEquals(n, seq.succedent().size());
+        for (int i = 0; i < n; i++) {
+            assertFalse(seq.addFormula(quantified("y", i), false, true).hasChanged());
+        }
+        for (int i = 0; i < n; i += 2) {
+            seq = seq.removeFormula(new PosInOccurrence(seq.succedent().getFirst(),
+                PosInTerm.getTopLevel(), false)).sequent();
+        }
+        assertEquals(n / 2, seq.succedent().size());
+        int readded = 0;
+        for (int i = 0; i < n; i++) {
+            if (seq.addFormula(quantified("y", i), false, false).hasChanged()) {
+                readded++;
+            }
+        }
+        assertEquals(n / 2, readded);
+    }
+
     @Test
     void constructorTest() {
         var a = JavaDLSequentKit.emptySemisequent();
@@ -0,0 +1,101 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.proof.io.RuleSource;
+import de.uka.ilkd.key.proof.io.RuleSourceFactory;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TacletBaseCache}.
+ */
+class TacletBaseCacheTest {
+    private static final String RULES = """
+            \\sorts { S; }
+            \\predicates { p(S); }
+            \\schemaVariables { \\formula phi; \\term S s; }
+            \\rules {
+                notNot { \\find(!!phi) \\replacewith(phi) };
+                allP { \\find(\\forall s; p(s)) \\replacewith(true) \\heuristics(simplify) };
+            }
+            """;
+
+    @TempDir
+    Path tmp;
+
+    private RuleSource writeRuleFile(String contents) throws IOException {
+        Path file = tmp.resolve("rules.key");
+        Files.writeString(file, contents);
+        return RuleSourceFactory.initRuleFile(file);
+    }
+
+    @Test
+    void parseTreeReusedUntilFileChanges() throws IOException {
+        TacletBaseCache cache = new TacletBaseCache(null);
+        Map<RuleSource, String> sources = new HashMap<>();
+        RuleSource source = writeRuleFile("\\sorts { S; }");
+        KeyAst.File first = cache.parse(source, sources);
+        assertSame(first, cache.parse(source, sources));
+
+        source = writeRuleFile("\\sorts { S; T; }");
+        assertNotSame(first, cache.parse(source, sources));
+    }
+
+    @Test
+    void parseTreeStoredForNextJvm() throws IOException {
+        Path directory = tmp.resolve("cache");
+        RuleSource source = writeRuleFile(RULES);
+        KeyAst.File parsed = new TacletBaseCache(directory).parse(source, new HashMap<>());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        // a new cache (as in a new JVM) reads the stored parse tree
+        KeyAst.File read = new TacletBaseCache(directory).parse(source, new HashMap<>());
+        assertNotSame(parsed, read);
+        ParserRuleContext expected = ParsingFacade.getParseRuleContext(parsed);
+        ParserRuleContext actual = ParsingFacade.getParseRuleContext(read);
+        assertEquals(expected.toStringTree(), actual.toStringTree());
+        assertEquals(parsed.getText(), read.getText());
+        assertEquals(expected.start.getTokenSource().getSourceName(),
+            actual.start.getTokenSource().getSourceName());
+
+        // a changed file is parsed again
+        source = writeRuleFile(RULES.replace("simplify", "simplify_prop"));
+        read = new TacletBaseCache(directory).parse(source, new HashMap<>());
+        assertTrue(read.getText().contains("simplify_prop"));
+    }
+
+    @Test
+    void snapshotReusedUntilFileChanges() throws IOException {
+        TacletBaseCache cache = new TacletBaseCache(null);
+        Profile profile = new JavaProfile();
+        assertNull(cache.lookup(profile));
+
+        Map<RuleSource, String> sources = new HashMap<>();
+        cache.parse(writeRuleFile("\\sorts { S; }"), sources);
+        InitConfig config = new InitConfig(new Services(profile));
+        cache.store(profile, sources, config);
+        assertSame(config, cache.lookup(profile));
+        // all instances of a profile share the taclet base
+        assertSame(config, cache.lookup(new JavaProfile()));
+
+        writeRuleFile("\\sorts { S; T; }");
+        assertNull(cache.lookup(profile));
+    }
+}
@@ -0,0 +1,94 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BinaryProofFormat}.
+ */
+class BinaryProofFormatTest {
+    private static final Path TESTCASES = HelperClassForTests.TESTCASE_DIRECTORY;
+
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "merge/gcd.closed.proof", "ossRestriction.proof",
+        "smt/unsatCore.proof", "issues/1716/incorrectPolarity.proof" })
+    void roundTrip(String name) throws Exception {
+        final Path file = TESTCASES.resolve(name);
+        final int size = BinaryProofFormat.verifyRoundTrip(file);
+        assertTrue(size < Files.size(file), size + " bytes");
+    }
+
+    @Test
+    void keyFileWithoutProof() throws Exception {
+        final Path key = tmp.resolve("problem.key");
+        Files.writeString(key, "\\problem { true }\n");
+        final Path binary = tmp.resolve("problem" + BinaryProofFormat.EXTENSION);
+        BinaryProofFormat.toBinary(key, binary);
+        final Path text = tmp.resolve("problem.proof");
+        BinaryProofFormat.toText(binary, text);
+        assertEquals(Files.readString(key), Files.readString(text));
+    }
+
+    @Test
+    void corruptedStringLength() {
+        // magic, version 1 and a header of length -1
+        final byte[] negative = { 'K', 'e', 'Y', 'P', 1, -1, -1, -1, -1, 0x0F };
+        assertThrows(IOException.class,
+            () -> BinaryProofFormat.readHeader(new ByteArrayInputStream(negative)));
+        // magic, version 1 and a header of length Integer.MAX_VALUE, but no content
+        final byte[] truncated = { 'K', 'e', 'Y', 'P', 1, -1, -1, -1, -1, 0x07 };
+        assertThrows(IOException.class,
+            () -> BinaryProofFormat.readHeader(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void saveAndLoad() throws Exception {
+        final KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(TESTCASES.resolve("merge/gcd.closed.proof"));
+        final List<String> expected;
+        try {
+            final Proof proof = env.getLoadedProof();
+            assertTrue(proof.closed());
+            expected = HelperClassForTests.appliedRules(proof);
+
+            final Path binary = tmp.resolve("gcd" + BinaryProofFormat.EXTENSION);
+            assertNull(new BinaryProofSaver(proof, binary.toString(),
+                KeYConstants.INTERNAL_VERSION).save());
+            assertTrue(BinaryProofFormat.isBinaryProof(binary));
+        } finally {
+            env.dispose();
+        }
+
+        final KeYEnvironment<DefaultUserInterfaceControl> loaded =
+            KeYEnvironment.load(tmp.resolve("gcd" + BinaryProofFormat.EXTENSION));
+        try {
+            final Proof proof = loaded.getLoadedProof();
+            assertTrue(proof.closed());
+            assertEquals(expected, HelperClassForTests.appliedRules(proof));
+        } finally {
+            loaded.dispose();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.JavaProfile;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a streaming replay (see {@link StreamingProofFileParser}) produces the same proof
+ * as the replay of the completely parsed intermediate tree.
+ */
+class StreamingProofReplayTest {
+    private static final Path TESTCASES = HelperClassForTests.TESTCASE_DIRECTORY;
+
+    private static SingleThreadProblemLoader load(Path file, boolean streaming, int bufferSize)
+            throws Exception {
+        SingleThreadProblemLoader loader = new SingleThreadProblemLoader(file, null, null, null,
+            JavaProfile.getDefaultInstance(), true, new DefaultUserInterfaceControl(null), false,
+            null);
+        loader.setStreamingReplay(streaming, bufferSize);
+        loader.load();
+        return loader;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "merge/gcd.closed.proof",
+        "merge/IndistinguishablePathConditions.twoJoins.proof", "ossRestriction.proof",
+        "issues/1716/incorrectPolarity.proof" })
+    void sameProofAsFullReplay(String name) throws Exception {
+        final Path file = TESTCASES.resolve(name);
+        final SingleThreadProblemLoader expected = load(file, false, 0);
+        final List<String> expectedRules = HelperClassForTests.appliedRules(expected.getProof());
+        final int expectedErrors = expected.getResult().getErrorList().size();
+        final boolean expectedClosed = expected.getProof().closed();
+        expected.getProof().dispose();
+
+        // a buffer of a single node forces the parser to wait for the replay all the time
+        for (int bufferSize : new int[] { 1, 4096 }) {
+            final SingleThreadProblemLoader actual = load(file, true, bufferSize);
+            final Proof proof = actual.getProof();
+            assertEquals(expectedRules, HelperClassForTests.appliedRules(proof));
+            assertEquals(expectedClosed, proof.closed());
+            assertEquals(expectedErrors, actual.getResult().getErrorList().size(),
+                actual.getResult().getErrorList().toString());
+            proof.dispose();
+        }
+    }
+}
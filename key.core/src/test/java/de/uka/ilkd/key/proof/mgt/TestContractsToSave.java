@@ -0,0 +1,74 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.mgt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.speclang.Contract;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that proof obligations only depend on the contracts that are saved with their proofs.
+ */
+public class TestContractsToSave {
+    private static final Path DL_CONTRACTS =
+        Paths.get("../key.ui/examples/standard_key/java_dl/DLContractChooser/example.key");
+
+    private static final String COUNTER = """
+            public class Counter {
+                public int value;
+
+                /*@ public normal_behavior
+                  @ ensures value == \\old(value) + 1;
+                  @ assignable value;
+                  @*/
+                public void inc() { value++; }
+            }
+            """;
+
+    @Test
+    public void testDLContractsAreSaved() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(DL_CONTRACTS);
+        try {
+            SpecificationRepository specRepos = env.getServices().getSpecificationRepository();
+            ImmutableList<Contract> toSave = specRepos.getContractsToSave();
+            assertEquals(2, toSave.size(), toSave.toString());
+            for (Contract contract : toSave) {
+                assertTrue(contract.toBeSaved());
+                assertTrue(specRepos.getAllContracts().contains(contract));
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testJMLContractsAreNotSaved(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("Counter.java"), COUNTER);
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(dir);
+        try {
+            SpecificationRepository specRepos = env.getServices().getSpecificationRepository();
+            assertFalse(specRepos.getAllContracts().isEmpty());
+            assertTrue(specRepos.getContractsToSave().isEmpty());
+
+            Contract contract = specRepos.getAllContracts().iterator().next();
+            Proof proof = env.createProof(contract.createProofObl(env.getInitConfig(), contract));
+            assertFalse(proof.header().contains("\\contracts"), proof.header());
+            proof.dispose();
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import de.uka.ilkd.key.prover.impl.AutoModeProfiler.Category;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link AutoModeProfiler}.
+ */
+class AutoModeProfilerTest {
+    private static String json(AutoModeProfiler profiler) throws IOException {
+        StringWriter out = new StringWriter();
+        profiler.writeJson(out, "test \"proof\"");
+        return out.toString();
+    }
+
+    private static List<String> foldedStacks(AutoModeProfiler profiler) throws IOException {
+        StringWriter out = new StringWriter();
+        profiler.writeFoldedStacks(out);
+        return Arrays.asList(out.toString().split("\n"));
+    }
+
+    @Test
+    void framesOnlyRecordedWhileRunning() throws IOException {
+        AutoModeProfiler profiler = new AutoModeProfiler();
+        assertFalse(profiler.enterFrame(Category.TACLET, "andLeft"));
+
+        assertTrue(profiler.start());
+        assertFalse(profiler.start(), "nested start must not reset the profiler");
+        assertTrue(profiler.enterFrame(Category.TACLET, "andLeft"));
+        profiler.exitFrame();
+        profiler.stop();
+
+        assertFalse(profiler.isRunning());
+        assertFalse(profiler.enterFrame(Category.TACLET, "andLeft"));
+        assertTrue(json(profiler).contains("\"andLeft\": { \"autoMode\": { \"count\": 1"));
+    }
+
+    @Test
+    void framesAreAttributedToPhases() throws IOException {
+        AutoModeProfiler profiler = new AutoModeProfiler();
+        profiler.start();
+        for (int i = 0; i < 3; i++) {
+            profiler.enterFrame(Category.PHASE, AutoModeProfiler.PHASE_COST);
+            profiler.enterFrame(Category.TACLET, "andLeft");
+            profiler.enterFrame(Category.RULE_SET, "alpha");
+            profiler.exitFrame();
+            profiler.exitFrame();
+            profiler.exitFrame();
+        }
+        profiler.enterFrame(Category.PHASE, AutoModeProfiler.PHASE_APPLY);
+        profiler.enterFrame(Category.TACLET, "andLeft");
+        profiler.exitFrame();
+        profiler.record(Category.RULE_SET, "alpha", 42);
+        profiler.exitFrame();
+        profiler.stop();
+
+        String json = json(profiler);
+        assertTrue(json.startsWith("{\n  \"title\": \"test \\\"proof\\\"\""), json);
+        assertTrue(json.contains("\"andLeft\": { \"apply\": { \"count\": 1"), json);
+        assertTrue(json.contains("\"cost\": { \"count\": 3"), json);
+        assertTrue(json.contains("\"alpha\": { \"apply\": { \"count\": 1, \"timeNs\": 42 }"),
+            json);
+        assertTrue(json.contains("\"features\": {}"), json);
+
+        List<String> stacks = foldedStacks(profiler);
+        assertEquals(5, stacks.size(), stacks.toString());
+        assertTrue(stacks.stream().anyMatch(
+            s -> s.matches("autoMode;cost;taclet:andLeft;ruleSet:alpha \\d+")), stacks.toString());
+        assertTrue(stacks.stream().anyMatch(s -> s.matches("autoMode;apply;taclet:andLeft \\d+")),
+            stacks.toString());
+    }
+
+    @Test
+    void selfTimeExcludesNestedFrames() throws Exception {
+        AutoModeProfiler profiler = new AutoModeProfiler();
+        profiler.start();
+        profiler.enterFrame(Category.FEATURE, "outer");
+        profiler.enterFrame(Category.FEATURE, "inner");
+        Thread.sleep(20);
+        profiler.exitFrame();
+        profiler.exitFrame();
+        profiler.stop();
+
+        long outer = -1;
+        long inner = -1;
+        for (String stack : foldedStacks(profiler)) {
+            long time = Long.parseLong(stack.substring(stack.lastIndexOf(' ') + 1));
+            if (stack.startsWith("autoMode;feature:outer;feature:inner ")) {
+                inner = time;
+            } else if (stack.startsWith("autoMode;feature:outer ")) {
+                outer = time;
+            }
+        }
+        assertTrue(inner >= 20_000_000L, "inner: " + inner);
+        assertTrue(outer >= 0 && outer < inner, "outer: " + outer);
+    }
+}
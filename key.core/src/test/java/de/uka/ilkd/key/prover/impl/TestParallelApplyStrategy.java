@@ -0,0 +1,57 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that preparing open goals concurrently in {@link ApplyStrategy} does not change the
+ * resulting proof.
+ */
+class TestParallelApplyStrategy {
+    private static final Path PROBLEM = FindResources.getTestResourcesDirectory()
+            .resolve("de/uka/ilkd/key/rule/intSemantics/java/mJavaWrong.key");
+
+    @Test
+    void sameProofWithWorkers() throws ProblemLoaderException {
+        final List<String> sequential = runAutoMode(1);
+        final List<String> parallel = runAutoMode(4);
+        assertEquals(sequential, parallel);
+    }
+
+    private static List<String> runAutoMode(int workers) throws ProblemLoaderException {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM);
+        try {
+            Proof proof = env.getLoadedProof();
+            new ApplyStrategy(new DefaultGoalChooser(), workers).start(proof,
+                proof.openGoals());
+            final List<String> appliedRules = new ArrayList<>();
+            collectAppliedRules(proof.root(), appliedRules);
+            return appliedRules;
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static void collectAppliedRules(Node node, List<String> appliedRules) {
+        appliedRules.add(node.getAppliedRuleApp() == null ? "<open>"
+                : node.getAppliedRuleApp().rule().name().toString());
+        for (int i = 0; i < node.childrenCount(); i++) {
+            collectAppliedRules(node.child(i), appliedRules);
+        }
+    }
+}
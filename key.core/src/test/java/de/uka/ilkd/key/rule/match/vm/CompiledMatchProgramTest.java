@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.prover.rules.instantiation.AssumesFormulaInstSeq;
+import org.key_project.prover.rules.instantiation.AssumesFormulaInstantiation;
+import org.key_project.prover.rules.instantiation.MatchResultInfo;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test of {@link CompiledMatchProgram} against the interpreted match programs.
+ */
+public class CompiledMatchProgramTest {
+
+    private static void collectSubterms(JTerm term, List<JTerm> terms) {
+        terms.add(term);
+        for (JTerm sub : term.subs()) {
+            collectSubterms(sub, terms);
+        }
+    }
+
+    private static void assertSameResult(MatchResultInfo expected, MatchResultInfo actual,
+            String message) {
+        if (expected == null) {
+            assertNull(actual, message);
+        } else {
+            assertNotNull(actual, message);
+            assertEquals(expected.getInstantiations(), actual.getInstantiations(), message);
+        }
+    }
+
+    /**
+     * Matches the find and assumes formulas of all taclets of a proof against all subterms of
+     * an open goal with both backends, which must produce the same match results.
+     */
+    @Test
+    public void testSameMatchResults() throws Exception {
+        final Path file =
+            HelperClassForTests.TESTCASE_DIRECTORY.resolve("proofStarter/CC/project.key");
+        final KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setMaxRuleApplications(200);
+            ps.start();
+            assertFalse(proof.openGoals().isEmpty());
+
+            final Services services = proof.getServices();
+            final Goal goal = proof.openGoals().head();
+            final List<JTerm> terms = new ArrayList<>();
+            ImmutableList<AssumesFormulaInstantiation> formulas = ImmutableSLList.nil();
+            for (SequentFormula sf : goal.sequent().antecedent()) {
+                collectSubterms((JTerm) sf.formula(), terms);
+                formulas = formulas.prepend(new AssumesFormulaInstSeq(goal.sequent(), true, sf));
+            }
+            for (SequentFormula sf : goal.sequent().succedent()) {
+                collectSubterms((JTerm) sf.formula(), terms);
+                formulas = formulas.prepend(new AssumesFormulaInstSeq(goal.sequent(), false, sf));
+            }
+
+            int compiled = 0;
+            int matches = 0;
+            for (NoPosTacletApp app : goal.indexOfTaclets().allNoPosTacletApps()) {
+                final Taclet taclet = app.taclet();
+                final VMTacletMatcher interpreted = new VMTacletMatcher(taclet, false);
+                final VMTacletMatcher compiledMatcher = new VMTacletMatcher(taclet, true);
+
+                if (taclet instanceof FindTaclet findTaclet) {
+                    if (CompiledMatchProgram.compile(findTaclet.find()) != null) {
+                        compiled++;
+                    }
+                    for (JTerm term : terms) {
+                        final MatchResultInfo expected = interpreted.matchFind(term,
+                            MatchConditions.EMPTY_MATCHCONDITIONS, services);
+                        final MatchResultInfo actual = compiledMatcher.matchFind(term,
+                            MatchConditions.EMPTY_MATCHCONDITIONS, services);
+                        assertSameResult(expected, actual, taclet.name() + " on " + term);
+                        if (expected != null) {
+                            matches++;
+                        }
+                    }
+                }
+
+                for (SequentFormula assumes : taclet.assumesSequent()) {
+                    final ImmutableList<MatchResultInfo> expected =
+                        interpreted.matchAssumes(formulas, assumes.formula(),
+                            MatchConditions.EMPTY_MATCHCONDITIONS, services).matchConditions();
+                    final ImmutableList<MatchResultInfo> actual =
+                        compiledMatcher.matchAssumes(formulas, assumes.formula(),
+                            MatchConditions.EMPTY_MATCHCONDITIONS, services).matchConditions();
+                    assertEquals(expected.size(), actual.size(), taclet.name().toString());
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertSameResult(expected.take(i).head(), actual.take(i).head(),
+                            taclet.name() + " assumes " + assumes);
+                    }
+                }
+            }
+            assertTrue(compiled > 0);
+            assertTrue(matches > 0);
+        } finally {
+            env.dispose();
+        }
+    }
+}
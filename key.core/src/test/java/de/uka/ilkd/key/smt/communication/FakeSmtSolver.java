@@ -0,0 +1,114 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A minimal stand-in for an incremental SMT solver reading SMT-LIB commands from stdin. It
+ * answers {@code (check-sat)} with {@code unsat} iff {@code (assert false)} is part of the current
+ * assertion stack and supports {@code push}, {@code pop}, {@code reset}, {@code echo} and
+ * {@code :print-success}. Redeclaring a symbol declared in the current assertion stack is
+ * answered with an error. Every start of the process is logged to the file given as the only
+ * argument.
+ */
+public final class FakeSmtSolver {
+    private final Deque<List<String>> assertionStack = new ArrayDeque<>();
+    private final Deque<List<String>> declarationStack = new ArrayDeque<>();
+    private final PrintStream out;
+    private boolean printSuccess;
+
+    private FakeSmtSolver(PrintStream out) {
+        this.out = out;
+        assertionStack.push(new ArrayList<>());
+        declarationStack.push(new ArrayList<>());
+    }
+
+    public static void main(String[] args) throws IOException {
+        Files.writeString(Path.of(args[0]), "started\n", StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+        FakeSmtSolver solver = new FakeSmtSolver(
+            new PrintStream(new FileOutputStream(FileDescriptor.out), true,
+                StandardCharsets.UTF_8));
+        Reader in = new InputStreamReader(System.in, StandardCharsets.UTF_8);
+        StringBuilder command = new StringBuilder();
+        int depth = 0;
+        boolean comment = false;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (comment) {
+                comment = c != '\n';
+                continue;
+            }
+            if (c == ';' && depth == 0) {
+                comment = true;
+                continue;
+            }
+            if (depth == 0 && c != '(') {
+                continue;
+            }
+            command.append((char) c);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                if (!solver.execute(command.toString().trim())) {
+                    return;
+                }
+                command.setLength(0);
+            }
+        }
+    }
+
+    private boolean execute(String command) {
+        if (command.startsWith("(exit")) {
+            return false;
+        } else if (command.startsWith("(echo")) {
+            out.println(command.substring(command.indexOf('"') + 1, command.lastIndexOf('"')));
+            return true;
+        } else if (command.startsWith("(check-sat")) {
+            boolean unsat =
+                assertionStack.stream().anyMatch(level -> level.contains("(assert false)"));
+            out.println(unsat ? "unsat" : "sat");
+            return true;
+        } else if (command.startsWith("(get-unsat-core") || command.startsWith("(get-model")) {
+            out.println("()");
+            return true;
+        } else if (command.startsWith("(push")) {
+            assertionStack.push(new ArrayList<>());
+            declarationStack.push(new ArrayList<>());
+        } else if (command.startsWith("(pop")) {
+            assertionStack.pop();
+            declarationStack.pop();
+        } else if (command.startsWith("(reset")) {
+            assertionStack.clear();
+            assertionStack.push(new ArrayList<>());
+            declarationStack.clear();
+            declarationStack.push(new ArrayList<>());
+            printSuccess = false;
+        } else if (command.startsWith("(declare-")) {
+            String symbol = command.split("[\\s()]+")[2];
+            if (declarationStack.stream().anyMatch(level -> level.contains(symbol))) {
+                out.println("(error \"symbol already declared: " + symbol + "\")");
+                return true;
+            }
+            declarationStack.peek().add(symbol);
+        } else if (command.startsWith("(set-option :print-success true")) {
+            printSuccess = true;
+        } else if (command.startsWith("(assert")) {
+            assertionStack.peek().add(command);
+        }
+        if (printSuccess) {
+            out.println("success");
+        }
+        return true;
+    }
+}
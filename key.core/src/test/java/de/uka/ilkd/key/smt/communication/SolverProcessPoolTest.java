@@ -0,0 +1,169 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the reuse of solver processes by {@link SolverProcessPool} using {@link FakeSmtSolver}.
+ */
+public class SolverProcessPoolTest {
+    private static final String PREAMBLE =
+        "; --- Preamble\n(set-option :print-success true)\n(set-logic ALL)\n";
+
+    private static final String[] DELIMITERS = { "\n", "\r" };
+
+    @TempDir
+    Path tmp;
+
+    private Path launchLog;
+
+    private String[] command;
+
+    private SolverProcessPool pool;
+
+    @BeforeEach
+    void setUp() {
+        launchLog = tmp.resolve("launches.txt");
+        command = new String[] { Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", System.getProperty("java.class.path"), FakeSmtSolver.class.getName(),
+            launchLog.toString() };
+        pool = new SolverProcessPool(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private SolverCommunication solve(String preamble, String assertion)
+            throws IOException, InterruptedException {
+        return solve(preamble, "(declare-fun x () Int)\n", assertion);
+    }
+
+    private SolverCommunication solve(String preamble, String declarations, String assertion)
+            throws IOException, InterruptedException {
+        String problem = preamble + ModularSMTLib2Translator.DECLARATIONS_HEADER + "\n"
+            + declarations + "\n" + ModularSMTLib2Translator.AXIOMS_HEADER + "\n" + assertion
+            + "\n(check-sat)";
+        String[] parts = PooledSolverProcess.splitProblem(problem,
+            ModularSMTLib2Translator.DECLARATIONS_HEADER, ModularSMTLib2Translator.AXIOMS_HEADER);
+        SolverCommunication sc = new SolverCommunication();
+        PooledSolverProcess process = pool.acquire(command, DELIMITERS);
+        try {
+            Pipe pipe = process.openSession(sc, parts[0], parts[1]);
+            pipe.sendMessage(parts[2]);
+            AbstractSolverSocket socket = new Z3Socket("Fake", null);
+            String msg;
+            while ((msg = pipe.readMessage()) != null) {
+                socket.messageIncoming(pipe, msg);
+            }
+        } finally {
+            pool.release(process);
+        }
+        return sc;
+    }
+
+    private static boolean sent(SolverCommunication sc, String text) {
+        for (SolverCommunication.Message m : sc
+                .getMessages(SolverCommunication.MessageType.INPUT)) {
+            if (m.content().contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void reusesProcessAndPreamble() throws Exception {
+        SolverCommunication first = solve(PREAMBLE, "(assert false)");
+        assertEquals(SMTSolverResult.ThreeValuedTruth.VALID, first.getFinalResult().isValid());
+        assertTrue(sent(first, "(set-logic ALL)"));
+
+        SolverCommunication second = solve(PREAMBLE, "(assert (= x 1))");
+        assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+            second.getFinalResult().isValid());
+        assertFalse(sent(second, "(set-logic ALL)"), "preamble must only be sent once");
+        assertFalse(sent(second, "(declare-fun x"), "declarations must only be sent once");
+
+        // the assertions of the first problem must have been popped
+        SolverCommunication third = solve(PREAMBLE, "(assert (= x 2))");
+        assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+            third.getFinalResult().isValid());
+
+        assertEquals(1, Files.readAllLines(launchLog).size());
+    }
+
+    @Test
+    void resetsOnDifferentPreamble() throws Exception {
+        solve(PREAMBLE, "(assert false)");
+        SolverCommunication other =
+            solve(PREAMBLE + "(declare-sort T 0)\n", "(assert (= x 1))");
+        assertTrue(sent(other, "(reset)"));
+        assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+            other.getFinalResult().isValid());
+        assertEquals(1, Files.readAllLines(launchLog).size());
+    }
+
+    @Test
+    void concurrentUseStartsNewProcess() throws Exception {
+        PooledSolverProcess busy = pool.acquire(command, DELIMITERS);
+        try {
+            busy.openSession(new SolverCommunication(), PREAMBLE, "");
+            PooledSolverProcess other = pool.acquire(command, DELIMITERS);
+            assertNotSame(busy, other);
+            pool.release(other);
+        } finally {
+            // released while a session is open: must not be reused
+            pool.release(busy);
+        }
+        assertFalse(busy.isReusable());
+    }
+
+    @Test
+    void sendsOnlyNewDeclarations() throws Exception {
+        solve(PREAMBLE, "(assert (= x 1))");
+        SolverCommunication second = solve(PREAMBLE,
+            "(declare-fun x () Int)\n(declare-fun |y z| () Int)\n", "(assert false)");
+        assertTrue(sent(second, "(declare-fun |y z|"));
+        assertFalse(sent(second, "(declare-fun x"));
+        assertFalse(sent(second, "(reset)"));
+        assertEquals(SMTSolverResult.ThreeValuedTruth.VALID, second.getFinalResult().isValid());
+        assertEquals(1, Files.readAllLines(launchLog).size());
+    }
+
+    @Test
+    void resetsOnConflictingDeclaration() throws Exception {
+        solve(PREAMBLE, "(assert false)");
+        SolverCommunication other = solve(PREAMBLE, "(declare-fun x () Bool)\n", "(assert x)");
+        assertTrue(sent(other, "(reset)"));
+        assertTrue(sent(other, "(declare-fun x () Bool)"));
+        assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+            other.getFinalResult().isValid());
+        assertEquals(1, Files.readAllLines(launchLog).size());
+    }
+
+    @Test
+    void splitsDeclarations() {
+        assertEquals(List.of("(declare-fun |a)| () Int)", "(define-fun b () String \")\"\"\")"),
+            PooledSolverProcess.splitCommands(
+                "; comment (\n(declare-fun |a)| () Int)\n(define-fun b () String \")\"\"\")"));
+        assertEquals("|a)|", PooledSolverProcess.declaredSymbol("(declare-fun |a)| () Int)"));
+        assertEquals("b", PooledSolverProcess.declaredSymbol("(declare-const b Int)"));
+        assertNull(PooledSolverProcess.declaredSymbol("(assert b)"));
+    }
+}
@@ -0,0 +1,78 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.newsmt2;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.SMTSettings;
+
+import org.key_project.logic.sort.Sort;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that problems of the same proof can be translated in parallel and that the translations
+ * do not depend on the information cached by previous translations.
+ */
+public class TestParallelTranslation {
+
+    private static final Path testCaseDirectory =
+        Objects.requireNonNull(FindResources.getTestCasesDirectory());
+
+    @Test
+    public void testParallelTranslation() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(testCaseDirectory.resolve("smt/subsort1.key"));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Proof proof = env.getLoadedProof();
+            Services services = proof.getServices();
+            Sequent sequent = proof.root().sequent();
+            SMTSettings settings = new DefaultSMTSettings(proof.getSettings().getSMTSettings(),
+                ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+                proof.getSettings().getNewSMTSettings(), proof);
+            ModularSMTLib2Translator translator = new ModularSMTLib2Translator();
+
+            Sort string = services.getJavaInfo().getKeYJavaType("java.lang.String").getSort();
+            assertNull(services.getCaches().getSMTSuperSortsCache().get(string));
+
+            String first = translator.translateProblem(sequent, services, settings).toString();
+            assertTrue(first.contains("sort_java.lang.String"));
+            assertEquals(string.extendsSorts(services),
+                services.getCaches().getSMTSuperSortsCache().get(string));
+
+            // translations using the cached super sorts are the same
+            assertEquals(first,
+                translator.translateProblem(sequent, services, settings).toString());
+
+            List<Future<String>> translations = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                translations.add(pool.submit(
+                    () -> translator.translateProblem(sequent, services, settings).toString()));
+            }
+            for (Future<String> translation : translations) {
+                assertEquals(first, translation.get());
+            }
+        } finally {
+            pool.shutdownNow();
+            env.dispose();
+        }
+    }
+}
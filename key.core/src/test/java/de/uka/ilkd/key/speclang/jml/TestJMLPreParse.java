@@ -0,0 +1,108 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.speclang.jml;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.JavaInfo;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.logic.op.IProgramMethod;
+import de.uka.ilkd.key.speclang.SpecificationElement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that pre-parsing the JML comments does not change the extracted specifications.
+ */
+public class TestJMLPreParse {
+    private static final String ACCOUNT = """
+            public class Account {
+                //@ public invariant balance >= 0;
+                public int balance;
+                //@ public static invariant count >= 0;
+                public static int count;
+
+                /*@ public normal_behavior
+                  @ requires amount > 0;
+                  @ ensures balance == \\old(balance) + amount;
+                  @ assignable balance;
+                  @*/
+                public void deposit(int amount) { balance += amount; }
+
+                /*@ public normal_behavior
+                  @ ensures \\result == balance;
+                  @*/
+                public /*@ pure @*/ int getBalance() { return balance; }
+
+                /*@ public normal_behavior
+                  @ ensures balance == 0;
+                  @*/
+                public Account() { }
+            }
+            """;
+
+    private static final String LEDGER = """
+            public interface Ledger {
+                /*@ public normal_behavior
+                  @ requires a != null;
+                  @ ensures \\result >= 0;
+                  @*/
+                public int total(Account a);
+            }
+            """;
+
+    @Test
+    public void testSameSpecifications(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("Account.java"), ACCOUNT);
+        Files.writeString(dir.resolve("Ledger.java"), LEDGER);
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(dir);
+        try {
+            JavaInfo javaInfo = env.getServices().getJavaInfo();
+            List<KeYJavaType> kjts = List.of(javaInfo.getKeYJavaType("Account"),
+                javaInfo.getKeYJavaType("Ledger"));
+
+            JMLSpecExtractor parsed = new JMLSpecExtractor(env.getInitConfig());
+            JMLSpecExtractor preParsed = new JMLSpecExtractor(env.getInitConfig());
+            preParsed.preParse(kjts);
+
+            List<String> expected = extract(parsed, javaInfo, kjts);
+            assertTrue(expected.size() > 5, "specifications are missing: " + expected);
+            assertEquals(expected, extract(preParsed, javaInfo, kjts));
+            assertEquals(parsed.getWarnings(), preParsed.getWarnings());
+
+            // the pre-parsed method comments are modified during extraction, so extracting the
+            // specifications again must parse them again
+            assertEquals(expected, extract(preParsed, javaInfo, kjts));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static List<String> extract(JMLSpecExtractor extractor, JavaInfo javaInfo,
+            List<KeYJavaType> kjts) throws Exception {
+        List<String> result = new ArrayList<>();
+        for (KeYJavaType kjt : kjts) {
+            for (SpecificationElement spec : extractor.extractClassSpecs(kjt)) {
+                result.add(spec.toString());
+            }
+            List<IProgramMethod> methods = new ArrayList<>();
+            javaInfo.getAllProgramMethodsLocallyDeclared(kjt).forEach(methods::add);
+            javaInfo.getConstructors(kjt).forEach(methods::add);
+            for (IProgramMethod pm : methods) {
+                for (SpecificationElement spec : extractor.extractMethodSpecs(pm, true)) {
+                    result.add(spec.toString());
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -65,6 +65,10 @@ public abstract class DefaultProver<Proof extends ProofObject<Goal>, Goal extend
     /// A strategy component that selects the next goal to be processed.
     protected @Nullable GoalChooser<Proof, Goal> goalChooser;
 
+    /// If set, the next rule applications of open goals are prepared concurrently by this
+    /// component before a goal is worked on; `null` means all work is done by the prover thread.
+    protected @Nullable ParallelGoalPreparer<Goal> goalPreparer;
+
     /// This is currently a hook method for the JavaDL prover as according to a
     /// comment the built-in-rule index is not updated when rules are applied.
     ///
@@ -163,6 +167,11 @@ public abstract class DefaultProver<Proof extends ProofObject<Goal>, Goal extend
                 return new SingleRuleApplicationInfo(message, g, null);
             }
 
+            if (goalPreparer != null) {
+                assert proof != null : "@AssumeAssertion(nullness): proof cannot be null";
+                goalPreparer.prepare(g, proof.openGoals());
+            }
+
             app = g.getRuleAppManager().next();
 
             app = updateBuiltInRuleIndex(g, app);
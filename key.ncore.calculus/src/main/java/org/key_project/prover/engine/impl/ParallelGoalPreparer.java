@@ -0,0 +1,118 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.prover.engine.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.key_project.prover.proof.ProofGoal;
+import org.key_project.prover.strategy.RuleApplicationManager;
+
+import org.jspecify.annotations.Nullable;
+
+/// Prepares the next rule applications of several open goals concurrently using a pool of
+/// worker threads (see [RuleApplicationManager#prepareNext()]).
+///
+/// The preparer is used by [DefaultProver] in order to work on independent goals at the same
+/// time: whenever the [org.key_project.prover.engine.GoalChooser] selects a goal which has not
+/// been prepared yet, this goal and up to `batchSize - 1` further open goals are prepared by the
+/// workers. The prover waits until the whole batch has been prepared and then continues to select
+/// and apply rules sequentially. Hence, all modifications of the proof (tree, namespaces, goal
+/// list) are still performed by the prover thread in the order determined by the goal chooser,
+/// which keeps the result independent of the number of workers.
+///
+/// @param <Goal> the type of [ProofGoal] instances prepared
+public final class ParallelGoalPreparer<Goal extends @Nullable ProofGoal<Goal>> {
+
+    /// the worker threads preparing the goals
+    private final ExecutorService workers;
+
+    /// the maximal number of goals prepared at once
+    private final int batchSize;
+
+    /// maps each prepared goal to its time (see [ProofGoal#getTime()]) at preparation
+    private final Map<Goal, Long> prepared = new IdentityHashMap<>();
+
+    /// Creates a new preparer.
+    ///
+    /// @param workers the [ExecutorService] executing the preparation tasks
+    /// @param batchSize the maximal number of goals prepared at once
+    public ParallelGoalPreparer(ExecutorService workers, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but is " + batchSize);
+        }
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    /// Forgets about all previously prepared goals. To be called whenever the prover starts
+    /// working on a (new) proof.
+    public void reset() {
+        prepared.clear();
+    }
+
+    /// Ensures that the given goal has been prepared at its current time. If this is not the
+    /// case, the goal is prepared together with further not yet prepared goals taken from
+    /// `candidates`.
+    ///
+    /// @param goal the goal whose next rule application is about to be determined
+    /// @param candidates the open goals that may be prepared in the same batch
+    public void prepare(Goal goal, Iterable<? extends Goal> candidates) {
+        if (isPrepared(goal)) {
+            return;
+        }
+
+        final List<Goal> batch = new ArrayList<>(batchSize);
+        batch.add(goal);
+        for (Goal candidate : candidates) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            if (candidate != goal && !isPrepared(candidate)) {
+                batch.add(candidate);
+            }
+        }
+
+        final List<Callable<@Nullable Void>> tasks = new ArrayList<>(batch.size());
+        for (Goal g : batch) {
+            tasks.add(() -> {
+                g.getRuleAppManager().prepareNext();
+                return null;
+            });
+        }
+
+        try {
+            for (Future<@Nullable Void> res : workers.invokeAll(tasks)) {
+                res.get();
+            }
+        } catch (InterruptedException e) {
+            // restore the flag, the prover checks it after the current rule application
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+
+        for (Goal g : batch) {
+            prepared.put(g, g.getTime());
+        }
+    }
+
+    private boolean isPrepared(Goal goal) {
+        final Long time = prepared.get(goal);
+        return time != null && time == goal.getTime();
+    }
+}
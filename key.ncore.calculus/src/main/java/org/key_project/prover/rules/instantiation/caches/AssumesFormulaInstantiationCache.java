@@ -3,9 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.prover.rules.instantiation.caches;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.key_project.prover.rules.instantiation.AssumesFormulaInstantiation;
 import org.key_project.prover.sequent.Semisequent;
@@ -23,28 +21,27 @@ public final class AssumesFormulaInstantiationCache {
     private final LRUCache<Integer, Pair<Semisequent, ImmutableArray<AssumesFormulaInstantiation>>> succCache =
         new LRUCache<>(50);
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ReadLock readLock = lock.readLock();
-    private final WriteLock writeLock = lock.writeLock();
+    // lookups reorder the entries of the LRU caches, hence even reads need exclusive access
+    private final ReentrantLock lock = new ReentrantLock();
 
     public @Nullable ImmutableArray<AssumesFormulaInstantiation> get(boolean antec, Semisequent s) {
         try {
-            readLock.lock();
+            lock.lock();
             final Pair<Semisequent, ImmutableArray<AssumesFormulaInstantiation>> p =
                 (antec ? antecCache : succCache).get(System.identityHashCode(s));
             return p != null && p.first == s ? p.second : null;
         } finally {
-            readLock.unlock();
+            lock.unlock();
         }
     }
 
     public void put(boolean antec, Semisequent s,
             ImmutableArray<AssumesFormulaInstantiation> value) {
         try {
-            writeLock.lock();
+            lock.lock();
             (antec ? antecCache : succCache).put(System.identityHashCode(s), new Pair<>(s, value));
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
     }
 }
@@ -0,0 +1,86 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.prover.sequent;
+
+import org.key_project.util.collection.HashTrie;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.jspecify.annotations.Nullable;
+
+/// A persistent index of the formulas of a [Semisequent], grouping them by their
+/// [redundancy hash code][Semisequent#redundancyHashCode(SequentFormula)]. A formula can only be
+/// redundant with respect to the formulas in its bucket, so redundancy checks and lookups do not
+/// have to traverse the whole semisequent.
+///
+/// Formulas are identified by reference, like in the formula list of the semisequent.
+final class FormulaIndex {
+    /// the index without formulas
+    static final FormulaIndex EMPTY = new FormulaIndex(HashTrie.empty(), 0);
+
+    /// the formulas, by their redundancy hash code
+    private final HashTrie<Integer, ImmutableList<SequentFormula>> buckets;
+
+    /// the number of formulas in the index
+    private final int size;
+
+    private FormulaIndex(HashTrie<Integer, ImmutableList<SequentFormula>> buckets, int size) {
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    /// @return the number of formulas in the index
+    int size() {
+        return size;
+    }
+
+    /// @param hash a redundancy hash code
+    /// @return the formulas with the given redundancy hash code
+    ImmutableList<SequentFormula> bucket(int hash) {
+        final @Nullable ImmutableList<SequentFormula> bucket = buckets.get(hash);
+        return bucket == null ? ImmutableSLList.nil() : bucket;
+    }
+
+    /// @param sf the formula to look for
+    /// @param hash the redundancy hash code of the formula
+    /// @return true iff the index contains the formula (identity check)
+    boolean contains(SequentFormula sf, int hash) {
+        for (SequentFormula f : bucket(hash)) {
+            if (f == sf) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// @param sf the formula to add, must not be contained in the index
+    /// @param hash the redundancy hash code of the formula
+    /// @return an index containing the formulas of this index and the given formula
+    FormulaIndex add(SequentFormula sf, int hash) {
+        return new FormulaIndex(buckets.put(hash, bucket(hash).prepend(sf)), size + 1);
+    }
+
+    /// @param sf the formula to remove
+    /// @param hash the redundancy hash code of the formula
+    /// @return an index containing the formulas of this index except for the given one (this
+    /// index if it does not contain the formula)
+    FormulaIndex remove(SequentFormula sf, int hash) {
+        ImmutableList<SequentFormula> rest = bucket(hash);
+        final var skipped = new SequentFormula[rest.size()];
+        int n = 0;
+        while (!rest.isEmpty() && rest.head() != sf) {
+            skipped[n++] = rest.head();
+            rest = rest.tail();
+        }
+        if (rest.isEmpty()) {
+            return this;
+        }
+        ImmutableList<SequentFormula> newBucket = rest.tail();
+        while (n > 0) {
+            newBucket = newBucket.prepend(skipped[--n]);
+        }
+        return new FormulaIndex(
+            newBucket.isEmpty() ? buckets.remove(hash) : buckets.put(hash, newBucket), size - 1);
+    }
+}
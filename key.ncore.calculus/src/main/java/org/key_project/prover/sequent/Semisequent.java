@@ -12,11 +12,23 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 /// Implements a redundancy free list of sequent formulas
+///
+/// Semisequents with at least [#INDEX_THRESHOLD] formulas index their formulas by their
+/// [#redundancyHashCode(SequentFormula)], so that the redundancy check on insertion only compares
+/// the new formula with the formulas of equal hash code. The index is persistent and passed on to
+/// the resulting semisequent via the [SemisequentChangeInfo]; the order of the formulas is not
+/// affected by it.
 public abstract class Semisequent implements Iterable<SequentFormula> {
 
+    /// the minimal number of formulas of a semisequent for which the formulas are indexed
+    static final int INDEX_THRESHOLD = Integer.getInteger("key.semisequent.indexThreshold", 16);
+
     /// list with the [SequentFormula]s of the [Semisequent]
     private final ImmutableList<SequentFormula> seqList;
 
+    /// index of the formulas of [#seqList], computed on demand, see [#index()]
+    private @Nullable FormulaIndex index;
+
     /// Create a new [Semisequent] from an ordered collection of formulas.
     /// The provided list must be redundancy free, i.e., the created sequent must be exactly
     /// the same as when creating the sequent by subsequently inserting all formulas
@@ -69,6 +81,46 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
     protected abstract boolean isRedundant(SequentFormula existingFormula,
             SequentFormula checkedFormula);
 
+    /// Computes a hash code of the given formula which is consistent with
+    /// [#isRedundant(SequentFormula, SequentFormula)], i.e., if a formula is redundant with
+    /// respect to another formula, both formulas must have the same redundancy hash code.
+    ///
+    /// @param sequentFormula the formula
+    /// @return the redundancy hash code of the formula
+    protected abstract int redundancyHashCode(SequentFormula sequentFormula);
+
+    /// Returns the index of the formulas of this semisequent. The index is only built for
+    /// semisequents of at least [#INDEX_THRESHOLD] formulas, but smaller semisequents keep the
+    /// index they have taken over from their change information (see [#adoptIndex]).
+    ///
+    /// @return the index of the formulas of this semisequent, or null if there is none
+    private @Nullable FormulaIndex index() {
+        FormulaIndex result = index;
+        if (result == null && seqList.size() >= INDEX_THRESHOLD) {
+            result = FormulaIndex.EMPTY;
+            for (SequentFormula sf : seqList) {
+                if (sf == null) {
+                    return null;
+                }
+                result = result.add(sf, sf.redundancyHashCode(this));
+            }
+            index = result;
+        }
+        return result;
+    }
+
+    /// Takes over the formula index of the given change information if it describes exactly the
+    /// formulas of this semisequent. Called when the semisequent resulting from a change is
+    /// created, so that the index does not have to be rebuilt.
+    ///
+    /// @param semiCI the change information this semisequent has been created from
+    void adoptIndex(SemisequentChangeInfo semiCI) {
+        // the empty semisequent may be shared, it does not need an index anyway
+        if (index == null && !seqList.isEmpty() && semiCI.getFormulaList() == seqList) {
+            index = semiCI.index();
+        }
+    }
+
     /// Inserts a new [SequentFormula] at index `idx` and removes redundant formulas.
     /// This implementation removes only duplicates but the original idea was to realize backward
     /// and forward subsumption.
@@ -87,6 +139,10 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
     protected SemisequentChangeInfo insertAndRemoveRedundancyHelper(int idx,
             SequentFormula sequentFormula, SemisequentChangeInfo semiCI,
             @Nullable FormulaChangeInfo fci) {
+        final FormulaIndex index = semiCI.index();
+        if (index != null && sequentFormula != null) {
+            return insertIndexed(idx, sequentFormula, semiCI, fci, index);
+        }
         // Search for equivalent formulas and weakest constraint
         ImmutableList<SequentFormula> searchList = semiCI.getFormulaList();
         final var newSeqList = new SequentFormula[searchList.size()];
@@ -130,6 +186,50 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
         return semiCI;
     }
 
+    /// Variant of [#insertAndRemoveRedundancyHelper] for change information with a formula index.
+    /// Only the formulas in the bucket of the new formula are checked for redundancy; the result
+    /// is the same as that of the linear search.
+    ///
+    /// @param idx the position of the new formula
+    /// @param sequentFormula the [SequentFormula] to be inserted
+    /// @param semiCI the change information to be updated
+    /// @param fci the change information of the replaced formula, or null if the formula is new
+    /// @param index the index of the formulas of `semiCI`
+    /// @return the updated change information
+    private SemisequentChangeInfo insertIndexed(int idx, SequentFormula sequentFormula,
+            SemisequentChangeInfo semiCI, @Nullable FormulaChangeInfo fci, FormulaIndex index) {
+        final int hash = sequentFormula.redundancyHashCode(this);
+        for (SequentFormula sf : index.bucket(hash)) {
+            if (isRedundant(sf, sequentFormula)) {
+                semiCI.rejectedFormula(sequentFormula);
+                return semiCI; // semisequent already contains formula
+            }
+        }
+
+        if (fci == null) {
+            semiCI.addedFormula(idx, sequentFormula);
+        } else {
+            semiCI.modifiedFormula(idx, fci);
+        }
+
+        final ImmutableList<SequentFormula> orig = semiCI.getFormulaList();
+        int pos = Math.min(idx, orig.size());
+        ImmutableList<SequentFormula> result = orig.take(pos).prepend(sequentFormula);
+        final var prefix = new SequentFormula[pos];
+        ImmutableList<SequentFormula> rest = orig;
+        for (int i = 0; i < pos; i++) {
+            prefix[i] = rest.head();
+            rest = rest.tail();
+        }
+        while (pos > 0) {
+            --pos;
+            result = result.prepend(prefix[pos]);
+        }
+
+        semiCI.setFormulaList(result, index.add(sequentFormula, hash));
+        return semiCI;
+    }
+
     /// A factory method to provide an entry point to allow subclasses to create more specific
     /// change information if necessary. At the moment final (if flexibility needed, remove the
     /// final
@@ -140,7 +240,11 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
     /// @return a fresh change information object
     protected final SemisequentChangeInfo createSemisequentChangeInfo(
             ImmutableList<SequentFormula> seqList) {
-        return new SemisequentChangeInfo(seqList);
+        final SemisequentChangeInfo sci = new SemisequentChangeInfo(seqList);
+        if (seqList == this.seqList) {
+            sci.setFormulaList(seqList, index());
+        }
+        return sci;
     }
 
     /// Inserts new [SequentFormula]s starting at index `idx` and removes duplicates,
@@ -338,6 +442,11 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
 
         // create change info object
         final SemisequentChangeInfo sci = createSemisequentChangeInfo(newList);
+        final FormulaIndex formulaIndex = index();
+        if (formulaIndex != null && removedFormula != null) {
+            sci.setFormulaList(newList,
+                formulaIndex.remove(removedFormula, removedFormula.redundancyHashCode(this)));
+        }
         sci.removedFormula(idx, removedFormula);
 
         return sci;
@@ -380,6 +489,10 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
     /// @param sequentFormula the [SequentFormula] to look for
     /// @return true iff. sequentFormula has been found in this [Semisequent]
     public boolean contains(SequentFormula sequentFormula) {
+        final FormulaIndex index = this.index;
+        if (index != null && sequentFormula != null) {
+            return index.contains(sequentFormula, sequentFormula.redundancyHashCode(this));
+        }
         return indexOf(sequentFormula) != -1;
     }
 
@@ -388,6 +501,11 @@ public abstract class Semisequent implements Iterable<SequentFormula> {
     /// @param sequentFormula the [SequentFormula] to look for
     /// @return true iff. sequentFormula has been found in this [Semisequent]
     public boolean containsEqual(SequentFormula sequentFormula) {
+        final FormulaIndex index = this.index;
+        if (index != null && sequentFormula != null) {
+            // equal formulas are redundant, hence they have the same redundancy hash code
+            return index.bucket(sequentFormula.redundancyHashCode(this)).contains(sequentFormula);
+        }
         return seqList.contains(sequentFormula);
     }
 }
@@ -6,6 +6,8 @@ package org.key_project.prover.sequent;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
+import org.jspecify.annotations.Nullable;
+
 public class SemisequentChangeInfo {
     /// contains the added formulas to the semisequent
     private ImmutableList<SequentFormula> added = ImmutableSLList.nil();
@@ -18,6 +20,8 @@ public class SemisequentChangeInfo {
     /// contains formulas that have been tried to add, but which have been rejected due to already
     /// existing formulas in the sequent subsuming these formulas
     private ImmutableList<SequentFormula> rejected = ImmutableSLList.nil();
+    /// the index of the formulas of [#modifiedSemisequent] if known, see [FormulaIndex]
+    private @Nullable FormulaIndex index;
 
     ///
     private int lastFormulaIndex = -1;
@@ -36,6 +40,7 @@ public class SemisequentChangeInfo {
         this.modifiedSemisequent = o.modifiedSemisequent;
         this.rejected = o.rejected;
         this.lastFormulaIndex = o.lastFormulaIndex;
+        this.index = o.index;
     }
 
     public SemisequentChangeInfo copy() {
@@ -55,6 +60,22 @@ public class SemisequentChangeInfo {
     /// operation
     public void setFormulaList(ImmutableList<SequentFormula> list) {
         modifiedSemisequent = list;
+        index = null;
+    }
+
+    /// sets the list of formulas of the semisequent after the operation together with their index
+    ///
+    /// @param list the formulas of the semisequent
+    /// @param index the index of exactly the formulas in `list`, or null if not known
+    void setFormulaList(ImmutableList<SequentFormula> list, @Nullable FormulaIndex index) {
+        modifiedSemisequent = list;
+        this.index = index;
+    }
+
+    /// @return the index of the formulas of [#getFormulaList()], or null if not known
+    @Nullable
+    FormulaIndex index() {
+        return index;
     }
 
     /// returns the list of constrained formula of the new semisequent
@@ -184,6 +205,7 @@ public class SemisequentChangeInfo {
 
         predecessor.lastFormulaIndex = succ.lastFormulaIndex;
         predecessor.modifiedSemisequent = succ.modifiedSemisequent;
+        predecessor.index = succ.index;
     }
 
     /// returns the index of the last added formula
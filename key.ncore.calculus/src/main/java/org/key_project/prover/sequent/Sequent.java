@@ -168,7 +168,7 @@ public abstract class Sequent implements Iterable<SequentFormula>, SyntaxElement
             first ? seq.insertFirst(sequentFormula) : seq.insertLast(sequentFormula);
 
         return SequentChangeInfo.createSequentChangeInfo(inAntecedent, semiCI,
-            composeSequent(inAntecedent, createSemisequent(semiCI.getFormulaList())),
+            composeSequent(inAntecedent, createSemisequent(semiCI)),
             this);
     }
 
@@ -199,7 +199,7 @@ public abstract class Sequent implements Iterable<SequentFormula>, SyntaxElement
             first ? seq.insertFirst(insertions) : seq.insertLast(insertions);
 
         return SequentChangeInfo.createSequentChangeInfo(inAntecedent, semiCI,
-            composeSequent(inAntecedent, createSemisequent(semiCI.getFormulaList())),
+            composeSequent(inAntecedent, createSemisequent(semiCI)),
             this);
     }
 
@@ -256,7 +256,7 @@ public abstract class Sequent implements Iterable<SequentFormula>, SyntaxElement
 
         return SequentChangeInfo.createSequentChangeInfo(pos.isInAntec(), semiCI,
             composeSequent(pos.isInAntec(),
-                createSemisequent(semiCI.getFormulaList())),
+                createSemisequent(semiCI)),
             this);
     }
 
@@ -268,7 +268,9 @@ public abstract class Sequent implements Iterable<SequentFormula>, SyntaxElement
     ///
     /// @return a [Semisequent] representing the semisequent described by the change object
     private Semisequent createSemisequent(SemisequentChangeInfo semiCI) {
-        return createSemisequent(semiCI.getFormulaList());
+        final Semisequent result = createSemisequent(semiCI.getFormulaList());
+        result.adoptIndex(semiCI);
+        return result;
     }
 
     /// Creates a new [Semisequent] composed of the list of formulas proved as argument
@@ -373,7 +375,7 @@ public abstract class Sequent implements Iterable<SequentFormula>, SyntaxElement
         final SemisequentChangeInfo semiCI = getSemisequent(p).replace(p, newCF);
 
         return SequentChangeInfo.createSequentChangeInfo(p.isInAntec(), semiCI,
-            composeSequent(p.isInAntec(), createSemisequent(semiCI.getFormulaList())),
+            composeSequent(p.isInAntec(), createSemisequent(semiCI)),
             this);
     }
 
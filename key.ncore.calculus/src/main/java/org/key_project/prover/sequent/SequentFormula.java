@@ -23,6 +23,9 @@ public class SequentFormula {
     /// Cached value for [#hashCode()].
     private final int hashCode;
 
+    /// Cached value for [#redundancyHashCode(Semisequent)], computed on demand.
+    private @Nullable RedundancyHash redundancyHash;
+
     /// creates a new SequentFormula
     ///
     /// @param term a formula
@@ -55,4 +58,25 @@ public class SequentFormula {
     public int hashCode() {
         return hashCode;
     }
+
+    /// Returns the [redundancy hash code][Semisequent#redundancyHashCode(SequentFormula)] of
+    /// this formula as defined by the given semisequent. The value is cached per kind of
+    /// semisequent, as it is needed whenever the formula is inserted into or removed from a large
+    /// semisequent.
+    ///
+    /// @param semisequent the semisequent defining the redundancy check
+    /// @return the redundancy hash code of this formula
+    int redundancyHashCode(Semisequent semisequent) {
+        final Class<?> kind = semisequent.getClass();
+        RedundancyHash cached = redundancyHash;
+        if (cached == null || cached.kind != kind) {
+            cached = new RedundancyHash(kind, semisequent.redundancyHashCode(this));
+            redundancyHash = cached;
+        }
+        return cached.hash;
+    }
+
+    /// A redundancy hash code and the kind of semisequent it was computed for.
+    private record RedundancyHash(Class<?> kind, int hash) {
+    }
 }
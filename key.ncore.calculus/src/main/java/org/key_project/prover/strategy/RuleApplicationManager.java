@@ -29,6 +29,15 @@ public interface RuleApplicationManager<G extends @Nullable ProofGoal<G>> extend
     /// @return the next rule that is supposed to be applied
     RuleApp next();
 
+    /// Performs the goal-local preparatory work of [#peekNext()] ahead of time, e.g., building the
+    /// queue of rule application candidates, without determining the next rule application itself.
+    ///
+    /// The automatic prover may call this method for several goals concurrently from worker
+    /// threads while no rule is applied to any goal of the proof. Implementations must therefore
+    /// only modify state belonging to their own goal and must ensure that a subsequent call of
+    /// [#peekNext()] yields the same result as without preparation.
+    default void prepareNext() {}
+
     /// Set the goal <code>this</code> is the rule app manager for
     void setGoal(G p_goal);
 
@@ -23,6 +23,15 @@ public class Namespace<E extends Named> {
     /// The map that maps a name to a symbols of that name if it is defined in this Namespace.
     private @Nullable Map<Name, E> symbols;
 
+    /// Whether [#symbols] is shared with a [copy][#copy()] of this namespace (or with the
+    /// namespace this one is a copy of). A shared map is copied before it is modified, so
+    /// copying a namespace is cheap as long as the original and the copy are only read.
+    ///
+    /// The flag is only accessed while holding the lock of this namespace: [#copy()] and all
+    /// modifications of [#symbols] are synchronized, so that a modification of the original
+    /// cannot write into the map the copy has just started to share.
+    private boolean symbolsShared;
+
     /// A namespace can be made immutable, this is called "sealing". This flag indicates whether
     /// this
     /// namespace has been sealed or not.
@@ -51,8 +60,9 @@ public class Namespace<E extends Named> {
     /// only contain a single element; no need to allocate a hash map. The hash map is only created
     /// when the 2nd element is added.
     ///
-    /// This is not threadsafe.
-    public void add(E sym) {
+    /// Lookups are not synchronized with additions, so a namespace must not be read while it is
+    /// modified by another thread. Copying it while it is modified is safe.
+    public synchronized void add(E sym) {
 
         if (sealed) {
             LOGGER.warn("Namespace is SEALED");
@@ -68,11 +78,9 @@ public class Namespace<E extends Named> {
 
         if (symbols == null) {
             symbols = Collections.singletonMap(sym.name(), sym);
+            symbolsShared = false;
         } else {
-            if (symbols.size() == 1) {
-                symbols = new LinkedHashMap<>(symbols);
-            }
-            symbols.put(sym.name(), sym);
+            writableSymbols().put(sym.name(), sym);
         }
 
     }
@@ -109,12 +117,28 @@ public class Namespace<E extends Named> {
     /// Removal is not delegated to the parent namespace.
     ///
     /// @param name non-null name whose symbol is to be removed.
-    public void remove(Name name) {
-        if (symbols != null) {
-            symbols.remove(name);
+    public synchronized void remove(Name name) {
+        if (symbols != null && symbols.containsKey(name)) {
+            writableSymbols().remove(name);
         }
     }
 
+    /// Returns the local symbol map for modification. The map is copied first if it is shared
+    /// with another namespace or is an (immutable) singleton map.
+    private Map<Name, E> writableSymbols() {
+        Map<Name, E> result = symbols;
+        if (result == null) {
+            result = new LinkedHashMap<>();
+        } else if (symbolsShared || result.size() == 1) {
+            result = new LinkedHashMap<>(result);
+        } else {
+            return result;
+        }
+        symbols = result;
+        symbolsShared = false;
+        return result;
+    }
+
     protected @Nullable E lookupLocally(Name name) {
         if (symbols != null) {
             return symbols.get(name);
@@ -196,18 +220,23 @@ public class Namespace<E extends Named> {
         return res + "]";
     }
 
-    public Namespace<E> copy() {
+    /// Creates a copy of this namespace with the same parent. The local symbols are shared
+    /// between this namespace and the copy until one of them is modified.
+    public synchronized Namespace<E> copy() {
         Namespace<E> copy = new Namespace<>(parent);
         if (symbols != null) {
-            copy.add(symbols.values());
+            copy.symbols = symbols;
+            copy.symbolsShared = true;
+            symbolsShared = true;
         }
 
         return copy;
     }
 
-    private void reset() {
+    private synchronized void reset() {
         parent = null;
         symbols = null;
+        symbolsShared = false;
     }
 
     public <T extends E> void set(ImmutableSet<T> names) {
@@ -246,7 +275,7 @@ public class Namespace<E extends Named> {
         return lookup(var.name()) == var;
     }
 
-    public void flushToParent() {
+    public synchronized void flushToParent() {
         if (parent == null) {
             return;
         }
@@ -258,6 +287,7 @@ public class Namespace<E extends Named> {
         }
         // all symbols are contained in parent now ... we are empty again.
         symbols = null;
+        symbolsShared = false;
     }
 
 }
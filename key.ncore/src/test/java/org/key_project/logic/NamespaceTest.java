@@ -0,0 +1,72 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.logic;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamespaceTest {
+
+    private record Sym(Name name) implements Named {
+        Sym(String name) {
+            this(new Name(name));
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        Namespace<Sym> ns = new Namespace<>();
+        Sym a = new Sym("a");
+        Sym b = new Sym("b");
+        ns.add(List.of(a, b));
+
+        Namespace<Sym> copy = ns.copy();
+        assertSame(a, copy.lookup("a"));
+        assertSame(b, copy.lookup("b"));
+
+        // modifications of the copy are not visible in the original ...
+        Sym c = new Sym("c");
+        copy.add(c);
+        copy.remove(a.name());
+        assertSame(c, copy.lookup("c"));
+        assertNull(copy.lookup("a"));
+        assertNull(ns.lookup("c"));
+        assertSame(a, ns.lookup("a"));
+
+        // ... and vice versa
+        Sym d = new Sym("d");
+        ns.add(d);
+        assertSame(d, ns.lookup("d"));
+        assertNull(copy.lookup("d"));
+        assertEquals(List.of(b, c), List.copyOf(copy.elements()));
+        assertEquals(List.of(a, b, d), List.copyOf(ns.elements()));
+    }
+
+    @Test
+    void testCopyOfCopy() {
+        Namespace<Sym> parent = new Namespace<>();
+        Sym p = new Sym("p");
+        parent.add(p);
+        Namespace<Sym> ns = new Namespace<>(parent);
+        Sym a = new Sym("a");
+        ns.add(a);
+
+        Namespace<Sym> copy1 = ns.copy();
+        Namespace<Sym> copy2 = copy1.copy();
+        copy1.add(new Sym("x"));
+        copy2.remove(a.name());
+
+        assertSame(parent, copy2.parent());
+        assertSame(p, copy2.lookup("p"));
+        assertNull(copy2.lookup("a"));
+        assertNull(copy2.lookup("x"));
+        assertNotNull(copy1.lookup("x"));
+        assertSame(a, copy1.lookup("a"));
+        assertSame(a, ns.lookup("a"));
+        assertNull(ns.lookup("x"));
+    }
+}
@@ -0,0 +1,348 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.core;
+
+import java.io.PrintStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.macros.ProofMacro;
+import de.uka.ilkd.key.macros.SkipMacro;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.Statistics;
+import de.uka.ilkd.key.proof.init.JavaProfile;
+import de.uka.ilkd.key.proof.init.Profile;
+import de.uka.ilkd.key.proof.io.AbstractProblemLoader.ReplayResult;
+import de.uka.ilkd.key.scripts.ProofScriptEngine;
+import de.uka.ilkd.key.speclang.Contract;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies a list of problems (.key, .proof and .java files or directories) in one JVM, such that
+ * the JVM start, the parsing of the taclet base and the JIT warm-up are paid only once.
+ * <p>
+ * The problems are read line by line (empty lines and lines starting with {@code #} are skipped)
+ * and verified by a pool of worker threads as soon as they are read, so the list may also be
+ * streamed, e.g., via standard input. For each problem, a result record in JSON format (one line
+ * per problem) is printed when the problem has been verified. Since the problems are verified in
+ * parallel, the order of the records may differ from the order of the problems.
+ * <p>
+ * For a .key or .proof file, the loaded proof is completed by its proof script, the chosen macro
+ * or the auto mode. For Java sources, proofs for all contracts are created and run in auto mode.
+ * <p>
+ * Only the proofs run in parallel: the problems are loaded one after another, since
+ * {@link de.uka.ilkd.key.proof.init.ProblemInitializer#prepare} holds a global lock while reading
+ * a problem (the generated parsers of schema Java and of recoder are static).
+ */
+public final class BatchProver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchProver.class);
+
+    /**
+     * The status of a verified problem.
+     */
+    public enum Status {
+        /** all proofs of the problem are closed */
+        CLOSED,
+        /** at least one proof of the problem is open */
+        OPEN,
+        /** the problem has been loaded successfully, but not proven (load-only mode) */
+        LOADED,
+        /** the problem could not be loaded or verified */
+        ERROR
+    }
+
+    /**
+     * The result record of a problem.
+     *
+     * @param file the problem file
+     * @param status the status of the problem
+     * @param proofs the number of proofs of the problem
+     * @param closedProofs the number of closed proofs
+     * @param openGoals the number of open goals (in all proofs)
+     * @param nodes the number of proof steps (in all proofs)
+     * @param branches the number of branches (in all proofs)
+     * @param loadTime the time in milliseconds to load the problem
+     * @param proofTime the time in milliseconds to run the proofs
+     * @param error the error message, if the problem could not be loaded or verified
+     */
+    public record Result(Path file, Status status, int proofs, int closedProofs, int openGoals,
+            int nodes, int branches, long loadTime, long proofTime, @Nullable String error) {
+
+        /**
+         * @return the successful status of the problem: all proofs closed or, in load-only mode,
+         *         the problem loaded
+         */
+        public boolean isSuccessful() {
+            return status == Status.CLOSED || status == Status.LOADED;
+        }
+
+        /**
+         * @return this record as JSON object in one line
+         */
+        public String toJson() {
+            StringBuilder sb = new StringBuilder("{");
+            sb.append("\"file\":").append(jsonString(file.toString()));
+            sb.append(",\"status\":").append(jsonString(status.name().toLowerCase(Locale.ROOT)));
+            sb.append(",\"proofs\":").append(proofs);
+            sb.append(",\"closedProofs\":").append(closedProofs);
+            sb.append(",\"openGoals\":").append(openGoals);
+            sb.append(",\"nodes\":").append(nodes);
+            sb.append(",\"branches\":").append(branches);
+            sb.append(",\"loadTimeMillis\":").append(loadTime);
+            sb.append(",\"proofTimeMillis\":").append(proofTime);
+            if (error != null) {
+                sb.append(",\"error\":").append(jsonString(error));
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+    /**
+     * the number of problems verified in parallel
+     */
+    private final int threads;
+
+    /**
+     * whether the problems are only loaded
+     */
+    private final boolean loadOnly;
+
+    /**
+     * creates the macro to apply to loaded proofs without proof script
+     */
+    private final Supplier<ProofMacro> macro;
+
+    /**
+     * The profile of each worker thread if problems are verified in parallel. The one step
+     * simplifier is part of the profile and can only work on one proof at a time, thus each worker
+     * loads the problems (not declaring a profile) with its own profile. The taclet base is read
+     * only once and shared by the profiles of all workers.
+     */
+    private final ThreadLocal<Profile> workerProfile = ThreadLocal.withInitial(JavaProfile::new);
+
+    /**
+     * Creates a new batch prover.
+     *
+     * @param threads the number of problems verified in parallel
+     * @param loadOnly whether the problems are only loaded (not proven)
+     * @param macro creates the macro to apply to loaded proofs without proof script (a
+     *        {@link SkipMacro} to run the auto mode)
+     */
+    public BatchProver(int threads, boolean loadOnly, Supplier<ProofMacro> macro) {
+        this.threads = Math.max(threads, 1);
+        this.loadOnly = loadOnly;
+        this.macro = macro;
+    }
+
+    /**
+     * Verifies the given problems and prints their result records. The problems are consumed
+     * lazily, i.e., each problem is submitted to the workers as soon as it is provided.
+     *
+     * @param problems the problem files, typically the lines of a list of problems
+     * @param out the stream to print the result records to
+     * @return the number of problems that were not verified successfully
+     * @throws InterruptedException if the thread is interrupted while waiting for the workers
+     */
+    public int run(Stream<String> problems, PrintStream out) throws InterruptedException {
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "BatchProver-worker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> pending = new ArrayList<>();
+            for (Iterator<String> it = problems.iterator(); it.hasNext();) {
+                String line = it.next().strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final Path file;
+                try {
+                    file = Path.of(line);
+                } catch (InvalidPathException e) {
+                    LOGGER.error("Invalid problem file: {}", line);
+                    failed.incrementAndGet();
+                    continue;
+                }
+                pending.add(pool.submit(() -> {
+                    Result result = verify(file);
+                    if (!result.isSuccessful()) {
+                        failed.incrementAndGet();
+                    }
+                    synchronized (out) {
+                        out.println(result.toJson());
+                        out.flush();
+                    }
+                }));
+            }
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // verify() reports all exceptions in the result record
+                    LOGGER.error("Batch worker failed", e.getCause());
+                    failed.incrementAndGet();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return failed.get();
+    }
+
+    /**
+     * Loads and verifies a single problem.
+     *
+     * @param file the problem file
+     * @return the result record of the problem
+     */
+    public Result verify(Path file) {
+        LOGGER.info("Verifying {}", file);
+        long start = System.nanoTime();
+        KeYEnvironment<DefaultUserInterfaceControl> env;
+        try {
+            Profile profile = threads > 1 ? workerProfile.get() : null;
+            env = KeYEnvironment.load(profile, file, null, null, null, false);
+        } catch (Throwable e) {
+            LOGGER.debug("Loading {} failed", file, e);
+            return new Result(file, Status.ERROR, 0, 0, 0, 0, 0, millisSince(start), 0,
+                String.valueOf(e.getMessage()));
+        }
+        long loadTime = millisSince(start);
+        start = System.nanoTime();
+        List<Proof> proofs = new ArrayList<>();
+        String error = null;
+        try {
+            ReplayResult replayResult = env.getReplayResult();
+            if (replayResult != null && replayResult.hasErrors()) {
+                error = String.valueOf(replayResult.getErrorList().get(0).getMessage());
+            }
+            Proof loadedProof = env.getLoadedProof();
+            if (loadedProof != null) {
+                proofs.add(loadedProof);
+                if (!loadOnly && error == null && !loadedProof.closed()) {
+                    prove(env, loadedProof, true);
+                }
+            } else {
+                for (Contract contract : env.getProofContracts()) {
+                    Proof proof =
+                        env.createProof(contract.createProofObl(env.getInitConfig(), contract));
+                    proofs.add(proof);
+                    if (!loadOnly) {
+                        prove(env, proof, false);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            LOGGER.debug("Verifying {} failed", file, e);
+            error = String.valueOf(e.getMessage());
+        }
+        long proofTime = millisSince(start);
+
+        int closed = 0;
+        int openGoals = 0;
+        int nodes = 0;
+        int branches = 0;
+        for (Proof proof : proofs) {
+            if (proof.closed()) {
+                closed++;
+            }
+            openGoals += proof.openGoals().size();
+            Statistics statistics = proof.getStatistics();
+            nodes += statistics.nodes;
+            branches += statistics.branches;
+            proof.dispose();
+        }
+        env.dispose();
+
+        Status status;
+        if (error != null) {
+            status = Status.ERROR;
+        } else if (loadOnly) {
+            status = Status.LOADED;
+        } else {
+            status = closed == proofs.size() && !proofs.isEmpty() ? Status.CLOSED : Status.OPEN;
+        }
+        return new Result(file, status, proofs.size(), closed, openGoals, nodes, branches,
+            loadTime, proofTime, error);
+    }
+
+    /**
+     * Completes the given proof by its proof script, the macro or the auto mode.
+     */
+    private void prove(KeYEnvironment<DefaultUserInterfaceControl> env, Proof proof,
+            boolean runScript) throws Exception {
+        Profile profile = proof.getServices().getProfile();
+        if (threads > 1 && profile != workerProfile.get()) {
+            // the problem declares a profile whose one step simplifier is shared with other
+            // workers, hence proofs of this profile are not run in parallel
+            synchronized (profile) {
+                runProof(env, proof, runScript);
+            }
+        } else {
+            runProof(env, proof, runScript);
+        }
+    }
+
+    private void runProof(KeYEnvironment<DefaultUserInterfaceControl> env, Proof proof,
+            boolean runScript) throws Exception {
+        var script = env.getProofScript();
+        if (runScript && script != null) {
+            new ProofScriptEngine(script).execute(env.getUi(), proof);
+            return;
+        }
+        ProofMacro m = macro.get();
+        if (m instanceof SkipMacro) {
+            env.getProofControl().startAndWaitForAutoMode(proof);
+        } else {
+            m.applyTo(env.getUi(), proof, proof.openEnabledGoals(), null, null);
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
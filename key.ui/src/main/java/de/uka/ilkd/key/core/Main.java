@@ -3,15 +3,20 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.core;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 import javax.xml.parsers.ParserConfigurationException;
 
 import de.uka.ilkd.key.control.UserInterfaceControl;
@@ -105,6 +110,15 @@ public final class Main implements Callable<Integer> {
         description = "disables pruning and goal back in closed branches (saves memory)")
 
     private boolean isNoPruningClosed = false;
+
+    /**
+     * If this option is set, the sequents of the inner nodes of closed subtrees are dropped and
+     * rebuilt on demand. Only effective if pruning in closed branches is disabled.
+     */
+    @Option(names = "--compact-closed",
+        description = "drops the sequents of inner nodes of closed subtrees (saves memory, "
+            + "requires --no-pruning-closed)")
+    private boolean isCompactClosed = false;
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary
      * directories (can be
@@ -154,6 +168,20 @@ public final class Main implements Callable<Integer> {
     private int timeout = -1;
 
 
+    @Option(names = "--batch", paramLabel = "FILE",
+        description = "verify the given files and the problems listed in FILE (one per line, "
+            + "'-' for standard input) in one JVM, printing a JSON result record per problem")
+    private @Nullable String batchFile = null;
+
+    @Option(names = "--batch-threads", paramLabel = "INT",
+        description = "number of problems proven in parallel in batch mode, "
+            + "loading stays sequential (default: 1)")
+    private int batchThreads = 1;
+
+    @Option(names = "--batch-output", paramLabel = "FILE",
+        description = "write the result records of the batch mode to FILE instead of stdout")
+    private @Nullable Path batchOutput = null;
+
     @CommandLine.ArgGroup(
         heading = "Options for justify rules. autoprove taclets (options always with prefix --jr) needs the path to the rule file as argument       The JUSTIFY_RULES option has a number of additional parameters you can set. The following options only apply if --jr-enable is used.")
     private @Nullable LemmataAutoModeOptions justifyRulesOptions;
@@ -254,6 +282,7 @@ public final class Main implements Callable<Integer> {
         }
 
         GeneralSettings.noPruningClosed = isNoPruningClosed;
+        GeneralSettings.compactClosedSubtrees = isCompactClosed;
         GeneralSettings.keepFileRepos = isKeepFileRepos;
 
         // this property overrides the default
@@ -354,6 +383,10 @@ public final class Main implements Callable<Integer> {
             }
         }
 
+        if (batchFile != null) {
+            return runBatch(batchFile);
+        }
+
         AbstractMediatorUserInterfaceControl ui = createUserInterface(inputFiles);
 
         if (inputFiles.isEmpty()) {
@@ -378,6 +411,42 @@ public final class Main implements Callable<Integer> {
         return 0;
     }
 
+    /**
+     * Verifies the input files and the problems listed in the given file in one JVM using a
+     * {@link BatchProver}.
+     *
+     * @param problemList the file listing the problems, {@code -} for standard input
+     * @return the exit code: 0 if all problems were verified successfully, 1 otherwise
+     */
+    private int runBatch(String problemList) throws IOException, InterruptedException {
+        final Class<? extends ProofMacro> macroClass = autoMacro.getClass();
+        BatchProver prover = new BatchProver(batchThreads, loadOnly, () -> {
+            // macros may keep state, hence each proof gets its own instance
+            try {
+                return macroClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        BufferedReader reader = "-".equals(problemList)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(problemList));
+        PrintStream out = batchOutput == null ? System.out
+                : new PrintStream(Files.newOutputStream(batchOutput), true,
+                    StandardCharsets.UTF_8);
+        try (reader) {
+            Stream<String> problems =
+                Stream.concat(inputFiles.stream().map(Path::toString), reader.lines());
+            int failed = prover.run(problems, out);
+            LOGGER.info("Batch mode finished, {} problem(s) not verified", failed);
+            return failed == 0 ? 0 : 1;
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
     private void logInformation() {
         LOGGER.debug("Java Version: {}", System.getProperty("java.version"));
         LOGGER.debug("Java Runtime: {}", System.getProperty("java.specification.version"));
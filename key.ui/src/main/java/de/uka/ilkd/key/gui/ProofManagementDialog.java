@@ -20,7 +20,6 @@ import javax.swing.border.TitledBorder;
 import de.uka.ilkd.key.core.KeYMediator;
 import de.uka.ilkd.key.gui.fonticons.IconFactory;
 import de.uka.ilkd.key.gui.utilities.GuiUtilities;
-import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.java.declaration.InterfaceDeclaration;
 import de.uka.ilkd.key.java.declaration.TypeDeclaration;
@@ -558,13 +557,55 @@ public final class ProofManagementDialog extends JDialog {
     }
 
     private void updateGlobalStatus() {
+        SpecificationRepository specRepos = initConfig.getServices().getSpecificationRepository();
+        ImmutableSet<Proof> allProofs = specRepos.getAllProofs();
+
         // target icons
+        updateTargetIcons(specRepos, allProofs);
+        classTree.updateUI();
 
-        Services services = initConfig.getServices();
-        SpecificationRepository specRepos = services.getSpecificationRepository();
+        // proof list
+        DefaultListModel<ProofWrapper> model = new DefaultListModel<>();
+        for (Proof p : allProofs) {
+            model.add(0, new ProofWrapper(p));
+        }
+        boolean changed;
+        if (model.size() != proofList.getModel().getSize()) {
+            changed = true;
+        } else {
+            changed = false;
+            for (int i = 0, n = model.size(); i < n; i++) {
+                if (!model.get(i).equals(proofList.getModel().getElementAt(i))) {
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (changed) {
+            proofList.setModel(model);
+            proofList.updateUI();
+        }
 
+        // others
+        updateContractPanel();
+        updateStartButton();
+    }
 
-        Set<KeYJavaType> kjts = services.getJavaInfo().getAllKeYJavaTypes();
+    /**
+     * Updates the icons of the targets in the class tree, which show the status of the proofs for
+     * their contracts.
+     *
+     * @param specRepos the specification repository
+     * @param allProofs all proofs of the specification repository
+     */
+    private void updateTargetIcons(SpecificationRepository specRepos,
+            ImmutableSet<Proof> allProofs) {
+        if (allProofs.isEmpty()) {
+            // no target has an icon, there is no need to visit all contracts
+            targetIcons.clear();
+            return;
+        }
+        Set<KeYJavaType> kjts = initConfig.getServices().getJavaInfo().getAllKeYJavaTypes();
         for (KeYJavaType kjt : kjts) {
             // skip library classes, the user isn't shown contracts for them
             if (kjt.getJavaType() instanceof TypeDeclaration
@@ -610,33 +651,6 @@ public final class ProofManagementDialog extends JDialog {
                 }
             }
         }
-        classTree.updateUI();
-
-        // proof list
-        DefaultListModel<ProofWrapper> model = new DefaultListModel<>();
-        for (Proof p : specRepos.getAllProofs()) {
-            model.add(0, new ProofWrapper(p));
-        }
-        boolean changed;
-        if (model.size() != proofList.getModel().getSize()) {
-            changed = true;
-        } else {
-            changed = false;
-            for (int i = 0, n = model.size(); i < n; i++) {
-                if (!model.get(i).equals(proofList.getModel().getElementAt(i))) {
-                    changed = true;
-                    break;
-                }
-            }
-        }
-        if (changed) {
-            proofList.setModel(model);
-            proofList.updateUI();
-        }
-
-        // others
-        updateContractPanel();
-        updateStartButton();
     }
 
 
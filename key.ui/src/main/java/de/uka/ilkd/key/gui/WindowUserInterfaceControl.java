@@ -389,6 +389,8 @@ public class WindowUserInterfaceControl extends AbstractMediatorUserInterfaceCon
             ProofSaver saver;
             if (fc.useCompression()) {
                 saver = new GZipProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
+            } else if (fc.useBinaryFormat()) {
+                saver = new BinaryProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
             } else {
                 saver = new ProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
             }
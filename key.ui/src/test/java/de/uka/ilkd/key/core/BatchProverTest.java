@@ -0,0 +1,73 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.macros.SkipMacro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProverTest {
+    private static final String CONTRAPOSITION =
+        "examples/standard_key/prop_log/contraposition.key";
+    private static final String SIMPLEST = "examples/standard_key/prop_log/simplest.key";
+
+    @Test
+    void testVerify() {
+        BatchProver prover = new BatchProver(1, false, SkipMacro::new);
+        BatchProver.Result result = prover.verify(Path.of(CONTRAPOSITION));
+        assertEquals(BatchProver.Status.CLOSED, result.status(), String.valueOf(result.error()));
+        assertEquals(1, result.proofs());
+        assertEquals(1, result.closedProofs());
+        assertEquals(0, result.openGoals());
+        assertTrue(result.nodes() > 0);
+
+        BatchProver.Result loaded =
+            new BatchProver(1, true, SkipMacro::new).verify(Path.of(CONTRAPOSITION));
+        assertEquals(BatchProver.Status.LOADED, loaded.status());
+        assertTrue(loaded.isSuccessful());
+    }
+
+    @Test
+    void testParallelRun() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        BatchProver prover = new BatchProver(2, false, SkipMacro::new);
+        int failed = prover.run(
+            Stream.of(CONTRAPOSITION, "# a comment", "", SIMPLEST, "does/not/exist.key"), out);
+        assertEquals(1, failed);
+
+        List<String> records = Arrays.asList(bytes.toString(StandardCharsets.UTF_8).split("\\R"));
+        assertEquals(3, records.size());
+        for (String record : records) {
+            assertTrue(record.startsWith("{") && record.endsWith("}"), record);
+            if (record.contains("exist.key")) {
+                assertTrue(record.contains("\"status\":\"error\""), record);
+                assertTrue(record.contains("\"error\":"), record);
+            } else {
+                assertTrue(record.contains("\"status\":\"closed\""), record);
+                assertTrue(record.contains("\"closedProofs\":1"), record);
+            }
+        }
+    }
+
+    @Test
+    void testJson() {
+        BatchProver.Result result = new BatchProver.Result(Path.of("a \"b\".key"),
+            BatchProver.Status.ERROR, 0, 0, 0, 0, 0, 12, 0, "line1\nline2\\");
+        assertEquals("{\"file\":\"a \\\"b\\\".key\",\"status\":\"error\",\"proofs\":0,"
+            + "\"closedProofs\":0,\"openGoals\":0,\"nodes\":0,\"branches\":0,"
+            + "\"loadTimeMillis\":12,\"proofTimeMillis\":0,\"error\":\"line1\\nline2\\\\\"}",
+            result.toJson());
+    }
+}
@@ -0,0 +1,370 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A bounded cache which can be used by several threads at the same time without external
+ * synchronization. In contrast to {@link LRUCache}, reading an entry does not modify the
+ * structure of the cache, so that readers do not block each other.
+ * <br>
+ * <br>
+ * The cache is bounded either by the number of its entries or by their total weight as computed
+ * by a weigher function. If the bound is exceeded, entries are evicted following the CLOCK
+ * (second chance) policy: The entries are kept in insertion order; an entry which has been read
+ * since the eviction process passed it last time is given a second chance and moved to the end,
+ * otherwise it is evicted. This approximates a least recently used order at a much lower cost.
+ * <br>
+ * <br>
+ * The cache counts hits, misses and evictions (see {@link #getStatistics()}), which helps to
+ * choose a suitable bound.
+ * <br>
+ * <br>
+ * Neither keys nor values may be null.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class ConcurrentCache<K, V> {
+    /**
+     * The statistics of a cache.
+     *
+     * @param hits the number of look-ups which found a value
+     * @param misses the number of look-ups which did not find a value
+     * @param evictions the number of entries evicted to stay within the bound
+     * @param size the current number of entries
+     * @param weight the current total weight of the entries
+     */
+    public record Statistics(long hits, long misses, long evictions, int size, long weight) {
+        /**
+         * @return the ratio of successful look-ups (0 if there was no look-up yet)
+         */
+        public double hitRate() {
+            final long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, weight=%d, hits=%d, misses=%d, hit rate=%.2f, "
+                + "evictions=%d", size, weight, hits, misses, hitRate(), evictions);
+        }
+    }
+
+    /**
+     * An entry of the cache. The value and weight of an entry are only changed while holding the
+     * lock of the map for its key.
+     */
+    private static final class Entry<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile long weight;
+        /** whether the entry has been read since the eviction process passed it */
+        private volatile boolean referenced;
+
+        private Entry(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * the number of removed entries the {@link #clock} may contain at least before they are
+     * purged
+     */
+    private static final int MIN_STALE_ENTRIES = 16;
+
+    /**
+     * the entries by their keys
+     */
+    private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+
+    /**
+     * the entries in the order they are visited by the eviction process; may contain entries
+     * which have already been removed from {@link #map}
+     */
+    private final Queue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+
+    /**
+     * the (approximate) number of entries in {@link #clock} which have already been removed from
+     * {@link #map}
+     */
+    private final AtomicInteger stale = new AtomicInteger();
+
+    /**
+     * the lock held while evicting entries, so that only one thread evicts at a time
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * the maximal total weight of the entries
+     */
+    private final long maxWeight;
+
+    /**
+     * computes the weight of an entry
+     */
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * the current total weight of the entries
+     */
+    private final AtomicLong weight = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache bounded by the number of its entries.
+     *
+     * @param maxEntries the maximal number of entries
+     */
+    public ConcurrentCache(int maxEntries) {
+        this(maxEntries, (k, v) -> 1);
+    }
+
+    /**
+     * Creates a cache bounded by the total weight of its entries.
+     *
+     * @param maxWeight the maximal total weight of the entries
+     * @param weigher computes the (non-negative) weight of an entry, it must return the same
+     *        weight for the same key and value
+     */
+    public ConcurrentCache(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximal weight must be positive, but is "
+                + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the value cached for the given key.
+     *
+     * @param key the key
+     * @return the cached value or null if there is none
+     */
+    public @Nullable V get(K key) {
+        final Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value for the given key, replacing the value cached before (if any).
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        insert(key, value, true);
+    }
+
+    /**
+     * Caches the given value for the given key unless there already is a value for it.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the value cached before or null if the given value has been added
+     */
+    public @Nullable V putIfAbsent(K key, V value) {
+        return insert(key, value, false);
+    }
+
+    /**
+     * Returns the value cached for the given key. If there is none, it is computed by the given
+     * function and added to the cache. The function is called without holding any lock, hence
+     * it may be called several times for the same key by different threads, but only one of the
+     * results is cached and returned.
+     *
+     * @param key the key
+     * @param function computes the value for the key
+     * @return the cached value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        final V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final V value = function.apply(key);
+        final V raced = putIfAbsent(key, value);
+        return raced != null ? raced : value;
+    }
+
+    private @Nullable V insert(K key, V value, boolean replace) {
+        final long w = weigher.applyAsLong(key, value);
+        final Object[] previous = new Object[1];
+        final boolean[] added = new boolean[1];
+        final Entry<K, V> entry = map.compute(key, (k, old) -> {
+            if (old == null) {
+                added[0] = true;
+                weight.addAndGet(w);
+                return new Entry<>(k, value, w);
+            }
+            previous[0] = old.value;
+            if (replace) {
+                weight.addAndGet(w - old.weight);
+                old.value = value;
+                old.weight = w;
+            }
+            return old;
+        });
+        if (added[0]) {
+            clock.add(entry);
+        }
+        evictIfNecessary();
+        @SuppressWarnings("unchecked")
+        final V result = (V) previous[0];
+        return result;
+    }
+
+    /**
+     * Removes the value cached for the given key.
+     *
+     * @param key the key
+     */
+    public void remove(K key) {
+        final Entry<K, V> entry = map.remove(key);
+        if (entry != null) {
+            weight.addAndGet(-entry.weight);
+            stale.incrementAndGet();
+            purgeIfNecessary();
+        }
+    }
+
+    /**
+     * Removes all entries. The statistics are kept.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (K key : map.keySet()) {
+                remove(key);
+            }
+            purge();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Purges the removed entries from the clock once they outnumber the remaining entries, so
+     * that the clock does not grow if entries are removed more often than evicted. If another
+     * thread is evicting at the moment, nothing is done, the next removal checks again.
+     */
+    private void purgeIfNecessary() {
+        if (stale.get() > Math.max(map.size(), MIN_STALE_ENTRIES) && evictionLock.tryLock()) {
+            try {
+                purge();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Purges the removed entries from the clock. Must be called holding the eviction lock.
+     */
+    private void purge() {
+        clock.removeIf(e -> {
+            if (map.get(e.key) != e) {
+                stale.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Evicts entries until the bound is respected. If another thread is evicting at the moment,
+     * nothing is done, since that thread checks the bound again before it stops.
+     */
+    private void evictIfNecessary() {
+        boolean progress = true;
+        while (progress && weight.get() > maxWeight && evictionLock.tryLock()) {
+            try {
+                progress = evict();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Evicts entries until the bound is respected or no entry is left in the clock.
+     *
+     * @return false iff the clock has run empty (entries just being added by other threads are
+     *         not in the clock yet, these threads evict afterward)
+     */
+    private boolean evict() {
+        // Every entry gets at most one second chance per call, otherwise threads reading all
+        // entries permanently could prevent any eviction.
+        long secondChances = map.size();
+        while (weight.get() > maxWeight) {
+            final Entry<K, V> entry = clock.poll();
+            if (entry == null) {
+                return false;
+            }
+            if (map.get(entry.key) != entry) {
+                // the entry has already been removed
+                stale.decrementAndGet();
+                continue;
+            }
+            if (entry.referenced && secondChances-- > 0) {
+                entry.referenced = false;
+                clock.add(entry);
+            } else if (map.remove(entry.key, entry)) {
+                weight.addAndGet(-entry.weight);
+                evictions.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of entries in the clock, including removed ones (for tests)
+     */
+    int clockSize() {
+        return clock.size();
+    }
+
+    /**
+     * @return the current number of entries
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return the statistics of this cache
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), map.size(),
+            weight.get());
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentCache[" + getStatistics() + "]";
+    }
+}
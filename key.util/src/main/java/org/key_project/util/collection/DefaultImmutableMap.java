@@ -14,7 +14,12 @@ import org.jspecify.annotations.Nullable;
 
 /**
  * This class implements {@code ImmutableMap<S,T>} and provides a persistent map.
- * It is a simple implementation like lists
+ * It is a simple implementation like lists: each map consists of its most recent entry and the
+ * map it has been derived from. Maps with at least
+ * {@link DefaultImmutableSet#HASH_INDEX_THRESHOLD} entries additionally keep a {@link HashTrie}
+ * of their entries, so that looking up a key takes O(log n) instead of O(n) time and adding an
+ * entry with a new key does not need to search the whole map. Maps with a key which is not
+ * {@link HashTrie#isHashConsistent(Object) hash consistent} are never indexed.
  */
 public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
 
@@ -43,18 +48,53 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      */
     private final int size;
 
+    /**
+     * the entries of this map if it has at least {@link DefaultImmutableSet#HASH_INDEX_THRESHOLD}
+     * entries, null otherwise
+     */
+    private final @Nullable HashTrie<S, T> index;
+
     /** only for use by NILMap */
     private DefaultImmutableMap() {
         this.entry = null;
         this.parent = null;
         this.size = 0;
+        this.index = null;
     }
 
-    /** creates new map with mapping entry and parent map */
+    /**
+     * creates new map with mapping entry and parent map PRECONDITION: the parent map does not
+     * contain the key of the entry
+     */
     private DefaultImmutableMap(ImmutableMapEntry<S, T> entry, DefaultImmutableMap<S, T> parent) {
         this.entry = Objects.requireNonNull(entry);
         this.parent = parent;
         this.size = parent.size + 1;
+        if (parent.index != null) {
+            this.index = HashTrie.isHashConsistent(entry.key())
+                    ? parent.index.put(entry.key(), entry.value())
+                    : null;
+        } else if (size >= DefaultImmutableSet.HASH_INDEX_THRESHOLD) {
+            this.index = createIndex();
+        } else {
+            this.index = null;
+        }
+    }
+
+    /**
+     * creates the index of the entries of this map
+     *
+     * @return the index or null if a key is not hash consistent
+     */
+    private @Nullable HashTrie<S, T> createIndex() {
+        HashTrie<S, T> newIndex = HashTrie.empty();
+        for (ImmutableMapEntry<S, T> e : this) {
+            if (!HashTrie.isHashConsistent(e.key())) {
+                return null;
+            }
+            newIndex = newIndex.put(e.key(), e.value());
+        }
+        return newIndex;
     }
 
     /**
@@ -79,6 +119,9 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      * @return value of type T that is mapped by key of type S, null if key is not in the map
      */
     public @Nullable T get(S key) {
+        if (index != null && HashTrie.isHashConsistent(key)) {
+            return index.get(key);
+        }
         DefaultImmutableMap<S, T> queue = this;
         while (!queue.isEmpty()) {
             final ImmutableMapEntry<S, T> e = queue.entry;
@@ -112,6 +155,9 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
 
     /** @return true iff the map includes key */
     public boolean containsKey(S key) {
+        if (index != null && HashTrie.isHashConsistent(key)) {
+            return index.containsKey(key);
+        }
         DefaultImmutableMap<S, T> queue = this;
         while (!queue.isEmpty()) {
             final ImmutableMapEntry<S, T> e = queue.entry;
@@ -155,6 +201,9 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      * @return the new map (the same if key is not in the map)
      */
     public DefaultImmutableMap<S, T> remove(S key) {
+        if (index != null && HashTrie.isHashConsistent(key) && !index.containsKey(key)) {
+            return this;
+        }
         DefaultImmutableMap<S, T> queue = this;
         @SuppressWarnings("unchecked")
         final ImmutableMapEntry<S, T>[] stack = new ImmutableMapEntry[size()];
@@ -13,8 +13,14 @@ import org.key_project.util.Strings;
 import org.jspecify.annotations.Nullable;
 
 /**
- * implementation of a persistent set using the SLListOf<T> implementation with all its implications
- * (means e.g. O(n) for adding an element, searching for an element and so on).
+ * implementation of a persistent set using the SLListOf<T> implementation. The list determines the
+ * iteration order of the set (most recently added first). Sets with at least
+ * {@link #HASH_INDEX_THRESHOLD} elements additionally keep a {@link HashTrie} of their elements,
+ * which shares its structure with the index of the set they were derived from. Hence, adding an
+ * element and searching for an element take O(n) time for small sets only and O(log n) time
+ * for large ones; removing an element still takes O(n). Sets containing an element which is not
+ * {@link HashTrie#isHashConsistent(Object) hash consistent} are never indexed, since the index
+ * might not find elements which are equal to it.
  *
  * @param <T> type of object to store
  */
@@ -30,9 +36,23 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     public static final int UNION_OPTIMIZATION_SIZE = 100;
 
+    /**
+     * The size from which on sets are indexed by a {@link HashTrie}. Below, searching the list is
+     * faster. Can be set by the system property {@code key.collections.hashIndexThreshold}; a
+     * value of {@link Integer#MAX_VALUE} disables the index.
+     */
+    public static final int HASH_INDEX_THRESHOLD =
+        Integer.getInteger("key.collections.hashIndexThreshold", 8);
+
     /** list containing the elements */
     private final ImmutableList<T> elementList;
 
+    /**
+     * the elements of {@link #elementList} if the set has at least {@link #HASH_INDEX_THRESHOLD}
+     * elements, null otherwise
+     */
+    private final @Nullable HashTrie<T, Boolean> index;
+
     /** the empty set */
     @SuppressWarnings("unchecked")
     public static <T extends @Nullable Object> DefaultImmutableSet<T> nil() {
@@ -41,6 +61,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
 
     protected DefaultImmutableSet() {
         elementList = ImmutableSLList.nil();
+        index = null;
     }
 
     /**
@@ -50,6 +71,9 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     private DefaultImmutableSet(T element) {
         elementList = (ImmutableSLList.<T>nil()).prepend(element);
+        index = HASH_INDEX_THRESHOLD <= 1 && HashTrie.isHashConsistent(element)
+                ? HashTrie.<T, Boolean>empty().put(element, true)
+                : null;
     }
 
     /**
@@ -59,11 +83,59 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      * @param elementList IList<T> contains all elements of the new Set
      */
     private DefaultImmutableSet(ImmutableList<T> elementList) {
+        this(elementList, createIndex(elementList));
+    }
+
+    /**
+     * creates new set containing all elements from the elementList PRECONDITION: elementList has
+     * no duplicates, index contains exactly its elements (if it is large enough to be indexed)
+     */
+    private DefaultImmutableSet(ImmutableList<T> elementList,
+            @Nullable HashTrie<T, Boolean> index) {
         this.elementList = elementList;
+        this.index = index;
+    }
+
+    /**
+     * creates the index for a set with the given elements
+     *
+     * @return the index or null if the list is too short to be indexed or contains an element
+     *         which is not hash consistent
+     */
+    private static <T extends @Nullable Object> @Nullable HashTrie<T, Boolean> createIndex(
+            ImmutableList<T> elementList) {
+        if (elementList.size() < HASH_INDEX_THRESHOLD
+                || !elementList.stream().allMatch(HashTrie::isHashConsistent)) {
+            return null;
+        }
+        HashTrie<T, Boolean> index = HashTrie.empty();
+        for (T element : elementList) {
+            index = index.put(element, true);
+        }
+        return index;
+    }
+
+    /**
+     * creates the set resulting from prepending a new element to the elements of this set
+     */
+    private DefaultImmutableSet<T> prepend(T element) {
+        final ImmutableList<T> list = elementList.prepend(element);
+        if (index != null) {
+            return new DefaultImmutableSet<>(list,
+                HashTrie.isHashConsistent(element) ? index.put(element, true) : null);
+        }
+        return new DefaultImmutableSet<>(list);
     }
 
     public static <T> ImmutableSet<T> fromCollection(Collection<T> seq) {
-        return new DefaultImmutableSet<>(ImmutableList.fromList(seq));
+        if (seq.isEmpty()) {
+            return nil();
+        }
+        final ImmutableList<T> list = ImmutableList.fromList(seq);
+        if (!(seq instanceof Set<T>)) {
+            return fromImmutableList(list);
+        }
+        return new DefaultImmutableSet<>(list);
     }
 
     // private static HashSet<String> previousComplains = new HashSet<>();
@@ -93,10 +165,10 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     @Override
     public ImmutableSet<T> add(T element) {
         complainAboutSize();
-        if (elementList.contains(element)) {
+        if (contains(element)) {
             return this;
         }
-        return new DefaultImmutableSet<>(elementList.prepend(element));
+        return prepend(element);
     }
 
     /**
@@ -108,10 +180,10 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     @Override
     public ImmutableSet<T> addUnique(T element) throws NotUniqueException {
         complainAboutSize();
-        if (elementList.contains(element)) {
+        if (contains(element)) {
             throw new NotUniqueException(element);
         } else {
-            return new DefaultImmutableSet<>(elementList.prepend(element));
+            return prepend(element);
         }
     }
 
@@ -126,6 +198,10 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     }
 
     private DefaultImmutableSet<T> newUnion(DefaultImmutableSet<? extends T> set) {
+        if (index != null) {
+            // the index of this set can be extended, no need for a temporary hash set
+            return originalUnion(set);
+        }
         ImmutableList<? extends T> otherList = set.elementList;
         ImmutableList<T> clean = Immutables.concatDuplicateFreeLists(this.elementList, otherList);
         return new DefaultImmutableSet<>(clean);
@@ -136,13 +212,13 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
             return this;
         }
 
-        ImmutableList<T> unionElements = this.elementList;
+        DefaultImmutableSet<T> union = this;
         for (T otherEl : set) {
             if (!contains(otherEl)) {
-                unionElements = unionElements.prepend(otherEl);
+                union = union.prepend(otherEl);
             }
         }
-        return new DefaultImmutableSet<>(unionElements);
+        return union;
     }
 
     /** @return intersection of this set with set */
@@ -184,6 +260,9 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     @Override
     public boolean contains(@Nullable Object obj) {
         complainAboutSize();
+        if (index != null && HashTrie.isHashConsistent(obj)) {
+            return index.containsKey(obj);
+        }
         return elementList.contains(obj);
     }
 
@@ -227,8 +306,17 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
 
     @Override
     public ImmutableSet<T> remove(T element) {
+        if (!contains(element)) {
+            return this;
+        }
         final ImmutableList<T> list = elementList.removeFirst(element);
-        return list.isEmpty() ? nil() : new DefaultImmutableSet<>(list);
+        if (list.isEmpty()) {
+            return nil();
+        }
+        if (index != null && list.size() >= HASH_INDEX_THRESHOLD) {
+            return new DefaultImmutableSet<>(list, index.remove(element));
+        }
+        return new DefaultImmutableSet<>(list);
     }
 
     /**
@@ -0,0 +1,345 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A persistent hash map implemented as hash array mapped trie (HAMT). Each level of the trie
+ * consumes five bits of the hash of a key; a node only stores its non-empty slots, selected by a
+ * 32 bit bitmap. Keys whose hashes are equal are kept in a collision node at the bottom of the
+ * trie. Updates copy only the nodes on the path to the changed key, all other nodes are shared
+ * with the original trie, hence {@link #get(Object)}, {@link #put(Object, Object)} and
+ * {@link #remove(Object)} take O(log<sub>32</sub> n) time and space.
+ * <p>
+ * The trie does not define an iteration order. It serves as index for persistent collections
+ * which keep their elements in a list to preserve their iteration order, like
+ * {@link DefaultImmutableSet} and {@link DefaultImmutableMap}. Keys and values may be null.
+ * Since lookups rely on {@link Object#hashCode()}, these collections only index keys for which
+ * {@link #isHashConsistent(Object)} holds.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class HashTrie<K extends @Nullable Object, V extends @Nullable Object>
+        implements Serializable {
+    private static final long serialVersionUID = 4271846823195316224L;
+
+    /** the number of hash bits consumed per level */
+    private static final int BITS = 5;
+    /** the mask selecting the hash bits of one level */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * for each class, whether its {@link Object#hashCode()} is declared by the class declaring its
+     * {@link Object#equals(Object)} or by a subclass of it
+     */
+    private static final ClassValue<Boolean> HASH_CONSISTENT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                final Class<?> equalsOwner = type.getMethod("equals", Object.class)
+                        .getDeclaringClass();
+                final Class<?> hashCodeOwner = type.getMethod("hashCode").getDeclaringClass();
+                return equalsOwner.isAssignableFrom(hashCodeOwner);
+            } catch (NoSuchMethodException | LinkageError | SecurityException e) {
+                return false;
+            }
+        }
+    };
+
+    /** the empty trie */
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<>(null, 0);
+
+    /** the root node, either a {@link BitmapNode} or null if the trie is empty */
+    private final @Nullable BitmapNode root;
+
+    /** the number of keys in the trie */
+    private final int size;
+
+    private HashTrie(@Nullable BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the empty trie
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends @Nullable Object, V extends @Nullable Object> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the number of keys in the trie
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return true iff the trie contains the key
+     */
+    public boolean containsKey(@Nullable Object key) {
+        return root != null && find(root, hash(key), key, 0) != null;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value of the key, or null if the trie does not contain the key
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(@Nullable Object key) {
+        if (root == null) {
+            return null;
+        }
+        final Leaf leaf = find(root, hash(key), key, 0);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    /**
+     * @param key the key
+     * @param value the new value of the key
+     * @return a trie which maps the key to the value and contains all other mappings of this trie
+     */
+    public HashTrie<K, V> put(K key, V value) {
+        final Leaf leaf = new Leaf(hash(key), key, value);
+        if (root == null) {
+            return new HashTrie<>(new BitmapNode(bit(leaf.hash, 0), new Object[] { leaf }), 1);
+        }
+        final Object newRoot = put(root, leaf, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        final int newSize = find(root, leaf.hash, key, 0) == null ? size + 1 : size;
+        return new HashTrie<>((BitmapNode) newRoot, newSize);
+    }
+
+    /**
+     * @param key the key to remove
+     * @return a trie with all mappings of this trie except for the key (this trie if it does not
+     *         contain the key)
+     */
+    public HashTrie<K, V> remove(@Nullable Object key) {
+        if (root == null) {
+            return this;
+        }
+        final Object newRoot = remove(root, hash(key), key, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        // the root stays a bitmap node, since its single leaf is not inlined into a parent
+        final BitmapNode rootNode = newRoot instanceof Leaf l
+                ? new BitmapNode(bit(l.hash, 0), new Object[] { l })
+                : (BitmapNode) newRoot;
+        return new HashTrie<>(rootNode, size - 1);
+    }
+
+    /**
+     * Checks whether the given key can be looked up by its hash code. This is not the case if its
+     * class overrides {@link Object#equals(Object)} without overriding {@link Object#hashCode()}
+     * accordingly: Then equal keys may have different hash codes, and the trie would not find
+     * them.
+     *
+     * @param key a key
+     * @return true iff equal keys of the class of the given key have equal hash codes, as far as
+     *         this can be told from where the class declares the two methods
+     */
+    public static boolean isHashConsistent(@Nullable Object key) {
+        return key == null || HASH_CONSISTENT.get(key.getClass());
+    }
+
+    private static int hash(@Nullable Object key) {
+        final int h = key == null ? 0 : key.hashCode();
+        // spread the higher bits, they are used only on deep levels otherwise
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static @Nullable Leaf find(Object node, int hash, @Nullable Object key, int shift) {
+        while (true) {
+            if (node instanceof BitmapNode bn) {
+                final int bit = bit(hash, shift);
+                if ((bn.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = bn.slots[bn.index(bit)];
+                shift += BITS;
+            } else if (node instanceof Leaf leaf) {
+                return leaf.hash == hash && Objects.equals(leaf.key, key) ? leaf : null;
+            } else {
+                final CollisionNode cn = (CollisionNode) node;
+                if (cn.hash != hash) {
+                    return null;
+                }
+                for (Leaf leaf : cn.leaves) {
+                    if (Objects.equals(leaf.key, key)) {
+                        return leaf;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Inserts the leaf into the given subtrie.
+     *
+     * @return the new subtrie, the given node if nothing changed
+     */
+    private static Object put(Object node, Leaf leaf, int shift) {
+        if (node instanceof BitmapNode bn) {
+            final int bit = bit(leaf.hash, shift);
+            final int idx = bn.index(bit);
+            if ((bn.bitmap & bit) == 0) {
+                final Object[] slots = new Object[bn.slots.length + 1];
+                System.arraycopy(bn.slots, 0, slots, 0, idx);
+                slots[idx] = leaf;
+                System.arraycopy(bn.slots, idx, slots, idx + 1, bn.slots.length - idx);
+                return new BitmapNode(bn.bitmap | bit, slots);
+            }
+            final Object child = bn.slots[idx];
+            final Object newChild = put(child, leaf, shift + BITS);
+            if (newChild == child) {
+                return bn;
+            }
+            final Object[] slots = bn.slots.clone();
+            slots[idx] = newChild;
+            return new BitmapNode(bn.bitmap, slots);
+        } else if (node instanceof Leaf old) {
+            if (old.hash == leaf.hash) {
+                if (Objects.equals(old.key, leaf.key)) {
+                    return old.value == leaf.value ? old : leaf;
+                }
+                return new CollisionNode(leaf.hash, new Leaf[] { old, leaf });
+            }
+            return merge(old, leaf, shift);
+        } else {
+            final CollisionNode cn = (CollisionNode) node;
+            if (cn.hash != leaf.hash) {
+                // hashes differ on a lower level, push the collision node down
+                final BitmapNode bn =
+                    new BitmapNode(bit(cn.hash, shift), new Object[] { cn });
+                return put(bn, leaf, shift);
+            }
+            for (int i = 0; i < cn.leaves.length; i++) {
+                if (Objects.equals(cn.leaves[i].key, leaf.key)) {
+                    if (cn.leaves[i].value == leaf.value) {
+                        return cn;
+                    }
+                    final Leaf[] leaves = cn.leaves.clone();
+                    leaves[i] = leaf;
+                    return new CollisionNode(cn.hash, leaves);
+                }
+            }
+            final Leaf[] leaves = Arrays.copyOf(cn.leaves, cn.leaves.length + 1);
+            leaves[cn.leaves.length] = leaf;
+            return new CollisionNode(cn.hash, leaves);
+        }
+    }
+
+    /**
+     * Creates a subtrie containing two leaves with different hashes.
+     */
+    private static BitmapNode merge(Leaf a, Leaf b, int shift) {
+        final int bitA = bit(a.hash, shift);
+        final int bitB = bit(b.hash, shift);
+        if (bitA == bitB) {
+            return new BitmapNode(bitA, new Object[] { merge(a, b, shift + BITS) });
+        }
+        return new BitmapNode(bitA | bitB,
+            Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[] { a, b }
+                    : new Object[] { b, a });
+    }
+
+    /**
+     * Removes the key from the given subtrie.
+     *
+     * @return the new subtrie (null if it became empty, a leaf if only one is left), the given
+     *         node if the key is not contained
+     */
+    private static @Nullable Object remove(Object node, int hash, @Nullable Object key,
+            int shift) {
+        if (node instanceof BitmapNode bn) {
+            final int bit = bit(hash, shift);
+            if ((bn.bitmap & bit) == 0) {
+                return bn;
+            }
+            final int idx = bn.index(bit);
+            final Object child = bn.slots[idx];
+            final Object newChild = remove(child, hash, key, shift + BITS);
+            if (newChild == child) {
+                return bn;
+            }
+            if (newChild == null) {
+                if (bn.slots.length == 1) {
+                    return null;
+                }
+                if (bn.slots.length == 2 && bn.slots[1 - idx] instanceof Leaf other) {
+                    // inline the remaining leaf into the parent
+                    return other;
+                }
+                final Object[] slots = new Object[bn.slots.length - 1];
+                System.arraycopy(bn.slots, 0, slots, 0, idx);
+                System.arraycopy(bn.slots, idx + 1, slots, idx, slots.length - idx);
+                return new BitmapNode(bn.bitmap & ~bit, slots);
+            }
+            if (bn.slots.length == 1 && newChild instanceof Leaf) {
+                return newChild;
+            }
+            final Object[] slots = bn.slots.clone();
+            slots[idx] = newChild;
+            return new BitmapNode(bn.bitmap, slots);
+        } else if (node instanceof Leaf leaf) {
+            return leaf.hash == hash && Objects.equals(leaf.key, key) ? null : leaf;
+        } else {
+            final CollisionNode cn = (CollisionNode) node;
+            if (cn.hash != hash) {
+                return cn;
+            }
+            for (int i = 0; i < cn.leaves.length; i++) {
+                if (Objects.equals(cn.leaves[i].key, key)) {
+                    if (cn.leaves.length == 2) {
+                        return cn.leaves[1 - i];
+                    }
+                    final Leaf[] leaves = new Leaf[cn.leaves.length - 1];
+                    System.arraycopy(cn.leaves, 0, leaves, 0, i);
+                    System.arraycopy(cn.leaves, i + 1, leaves, i, leaves.length - i);
+                    return new CollisionNode(cn.hash, leaves);
+                }
+            }
+            return cn;
+        }
+    }
+
+    /** a mapping stored in the trie */
+    private record Leaf(int hash, @Nullable Object key, @Nullable Object value)
+            implements Serializable {
+    }
+
+    /**
+     * An inner node of the trie. The slots contain leaves, bitmap nodes and collision nodes, in
+     * the order of the bits set in the bitmap.
+     */
+    private record BitmapNode(int bitmap, Object[] slots) implements Serializable {
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    /** the leaves of keys with equal hashes (but different keys) */
+    private record CollisionNode(int hash, Leaf[] leaves) implements Serializable {
+    }
+}
@@ -0,0 +1,155 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.java.thread;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Daemon worker threads of one parallel phase (e.g., parsing or preparing goals), shared by all
+ * users of this phase.
+ * <p>
+ * The number of workers is configured by a system property. The executors are created on first
+ * use, one for each requested number of threads, so that every caller gets exactly the number of
+ * threads it asked for. Idle threads terminate after a while, hence executors of sizes which are
+ * no longer used do not keep their threads.
+ */
+public final class WorkerPool {
+    /**
+     * The time in seconds after which idle worker threads terminate.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The prefix of the names of the worker threads.
+     */
+    private final String name;
+
+    /**
+     * The configured number of workers.
+     */
+    private final int workers;
+
+    /**
+     * The executors by their number of threads.
+     */
+    private final Map<Integer, ExecutorService> executors = new HashMap<>();
+
+    /**
+     * Counts the created threads, used for their names.
+     */
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * Marks the threads of this pool.
+     */
+    private final ThreadLocal<Boolean> inWorker = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Creates a new pool.
+     *
+     * @param name the prefix of the names of the worker threads
+     * @param property the system property configuring the number of workers
+     * @param defaultWorkers the number of workers if the property is not set
+     */
+    public WorkerPool(String name, String property, int defaultWorkers) {
+        this.name = name;
+        this.workers = Integer.getInteger(property, defaultWorkers);
+    }
+
+    /**
+     * @return the configured number of workers; values of at most {@code 1} mean that the work
+     *         should be done sequentially by the calling thread
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @return true iff the current thread is a worker thread of this pool
+     */
+    public boolean isWorkerThread() {
+        return inWorker.get();
+    }
+
+    /**
+     * @return the executor with the configured number of threads
+     */
+    public ExecutorService getExecutor() {
+        return getExecutor(workers);
+    }
+
+    /**
+     * Returns the executor with the given number of threads.
+     *
+     * @param threads the number of threads
+     * @return the executor, created on first use
+     */
+    public synchronized ExecutorService getExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        return executors.computeIfAbsent(threads, this::createExecutor);
+    }
+
+    private ExecutorService createExecutor(int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                final Thread t = new Thread(() -> {
+                    inWorker.set(true);
+                    r.run();
+                }, name + "-worker-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Executes the given tasks using the given number of threads and waits for their results.
+     * The results are returned in the order of the tasks, and the exception of the first failing
+     * task (in this order) is thrown, so the result does not depend on the scheduling of the
+     * tasks. Tasks which have not finished when an exception is thrown are cancelled.
+     *
+     * @param tasks the tasks to execute
+     * @param threads the number of threads
+     * @param <T> the type of the results
+     * @return the results in the order of the tasks
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws ExecutionException wraps the exception of the first failing task
+     */
+    public <T extends @Nullable Object> List<T> invokeAll(
+            List<? extends Callable<? extends T>> tasks, int threads)
+            throws InterruptedException, ExecutionException {
+        final ExecutorService executor = getExecutor(threads);
+        final List<Future<? extends T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<? extends T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            final List<T> results = new ArrayList<>(tasks.size());
+            for (Future<? extends T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            for (Future<? extends T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ConcurrentCache}.
+ */
+class ConcurrentCacheTest {
+    @Test
+    void getAndPut() {
+        ConcurrentCache<String, Integer> cache = new ConcurrentCache<>(10);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        cache.put("a", 2);
+        assertEquals(2, cache.get("a"));
+        assertEquals(2, cache.putIfAbsent("a", 3));
+        assertEquals(2, cache.computeIfAbsent("a", k -> 4));
+        assertEquals(5, cache.computeIfAbsent("b", k -> 5));
+        cache.remove("a");
+        assertNull(cache.get("a"));
+
+        ConcurrentCache.Statistics stats = cache.getStatistics();
+        assertEquals(1, stats.size());
+        assertEquals(3, stats.hits());
+        assertEquals(3, stats.misses());
+    }
+
+    @Test
+    void boundedByEntries() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getStatistics().evictions());
+    }
+
+    @Test
+    void boundedByWeight() {
+        ConcurrentCache<Integer, String> cache =
+            new ConcurrentCache<>(100, (k, v) -> v.length());
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "0123456789");
+        }
+        assertTrue(cache.getStatistics().weight() <= 100);
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    void referencedEntriesSurvive() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        // entry 0 is the oldest one, but it is in use
+        assertEquals(0, cache.get(0));
+        cache.put(10, 10);
+        assertEquals(0, cache.get(0));
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void clear() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStatistics().weight());
+    }
+
+    @Test
+    void removedEntriesArePurged() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(1000);
+        for (int i = 0; i < 100000; i++) {
+            cache.put(i, i);
+            cache.remove(i);
+        }
+        assertEquals(0, cache.size());
+        assertTrue(cache.clockSize() <= 100, "removed entries are kept: " + cache.clockSize());
+        cache.clear();
+        assertEquals(0, cache.clockSize());
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = i % 200;
+                        assertEquals(key, cache.computeIfAbsent(key, k -> k));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        ConcurrentCache.Statistics stats = cache.getStatistics();
+        assertTrue(stats.size() <= 64, "cache exceeds its bound: " + stats);
+        assertEquals(stats.size(), stats.weight());
+    }
+}
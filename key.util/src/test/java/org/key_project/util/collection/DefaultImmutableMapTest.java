@@ -3,7 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.util.collection;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -134,4 +139,60 @@ public class DefaultImmutableMapTest {
         assertEquals(1, entry.value());
         assertFalse(iterator.hasNext());
     }
+
+    @Test
+    public void testLargeMap() {
+        assertNotNull(map);
+        Random random = new Random(42);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (int step = 0; step < 2000; step++) {
+            String key = "k" + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.remove(key);
+                expected.put(key, step);
+                map = map.put(key, step);
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        Set<String> keys = new HashSet<>();
+        map.keyIterator().forEachRemaining(keys::add);
+        assertEquals(expected.keySet(), keys);
+    }
+
+    @Test
+    public void testEqualsWithoutHashCode() {
+        // a key which overrides equals, but not hashCode
+        final class EqualsOnlyKey {
+            private final int value;
+
+            private EqualsOnlyKey(int value) {
+                this.value = value;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                return obj instanceof EqualsOnlyKey other && other.value == value;
+            }
+        }
+
+        ImmutableMap<Object, Integer> large = DefaultImmutableMap.nilMap();
+        for (int i = 0; i < 20; i++) {
+            large = large.put("k" + i, i);
+        }
+        for (int i = 0; i < 20; i++) {
+            large = large.put(new EqualsOnlyKey(i), i).put(new EqualsOnlyKey(i), -i);
+        }
+        assertEquals(40, large.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, large.get("k" + i));
+            assertEquals(-i, large.get(new EqualsOnlyKey(i)));
+            assertTrue(large.containsKey(new EqualsOnlyKey(i)));
+        }
+        assertEquals(39, large.remove(new EqualsOnlyKey(3)).size());
+    }
 }
@@ -0,0 +1,169 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link DefaultImmutableSet} against a {@link LinkedHashSet}, in particular for sets
+ * which are large enough to be indexed by a {@link HashTrie}.
+ */
+public class DefaultImmutableSetTest {
+
+    /** a key with few distinct hash codes, so that the trie contains collisions */
+    private record Key(int value) {
+        @Override
+        public int hashCode() {
+            return value % 7;
+        }
+    }
+
+    /** a key which overrides equals, but not hashCode */
+    private static final class EqualsOnlyKey {
+        private final int value;
+
+        private EqualsOnlyKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof EqualsOnlyKey other && other.value == value;
+        }
+    }
+
+    /** the elements of the set in the expected iteration order (most recent first) */
+    private static List<Key> expectedOrder(Set<Key> insertionOrder) {
+        List<Key> result = new ArrayList<>(insertionOrder);
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static void assertSameSet(Set<Key> expected, ImmutableSet<Key> actual) {
+        assertEquals(expected.size(), actual.size());
+        List<Key> elements = new ArrayList<>();
+        actual.forEach(elements::add);
+        assertEquals(expectedOrder(expected), elements);
+        for (int i = -5; i < 200; i++) {
+            assertEquals(expected.contains(new Key(i)), actual.contains(new Key(i)), "" + i);
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            Set<Key> expected = new LinkedHashSet<>();
+            ImmutableSet<Key> actual = DefaultImmutableSet.nil();
+            for (int step = 0; step < 300; step++) {
+                Key key = new Key(random.nextInt(150));
+                if (random.nextInt(4) == 0) {
+                    expected.remove(key);
+                    actual = actual.remove(key);
+                } else {
+                    expected.add(key);
+                    actual = actual.add(key);
+                }
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected.contains(key), actual.contains(key));
+            }
+            assertSameSet(expected, actual);
+        }
+    }
+
+    @Test
+    public void testPersistence() {
+        ImmutableSet<Key> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < 50; i++) {
+            set = set.add(new Key(i));
+        }
+        ImmutableSet<Key> larger = set.add(new Key(100));
+        ImmutableSet<Key> smaller = set.remove(new Key(3));
+        assertTrue(larger.contains(new Key(100)));
+        assertFalse(set.contains(new Key(100)));
+        assertFalse(smaller.contains(new Key(3)));
+        assertTrue(set.contains(new Key(3)));
+        assertEquals(51, larger.size());
+        assertEquals(50, set.size());
+        assertEquals(49, smaller.size());
+        assertSame(set, set.add(new Key(7)));
+        assertSame(set, set.remove(new Key(1000)));
+    }
+
+    @Test
+    public void testUnionAndIntersect() {
+        ImmutableSet<Key> a = DefaultImmutableSet.nil();
+        ImmutableSet<Key> b = DefaultImmutableSet.nil();
+        for (int i = 0; i < 40; i++) {
+            a = a.add(new Key(i));
+            b = b.add(new Key(i + 20));
+        }
+        ImmutableSet<Key> union = a.union(b);
+        ImmutableSet<Key> intersection = a.intersect(b);
+        assertEquals(60, union.size());
+        assertEquals(20, intersection.size());
+        for (int i = 0; i < 60; i++) {
+            assertTrue(union.contains(new Key(i)));
+            assertEquals(i >= 20 && i < 40, intersection.contains(new Key(i)));
+        }
+        assertEquals(union, b.union(a));
+        assertEquals(union.hashCode(), b.union(a).hashCode());
+    }
+
+    @Test
+    public void testNullElement() {
+        ImmutableSet<@Nullable String> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < 20; i++) {
+            set = set.add("" + i);
+        }
+        assertFalse(set.contains(null));
+        set = set.add((@Nullable String) null);
+        assertTrue(set.contains(null));
+        assertEquals(21, set.size());
+        set = set.remove((@Nullable String) null);
+        assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void testFromCollection() {
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            keys.add(new Key(i % 20));
+        }
+        ImmutableSet<Key> set = DefaultImmutableSet.fromCollection(keys);
+        assertEquals(20, set.size());
+        assertTrue(DefaultImmutableSet.fromCollection(List.of()).isEmpty());
+    }
+
+    @Test
+    public void testEqualsWithoutHashCode() {
+        assertTrue(HashTrie.isHashConsistent(new Key(1)));
+        assertTrue(HashTrie.isHashConsistent("1"));
+        assertFalse(HashTrie.isHashConsistent(new EqualsOnlyKey(1)));
+
+        ImmutableSet<Object> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < 20; i++) {
+            set = set.add(new Key(i));
+        }
+        for (int i = 0; i < 20; i++) {
+            set = set.add(new EqualsOnlyKey(i)).add(new EqualsOnlyKey(i));
+        }
+        assertEquals(40, set.size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(set.contains(new Key(i)));
+            assertTrue(set.contains(new EqualsOnlyKey(i)));
+        }
+        assertFalse(set.remove(new EqualsOnlyKey(3)).contains(new EqualsOnlyKey(3)));
+    }
+}
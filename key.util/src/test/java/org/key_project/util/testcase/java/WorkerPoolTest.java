@@ -0,0 +1,74 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.testcase.java;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.key_project.util.java.thread.WorkerPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkerPool}
+ */
+public class WorkerPoolTest {
+    /**
+     * Tests that a later request for more threads is not capped by an earlier, smaller one.
+     */
+    @Test
+    public void testThreadsPerRequest() throws Exception {
+        WorkerPool pool = new WorkerPool("Test", "key.test.workerpool.workers", 2);
+        assertEquals(2, pool.getWorkers());
+        assertSame(pool.getExecutor(), pool.getExecutor(2));
+        assertNotSame(pool.getExecutor(2), pool.getExecutor(4));
+
+        // all four tasks only finish if they run at the same time
+        CountDownLatch latch = new CountDownLatch(4);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(() -> {
+                latch.countDown();
+                return latch.await(10, TimeUnit.SECONDS) && pool.isWorkerThread();
+            });
+        }
+        assertEquals(List.of(true, true, true, true), pool.invokeAll(tasks, 4));
+        assertFalse(pool.isWorkerThread());
+        assertThrows(IllegalArgumentException.class, () -> pool.getExecutor(0));
+    }
+
+    /**
+     * Tests that results are returned in the order of the tasks and that the exception of the
+     * first failing task is thrown.
+     */
+    @Test
+    public void testOrder() throws Exception {
+        WorkerPool pool = new WorkerPool("Test", "key.test.workerpool.workers", 3);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int n = i;
+            tasks.add(() -> n);
+        }
+        List<Integer> results = pool.invokeAll(tasks, 3);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i));
+        }
+
+        tasks.set(5, () -> {
+            throw new IllegalStateException("5");
+        });
+        tasks.set(7, () -> {
+            throw new IllegalStateException("7");
+        });
+        ExecutionException e =
+            assertThrows(ExecutionException.class, () -> pool.invokeAll(tasks, 3));
+        assertEquals("5", e.getCause().getMessage());
+    }
+}
@@ -3,7 +3,9 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.gui.plugins.caching;
 
-import java.io.File;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.proof.reference.SequentFingerprint;
 
 /**
  * Data object about a cached proof branch.
@@ -16,30 +18,67 @@ public class CachedProofBranch {
     /**
      * File the cached proof is stored in.
      */
-    public final File proofFile;
+    public final Path proofFile;
     public final String choiceSettings;
     /**
-     * Step index of the cached branch.
+     * Position of the first node of the cached branch in the proof tree:
+     * the indices of the children taken at each branching node on the way from the root.
+     * In contrast to serial numbers, these stay the same when the proof is loaded again.
      */
-    public final int stepIndex;
+    public final int[] branch;
 
     /**
-     * Sequent of the cached branch.
+     * {@link SequentFingerprint#fingerprint(long[], long[]) Fingerprint} of the sequent of the
+     * cached branch.
+     */
+    public final long fingerprint;
+    /**
+     * {@link SequentFingerprint#hashes Hash codes} of the antecedent of the cached branch.
+     */
+    public final long[] ante;
+    /**
+     * {@link SequentFingerprint#hashes Hash codes} of the succedent of the cached branch.
+     */
+    public final long[] succ;
+    /**
+     * {@link SequentFingerprint#bloomFilter(long[], long[]) Bloom filter} of the sequent of the
+     * cached branch.
      */
-    public final String sequent;
+    final long[] bloomFilter;
 
     /**
      * Create a new data object about a cached proof branch.
      *
      * @param proofFile the file the proof is stored in
      * @param choiceSettings choice settings of the proof
-     * @param stepIndex step index of the referenced node
-     * @param sequent sequent of that node
+     * @param branch position of the referenced node
+     * @param ante hash codes of the antecedent of that node
+     * @param succ hash codes of the succedent of that node
      */
-    CachedProofBranch(File proofFile, String choiceSettings, int stepIndex, String sequent) {
+    CachedProofBranch(Path proofFile, String choiceSettings, int[] branch, long[] ante,
+            long[] succ) {
         this.proofFile = proofFile;
         this.choiceSettings = choiceSettings;
-        this.stepIndex = stepIndex;
-        this.sequent = sequent;
+        this.branch = branch;
+        this.ante = ante;
+        this.succ = succ;
+        this.fingerprint = SequentFingerprint.fingerprint(ante, succ);
+        this.bloomFilter = SequentFingerprint.bloomFilter(ante, succ);
+    }
+
+    /**
+     * Check whether this branch may close a sequent, i.e., whether all its formulas may be
+     * contained in the sequent. Only compares hash codes, so the result has to be confirmed
+     * on the loaded proof.
+     *
+     * @param otherAnte hash codes of the antecedent of the sequent
+     * @param otherSucc hash codes of the succedent of the sequent
+     * @param otherFilter Bloom filter of the sequent
+     * @return false if this branch definitely cannot close the sequent
+     */
+    boolean mayClose(long[] otherAnte, long[] otherSucc, long[] otherFilter) {
+        return SequentFingerprint.mayBeContainedIn(bloomFilter, otherFilter)
+                && SequentFingerprint.containedIn(ante, otherAnte)
+                && SequentFingerprint.containedIn(succ, otherSucc);
     }
 }
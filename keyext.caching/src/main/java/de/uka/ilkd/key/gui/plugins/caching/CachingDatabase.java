@@ -0,0 +1,669 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.gui.plugins.caching;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
+import de.uka.ilkd.key.proof.io.ProofBundleSaver;
+import de.uka.ilkd.key.proof.io.consistency.AbstractFileRepo;
+import de.uka.ilkd.key.proof.reference.ClosedBy;
+import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
+import de.uka.ilkd.key.proof.reference.SequentFingerprint;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+import de.uka.ilkd.key.settings.PathConfig;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent store of closed proof branches, used to close goals by reference to proofs done
+ * in earlier KeY sessions.
+ * <p>
+ * Closed proofs are saved as proof bundles into a directory (by default
+ * <code>~/.key/cachedProofs</code>). An index file lists, for every closed branch of these
+ * proofs, its position in the proof tree and the {@link SequentFingerprint hash codes} of its
+ * formulas. Each branch is indexed by one of its formulas, so a lookup only considers branches
+ * that share a formula with the new goal. These candidates are filtered by their Bloom filters,
+ * the hash codes of their formulas, their choice settings, user-defined taclets and
+ * {@link ReferenceSearcher#environmentDigest(Proof) environment}. Only the remaining candidates
+ * are loaded and compared formula by formula
+ * (see {@link ReferenceSearcher#checkReference(Proof, Node, Node)}).
+ * <p>
+ * The total size of the cached proofs is limited (see {@link #setMaxSize(long)}): if it is
+ * exceeded, the least recently used proofs are removed.
+ * <p>
+ * Cached proofs loaded for a lookup stay loaded as long as a proof which searched this database
+ * (and may refer to them) is not disposed. Disposing the last of these proofs, e.g., by closing
+ * its {@link KeYEnvironment}, also disposes the loaded cached proofs.
+ * <p>
+ * This class does not depend on the GUI and may also be used in batch mode.
+ */
+public final class CachingDatabase {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingDatabase.class);
+
+    /**
+     * Name of the index file in the cache directory.
+     */
+    public static final String INDEX_FILE = "index.bin";
+    /**
+     * Magic number at the start of the index file ("KeYC").
+     */
+    private static final int MAGIC = 0x4b655943;
+    /**
+     * Version of the index file format.
+     */
+    private static final int VERSION = 2;
+    /**
+     * Default {@link #setMaxSize(long) maximum size} of the cached proofs in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 1L << 30;
+
+    /**
+     * The database in the KeY configuration directory.
+     */
+    private static @Nullable CachingDatabase instance = null;
+
+    /**
+     * Directory containing the index file and the cached proofs.
+     */
+    private final Path directory;
+    /**
+     * Maximum total size of the cached proof files in bytes.
+     */
+    private long maxSize = DEFAULT_MAX_SIZE;
+    /**
+     * The cached proofs, by file name, least recently used first.
+     */
+    private final Map<Path, CachedProof> proofs = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The cached branches, indexed by the {@link SequentFingerprint#key(long, boolean) key} of
+     * their first formula.
+     */
+    private final Map<Long, List<CachedProofBranch>> index = new HashMap<>();
+    /**
+     * Fingerprints of the cached branches, to avoid storing a sequent twice.
+     */
+    private final Set<Long> fingerprints = new HashSet<>();
+    /**
+     * Cached proofs loaded in this session.
+     */
+    private final Map<Path, LoadedProof> loadedProofs = new HashMap<>();
+    /**
+     * Proofs which searched this database and are not yet disposed.
+     */
+    private final Set<Proof> users = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Releases the loaded cached proofs used by a proof once it is disposed.
+     */
+    private final ProofDisposedListener userDisposedListener = new ProofDisposedListener() {
+        @Override
+        public void proofDisposing(ProofDisposedEvent e) {
+        }
+
+        @Override
+        public void proofDisposed(ProofDisposedEvent e) {
+            release(e.getSource());
+        }
+    };
+
+    /**
+     * Information about a cached proof shared by all its branches.
+     *
+     * @param file the file the proof is stored in
+     * @param environment the {@link ReferenceSearcher#environmentDigest(Proof) environment
+     *        digest} of the proof
+     * @param userTaclets textual representation of the user-defined taclets of the proof
+     * @param branches the closed branches of the proof
+     * @param size the size of the file in bytes
+     */
+    private record CachedProof(Path file, String environment, Set<String> userTaclets,
+            List<CachedProofBranch> branches, long size) {
+    }
+
+    /**
+     * A closed proof prepared to be stored by {@link #store(ProofSnapshot)}.
+     *
+     * @param file the file the proof is to be stored in
+     * @param environment the {@link ReferenceSearcher#environmentDigest(Proof) environment
+     *        digest} of the proof
+     * @param userTaclets textual representation of the user-defined taclets of the proof
+     * @param branches the closed branches of the proof
+     * @param repo the file repository of the proof, containing its sources
+     * @param proofFileName name of the proof file in the bundle
+     * @param proofText contents of the proof file
+     */
+    record ProofSnapshot(Path file, String environment, Set<String> userTaclets,
+            List<CachedProofBranch> branches, AbstractFileRepo repo, String proofFileName,
+            byte[] proofText) {
+    }
+
+    /**
+     * A cached proof loaded in this session.
+     *
+     * @param environment the environment of the proof, or null if loading failed
+     * @param users the proofs which searched the cached proof; it is disposed when all of them
+     *        are
+     */
+    private record LoadedProof(@Nullable KeYEnvironment<?> environment, Set<Proof> users) {
+        @Nullable Proof proof() {
+            return environment == null ? null : environment.getLoadedProof();
+        }
+    }
+
+    /**
+     * Create a database stored in the given directory. Use {@link #load()} to read the index.
+     *
+     * @param directory directory of the database
+     */
+    public CachingDatabase(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the database stored in the KeY configuration directory. It is loaded on first
+     * access.
+     *
+     * @return the database
+     */
+    public static synchronized CachingDatabase getInstance() {
+        if (instance == null) {
+            instance = new CachingDatabase(
+                Path.of(PathConfig.getKeyConfigDir()).resolve("cachedProofs"));
+            try {
+                instance.load();
+            } catch (IOException e) {
+                LOGGER.warn("failed to load proof cache ", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Set the maximum total size of the cached proof files. Once it is exceeded, the least
+     * recently used proofs are removed.
+     *
+     * @param maxSize the maximum size in bytes
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /**
+     * @return the number of cached branches
+     */
+    public synchronized int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Read the index file of this database. Entries whose proof file no longer exists are
+     * dropped.
+     *
+     * @throws IOException if the index file cannot be read
+     */
+    public synchronized void load() throws IOException {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (var in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.warn("ignoring proof cache index {} of unknown format", file);
+                return;
+            }
+            int proofCount = in.readInt();
+            for (int i = 0; i < proofCount; i++) {
+                Path proofFile = directory.resolve(in.readUTF());
+                String choiceSettings = in.readUTF();
+                String environment = in.readUTF();
+                Set<String> userTaclets = new HashSet<>();
+                int tacletCount = in.readInt();
+                for (int j = 0; j < tacletCount; j++) {
+                    userTaclets.add(readString(in));
+                }
+                List<CachedProofBranch> branches = new ArrayList<>();
+                int branchCount = in.readInt();
+                for (int j = 0; j < branchCount; j++) {
+                    int[] branch = new int[in.readInt()];
+                    for (int k = 0; k < branch.length; k++) {
+                        branch[k] = in.readInt();
+                    }
+                    long[] ante = readLongs(in);
+                    long[] succ = readLongs(in);
+                    branches.add(
+                        new CachedProofBranch(proofFile, choiceSettings, branch, ante, succ));
+                }
+                if (Files.exists(proofFile)) {
+                    add(new CachedProof(proofFile, environment, userTaclets, branches,
+                        Files.size(proofFile)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the index file of this database.
+     *
+     * @throws IOException on I/O error
+     */
+    public synchronized void save() throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(INDEX_FILE);
+        Path tmp = directory.resolve(INDEX_FILE + ".tmp");
+        try (var out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(proofs.size());
+            for (CachedProof proof : proofs.values()) {
+                out.writeUTF(directory.relativize(proof.file).toString());
+                out.writeUTF(proof.branches.get(0).choiceSettings);
+                out.writeUTF(proof.environment);
+                out.writeInt(proof.userTaclets.size());
+                for (String taclet : proof.userTaclets) {
+                    writeString(out, taclet);
+                }
+                out.writeInt(proof.branches.size());
+                for (CachedProofBranch b : proof.branches) {
+                    out.writeInt(b.branch.length);
+                    for (int idx : b.branch) {
+                        out.writeInt(idx);
+                    }
+                    writeLongs(out, b.ante);
+                    writeLongs(out, b.succ);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Store the closed branches of a proof in this database and save the index.
+     * The proof is saved as a proof bundle into the directory of the database.
+     * Proofs containing goals closed by reference are not stored, since their
+     * branches are not realized.
+     *
+     * @param proof a closed proof
+     * @return the number of new branches stored
+     * @throws IOException if the proof or the index cannot be saved
+     */
+    public int addProof(Proof proof) throws IOException {
+        ProofSnapshot snapshot = snapshot(proof);
+        return snapshot == null ? 0 : store(snapshot);
+    }
+
+    /**
+     * Take everything from a closed proof that {@link #addProof(Proof)} stores: its closed
+     * branches and the text of its proof file. The proof must not be modified meanwhile, but it
+     * is not accessed anymore by {@link #store(ProofSnapshot)}, which does the expensive part.
+     *
+     * @param proof a closed proof
+     * @return the snapshot, or null if the proof cannot be cached
+     * @throws IOException if the proof cannot be saved
+     */
+    @Nullable ProofSnapshot snapshot(Proof proof) throws IOException {
+        if (!proof.closed() || proof.closedGoals().stream()
+                .anyMatch(g -> g.node().lookup(ClosedBy.class) != null)) {
+            return null;
+        }
+        if (!(proof.getInitConfig().getFileRepo() instanceof AbstractFileRepo repo)) {
+            LOGGER.info("not caching proof {}: source consistency is disabled", proof.name());
+            return null;
+        }
+        String choiceSettings = choiceSettings(proof);
+        Path proofFile = directory.resolve(UUID.randomUUID() + ".zproof");
+        List<CachedProofBranch> branches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Node n : branchStarts(proof)) {
+            if (!ReferenceSearcher.suitableForCloseByReference(n)) {
+                continue;
+            }
+            long[] ante = SequentFingerprint.hashes(n.sequent().antecedent());
+            long[] succ = SequentFingerprint.hashes(n.sequent().succedent());
+            long fingerprint = SequentFingerprint.fingerprint(ante, succ);
+            if ((ante.length == 0 && succ.length == 0) || isCached(fingerprint)
+                    || !seen.add(fingerprint)) {
+                continue;
+            }
+            branches.add(
+                new CachedProofBranch(proofFile, choiceSettings, position(n), ante, succ));
+        }
+        if (branches.isEmpty()) {
+            return null;
+        }
+        // as written by ProofBundleSaver
+        ByteArrayOutputStream proofText = new ByteArrayOutputStream();
+        new ProofBundleSaver(proof, proofFile).save(proofText);
+        return new ProofSnapshot(proofFile, ReferenceSearcher.environmentDigest(proof),
+            ReferenceSearcher.userTaclets(proof), branches, repo,
+            MiscTools.toValidFileName(proof.name() + ".proof"), proofText.toByteArray());
+    }
+
+    private synchronized boolean isCached(long fingerprint) {
+        return fingerprints.contains(fingerprint);
+    }
+
+    /**
+     * Store the closed branches of a proof {@link #snapshot(Proof) snapshot} which are not
+     * already cached and save the index. The proof is saved as a proof bundle into the
+     * directory of the database.
+     *
+     * @param snapshot the snapshot of a closed proof
+     * @return the number of new branches stored
+     * @throws IOException if the proof or the index cannot be saved
+     */
+    synchronized int store(ProofSnapshot snapshot) throws IOException {
+        List<CachedProofBranch> branches = new ArrayList<>();
+        for (CachedProofBranch b : snapshot.branches) {
+            if (!fingerprints.contains(b.fingerprint)) {
+                branches.add(b);
+            }
+        }
+        if (branches.isEmpty()) {
+            return 0;
+        }
+        Path proofFile = snapshot.file;
+        Files.createDirectories(directory);
+        try (OutputStream out =
+            snapshot.repo.createOutputStream(Paths.get(snapshot.proofFileName))) {
+            out.write(snapshot.proofText);
+        }
+        snapshot.repo.saveProof(proofFile);
+        long size = Files.size(proofFile);
+        if (size > maxSize) {
+            LOGGER.info("not caching proof {}: it is larger than the cache", proofFile);
+            Files.delete(proofFile);
+            return 0;
+        }
+        add(new CachedProof(proofFile, snapshot.environment, snapshot.userTaclets, branches,
+            size));
+        evict();
+        save();
+        return branches.size();
+    }
+
+    /**
+     * Try to find a cached branch that closes the <code>newNode</code>.
+     * Candidates are loaded from disk and checked using
+     * {@link ReferenceSearcher#checkReference(Proof, Node, Node)}.
+     *
+     * @param newNode new node (must be an open goal)
+     * @return a reference (or null, if none found)
+     */
+    public @Nullable ClosedBy findReference(Node newNode) {
+        if (!ReferenceSearcher.suitableForCloseByReference(newNode)) {
+            return null;
+        }
+        // loading a proof takes a while, so it is done without holding the lock
+        for (CachedProofBranch candidate : candidates(newNode)) {
+            Proof proof = loadProof(candidate.proofFile, newNode.proof());
+            if (proof == null) {
+                continue;
+            }
+            Node n = proof.root();
+            for (int idx : candidate.branch) {
+                if (idx >= n.childrenCount()) {
+                    n = null;
+                    break;
+                }
+                n = n.child(idx);
+            }
+            if (n == null) {
+                continue;
+            }
+            ClosedBy c = ReferenceSearcher.checkReference(proof, n, newNode);
+            if (c != null) {
+                synchronized (this) {
+                    // mark the proof as recently used
+                    proofs.get(candidate.proofFile);
+                }
+                return c;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the cached branches that may close the <code>newNode</code>, without loading
+     * any proof.
+     *
+     * @param newNode new node
+     * @return cached branches compatible with the proof of the node whose formulas are
+     *         (modulo hash collisions) contained in its sequent
+     */
+    public synchronized List<CachedProofBranch> candidates(Node newNode) {
+        if (index.isEmpty()) {
+            return List.of();
+        }
+        long[] ante = SequentFingerprint.hashes(newNode.sequent().antecedent());
+        long[] succ = SequentFingerprint.hashes(newNode.sequent().succedent());
+        long[] filter = SequentFingerprint.bloomFilter(ante, succ);
+        String choiceSettings = choiceSettings(newNode.proof());
+        String environment = ReferenceSearcher.environmentDigest(newNode.proof());
+        Set<String> taclets = null;
+
+        List<CachedProofBranch> result = new ArrayList<>();
+        for (int i = 0; i < ante.length + succ.length; i++) {
+            long key = i < ante.length ? SequentFingerprint.key(ante[i], false)
+                    : SequentFingerprint.key(succ[i - ante.length], true);
+            for (CachedProofBranch b : index.getOrDefault(key, List.of())) {
+                if (!b.mayClose(ante, succ, filter)
+                        || !b.choiceSettings.equals(choiceSettings)) {
+                    continue;
+                }
+                CachedProof proof = proofs.get(b.proofFile);
+                if (!proof.environment.equals(environment)) {
+                    continue;
+                }
+                Set<String> userTaclets = proof.userTaclets;
+                if (!userTaclets.isEmpty()) {
+                    if (taclets == null) {
+                        taclets = ReferenceSearcher.taclets(newNode.proof());
+                    }
+                    if (!taclets.containsAll(userTaclets)) {
+                        continue;
+                    }
+                }
+                result.add(b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove the least recently used proofs until the cached proofs fit into the
+     * {@link #setMaxSize(long) maximum size}. Removed proofs stay available to the proofs
+     * which already loaded them.
+     */
+    private void evict() {
+        long size = proofs.values().stream().mapToLong(CachedProof::size).sum();
+        for (var it = proofs.values().iterator(); size > maxSize && it.hasNext();) {
+            CachedProof proof = it.next();
+            it.remove();
+            size -= proof.size;
+            for (CachedProofBranch b : proof.branches) {
+                fingerprints.remove(b.fingerprint);
+                index.get(key(b)).remove(b);
+            }
+            try {
+                Files.deleteIfExists(proof.file);
+            } catch (IOException e) {
+                LOGGER.warn("failed to delete cached proof {} ", proof.file, e);
+            }
+        }
+        index.values().removeIf(List::isEmpty);
+    }
+
+    private void add(CachedProof proof) {
+        proofs.put(proof.file, proof);
+        for (CachedProofBranch b : proof.branches) {
+            fingerprints.add(b.fingerprint);
+            index.computeIfAbsent(key(b), k -> new ArrayList<>()).add(b);
+        }
+    }
+
+    /**
+     * @param b a cached branch
+     * @return the key of the branch in the {@link #index}
+     */
+    private static long key(CachedProofBranch b) {
+        return b.ante.length > 0 ? SequentFingerprint.key(b.ante[0], false)
+                : SequentFingerprint.key(b.succ[0], true);
+    }
+
+    /**
+     * Load a cached proof, unless it is already loaded.
+     *
+     * @param file the file of the cached proof
+     * @param user the proof which searches the cached proof
+     * @return the cached proof, or null if it cannot be loaded
+     */
+    private @Nullable Proof loadProof(Path file, Proof user) {
+        LoadedProof loaded;
+        synchronized (this) {
+            loaded = loadedProofs.get(file);
+        }
+        if (loaded == null) {
+            KeYEnvironment<?> environment;
+            try {
+                environment = KeYEnvironment.load(file);
+            } catch (Exception e) {
+                LOGGER.warn("failed to load cached proof {} ", file, e);
+                environment = null;
+            }
+            // also remember failures, so the file is not loaded again
+            loaded = new LoadedProof(environment,
+                Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        synchronized (this) {
+            LoadedProof other = loadedProofs.putIfAbsent(file, loaded);
+            if (other != null && other != loaded) {
+                // loaded by another thread meanwhile
+                if (loaded.environment != null) {
+                    loaded.environment.dispose();
+                }
+                loaded = other;
+            }
+            loaded.users.add(user);
+            if (users.add(user)) {
+                user.addProofDisposedListener(userDisposedListener);
+            }
+            return loaded.proof();
+        }
+    }
+
+    /**
+     * Dispose the loaded cached proofs which are no longer used by any proof.
+     *
+     * @param user a disposed proof which searched this database
+     */
+    private synchronized void release(Proof user) {
+        if (!users.remove(user)) {
+            return;
+        }
+        for (var it = loadedProofs.values().iterator(); it.hasNext();) {
+            LoadedProof loaded = it.next();
+            if (loaded.users.remove(user) && loaded.users.isEmpty()) {
+                it.remove();
+                if (loaded.environment != null) {
+                    loaded.environment.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the first nodes of all closed branches of a proof (as in
+     * {@link ReferenceSearcher#findPreviousProof(List, Node)}), including the root.
+     *
+     * @param proof a proof
+     * @return the first nodes of its branches
+     */
+    private static Set<Node> branchStarts(Proof proof) {
+        Set<Node> result = new LinkedHashSet<>();
+        Deque<Node> todo = new ArrayDeque<>();
+        proof.closedGoals().forEach(g -> {
+            Node n = g.node();
+            if (n.parent() == null
+                    || n.parent().getAppliedRuleApp().rule() != CloseAfterMerge.INSTANCE) {
+                todo.add(n);
+            }
+        });
+        while (!todo.isEmpty()) {
+            Node n = todo.remove();
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.isClosed() && result.add(n) && n.parent() != null) {
+                todo.add(n.parent());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param n a node
+     * @return the indices of the children taken on the way from the root to the node
+     */
+    private static int[] position(Node n) {
+        List<Integer> path = new ArrayList<>();
+        while (n.parent() != null) {
+            path.add(n.parent().getChildNr(n));
+            n = n.parent();
+        }
+        int[] result = new int[path.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = path.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    private static String choiceSettings(Proof proof) {
+        return new TreeMap<>(proof.getSettings().getChoiceSettings().getDefaultChoices())
+                .toString();
+    }
+
+    private static long[] readLongs(DataInput in) throws IOException {
+        long[] result = new long[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readLong();
+        }
+        return result;
+    }
+
+    private static void writeLongs(DataOutput out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long v : values) {
+            out.writeLong(v);
+        }
+    }
+
+    // taclets may be longer than the 64K limit of writeUTF
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -161,8 +161,7 @@ public class CachingExtension
         for (Goal goal : newGoals) {
             ClosedBy c = null;
             try {
-                c = ReferenceSearcher.findPreviousProof(mediator.getCurrentlyOpenedProofs(),
-                    goal.node());
+                c = findReference(goal.node());
             } catch (Exception exception) {
                 LOGGER.warn("error during reference search ", exception);
             }
@@ -178,6 +177,22 @@ public class CachingExtension
         }
     }
 
+    /**
+     * Try to find a closed branch that is equivalent to the <code>node</code>: first in the
+     * currently opened proofs, then in the persistent proof cache (if enabled).
+     *
+     * @param node the node (must be an open goal)
+     * @return a reference (or null, if none found)
+     */
+    public ClosedBy findReference(Node node) {
+        ClosedBy c = ReferenceSearcher.findPreviousProof(mediator.getCurrentlyOpenedProofs(),
+            node);
+        if (c == null && CachingSettingsProvider.getCachingSettings().getPersistent()) {
+            c = CachingDatabase.getInstance().findReference(node);
+        }
+        return c;
+    }
+
     @Override
     public void preInit(MainWindow window, KeYMediator mediator) {
         this.mediator = mediator;
@@ -246,6 +261,10 @@ public class CachingExtension
             return; // try close macro was running, no need to do anything here
         }
         Proof p = (Proof) info.getProof();
+        if (p != null && !p.isDisposed() && p.closed()
+                && CachingSettingsProvider.getCachingSettings().getPersistent()) {
+            storeInCache(p);
+        }
         if (p == null || p.isDisposed() || p.closed() || !(info.getSource() instanceof ApplyStrategy
                 || info.getSource() instanceof ProofMacro)) {
             return;
@@ -263,6 +282,41 @@ public class CachingExtension
         }
     }
 
+    /**
+     * Store a closed proof in the persistent proof cache. This is called by the thread which
+     * reports the end of the auto mode, before the user may modify the proof again: the proof is
+     * only read here (see {@link CachingDatabase#snapshot(Proof)}). Saving the proof bundle may
+     * take a while, so it is done in the background.
+     *
+     * @param proof a closed proof
+     */
+    private static void storeInCache(Proof proof) {
+        CachingDatabase database = CachingDatabase.getInstance();
+        database.setMaxSize(
+            CachingSettingsProvider.getCachingSettings().getMaxSize() * 1024L * 1024L);
+        final CachingDatabase.ProofSnapshot snapshot;
+        try {
+            snapshot = database.snapshot(proof);
+        } catch (Exception exception) {
+            LOGGER.warn("failed to store proof in proof cache ", exception);
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                try {
+                    database.store(snapshot);
+                } catch (Exception exception) {
+                    LOGGER.warn("failed to store proof in proof cache ", exception);
+                }
+                return null;
+            }
+        }.execute();
+    }
+
     /**
      * Listener that ensures steps are copied before the referenced proof is disposed.
      *
@@ -15,7 +15,6 @@ import de.uka.ilkd.key.gui.plugins.caching.CachingExtension;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
-import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 
 /**
  * Proof context menu action to perform proof caching for all open goals on that proof.
@@ -61,8 +60,7 @@ public class CloseAllByReference extends KeyAction {
         int matches = 0;
         for (Node n : nodes) {
             // search other proofs for matching nodes
-            ClosedBy c = ReferenceSearcher.findPreviousProof(
-                mediator.getCurrentlyOpenedProofs(), n);
+            ClosedBy c = cachingExtension.findReference(n);
             if (c != null) {
                 n.proof().closeGoal(n.proof().getOpenGoal(n));
                 n.register(c, ClosedBy.class);
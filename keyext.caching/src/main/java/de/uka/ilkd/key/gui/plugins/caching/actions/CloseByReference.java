@@ -15,7 +15,6 @@ import de.uka.ilkd.key.gui.actions.KeyAction;
 import de.uka.ilkd.key.gui.plugins.caching.CachingExtension;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
-import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 
 /**
  * Action to search for suitable references on a single node.
@@ -68,8 +67,7 @@ public final class CloseByReference extends KeyAction {
         List<Integer> mismatches = new ArrayList<>();
         for (Node n : nodes) {
             // search other proofs for matching nodes
-            ClosedBy c = ReferenceSearcher.findPreviousProof(
-                mediator.getCurrentlyOpenedProofs(), n);
+            ClosedBy c = cachingExtension.findReference(n);
             if (c != null) {
                 n.proof().closeGoal(n.proof().getOpenGoal(n));
                 n.register(c, ClosedBy.class);
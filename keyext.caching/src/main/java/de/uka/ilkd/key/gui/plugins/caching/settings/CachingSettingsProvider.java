@@ -47,6 +47,16 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      */
     private static final String PRUNE_TITLE =
         "Behaviour when pruning into referenced proof";
+    /**
+     * Label for fourth option.
+     */
+    private static final String PERSISTENT_TITLE =
+        "Store closed proofs in the persistent proof cache";
+    /**
+     * Label for fifth option.
+     */
+    private static final String MAX_SIZE_TITLE =
+        "Maximum size of the persistent proof cache (MB)";
 
     /**
      * Checkbox for first option.
@@ -60,6 +70,14 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      * Combobox for third option (prune behaviour).
      */
     private final JComboBox<String> pruneOption;
+    /**
+     * Checkbox for fourth option.
+     */
+    private final JCheckBox persistentOption;
+    /**
+     * Spinner for fifth option.
+     */
+    private final JSpinner maxSizeOption;
 
     /**
      * Construct a new settings provider.
@@ -81,6 +99,14 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
                  all cached branches that reference it.""",
             0, x -> {
             }, PRUNE_REOPEN, PRUNE_COPY);
+        persistentOption = addCheckBox(PERSISTENT_TITLE, """
+                Closed proofs are saved into the KeY settings directory.
+                 Goals may then be closed by reference to them in later sessions.""",
+            false, emptyValidator());
+        maxSizeOption = addNumberField(MAX_SIZE_TITLE, 1, Integer.MAX_VALUE, 64, """
+                If the cached proofs take more space, the least recently used ones
+                 are removed.""",
+            emptyValidator());
     }
 
     @Override
@@ -102,6 +128,8 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         strategySearch.setSelected(ss.getEnabled());
         disposeOption.setSelectedItem(ss.getDispose());
         pruneOption.setSelectedItem(ss.getPrune());
+        persistentOption.setSelected(ss.getPersistent());
+        maxSizeOption.setValue(ss.getMaxSize());
         return this;
     }
 
@@ -111,6 +139,8 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         ss.setEnabled(strategySearch.isEnabled());
         ss.setDispose(disposeOption.getSelectedItem().toString());
         ss.setPrune(pruneOption.getSelectedItem().toString());
+        ss.setPersistent(persistentOption.isSelected());
+        ss.setMaxSize((Integer) maxSizeOption.getValue());
     }
 
 
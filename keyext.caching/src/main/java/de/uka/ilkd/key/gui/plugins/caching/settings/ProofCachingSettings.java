@@ -28,6 +28,14 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      * Key ID for {@link #prune}.
      */
     private static final String PRUNE_KEY = "Prune";
+    /**
+     * Key ID for {@link #persistent}.
+     */
+    private static final String PERSISTENT_KEY = "Persistent";
+    /**
+     * Key ID for {@link #maxSize}.
+     */
+    private static final String MAX_SIZE_KEY = "MaxSize";
 
 
     /**
@@ -45,6 +53,17 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      */
     private final AbstractPropertiesSettings.PropertyEntry<String> prune =
         createStringProperty(PRUNE_KEY, "");
+    /**
+     * Whether closed proofs are stored in (and goals are closed by reference to) the
+     * persistent proof cache.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Boolean> persistent =
+        createBooleanProperty(PERSISTENT_KEY, false);
+    /**
+     * Maximum size of the persistent proof cache in megabytes.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Integer> maxSize =
+        createIntegerProperty(MAX_SIZE_KEY, 1024);
 
     public ProofCachingSettings() {
         super("ProofCaching");
@@ -95,4 +114,31 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
     public void setPrune(String operation) {
         prune.set(operation);
     }
+
+    public boolean getPersistent() {
+        return persistent.get();
+    }
+
+    /**
+     * Set whether the persistent proof cache (see CachingDatabase) is used.
+     *
+     * @param persistent value
+     */
+    public void setPersistent(boolean persistent) {
+        this.persistent.set(persistent);
+    }
+
+    public int getMaxSize() {
+        return maxSize.get();
+    }
+
+    /**
+     * Set the maximum size of the persistent proof cache. If it is exceeded, the least recently
+     * used proofs are removed from the cache.
+     *
+     * @param maxSize the size in megabytes
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize.set(maxSize);
+    }
 }
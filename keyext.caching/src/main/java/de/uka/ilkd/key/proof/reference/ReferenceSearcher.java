@@ -3,14 +3,24 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof.reference;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.proof.JavaModel;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.rule.EqualityModuloProofIrrelevancy;
-import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
 
 import org.key_project.prover.sequent.Semisequent;
@@ -19,12 +29,33 @@ import org.key_project.prover.sequent.SequentFormula;
 import org.key_project.slicing.DependencyTracker;
 import org.key_project.slicing.analysis.AnalysisResults;
 
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Utility class for proof caching.
  *
  * @author Arne Keller
  */
 public final class ReferenceSearcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceSearcher.class);
+
+    /**
+     * Extensions of the files which make up the Java environment of a proof.
+     */
+    private static final List<String> ENVIRONMENT_FILES =
+        List.of(".java", ".jml", ".class", ".jar", ".zip", ".key");
+
+    /**
+     * The {@link #environmentDigest(Proof) environment digest} of a proof, registered at the
+     * proof once computed.
+     *
+     * @param value the digest
+     */
+    private record EnvironmentDigest(String value) {
+    }
+
     private ReferenceSearcher() {
 
     }
@@ -47,30 +78,7 @@ public final class ReferenceSearcher {
             if (p == newNode.proof()) {
                 continue; // doesn't make sense to cache in the same proof
             }
-            // conservative check: all user-defined rules in a previous proof
-            // have to also be available in the new proof
-            var proofFile = p.getProofFile() != null ? p.getProofFile().toString() : "////";
-            var tacletIndex = p.allGoals().head().ruleAppIndex().tacletIndex();
-            var newTacletIndex = newNode.proof().allGoals().head().ruleAppIndex().tacletIndex();
-            Set<NoPosTacletApp> newTaclets = newTacletIndex.allNoPosTacletApps();
-            var tacletsOk = true;
-            for (var taclet : tacletIndex.allNoPosTacletApps().stream()
-                    .filter(x -> x.taclet().getOrigin() != null
-                            && x.taclet().getOrigin().contains(proofFile))
-                    .toList()) {
-                if (newTaclets.stream().noneMatch(newTaclet -> Objects
-                        .equals(taclet.taclet().toString(), newTaclet.taclet().toString()))) {
-                    tacletsOk = false;
-                    break;
-                }
-            }
-            if (!tacletsOk) {
-                continue;
-            }
-
-            // only search in compatible proofs
-            if (!p.getSettings().getChoiceSettings()
-                    .equals(newNode.proof().getSettings().getChoiceSettings())) {
+            if (!compatible(p, newNode.proof())) {
                 continue;
             }
             Set<Node> checkedNodes = new HashSet<>();
@@ -115,11 +123,7 @@ public final class ReferenceSearcher {
                 if (results != null) {
                     seq = results.reduceSequent(n);
                 }
-                Semisequent ante = seq.antecedent();
-                Semisequent succ = seq.succedent();
-                Semisequent anteNew = newNode.sequent().antecedent();
-                Semisequent succNew = newNode.sequent().succedent();
-                if (!containedIn(anteNew, ante) || !containedIn(succNew, succ)) {
+                if (!containedIn(newNode.sequent(), seq)) {
                     continue;
                 }
                 Set<Node> toSkip = new HashSet<>();
@@ -138,6 +142,169 @@ public final class ReferenceSearcher {
         return null;
     }
 
+    /**
+     * Check whether a specific closed branch of a previous proof can be used to close
+     * the <code>newNode</code>. Used to verify the candidates found in a CachingDatabase.
+     * The {@link #environmentDigest(Proof) environments} of the proofs are not compared, since
+     * a cached proof is loaded from a copy of its environment: the caller has to compare the
+     * digest recorded when the proof was cached.
+     *
+     * @param previousProof old proof
+     * @param branch first node of a branch in the old proof
+     * @param newNode new node (must be an open goal)
+     * @return a reference (or null, if the branch does not fit)
+     */
+    public static ClosedBy checkReference(Proof previousProof, Node branch, Node newNode) {
+        if (previousProof == newNode.proof() || !branch.isClosed()
+                || !suitableForCloseByReference(newNode)
+                || !compatibleRules(previousProof, newNode.proof())
+                || !containedIn(newNode.sequent(), branch.sequent())) {
+            return null;
+        }
+        return new ClosedBy(previousProof, branch, new HashSet<>());
+    }
+
+    /**
+     * Check whether the branches of a previous proof may be used in a new proof:
+     * the rules have to be {@link #compatibleRules(Proof, Proof) compatible} and the
+     * {@link #environmentDigest(Proof) environments} of the proofs have to be equal.
+     *
+     * @param previousProof old proof
+     * @param newProof new proof
+     * @return whether the proofs are compatible
+     */
+    private static boolean compatible(Proof previousProof, Proof newProof) {
+        return compatibleRules(previousProof, newProof)
+                && environmentDigest(previousProof).equals(environmentDigest(newProof));
+    }
+
+    /**
+     * Check whether the rules of a previous proof may be used in a new proof:
+     * all user-defined rules of the previous proof have to be available in the new proof
+     * and the choice settings have to be equal.
+     *
+     * @param previousProof old proof
+     * @param newProof new proof
+     * @return whether the rules of the proofs are compatible
+     */
+    private static boolean compatibleRules(Proof previousProof, Proof newProof) {
+        // conservative check: all user-defined rules in a previous proof
+        // have to also be available in the new proof
+        if (!taclets(newProof).containsAll(userTaclets(previousProof))) {
+            return false;
+        }
+
+        // only search in compatible proofs
+        return previousProof.getSettings().getChoiceSettings()
+                .equals(newProof.getSettings().getChoiceSettings());
+    }
+
+    /**
+     * Compute a digest of the environment of a proof, i.e., of the contents of its Java sources
+     * (including their specifications), classpath, boot classpath and included files. A closed
+     * branch may only be referenced by a proof with the same environment, since a changed
+     * program or specification may invalidate it, even if the formulas of the branch are
+     * unchanged. The digest is computed once per proof.
+     *
+     * @param proof a proof
+     * @return the digest of its environment; if a file cannot be read, a digest not equal to
+     *         the one of any other proof
+     */
+    public static String environmentDigest(Proof proof) {
+        EnvironmentDigest digest = proof.lookup(EnvironmentDigest.class);
+        if (digest == null) {
+            digest = new EnvironmentDigest(computeEnvironmentDigest(proof));
+            proof.register(digest, EnvironmentDigest.class);
+        }
+        return digest.value();
+    }
+
+    private static String computeEnvironmentDigest(Proof proof) {
+        JavaModel model = proof.getServices().getJavaModel();
+        if (model.isEmpty()) {
+            return "";
+        }
+        List<@Nullable Path> roots = new ArrayList<>();
+        roots.add(model.getModelDir());
+        roots.addAll(model.getClassPath());
+        roots.add(model.getBootClassPath());
+        roots.addAll(model.getIncludedFiles());
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md);
+            for (Path root : roots) {
+                // separates the roots, so moving a file to another root changes the digest
+                md.update((byte) 1);
+                if (root == null || !Files.exists(root)) {
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> s = Files.walk(root)) {
+                    files = s.filter(f -> Files.isRegularFile(f) && (f.equals(root)
+                            || ENVIRONMENT_FILES.stream()
+                                    .anyMatch(ext -> f.toString().endsWith(ext))))
+                            .sorted().toList();
+                }
+                for (Path file : files) {
+                    md.update(root.relativize(file).toString().replace('\\', '/')
+                            .getBytes(StandardCharsets.UTF_8));
+                    md.update((byte) 0);
+                    try (InputStream in = Files.newInputStream(file)) {
+                        in.transferTo(out);
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (IOException e) {
+            LOGGER.warn("failed to read the environment of proof {}", proof.name(), e);
+            // the proof is not compatible with any other proof
+            return UUID.randomUUID().toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Collect the user-defined rules of a proof, i.e. the taclets loaded from its proof file.
+     *
+     * @param proof a proof
+     * @return textual representations of the user-defined taclets
+     */
+    public static Set<String> userTaclets(Proof proof) {
+        var proofFile = proof.getProofFile() != null ? proof.getProofFile().toString() : "////";
+        return proof.allGoals().head().ruleAppIndex().tacletIndex().allNoPosTacletApps().stream()
+                .filter(x -> x.taclet().getOrigin() != null
+                        && x.taclet().getOrigin().contains(proofFile))
+                .map(x -> x.taclet().toString())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Collect all rules available in a proof.
+     *
+     * @param proof a proof
+     * @return textual representations of the taclets
+     */
+    public static Set<String> taclets(Proof proof) {
+        return proof.allGoals().head().ruleAppIndex().tacletIndex().allNoPosTacletApps().stream()
+                .map(x -> x.taclet().toString())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Check whether all formulas of {@code subset} are contained in {@code superset}
+     * (antecedent in antecedent, succedent in succedent).
+     *
+     * @param superset Sequent supposed to contain {@code subset}
+     * @param subset Sequent supposed to be in {@code superset}
+     * @return whether all formulas are present
+     */
+    private static boolean containedIn(Sequent superset, Sequent subset) {
+        return containedIn(superset.antecedent(), subset.antecedent())
+                && containedIn(superset.succedent(), subset.succedent());
+    }
+
     /**
      * Check whether all formulas in {@code subset} are conatined in {@code superset}.
      *
@@ -0,0 +1,196 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.util.Arrays;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.rule.EqualityModuloProofIrrelevancy;
+
+import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.prover.sequent.Semisequent;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+
+/**
+ * Hash codes of formulas and sequents that are stable across KeY sessions, used to store closed
+ * branches on disk (see CachingDatabase).
+ * <p>
+ * The hash code of a formula only depends on the names and arities of its operators and bound
+ * variables. Formulas that are
+ * {@link EqualityModuloProofIrrelevancy#equalsModProofIrrelevancy(SequentFormula, SequentFormula)
+ * equal modulo proof irrelevancy} have the same hash code, the converse has to be checked on the
+ * formulas themselves.
+ */
+public final class SequentFingerprint {
+    /**
+     * Number of 64 bit words of a {@link #bloomFilter(long[], long[]) Bloom filter}.
+     */
+    public static final int BLOOM_WORDS = 4;
+
+    /**
+     * Salt distinguishing formulas in the succedent from formulas in the antecedent.
+     */
+    private static final long SUCCEDENT_SALT = 0x9e3779b97f4a7c15L;
+
+    private SequentFingerprint() {
+
+    }
+
+    /**
+     * Computes the stable hash code of a formula.
+     *
+     * @param formula the formula
+     * @return the hash code
+     */
+    public static long hash(JTerm formula) {
+        long h = mix(formula.op().name().toString().hashCode(), formula.arity());
+        for (QuantifiableVariable var : formula.boundVars()) {
+            h = mix(h, var.name().toString().hashCode());
+            h = mix(h, var.sort().name().toString().hashCode());
+        }
+        if (!formula.javaBlock().isEmpty()) {
+            h = mix(h, formula.javaBlock().toString().hashCode());
+        }
+        for (JTerm sub : formula.subs()) {
+            h = mix(h, hash(sub));
+        }
+        return h;
+    }
+
+    /**
+     * Computes the hash codes of the formulas of a semisequent.
+     *
+     * @param semisequent the semisequent
+     * @return the distinct hash codes of its formulas, sorted
+     */
+    public static long[] hashes(Semisequent semisequent) {
+        final long[] result = new long[semisequent.size()];
+        int i = 0;
+        for (SequentFormula sf : semisequent) {
+            result[i++] = hash((JTerm) sf.formula());
+        }
+        Arrays.sort(result);
+        int distinct = 0;
+        for (int j = 0; j < result.length; j++) {
+            if (j == 0 || result[j] != result[j - 1]) {
+                result[distinct++] = result[j];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    /**
+     * Computes the fingerprint of a sequent from the hash codes of its formulas.
+     * Sequents with the same formulas modulo proof irrelevancy and order have the same
+     * fingerprint.
+     *
+     * @param ante the {@link #hashes(Semisequent) hash codes} of the antecedent
+     * @param succ the {@link #hashes(Semisequent) hash codes} of the succedent
+     * @return the fingerprint
+     */
+    public static long fingerprint(long[] ante, long[] succ) {
+        long h = ante.length;
+        for (long a : ante) {
+            h = mix(h, a);
+        }
+        h = mix(h, succ.length);
+        for (long s : succ) {
+            h = mix(h, s);
+        }
+        return h;
+    }
+
+    /**
+     * Computes the fingerprint of a sequent.
+     *
+     * @param seq the sequent
+     * @return the fingerprint
+     */
+    public static long fingerprint(Sequent seq) {
+        return fingerprint(hashes(seq.antecedent()), hashes(seq.succedent()));
+    }
+
+    /**
+     * Computes a Bloom filter of the formulas of a sequent. If the formulas of a sequent are a
+     * subset of the formulas of another sequent, the bits of its filter are a subset of the bits
+     * of the other filter.
+     *
+     * @param ante the {@link #hashes(Semisequent) hash codes} of the antecedent
+     * @param succ the {@link #hashes(Semisequent) hash codes} of the succedent
+     * @return the filter, consisting of {@link #BLOOM_WORDS} words
+     */
+    public static long[] bloomFilter(long[] ante, long[] succ) {
+        final long[] filter = new long[BLOOM_WORDS];
+        for (long a : ante) {
+            addToFilter(filter, a);
+        }
+        for (long s : succ) {
+            addToFilter(filter, key(s, true));
+        }
+        return filter;
+    }
+
+    /**
+     * Checks whether all bits of a Bloom filter are set in another one.
+     *
+     * @param subset the filter of the supposedly smaller sequent
+     * @param superset the filter of the supposedly larger sequent
+     * @return false if the smaller sequent is definitely not contained in the larger one
+     */
+    public static boolean mayBeContainedIn(long[] subset, long[] superset) {
+        for (int i = 0; i < BLOOM_WORDS; i++) {
+            if ((subset[i] & ~superset[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a sorted array of hash codes is a subset of another one.
+     *
+     * @param subset sorted hash codes
+     * @param superset sorted hash codes
+     * @return whether every element of {@code subset} is in {@code superset}
+     */
+    public static boolean containedIn(long[] subset, long[] superset) {
+        int j = 0;
+        for (long h : subset) {
+            while (j < superset.length && superset[j] < h) {
+                j++;
+            }
+            if (j == superset.length || superset[j] != h) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param h a formula hash code
+     * @param inSuccedent whether the formula is in the succedent
+     * @return a key identifying the formula together with its polarity
+     */
+    public static long key(long h, boolean inSuccedent) {
+        return inSuccedent ? h ^ SUCCEDENT_SALT : h;
+    }
+
+    private static void addToFilter(long[] filter, long h) {
+        // three bits per formula, taken from different parts of the (mixed) hash code
+        final long m = mix(h, 0);
+        for (int k = 0; k < 3; k++) {
+            final int bit = (int) (m >>> (k * 21)) & (BLOOM_WORDS * 64 - 1);
+            filter[bit >>> 6] |= 1L << (bit & 63);
+        }
+    }
+
+    private static long mix(long h, long value) {
+        long x = h * 31 + value;
+        // finalizer of SplitMix64
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+}
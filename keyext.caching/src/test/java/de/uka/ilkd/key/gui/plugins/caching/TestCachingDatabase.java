@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.gui.plugins.caching;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.reference.ClosedBy;
+import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCachingDatabase {
+    private static final Path testCaseDirectory =
+        Objects.requireNonNull(FindResources.getTestCasesDirectory());
+
+    @Test
+    void testFindsReferenceInStoredProof(@TempDir Path cacheDir) throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        // test scenario:
+        // 1. Load a proof and store it in a new database.
+        // 2. Read the database again (as a new KeY process would).
+        // 3. Load the proof again and search the database for its branches.
+
+        Path proofFile = testCaseDirectory.resolve(
+            "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(proofFile);
+        Proof p = env.getLoadedProof();
+        CachingDatabase db = new CachingDatabase(cacheDir);
+        int stored = db.addProof(p);
+        assertTrue(stored > 0);
+        assertEquals(stored, db.size());
+        // storing the same proof again does not add new branches
+        assertEquals(0, db.addProof(p));
+        p.dispose();
+
+        CachingDatabase reloaded = new CachingDatabase(cacheDir);
+        reloaded.load();
+        assertEquals(stored, reloaded.size());
+
+        KeYEnvironment<DefaultUserInterfaceControl> env2 = KeYEnvironment.load(proofFile);
+        Proof p2 = env2.getLoadedProof();
+        int found = 0;
+        Proof cached = null;
+        for (Goal g : p2.closedGoals()) {
+            Node n = g.node();
+            while (n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (!ReferenceSearcher.suitableForCloseByReference(n)) {
+                assertNull(reloaded.findReference(n));
+                continue;
+            }
+            assertFalse(reloaded.candidates(n).isEmpty());
+            ClosedBy c = reloaded.findReference(n);
+            assertNotNull(c);
+            assertNotSame(p2, c.proof());
+            cached = c.proof();
+            found++;
+        }
+        assertTrue(found > 0);
+
+        GeneralSettings.noPruningClosed = true;
+        // the cached proof is disposed together with the last proof referring to it
+        assertFalse(cached.isDisposed());
+        env2.dispose();
+        assertTrue(cached.isDisposed());
+    }
+
+    @Test
+    void testEvictsProofsBeyondMaxSize(@TempDir Path cacheDir) throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        Path proofFile = testCaseDirectory.resolve(
+            "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(proofFile);
+        try {
+            Proof p = env.getLoadedProof();
+            CachingDatabase db = new CachingDatabase(cacheDir);
+            // a proof larger than the cache is not stored at all
+            db.setMaxSize(1);
+            assertEquals(0, db.addProof(p));
+            assertEquals(0, db.size());
+
+            db.setMaxSize(CachingDatabase.DEFAULT_MAX_SIZE);
+            assertTrue(db.addProof(p) > 0);
+            // shrinking the cache removes the proof and its file
+            db.setMaxSize(1);
+            assertEquals(0, db.size());
+            try (var files = Files.list(cacheDir)) {
+                assertTrue(files.noneMatch(f -> f.toString().endsWith(".zproof")));
+            }
+        } finally {
+            GeneralSettings.noPruningClosed = true;
+            env.dispose();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import picocli.CommandLine.Parameters;
  * --explicit (implies --auto) stores automatically found proofs explicitly as files
  * --report generate html report, needs the target filename as parameter
  * --missing check for contracts that have no proof
+ * --threads, -j number of threads used to replay independent proofs in parallel
  * checks that are always enabled:
  * - check for duplicate proofs of the same contracts
  * individually and independently trigger different checks
@@ -56,6 +57,8 @@ public final class Main {
     private static final String check_settings_desc = "enables check for consistent proof settings";
     private static final String check_replay_desc =
         "enables check whether all saved proofs can be replayed successfully";
+    private static final String check_threads_desc =
+        "number of threads used to replay independent proofs in parallel (default: 1)";
     private static final String check_dependency_desc = "enables check for cyclic dependencies";
     private static final String check_report_desc =
         "writes the report to an HTML file at the given path";
@@ -95,6 +98,13 @@ public final class Main {
          */
         @Option(names = "--replay", description = check_replay_desc)
         public boolean replay;
+
+        /**
+         * number of threads used to replay the proofs
+         */
+        @Option(names = { "--threads", "-j" }, paramLabel = "N",
+            description = check_threads_desc)
+        public int threads = 1;
         // check.addOption("--auto", description = check_auto_desc"));
         // check.addOption("--explicit", description = check_explicit_desc"));
 
@@ -116,6 +126,7 @@ public final class Main {
             // <bundle_path>
             // we accumulate results in this variable
             CheckerData globalResult = new CheckerData(LogLevel.DEBUG);
+            globalResult.setReplayThreads(threads);
             try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundlePath)) {
                 globalResult.setPbh(pbh);
                 // add file tree to result
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -58,6 +59,9 @@ public final class CheckerData implements Logger {
     // TODO: side effects: may be changed by checkers (e.g. remove paths of taclet proofs)
     private List<Path> proofPaths;
 
+    /** number of threads used to replay the proofs */
+    private int replayThreads = 1;
+
     ////////////////////////////////// results from dependency checker
 
     private DependencyGraph dependencyGraph;
@@ -286,6 +290,21 @@ public final class CheckerData implements Logger {
         public IntermediatePresentationProofFileParser.Result parseResult;
         public AbstractProblemLoader.ReplayResult replayResult;
 
+        /** wall clock time of the replay in milliseconds (-1 if not replayed) */
+        public long replayTime = -1;
+        /** bytes allocated by the replay (-1 if unknown) */
+        public long replayAllocatedBytes = -1;
+
+        /**
+         * @return the memory allocated by the replay in a human-readable format
+         */
+        public String replayAllocation() {
+            if (replayAllocatedBytes < 0) {
+                return "n/a";
+            }
+            return String.format(Locale.ROOT, "%.1f MB", replayAllocatedBytes / (1024.0 * 1024.0));
+        }
+
         public Integer settingsId() {
             return choices2Id.get(proof.getSettings().getChoiceSettings().getDefaultChoices());
         }
@@ -320,7 +339,7 @@ public final class CheckerData implements Logger {
     }
 
     @Override
-    public void print(LogLevel level, String message) {
+    public synchronized void print(LogLevel level, String message) {
         // suppress message if level is smaller than current log level
         if (level.compareTo(minLogLevel) >= 0) {
             // for multiline strings, every line should have correct prefix
@@ -511,4 +530,18 @@ public final class CheckerData implements Logger {
     public void setDependencyGraph(DependencyGraph dependencyGraph) {
         this.dependencyGraph = dependencyGraph;
     }
+
+    public int getReplayThreads() {
+        return replayThreads;
+    }
+
+    /**
+     * Sets the number of threads used to replay the proofs. This has to be set before the proofs
+     * are loaded, since proofs replayed in parallel are loaded with their own profile.
+     *
+     * @param replayThreads the number of threads (values smaller than 2 mean sequential replay)
+     */
+    public void setReplayThreads(int replayThreads) {
+        this.replayThreads = replayThreads;
+    }
 }
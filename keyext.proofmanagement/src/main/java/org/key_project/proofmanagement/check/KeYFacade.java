@@ -4,8 +4,15 @@
 package org.key_project.proofmanagement.check;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.java.JavaSourceElement;
@@ -31,10 +38,12 @@ import de.uka.ilkd.key.speclang.Contract;
 import de.uka.ilkd.key.speclang.SLEnvInput;
 import de.uka.ilkd.key.strategy.Strategy;
 import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.MiscTools;
 import de.uka.ilkd.key.util.ProgressMonitor;
 
 import org.key_project.proofmanagement.check.dependency.DependencyGraph;
 import org.key_project.proofmanagement.check.dependency.DependencyGraphBuilder;
+import org.key_project.proofmanagement.check.dependency.DependencyNode;
 import org.key_project.proofmanagement.io.LogLevel;
 import org.key_project.proofmanagement.io.Logger;
 import org.key_project.proofmanagement.io.ProofBundleHandler;
@@ -118,12 +127,12 @@ public final class KeYFacade {
         return null;
     }
 
-    private static boolean loadProofTree(Path path, CheckerData.ProofEntry line, Logger logger)
-            throws Exception {
+    private static boolean loadProofTree(Path path, CheckerData.ProofEntry line,
+            CheckerData logger) throws Exception {
 
         logger.print(LogLevel.DEBUG, "Loading proof from " + path);
         line.proofFile = path;
-        Proof[] proofs = loadProofFile(path, line);
+        Proof[] proofs = loadProofFile(path, line, logger.getReplayThreads() > 1);
 
         // TODO: ignore taclet proofs
         if (proofs == null || proofs.length == 0) {
@@ -150,8 +159,8 @@ public final class KeYFacade {
         return true;
     }
 
-    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line)
-            throws Exception {
+    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line,
+            boolean ownProfile) throws Exception {
         Profile profile = AbstractProfile.getDefaultProfile();
 
         // TODO: FileRepo/InitConfig/ProblemInitializer reuse possible?
@@ -169,6 +178,11 @@ public final class KeYFacade {
         /////////////////// createEnvInput
         // TODO: do we need this?
         profile = keyFile.getProfile() == null ? profile : keyFile.getProfile();
+        if (ownProfile && profile == JavaProfile.getDefaultInstance()) {
+            // The one step simplifier is part of the profile and can only work on one proof at a
+            // time. Proofs replayed in parallel thus get their own profile.
+            profile = new JavaProfile();
+        }
 
         ProblemInitializer pi = new ProblemInitializer(control, new Services(profile),
             new DefaultUserInterfaceControl());
@@ -285,6 +299,11 @@ public final class KeYFacade {
      * stored
      * inside the given CheckerData object. Proofs for which a replay has already been tried are not
      * replayed again.
+     * <p>
+     * If more than one replay thread is requested (see {@link CheckerData#getReplayThreads()}),
+     * the proofs are replayed in parallel, following the order of the dependency graph: A proof is
+     * replayed only after the proofs of the contracts it depends on (outside its own strongly
+     * connected component) have been replayed.
      *
      * @param data the CheckerData object to store the result
      * @throws ProofManagementException
@@ -293,28 +312,165 @@ public final class KeYFacade {
         List<Path> proofPaths = data.getProofPaths();
         ensureProofsLoaded(data);
 
+        List<CheckerData.ProofEntry> toReplay = new ArrayList<>();
         for (CheckerData.ProofEntry line : data.getProofEntries()) {
             // skip replay for proofs if not requested
             if (proofPaths.contains(line.proofFile)) {
                 // skip proofs that have already been replayed
-                if (line.replayState == CheckerData.ReplayState.UNKNOWN) {
-                    Proof proof = line.proof;
-                    EnvInput envInput = line.envInput;
-
-                    if (proof != null) {
-                        OneStepSimplifier.refreshOSS(proof);
-                        try {
-                            // store result in CheckerData
-                            line.replayResult = replayProof(line, envInput, data);
-                        } catch (ProofInputException e) {
-                            throw new ProofManagementException(
-                                "Could not replay proof from " + envInput
-                                    + System.lineSeparator() + e);
-                        }
-                    }
+                if (line.replayState == CheckerData.ReplayState.UNKNOWN && line.proof != null) {
+                    toReplay.add(line);
+                }
+            }
+        }
+
+        if (data.getReplayThreads() > 1 && toReplay.size() > 1) {
+            replayInParallel(toReplay, data);
+        } else {
+            for (CheckerData.ProofEntry line : toReplay) {
+                replayEntry(line, data);
+            }
+        }
+    }
+
+    /**
+     * Replays the given proofs on a pool of {@link CheckerData#getReplayThreads()} worker threads.
+     * The replay of a proof is scheduled as soon as the replays of its dependencies are done.
+     *
+     * @param toReplay the proofs to replay
+     * @param data the CheckerData object to store the result
+     * @throws ProofManagementException if one of the replays could not be performed
+     */
+    private static void replayInParallel(List<CheckerData.ProofEntry> toReplay, CheckerData data)
+            throws ProofManagementException {
+        ensureDependencyGraphBuilt(data);
+        DependencyGraph graph = data.getDependencyGraph();
+        // ensure that the SCCs have been computed
+        graph.getAllSCCs();
+
+        int threads = Math.min(data.getReplayThreads(), toReplay.size());
+        data.print(LogLevel.INFO, "Replaying " + toReplay.size() + " proofs with " + threads
+            + " threads ...");
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Replay worker " + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        Map<CheckerData.ProofEntry, CompletableFuture<Void>> scheduled = new HashMap<>();
+        Set<CheckerData.ProofEntry> pending = new HashSet<>(toReplay);
+        try {
+            for (CheckerData.ProofEntry line : toReplay) {
+                scheduleReplay(line, pending, scheduled, graph, executor, data);
+            }
+            CompletableFuture.allOf(scheduled.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ProofManagementException pme) {
+                throw pme;
+            }
+            throw new ProofManagementException("Error during parallel replay!"
+                + System.lineSeparator() + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CompletableFuture<Void> scheduleReplay(CheckerData.ProofEntry line,
+            Set<CheckerData.ProofEntry> pending,
+            Map<CheckerData.ProofEntry, CompletableFuture<Void>> scheduled,
+            DependencyGraph graph, ExecutorService executor, CheckerData data) {
+        CompletableFuture<Void> future = scheduled.get(line);
+        if (future != null) {
+            return future;
+        }
+
+        // The termination sensitive edges between different SCCs form an acyclic graph, hence
+        // the recursion terminates. The replay of a proof does not need the replayed dependencies,
+        // failing dependencies therefore do not prevent the replay.
+        List<CompletableFuture<?>> dependencies = new ArrayList<>();
+        DependencyNode node = line.contract == null ? null
+                : graph.getNodeByName(line.contract.getName());
+        if (node != null) {
+            DependencyGraph.SCC scc = graph.getNode2SCC().get(node);
+            for (DependencyNode dep : node.getTermSensitiveDependencies()) {
+                CheckerData.ProofEntry depLine = data.getProofEntryByContract(dep.getContract());
+                if (depLine != null && pending.contains(depLine)
+                        && graph.getNode2SCC().get(dep) != scc) {
+                    dependencies.add(scheduleReplay(depLine, pending, scheduled, graph, executor,
+                        data).handle((v, t) -> null));
                 }
             }
         }
+
+        future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> {
+                    try {
+                        replayEntry(line, data);
+                    } catch (ProofManagementException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+        scheduled.put(line, future);
+        return future;
+    }
+
+    /**
+     * Replays the proof of the given entry and records the time and the memory allocated by the
+     * replay.
+     *
+     * @param line the proof to replay
+     * @param data the CheckerData object used for logging
+     * @throws ProofManagementException if the replay could not be performed
+     */
+    private static void replayEntry(CheckerData.ProofEntry line, CheckerData data)
+            throws ProofManagementException {
+        Proof proof = line.proof;
+        EnvInput envInput = line.envInput;
+
+        // replays of proofs sharing a profile (and thus a one step simplifier) must not overlap
+        OneStepSimplifier oss = MiscTools.findOneStepSimplifier(proof);
+        if (oss == null) {
+            replayMeasured(line, envInput, data);
+        } else {
+            synchronized (oss) {
+                replayMeasured(line, envInput, data);
+            }
+        }
+    }
+
+    private static void replayMeasured(CheckerData.ProofEntry line, EnvInput envInput,
+            CheckerData data) throws ProofManagementException {
+        OneStepSimplifier.refreshOSS(line.proof);
+        long allocatedBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            // store result in CheckerData
+            line.replayResult = replayProof(line, envInput, data);
+        } catch (ProofInputException e) {
+            throw new ProofManagementException(
+                "Could not replay proof from " + envInput
+                    + System.lineSeparator() + e);
+        } finally {
+            line.replayTime = (System.nanoTime() - start) / 1_000_000;
+            long allocatedAfter = currentThreadAllocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                line.replayAllocatedBytes = allocatedAfter - allocatedBefore;
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread so far, or -1 if the JVM does
+     *         not support measuring it
+     */
+    private static long currentThreadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported()
+                && sunBean.isThreadAllocatedMemoryEnabled()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
     }
 
     private static ReplayResult replayProof(CheckerData.ProofEntry line, EnvInput envInput,
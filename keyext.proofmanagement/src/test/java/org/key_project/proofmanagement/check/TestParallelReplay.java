@@ -0,0 +1,97 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that replaying the proofs of a bundle in parallel gives the same results as replaying
+ * them one after the other.
+ */
+class TestParallelReplay {
+    /**
+     * Three proofs, one of which uses the contract of another one.
+     */
+    private static final Path EXAMPLE =
+        Objects.requireNonNull(FindResources.getExampleDirectory()).resolve("heap")
+                .resolve("vstte12_01_Swap");
+
+    @Test
+    void testParallelReplayMatchesSequentialReplay(@TempDir Path bundle) throws Exception {
+        try (Stream<Path> files = Files.list(EXAMPLE)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".proof")
+                    || f.toString().endsWith(".java")).toList()) {
+                Files.copy(file, bundle.resolve(file.getFileName().toString()));
+            }
+        }
+
+        CheckerData sequential = check(bundle, 1);
+        CheckerData parallel = check(bundle, 3);
+
+        assertTrue(parallel.getMessages().stream()
+                .anyMatch(m -> m.contains("Replaying 3 proofs with 3 threads")));
+        assertFalse(sequential.getMessages().stream()
+                .anyMatch(m -> m.contains("Replaying 3 proofs with")));
+
+        Map<Path, CheckerData.ProofEntry> expected = entriesByFile(sequential);
+        Map<Path, CheckerData.ProofEntry> actual = entriesByFile(parallel);
+        assertEquals(3, expected.size());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Path, CheckerData.ProofEntry> e : expected.entrySet()) {
+            CheckerData.ProofEntry exp = e.getValue();
+            CheckerData.ProofEntry act = actual.get(e.getKey());
+            String name = e.getKey().toString();
+            assertEquals(CheckerData.ReplayState.SUCCESS, exp.replayState, name);
+            assertEquals(exp.replayState, act.replayState, name);
+            assertEquals(exp.proofState, act.proofState, name);
+            assertEquals(exp.dependencyState, act.dependencyState, name);
+            assertEquals(exp.replayResult.getStatus(), act.replayResult.getStatus(), name);
+            assertEquals(exp.replayResult.hasErrors(), act.replayResult.hasErrors(), name);
+            assertEquals(exp.proof.countNodes(), act.proof.countNodes(), name);
+            assertEquals(exp.proof.closed(), act.proof.closed(), name);
+
+            // the report fields are filled in both modes
+            assertTrue(exp.replayTime >= 0, name);
+            assertTrue(act.replayTime >= 0, name);
+            assertEquals(exp.replayAllocatedBytes >= 0, act.replayAllocatedBytes >= 0, name);
+        }
+        assertEquals(sequential.getGlobalState(), parallel.getGlobalState());
+    }
+
+    private static CheckerData check(Path bundle, int threads)
+            throws IOException, ProofManagementException {
+        CheckerData data = new CheckerData(LogLevel.INFO);
+        data.setReplayThreads(threads);
+        try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundle)) {
+            data.setPbh(pbh);
+            data.setFileTree(pbh.getFileTree());
+            new ReplayChecker().check(pbh, data);
+            new DependencyChecker().check(pbh, data);
+        }
+        return data;
+    }
+
+    private static Map<Path, CheckerData.ProofEntry> entriesByFile(CheckerData data) {
+        Map<Path, CheckerData.ProofEntry> result = new HashMap<>();
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            result.put(entry.proofFile.getFileName(), entry);
+        }
+        return result;
+    }
+}